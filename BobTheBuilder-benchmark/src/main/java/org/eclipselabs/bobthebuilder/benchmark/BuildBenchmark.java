@@ -0,0 +1,57 @@
+package org.eclipselabs.bobthebuilder.benchmark;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipselabs.bobthebuilder.ValidationFramework;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * The throughput of building an instance with the builder composed for each field mix and
+ * validation framework, {@value #NO_VALIDATION} being the builder composed without validation.
+ * The builder is compiled in the benchmark JVM, so that it is as hot as the builders of the code
+ * that calls them.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class BuildBenchmark {
+
+  public static final String NO_VALIDATION = "NONE";
+
+  @Param({ "PRIMITIVES", "STRINGS", "COLLECTIONS", "MIXED" })
+  public String fieldMix;
+
+  @Param({ NO_VALIDATION, "GOOGLE_GUAVA", "COMMONS_LANG2", "COMMONS_LANG3" })
+  public String validation;
+
+  private Callable<?> factory;
+
+  @Setup
+  public void setUp() {
+    factory = new GeneratedBuilders().load(FieldMix.valueOf(fieldMix), frameworkOf(validation));
+  }
+
+  @Benchmark
+  public Object build() throws Exception {
+    return factory.call();
+  }
+
+  // Null for none
+  static ValidationFramework frameworkOf(String validation) {
+    return NO_VALIDATION.equals(validation) ? null : ValidationFramework.valueOf(validation);
+  }
+}
@@ -0,0 +1,173 @@
+package org.eclipselabs.bobthebuilder.benchmark;
+
+import java.io.IOException;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+import org.apache.commons.lang.Validate;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.Result;
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Runs {@link BuildBenchmark} with the allocation profiler and publishes a table comparing, per
+ * field mix, the throughput and the bytes allocated per build of each validation framework, also
+ * relative to the builder composed without validation. The table is in Markdown, printed and
+ * written to the file given as argument, if any.
+ * <p>
+ * Started from the jar the module packages, {@code java -jar target/benchmarks.jar [file]}, on a
+ * Java 7 runtime with a JDK, as the builders are composed and compiled by the system java
+ * compiler.
+ */
+public class ComparisonTable {
+
+  // Where the GC profiler has the bytes allocated per operation, with a prefix in some versions
+  static final String ALLOCATION_RESULT = "gc.alloc.rate.norm";
+
+  private static final Charset UTF_8 = Charset.forName("UTF-8");
+
+  public static void main(String[] args) throws RunnerException, IOException {
+    Collection<RunResult> runResults = new Runner(new OptionsBuilder()
+        .include(BuildBenchmark.class.getName())
+        .addProfiler(GCProfiler.class)
+        .build()).run();
+    List<Row> rows = new ArrayList<Row>();
+    for (RunResult each : runResults) {
+      rows.add(new Row(
+        FieldMix.valueOf(each.getParams().getParam("fieldMix")),
+        each.getParams().getParam("validation"),
+        each.getPrimaryResult().getScore(),
+        each.getPrimaryResult().getScoreError(),
+        allocationOf(each.getSecondaryResults())));
+    }
+    String table = format(rows);
+    System.out.print(table);
+    if (args.length > 0) {
+      Files.write(Paths.get(args[0]), table.getBytes(UTF_8));
+    }
+  }
+
+  // NaN when not profiled
+  private static double allocationOf(Map<String, Result> secondaryResults) {
+    for (Map.Entry<String, Result> each : secondaryResults.entrySet()) {
+      if (each.getKey().endsWith(ALLOCATION_RESULT)) {
+        return each.getValue().getScore();
+      }
+    }
+    return Double.NaN;
+  }
+
+  /**
+   * The rows by field mix, each mix starting with the row without validation.
+   */
+  static String format(List<Row> rows) {
+    Validate.notNull(rows, "rows may not be null");
+    List<Row> sorted = new ArrayList<Row>(rows);
+    Collections.sort(sorted, new Comparator<Row>() {
+      @Override
+      public int compare(Row o1, Row o2) {
+        int result = o1.getFieldMix().compareTo(o2.getFieldMix());
+        if (result != 0) {
+          return result;
+        }
+        if (o1.isWithoutValidation() != o2.isWithoutValidation()) {
+          return o1.isWithoutValidation() ? -1 : 1;
+        }
+        return o1.getValidation().compareTo(o2.getValidation());
+      }
+    });
+    StringBuilder result = new StringBuilder();
+    result.append("| field mix | validation | ops/us | error | B/op | throughput vs none "
+      + "| B/op vs none |\n");
+    result.append("|---|---|---:|---:|---:|---:|---:|\n");
+    for (Row each : sorted) {
+      Row baseline = baselineOf(sorted, each.getFieldMix());
+      result.append("| ").append(each.getFieldMix())
+          .append(" | ").append(each.getValidation())
+          .append(" | ").append(format("%.1f", each.getScore()))
+          .append(" | ").append(format("%.1f", each.getScoreError()))
+          .append(" | ").append(format("%.0f", each.getAllocation()))
+          .append(" | ").append(baseline == null
+              ? "" : format("%.0f%%", 100 * each.getScore() / baseline.getScore()))
+          .append(" | ").append(baseline == null
+              ? "" : format("%+.0f", each.getAllocation() - baseline.getAllocation()))
+          .append(" |\n");
+    }
+    return result.toString();
+  }
+
+  private static Row baselineOf(List<Row> rows, FieldMix fieldMix) {
+    for (Row each : rows) {
+      if (each.getFieldMix() == fieldMix && each.isWithoutValidation()) {
+        return each;
+      }
+    }
+    return null;
+  }
+
+  private static String format(String format, double value) {
+    return Double.isNaN(value) ? "n/a" : String.format(Locale.ROOT, format, value);
+  }
+
+  /**
+   * The result of a benchmark for a field mix and validation framework.
+   */
+  static class Row {
+
+    private final FieldMix fieldMix;
+
+    private final String validation;
+
+    private final double score;
+
+    private final double scoreError;
+
+    private final double allocation;
+
+    Row(FieldMix fieldMix, String validation, double score, double scoreError,
+        double allocation) {
+      Validate.notNull(fieldMix, "fieldMix may not be null");
+      Validate.notEmpty(validation, "validation may not be empty");
+      this.fieldMix = fieldMix;
+      this.validation = validation;
+      this.score = score;
+      this.scoreError = scoreError;
+      this.allocation = allocation;
+    }
+
+    FieldMix getFieldMix() {
+      return fieldMix;
+    }
+
+    String getValidation() {
+      return validation;
+    }
+
+    boolean isWithoutValidation() {
+      return BuildBenchmark.NO_VALIDATION.equals(validation);
+    }
+
+    double getScore() {
+      return score;
+    }
+
+    double getScoreError() {
+      return scoreError;
+    }
+
+    double getAllocation() {
+      return allocation;
+    }
+  }
+}
@@ -0,0 +1,71 @@
+package org.eclipselabs.bobthebuilder.benchmark;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * The fields of a main type the builders are generated for, with values that pass every
+ * validation the validation frameworks compose for them.
+ */
+public enum FieldMix {
+  PRIMITIVES(
+      new Declaration("int", "age", "42"),
+      new Declaration("long", "id", "7L"),
+      new Declaration("double", "weight", "71.5"),
+      new Declaration("boolean", "active", "true")),
+  STRINGS(
+      new Declaration("String", "name", "\"Bob\""),
+      new Declaration("String", "email", "\"bob@example.org\""),
+      new Declaration("String", "city", "\"Springfield\"")),
+  COLLECTIONS(
+      new Declaration("List<String>", "tags", "Arrays.asList(\"builder\", \"validation\")"),
+      new Declaration("Set<Long>", "ids", "Collections.singleton(7L)"),
+      new Declaration(
+        "Map<String, String>", "roles", "Collections.singletonMap(\"bob\", \"admin\")")),
+  MIXED(
+      new Declaration("String", "name", "\"Bob\""),
+      new Declaration("int", "age", "42"),
+      new Declaration("List<String>", "tags", "Arrays.asList(\"builder\")"),
+      new Declaration("Date", "birthday", "new Date(0L)"));
+
+  private final List<Declaration> declarations;
+
+  private FieldMix(Declaration... declarations) {
+    this.declarations = Collections.unmodifiableList(Arrays.asList(declarations));
+  }
+
+  public List<Declaration> getDeclarations() {
+    return declarations;
+  }
+
+  /**
+   * A field, and the expression of the value the builder is given for it.
+   */
+  public static class Declaration {
+
+    private final String signature;
+
+    private final String name;
+
+    private final String value;
+
+    Declaration(String signature, String name, String value) {
+      this.signature = signature;
+      this.name = name;
+      this.value = value;
+    }
+
+    public String getSignature() {
+      return signature;
+    }
+
+    public String getName() {
+      return name;
+    }
+
+    public String getValue() {
+      return value;
+    }
+  }
+}
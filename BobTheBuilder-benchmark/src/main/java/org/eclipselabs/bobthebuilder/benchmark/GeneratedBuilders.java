@@ -0,0 +1,124 @@
+package org.eclipselabs.bobthebuilder.benchmark;
+
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Callable;
+
+import org.apache.commons.lang.StringUtils;
+import org.apache.commons.lang.Validate;
+import org.eclipselabs.bobthebuilder.Feature;
+import org.eclipselabs.bobthebuilder.ValidationFramework;
+import org.eclipselabs.bobthebuilder.complement.ComplementModule;
+import org.eclipselabs.bobthebuilder.daemon.BuilderSync;
+import org.eclipselabs.bobthebuilder.daemon.DaemonModule;
+import org.eclipselabs.bobthebuilder.mapper.javac.MapperModule;
+
+import com.google.inject.Guice;
+
+/**
+ * Generates a main type with the fields of a {@link FieldMix} and has {@link BuilderSync} compose
+ * its builder, with the validation of a framework or without any, the way the dialog composes it
+ * with everything checked. Along comes a factory that builds an instance with the values of the
+ * mix, which is what is benchmarked: {@code new Builder()}, the with-methods and {@code build()}.
+ */
+public class GeneratedBuilders {
+
+  static final String PACKAGE_NAME = "org.example";
+
+  static final String MAIN_TYPE_NAME = PACKAGE_NAME + ".Person";
+
+  static final String FACTORY_NAME = PACKAGE_NAME + ".PersonFactory";
+
+  private static final Set<Feature> WITHOUT_VALIDATION = EnumSet.complementOf(
+    EnumSet.of(Feature.MISSING_VALIDATE, Feature.MISSING_VALIDATIONS));
+
+  private final BuilderSync builderSync;
+
+  private final InMemoryCompiler inMemoryCompiler;
+
+  public GeneratedBuilders(BuilderSync builderSync, InMemoryCompiler inMemoryCompiler) {
+    Validate.notNull(builderSync, "builderSync may not be null");
+    Validate.notNull(inMemoryCompiler, "inMemoryCompiler may not be null");
+    this.builderSync = builderSync;
+    this.inMemoryCompiler = inMemoryCompiler;
+  }
+
+  public GeneratedBuilders() {
+    this(Guice.createInjector(new MapperModule(), new ComplementModule(), new DaemonModule())
+        .getInstance(BuilderSync.class), new InMemoryCompiler());
+  }
+
+  /**
+   * The factory of the builder composed for the mix, with the validation framework or without
+   * validation when null.
+   */
+  public Callable<?> load(FieldMix fieldMix, ValidationFramework validationFramework) {
+    Map<String, String> sources = new LinkedHashMap<String, String>();
+    sources.put(MAIN_TYPE_NAME, composeMainType(fieldMix, validationFramework));
+    sources.put(FACTORY_NAME, composeFactory(fieldMix));
+    try {
+      return (Callable<?>) inMemoryCompiler.compile(sources).loadClass(FACTORY_NAME)
+          .getConstructor().newInstance();
+    }
+    catch (ReflectiveOperationException e) {
+      throw new IllegalStateException(e);
+    }
+  }
+
+  /**
+   * The source of the main type with its builder as composed.
+   */
+  public String composeMainType(FieldMix fieldMix, ValidationFramework validationFramework) {
+    Validate.notNull(fieldMix, "fieldMix may not be null");
+    StringBuilder source = new StringBuilder();
+    source.append("package ").append(PACKAGE_NAME).append(";\n\n")
+        .append("import java.util.*;\n\n")
+        .append("public class Person {\n");
+    for (FieldMix.Declaration each : fieldMix.getDeclarations()) {
+      source.append("\n  private final ").append(each.getSignature()).append(" ")
+          .append(each.getName()).append(";\n");
+    }
+    source.append("}\n");
+    String path = MAIN_TYPE_NAME.replace('.', '/') + ".java";
+    String result = builderSync.compose(
+      path,
+      Collections.singletonMap(path, source.toString()),
+      validationFramework == null ? ValidationFramework.GOOGLE_GUAVA : validationFramework,
+      validationFramework == null ? WITHOUT_VALIDATION : EnumSet.allOf(Feature.class));
+    Validate.notNull(result, "Nothing composed for " + fieldMix);
+    return result;
+  }
+
+  /**
+   * The source of the factory, which hands the builder constants so that it allocates nothing
+   * but the builder and the instance.
+   */
+  public String composeFactory(FieldMix fieldMix) {
+    Validate.notNull(fieldMix, "fieldMix may not be null");
+    StringBuilder source = new StringBuilder();
+    source.append("package ").append(PACKAGE_NAME).append(";\n\n")
+        .append("import java.util.*;\n\n")
+        .append("public class PersonFactory implements java.util.concurrent.Callable<Person> {\n");
+    for (FieldMix.Declaration each : fieldMix.getDeclarations()) {
+      source.append("\n  private static final ").append(each.getSignature()).append(" ")
+          .append(constantOf(each)).append(" = ").append(each.getValue()).append(";\n");
+    }
+    source.append("\n  public Person call() {\n")
+        .append("    return new Person.Builder()");
+    for (FieldMix.Declaration each : fieldMix.getDeclarations()) {
+      source.append("\n        .with").append(StringUtils.capitalize(each.getName()))
+          .append("(").append(constantOf(each)).append(")");
+    }
+    source.append("\n        .build();\n")
+        .append("  }\n")
+        .append("}\n");
+    return source.toString();
+  }
+
+  private static String constantOf(FieldMix.Declaration declaration) {
+    return declaration.getName().toUpperCase();
+  }
+}
@@ -0,0 +1,98 @@
+package org.eclipselabs.bobthebuilder.benchmark;
+
+import java.io.ByteArrayOutputStream;
+import java.io.OutputStream;
+import java.net.URI;
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import javax.tools.DiagnosticCollector;
+import javax.tools.FileObject;
+import javax.tools.ForwardingJavaFileManager;
+import javax.tools.JavaCompiler;
+import javax.tools.JavaFileManager;
+import javax.tools.JavaFileObject;
+import javax.tools.JavaFileObject.Kind;
+import javax.tools.SimpleJavaFileObject;
+import javax.tools.StandardJavaFileManager;
+import javax.tools.ToolProvider;
+
+import org.apache.commons.lang.Validate;
+
+/**
+ * Compiles sources with the system java compiler against the class path of the running JVM, and
+ * loads the classes without writing them to disk. Each compilation gets a class loader of its
+ * own, so that the classes of several compilations may have the same names.
+ */
+public class InMemoryCompiler {
+
+  private static final Charset UTF_8 = Charset.forName("UTF-8");
+
+  /**
+   * Compiles the sources, by the names of their classes, and returns the class loader of the
+   * compiled classes.
+   */
+  public ClassLoader compile(Map<String, String> sources) {
+    Validate.notEmpty(sources, "sources may not be empty");
+    JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+    if (compiler == null) {
+      throw new IllegalStateException("No system java compiler, run on a JDK");
+    }
+    DiagnosticCollector<JavaFileObject> diagnostics = new DiagnosticCollector<JavaFileObject>();
+    final Map<String, ByteArrayOutputStream> classes =
+        new HashMap<String, ByteArrayOutputStream>();
+    JavaFileManager fileManager = new ForwardingJavaFileManager<StandardJavaFileManager>(
+      compiler.getStandardFileManager(diagnostics, null, UTF_8)) {
+
+      @Override
+      public JavaFileObject getJavaFileForOutput(
+          Location location, final String className, Kind kind, FileObject sibling) {
+        return new SimpleJavaFileObject(uriOf("class", className, kind), kind) {
+
+          @Override
+          public OutputStream openOutputStream() {
+            ByteArrayOutputStream result = new ByteArrayOutputStream();
+            classes.put(className, result);
+            return result;
+          }
+        };
+      }
+    };
+    List<JavaFileObject> compilationUnits = new ArrayList<JavaFileObject>();
+    for (final Map.Entry<String, String> each : sources.entrySet()) {
+      compilationUnits.add(
+        new SimpleJavaFileObject(uriOf("source", each.getKey(), Kind.SOURCE), Kind.SOURCE) {
+
+          @Override
+          public CharSequence getCharContent(boolean ignoreEncodingErrors) {
+            return each.getValue();
+          }
+        });
+    }
+    List<String> options =
+        Arrays.asList("-classpath", System.getProperty("java.class.path"), "-nowarn");
+    if (!compiler.getTask(null, fileManager, diagnostics, options, null, compilationUnits).call()) {
+      throw new IllegalStateException("Could not compile " + sources.keySet() + ": "
+        + diagnostics.getDiagnostics());
+    }
+    return new ClassLoader(InMemoryCompiler.class.getClassLoader()) {
+
+      @Override
+      protected Class<?> findClass(String name) throws ClassNotFoundException {
+        ByteArrayOutputStream bytes = classes.get(name);
+        if (bytes == null) {
+          throw new ClassNotFoundException(name);
+        }
+        return defineClass(name, bytes.toByteArray(), 0, bytes.size());
+      }
+    };
+  }
+
+  private static URI uriOf(String scheme, String className, Kind kind) {
+    return URI.create(scheme + ":///" + className.replace('.', '/') + kind.extension);
+  }
+}
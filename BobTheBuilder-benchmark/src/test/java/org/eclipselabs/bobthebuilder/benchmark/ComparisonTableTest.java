@@ -0,0 +1,24 @@
+package org.eclipselabs.bobthebuilder.benchmark;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.Arrays;
+
+import org.junit.Test;
+
+public class ComparisonTableTest {
+
+  @Test
+  public void testComparesWithBuilderWithoutValidation() {
+    assertEquals("| field mix | validation | ops/us | error | B/op | throughput vs none "
+      + "| B/op vs none |\n"
+      + "|---|---|---:|---:|---:|---:|---:|\n"
+      + "| PRIMITIVES | NONE | 200.0 | 2.0 | 40 | 100% | +0 |\n"
+      + "| PRIMITIVES | GOOGLE_GUAVA | 150.0 | 1.5 | 56 | 75% | +16 |\n"
+      + "| STRINGS | COMMONS_LANG2 | 100.0 | 1.0 | n/a |  |  |\n",
+      ComparisonTable.format(Arrays.asList(
+        new ComparisonTable.Row(FieldMix.STRINGS, "COMMONS_LANG2", 100, 1, Double.NaN),
+        new ComparisonTable.Row(FieldMix.PRIMITIVES, "GOOGLE_GUAVA", 150, 1.5, 56),
+        new ComparisonTable.Row(FieldMix.PRIMITIVES, "NONE", 200, 2, 40))));
+  }
+}
@@ -0,0 +1,57 @@
+package org.eclipselabs.bobthebuilder.benchmark;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.eclipselabs.bobthebuilder.ValidationFramework;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+public class GeneratedBuildersTest {
+
+  private static GeneratedBuilders generatedBuilders;
+
+  @BeforeClass
+  public static void setUpClass() {
+    generatedBuilders = new GeneratedBuilders();
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testNullFieldMix() {
+    generatedBuilders.composeMainType(null, ValidationFramework.GOOGLE_GUAVA);
+  }
+
+  @Test
+  public void testComposesValidation() {
+    String source =
+        generatedBuilders.composeMainType(FieldMix.MIXED, ValidationFramework.COMMONS_LANG3);
+    assertTrue(source.contains("import org.apache.commons.lang3.Validate;"));
+    assertTrue(source.contains("import org.apache.commons.lang3.StringUtils;"));
+    assertTrue(source.contains("      validate();\n"));
+    assertTrue(source.contains("Validate.notNull(birthday, \"birthday may not be null\");"));
+  }
+
+  @Test
+  public void testComposesWithoutValidation() {
+    String source = generatedBuilders.composeMainType(FieldMix.MIXED, null);
+    assertTrue(source.contains("    public Person build() {\n"));
+    assertFalse(source.contains("validate()"));
+  }
+
+  @Test
+  public void testBuildsWithEveryFramework() throws Exception {
+    for (FieldMix eachFieldMix : FieldMix.values()) {
+      assertBuilds(eachFieldMix, null);
+      for (ValidationFramework eachFramework : ValidationFramework.values()) {
+        assertBuilds(eachFieldMix, eachFramework);
+      }
+    }
+  }
+
+  private static void assertBuilds(FieldMix fieldMix, ValidationFramework validationFramework)
+    throws Exception {
+    Object person = generatedBuilders.load(fieldMix, validationFramework).call();
+    assertEquals(GeneratedBuilders.MAIN_TYPE_NAME, person.getClass().getName());
+  }
+}
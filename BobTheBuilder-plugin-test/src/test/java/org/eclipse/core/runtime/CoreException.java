@@ -1,11 +0,0 @@
-package org.eclipse.core.runtime;
-
-//TODO add the dependency
-/**
- * Mockito needs it
- */
-public class CoreException extends Exception {
-
-  private static final long serialVersionUID = 1L;
-
-}
@@ -1,9 +0,0 @@
-package org.eclipse.core.runtime;
-
-//TODO add the dependency
-/**
- * Mockito needs it
- */
-public interface IPath {
-
-}
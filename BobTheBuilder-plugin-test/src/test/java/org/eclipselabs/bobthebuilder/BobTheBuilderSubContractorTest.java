@@ -1,22 +1,47 @@
 package org.eclipselabs.bobthebuilder;
 
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.fail;
+
+import java.io.IOException;
+import java.util.Arrays;
+
+import org.eclipse.core.runtime.NullProgressMonitor;
+import org.eclipse.core.runtime.OperationCanceledException;
 import org.eclipse.jdt.core.ICompilationUnit;
+import org.eclipse.jdt.core.IJavaProject;
 import org.eclipse.jdt.core.IType;
 import org.eclipse.jdt.core.JavaModelException;
 import org.eclipse.swt.widgets.Shell;
+import org.eclipselabs.bobthebuilder.audit.FixtureRecorder;
+import org.eclipselabs.bobthebuilder.audit.JdtAccessAudit;
 import org.eclipselabs.bobthebuilder.complement.MainTypeComplementProvider;
+import org.eclipselabs.bobthebuilder.composer.BatchComposer;
 import org.eclipselabs.bobthebuilder.composer.Composer;
 import org.eclipselabs.bobthebuilder.composer.ComposerRequest;
+import org.eclipselabs.bobthebuilder.composer.Composition;
+import org.eclipselabs.bobthebuilder.footprint.Footprint;
+import org.eclipselabs.bobthebuilder.footprint.FootprintEstimator;
+import org.eclipselabs.bobthebuilder.jit.MethodSize;
+import org.eclipselabs.bobthebuilder.jit.MethodSizeLint;
 import org.eclipselabs.bobthebuilder.mapper.eclipse.CompilationUnitFlattener;
 import org.eclipselabs.bobthebuilder.mapper.eclipse.CompilationUnitMapper;
 import org.eclipselabs.bobthebuilder.mapper.eclipse.FlattenedICompilationUnit;
+import org.eclipselabs.bobthebuilder.mapper.eclipse.MemberClassifier;
+import org.eclipselabs.bobthebuilder.mapper.eclipse.ReachableTypeCollector;
+import org.eclipselabs.bobthebuilder.mapper.eclipse.ReachableTypes;
+import org.eclipselabs.bobthebuilder.mapper.eclipse.ValidationFrameworkResolver;
+import org.eclipselabs.bobthebuilder.model.BuilderType;
 import org.eclipselabs.bobthebuilder.model.BuilderTypeSupplement;
 import org.eclipselabs.bobthebuilder.model.JavaClassFile;
 import org.eclipselabs.bobthebuilder.model.MainType;
 import org.eclipselabs.bobthebuilder.model.MainTypeComplement;
+import org.eclipselabs.bobthebuilder.model.ValidateMethod;
 import org.eclipselabs.bobthebuilder.supplement.BuilderTypeSupplementProvider;
 import org.junit.Before;
 import org.junit.Test;
+import org.mockito.InOrder;
 import org.mockito.Mock;
 import org.mockito.Mockito;
 import org.mockito.MockitoAnnotations;
@@ -81,22 +106,74 @@ public class BobTheBuilderSubContractorTest {
   @Mock
   private MainType mappedMainType;
 
+  private MemberClassifier memberClassifier;
+
+  @Mock
+  private ValidationFrameworkResolver validationFrameworkResolver;
+
+  @Mock
+  private IJavaProject javaProject;
+
+  @Mock
+  private BuilderType builderType;
+
+  @Mock
+  private ValidateMethod validateMethod;
+
+  @Mock
+  private DefaultComposerRequestConstructor defaultComposerRequestConstructor;
+
+  @Mock
+  private FixtureRecorder fixtureRecorder;
+
+  @Mock
+  private ReachableTypeCollector reachableTypeCollector;
+
+  @Mock
+  private BatchComposer batchComposer;
+
+  @Mock
+  private FootprintEstimator footprintEstimator;
+
+  @Mock
+  private Footprint footprint;
+
+  @Mock
+  private MethodSizeLint methodSizeLint;
+
+  @Mock
+  private MethodSize methodSize;
+
+  @Mock
+  private ComposerRequest defaultComposerRequest;
+
+  @Mock
+  private ICompilationUnit reachableCompilationUnit;
+
+  @Mock
+  private JavaClassFile reachableJavaClassFile;
+
+  @Mock
+  private FlattenedICompilationUnit reachableFlattenedICompilationUnit;
+
+  @Mock
+  private MainType reachableMappedMainType;
+
+  @Mock
+  private MainTypeComplement reachableMainTypeComplement;
+
   @Before
   public void setUp() throws Exception {
     MockitoAnnotations.initMocks(this);
-    subContractor = new SubContractor(
-        dialogConstructor,
-        composer,
-        nothingToDoDialog,
-        dialogRequestConstructor,
-        compilationUnitMapper,
-        compilationUnitFlattener,
-        mainTypeComplementProvider,
-        builderTypeSupplementProvider);
+    memberClassifier = Mockito.spy(new MemberClassifier(null, null, null));
+    subContractor = subContractor(new JdtAccessAudit(false));
     Mockito.when(compilationUnitMapper.map(compilationUnit)).thenReturn(javaClassFile);
     Mockito.when(compilationUnitFlattener.flatten(compilationUnit))
         .thenReturn(flattenedICompilationUnit);
     Mockito.when(flattenedICompilationUnit.getMainType()).thenReturn(mainType);
+    Mockito.when(compilationUnit.getJavaProject()).thenReturn(javaProject);
+    Mockito.when(validationFrameworkResolver.resolveDefault(javaProject))
+        .thenReturn(ValidationFramework.COMMONS_LANG2);
   }
 
   @Test(expected = IllegalArgumentException.class)
@@ -120,7 +197,8 @@ public class BobTheBuilderSubContractorTest {
   public void testDialogConstructorThrowsException() throws Exception {
     Mockito.when(compilationUnitFlattener.flatten(compilationUnit)).thenReturn(
       flattenedICompilationUnit);
-    Mockito.when(dialogRequestConstructor.work(mainTypeComplement, builderTypeSupplement))
+    Mockito.when(dialogRequestConstructor.work(
+      mainTypeComplement, builderTypeSupplement, ValidationFramework.COMMONS_LANG2))
         .thenThrow(new RuntimeException("BUGGER"));
     subContractor.work(shell, compilationUnit);
   }
@@ -130,7 +208,8 @@ public class BobTheBuilderSubContractorTest {
     Mockito.when(compilationUnitMapper.map(compilationUnit)).thenReturn(javaClassFile);
     Mockito.when(compilationUnitFlattener.flatten(compilationUnit)).thenReturn(
       flattenedICompilationUnit);
-    Mockito.when(dialogRequestConstructor.work(mainTypeComplement, builderTypeSupplement))
+    Mockito.when(dialogRequestConstructor.work(
+      mainTypeComplement, builderTypeSupplement, ValidationFramework.COMMONS_LANG2))
         .thenReturn(dialogContent);
     Mockito.when(javaClassFile.getMainType()).thenReturn(mappedMainType);
     Mockito.when(mainTypeComplementProvider.complement(mappedMainType)).thenReturn(
@@ -150,7 +229,8 @@ public class BobTheBuilderSubContractorTest {
     Mockito.when(compilationUnitMapper.map(compilationUnit)).thenReturn(javaClassFile);
     Mockito.when(compilationUnitFlattener.flatten(compilationUnit)).thenReturn(
       flattenedICompilationUnit);
-    Mockito.when(dialogRequestConstructor.work(mainTypeComplement, builderTypeSupplement))
+    Mockito.when(dialogRequestConstructor.work(
+      mainTypeComplement, builderTypeSupplement, ValidationFramework.COMMONS_LANG2))
         .thenReturn(dialogContent);
     Mockito.when(javaClassFile.getMainType()).thenReturn(mappedMainType);
     Mockito.when(mainTypeComplementProvider.complement(mappedMainType)).thenReturn(
@@ -158,9 +238,307 @@ public class BobTheBuilderSubContractorTest {
     Mockito.when(builderTypeSupplementProvider.provideSupplement(mappedMainType, mainType))
         .thenReturn(builderTypeSupplement);
     Mockito.when(mainTypeComplement.isEmptyComplement()).thenReturn(false);
-    Mockito.when(dialogConstructor.show(dialogContent, flattenedICompilationUnit, shell))
+    Mockito.when(footprintEstimator.estimate(mappedMainType)).thenReturn(Arrays.asList(footprint));
+    Mockito.when(defaultComposerRequestConstructor.work(
+      mainTypeComplement, builderTypeSupplement, ValidationFramework.COMMONS_LANG2))
+        .thenReturn(defaultComposerRequest);
+    Mockito.when(methodSizeLint.lint(mappedMainType, defaultComposerRequest))
+        .thenReturn(Arrays.asList(methodSize));
+    Mockito.when(dialogConstructor.show(dialogContent, flattenedICompilationUnit,
+      Arrays.asList(footprint), Arrays.asList(methodSize), shell))
         .thenReturn(composerRequest);
     subContractor.work(shell, compilationUnit);
     Mockito.verify(composer).compose(composerRequest, dialogContent, flattenedICompilationUnit, javaClassFile);
+    verifyAnalyzedInScope(1);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testWorkWithDefaultsNullCompilationUnit() throws JavaModelException {
+    subContractor.workWithDefaults(null);
+  }
+
+  @Test
+  public void testWorkWithDefaultsNothingToDo() throws JavaModelException {
+    Mockito.when(javaClassFile.getMainType()).thenReturn(mappedMainType);
+    Mockito.when(mainTypeComplementProvider.complement(mappedMainType)).thenReturn(
+      mainTypeComplement);
+    Mockito.when(builderTypeSupplementProvider.provideSupplement(mappedMainType, mainType))
+        .thenReturn(builderTypeSupplement);
+    Mockito.when(mainTypeComplement.isEmptyComplement()).thenReturn(true);
+    Mockito.when(builderTypeSupplement.isEmptySupplement()).thenReturn(true);
+    assertNull(subContractor.workWithDefaults(compilationUnit));
+    Mockito.verifyZeroInteractions(composer);
+  }
+
+  @Test
+  public void testWorkWithDefaultsSkipsTheDialog() throws JavaModelException {
+    Mockito.when(javaClassFile.getMainType()).thenReturn(mappedMainType);
+    Mockito.when(mainTypeComplementProvider.complement(mappedMainType)).thenReturn(
+      mainTypeComplement);
+    Mockito.when(builderTypeSupplementProvider.provideSupplement(mappedMainType, mainType))
+        .thenReturn(builderTypeSupplement);
+    Mockito.when(mainTypeComplement.isEmptyComplement()).thenReturn(false);
+    Mockito.when(defaultComposerRequestConstructor.work(
+      mainTypeComplement, builderTypeSupplement, ValidationFramework.COMMONS_LANG2))
+        .thenReturn(composerRequest);
+    Mockito.when(defaultComposerRequestConstructor.summarize(composerRequest))
+        .thenReturn("summary");
+    assertEquals("summary", subContractor.workWithDefaults(compilationUnit));
+    Mockito.verify(composer).compose(composerRequest, null, flattenedICompilationUnit, javaClassFile);
+    Mockito.verifyZeroInteractions(dialogRequestConstructor, dialogConstructor);
+    verifyAnalyzedInScope(1);
+  }
+
+  @Test
+  public void testValidationFrameworkOfExistingValidateMethod() throws JavaModelException {
+    Mockito.when(javaClassFile.getMainType()).thenReturn(mappedMainType);
+    Mockito.when(mappedMainType.getBuilderType()).thenReturn(builderType);
+    Mockito.when(builderType.getValidateMethod()).thenReturn(validateMethod);
+    Mockito.when(validateMethod.getValidationFramework())
+        .thenReturn(ValidationFramework.GOOGLE_GUAVA);
+    Mockito.when(mainTypeComplementProvider.complement(mappedMainType)).thenReturn(
+      mainTypeComplement);
+    Mockito.when(builderTypeSupplementProvider.provideSupplement(mappedMainType, mainType))
+        .thenReturn(builderTypeSupplement);
+    Mockito.when(mainTypeComplement.isEmptyComplement()).thenReturn(true);
+    Mockito.when(builderTypeSupplement.isEmptySupplement()).thenReturn(true);
+    subContractor.work(shell, compilationUnit);
+    Mockito.verify(dialogRequestConstructor).work(
+      mainTypeComplement, builderTypeSupplement, ValidationFramework.GOOGLE_GUAVA);
+    Mockito.verifyZeroInteractions(validationFrameworkResolver);
+  }
+
+  @Test
+  public void testRecordsBeforeMapping() throws Exception {
+    Mockito.when(fixtureRecorder.isEnabled()).thenReturn(true);
+    Mockito.when(fixtureRecorder.record(compilationUnit)).thenThrow(new IOException("disk full"));
+    Mockito.when(javaClassFile.getMainType()).thenReturn(mappedMainType);
+    Mockito.when(mainTypeComplementProvider.complement(mappedMainType)).thenReturn(
+      mainTypeComplement);
+    Mockito.when(builderTypeSupplementProvider.provideSupplement(mappedMainType, mainType))
+        .thenReturn(builderTypeSupplement);
+    Mockito.when(mainTypeComplement.isEmptyComplement()).thenReturn(true);
+    Mockito.when(builderTypeSupplement.isEmptySupplement()).thenReturn(true);
+    assertNull(subContractor.workWithDefaults(compilationUnit));
+    InOrder inOrder = Mockito.inOrder(fixtureRecorder, compilationUnitMapper);
+    inOrder.verify(fixtureRecorder).record(compilationUnit);
+    inOrder.verify(compilationUnitMapper).map(compilationUnit);
+  }
+
+  @Test
+  public void testAuditsTheHandlesTheSupplementIsProvidedFrom() throws JavaModelException {
+    FlattenedICompilationUnit auditedFlattened = Mockito.mock(FlattenedICompilationUnit.class);
+    IType auditedMainType = Mockito.mock(IType.class);
+    Mockito.when(compilationUnitMapper.map(Mockito.any(ICompilationUnit.class)))
+        .thenReturn(javaClassFile);
+    Mockito.when(compilationUnitFlattener.flatten(Mockito.any(ICompilationUnit.class)))
+        .thenReturn(auditedFlattened);
+    Mockito.when(compilationUnitFlattener.flatten(compilationUnit))
+        .thenReturn(flattenedICompilationUnit);
+    Mockito.when(auditedFlattened.getMainType()).thenReturn(auditedMainType);
+    Mockito.when(javaClassFile.getMainType()).thenReturn(mappedMainType);
+    Mockito.when(mainTypeComplementProvider.complement(mappedMainType)).thenReturn(
+      mainTypeComplement);
+    Mockito.when(builderTypeSupplementProvider.provideSupplement(mappedMainType, auditedMainType))
+        .thenReturn(builderTypeSupplement);
+    Mockito.when(defaultComposerRequestConstructor.work(
+      mainTypeComplement, builderTypeSupplement, ValidationFramework.COMMONS_LANG2))
+        .thenReturn(composerRequest);
+    subContractor(new JdtAccessAudit(true)).workWithDefaults(compilationUnit);
+    // The composer is given the handles of the java model itself
+    Mockito.verify(composer).compose(composerRequest, null, flattenedICompilationUnit, javaClassFile);
+    Mockito.verify(compilationUnitMapper, Mockito.never()).map(compilationUnit);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testWorkReachableWithDefaultsNullCompilationUnit() throws JavaModelException {
+    subContractor.workReachableWithDefaults(null);
+  }
+
+  @Test
+  public void testWorkReachableWithDefaultsNothingToDo() throws JavaModelException {
+    Mockito.when(reachableTypeCollector.collect(compilationUnit)).thenReturn(
+      new ReachableTypes.Builder().addCompilationUnit(compilationUnit).build());
+    Mockito.when(javaClassFile.getMainType()).thenReturn(mappedMainType);
+    Mockito.when(mainTypeComplementProvider.complement(mappedMainType)).thenReturn(
+      mainTypeComplement);
+    Mockito.when(builderTypeSupplementProvider.provideSupplement(mappedMainType, mainType))
+        .thenReturn(builderTypeSupplement);
+    Mockito.when(mainTypeComplement.isEmptyComplement()).thenReturn(true);
+    Mockito.when(builderTypeSupplement.isEmptySupplement()).thenReturn(true);
+    assertNull(subContractor.workReachableWithDefaults(compilationUnit));
+    Mockito.verifyZeroInteractions(batchComposer, composer);
+  }
+
+  @Test
+  public void testWorkReachableWithDefaultsComposesOneBatch() throws JavaModelException {
+    Mockito.when(reachableTypeCollector.collect(compilationUnit)).thenReturn(
+      new ReachableTypes.Builder()
+          .addCompilationUnit(compilationUnit)
+          .addCompilationUnit(reachableCompilationUnit)
+          .truncated()
+          .build());
+    Mockito.when(javaClassFile.getMainType()).thenReturn(mappedMainType);
+    Mockito.when(mappedMainType.getName()).thenReturn("Order");
+    Mockito.when(mainTypeComplementProvider.complement(mappedMainType)).thenReturn(
+      mainTypeComplement);
+    Mockito.when(builderTypeSupplementProvider.provideSupplement(mappedMainType, mainType))
+        .thenReturn(builderTypeSupplement);
+    Mockito.when(mainTypeComplement.isEmptyComplement()).thenReturn(true);
+    Mockito.when(builderTypeSupplement.isEmptySupplement()).thenReturn(true);
+    Mockito.when(compilationUnitMapper.map(reachableCompilationUnit))
+        .thenReturn(reachableJavaClassFile);
+    Mockito.when(compilationUnitFlattener.flatten(reachableCompilationUnit))
+        .thenReturn(reachableFlattenedICompilationUnit);
+    Mockito.when(reachableCompilationUnit.getJavaProject()).thenReturn(javaProject);
+    Mockito.when(reachableJavaClassFile.getMainType()).thenReturn(reachableMappedMainType);
+    Mockito.when(reachableMappedMainType.getName()).thenReturn("Address");
+    Mockito.when(mainTypeComplementProvider.complement(reachableMappedMainType)).thenReturn(
+      reachableMainTypeComplement);
+    Mockito.when(builderTypeSupplementProvider.provideSupplement(
+      Mockito.eq(reachableMappedMainType), Mockito.any(IType.class)))
+        .thenReturn(builderTypeSupplement);
+    Mockito.when(reachableMainTypeComplement.isEmptyComplement()).thenReturn(false);
+    Mockito.when(defaultComposerRequestConstructor.work(
+      reachableMainTypeComplement, builderTypeSupplement, ValidationFramework.COMMONS_LANG2))
+        .thenReturn(composerRequest);
+    assertEquals(
+      "Bob The Builder updated Address (1 of 2 reachable types), "
+        + "stopped following fields at 2 types",
+      subContractor.workReachableWithDefaults(compilationUnit));
+    Composition composition = new Composition.Builder()
+        .withRequest(composerRequest)
+        .withFlattenedICompilationUnit(reachableFlattenedICompilationUnit)
+        .withJavaClassFile(reachableJavaClassFile)
+        .build();
+    Mockito.verify(batchComposer).composeAll(Arrays.asList(composition), null);
+    Mockito.verifyZeroInteractions(composer, dialogConstructor);
+    verifyAnalyzedInScope(2);
+  }
+
+  @Test
+  public void testWorkTakesPreAnalysis() throws JavaModelException {
+    stubNothingToDo();
+    Mockito.when(compilationUnit.isConsistent()).thenReturn(true);
+    Mockito.when(compilationUnit.getSource()).thenReturn("class Order {}");
+    subContractor.preAnalyze(compilationUnit, new NullProgressMonitor());
+    subContractor.work(shell, compilationUnit);
+    Mockito.verify(compilationUnitMapper, Mockito.times(1)).map(compilationUnit);
+    Mockito.verify(nothingToDoDialog).show(shell);
+  }
+
+  @Test
+  public void testReachableUnitsLeaveThePreAnalysis() throws JavaModelException {
+    stubNothingToDo();
+    Mockito.when(compilationUnit.isConsistent()).thenReturn(true);
+    Mockito.when(compilationUnit.getSource()).thenReturn("class Order {}");
+    Mockito.when(reachableTypeCollector.collect(compilationUnit)).thenReturn(
+      new ReachableTypes.Builder()
+          .addCompilationUnit(compilationUnit)
+          .addCompilationUnit(reachableCompilationUnit)
+          .build());
+    Mockito.when(compilationUnitMapper.map(reachableCompilationUnit)).thenReturn(javaClassFile);
+    Mockito.when(compilationUnitFlattener.flatten(reachableCompilationUnit))
+        .thenReturn(flattenedICompilationUnit);
+    Mockito.when(reachableCompilationUnit.getJavaProject()).thenReturn(javaProject);
+    subContractor.preAnalyze(compilationUnit, new NullProgressMonitor());
+    assertNull(subContractor.workReachableWithDefaults(compilationUnit));
+    Mockito.verify(compilationUnitMapper, Mockito.times(1)).map(compilationUnit);
+    Mockito.verify(compilationUnitMapper).map(reachableCompilationUnit);
+  }
+
+  @Test
+  public void testPreAnalysisIsUsedOnce() throws JavaModelException {
+    stubNothingToDo();
+    Mockito.when(compilationUnit.isConsistent()).thenReturn(true);
+    Mockito.when(compilationUnit.getSource()).thenReturn("class Order {}");
+    subContractor.preAnalyze(compilationUnit, new NullProgressMonitor());
+    subContractor.preAnalyze(compilationUnit, new NullProgressMonitor());
+    subContractor.workWithDefaults(compilationUnit);
+    subContractor.workWithDefaults(compilationUnit);
+    Mockito.verify(compilationUnitMapper, Mockito.times(2)).map(compilationUnit);
+  }
+
+  @Test
+  public void testWorkAnalyzesChangedSource() throws JavaModelException {
+    stubNothingToDo();
+    Mockito.when(compilationUnit.isConsistent()).thenReturn(true);
+    Mockito.when(compilationUnit.getSource())
+        .thenReturn("class Order {}", "class Order {}", "class Order { int x; }");
+    subContractor.preAnalyze(compilationUnit, new NullProgressMonitor());
+    subContractor.workWithDefaults(compilationUnit);
+    Mockito.verify(compilationUnitMapper, Mockito.times(2)).map(compilationUnit);
+  }
+
+  @Test
+  public void testPreAnalyzeClassifiesAfresh() throws JavaModelException {
+    stubNothingToDo();
+    Mockito.when(compilationUnit.isConsistent()).thenReturn(true);
+    Mockito.when(compilationUnit.getSource()).thenReturn("class Order {}");
+    subContractor.preAnalyze(compilationUnit, new NullProgressMonitor());
+    verifyAnalyzedInScope(1);
+  }
+
+  @Test
+  public void testPreAnalyzeSkipsInconsistentWorkingCopy() throws JavaModelException {
+    Mockito.when(compilationUnit.isConsistent()).thenReturn(false);
+    subContractor.preAnalyze(compilationUnit, new NullProgressMonitor());
+    Mockito.verifyZeroInteractions(compilationUnitMapper, compilationUnitFlattener);
+  }
+
+  @Test
+  public void testPreAnalyzeCanceled() throws JavaModelException {
+    stubNothingToDo();
+    Mockito.when(compilationUnit.isConsistent()).thenReturn(true);
+    Mockito.when(compilationUnit.getSource()).thenReturn("class Order {}");
+    NullProgressMonitor monitor = new NullProgressMonitor();
+    monitor.setCanceled(true);
+    try {
+      subContractor.preAnalyze(compilationUnit, monitor);
+      fail();
+    }
+    catch (OperationCanceledException e) {
+      // Expected
+    }
+    Mockito.verifyZeroInteractions(compilationUnitFlattener);
+    subContractor.workWithDefaults(compilationUnit);
+    Mockito.verify(compilationUnitFlattener).flatten(compilationUnit);
+  }
+
+  private void stubNothingToDo() throws JavaModelException {
+    Mockito.when(javaClassFile.getMainType()).thenReturn(mappedMainType);
+    Mockito.when(mainTypeComplementProvider.complement(mappedMainType)).thenReturn(
+      mainTypeComplement);
+    Mockito.when(builderTypeSupplementProvider.provideSupplement(mappedMainType, mainType))
+        .thenReturn(builderTypeSupplement);
+    Mockito.when(mainTypeComplement.isEmptyComplement()).thenReturn(true);
+    Mockito.when(builderTypeSupplement.isEmptySupplement()).thenReturn(true);
+  }
+
+  private SubContractor subContractor(JdtAccessAudit jdtAccessAudit) {
+    return new SubContractor(
+        dialogConstructor,
+        composer,
+        nothingToDoDialog,
+        dialogRequestConstructor,
+        compilationUnitMapper,
+        compilationUnitFlattener,
+        mainTypeComplementProvider,
+        builderTypeSupplementProvider,
+        memberClassifier,
+        validationFrameworkResolver,
+        jdtAccessAudit,
+        defaultComposerRequestConstructor,
+        fixtureRecorder,
+        reachableTypeCollector,
+        batchComposer,
+        footprintEstimator,
+        methodSizeLint);
+  }
+
+  // Each analysis classifies the members in a scope of its own
+  private void verifyAnalyzedInScope(int analyses) throws JavaModelException {
+    Mockito.verify(memberClassifier, Mockito.times(analyses))
+        .inScope(Mockito.<MemberClassifier.Scope<Object>> any());
   }
 }
@@ -0,0 +1,142 @@
+package org.eclipselabs.bobthebuilder;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.EnumSet;
+import java.util.Set;
+
+import org.eclipselabs.bobthebuilder.complement.BuildMethodComplement;
+import org.eclipselabs.bobthebuilder.composer.ComposerRequest;
+import org.eclipselabs.bobthebuilder.composer.FieldChangeDetector;
+import org.eclipselabs.bobthebuilder.model.BuilderTypeComplement;
+import org.eclipselabs.bobthebuilder.model.BuilderTypeSupplement;
+import org.eclipselabs.bobthebuilder.model.ConstructorWithBuilderComplement;
+import org.eclipselabs.bobthebuilder.model.Field;
+import org.eclipselabs.bobthebuilder.model.FieldAssignment;
+import org.eclipselabs.bobthebuilder.model.MainTypeComplement;
+import org.eclipselabs.bobthebuilder.model.ValidateMethodComplement;
+import org.eclipselabs.bobthebuilder.model.WithMethod;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.MockitoAnnotations;
+
+import com.google.common.collect.Sets;
+
+public class DefaultComposerRequestConstructorTest {
+
+  private DefaultComposerRequestConstructor defaultComposerRequestConstructor;
+
+  @Mock
+  private MainTypeComplement mainTypeComplement;
+
+  @Mock
+  private BuilderTypeComplement builderTypeComplement;
+
+  @Mock
+  private ConstructorWithBuilderComplement constructorWithBuilderComplement;
+
+  @Mock
+  private ValidateMethodComplement validateMethodComplement;
+
+  private BuilderTypeSupplement builderTypeSupplement;
+
+  private Field missing;
+
+  private Field extra;
+
+  @Before
+  public void setUp() {
+    MockitoAnnotations.initMocks(this);
+    defaultComposerRequestConstructor = new DefaultComposerRequestConstructor(new FieldChangeDetector());
+    missing = new Field.Builder().withName("missing").withSignature("String").withPosition(1)
+        .build();
+    extra = new Field.Builder().withName("extra").withSignature("long").withPosition(2).build();
+    builderTypeSupplement =
+        new BuilderTypeSupplement(Sets.newHashSet(extra), Sets.<WithMethod> newHashSet());
+    Mockito.when(mainTypeComplement.getBuilderTypeComplement()).thenReturn(builderTypeComplement);
+    Mockito.when(mainTypeComplement.getConstructorWithBuilderComplement())
+        .thenReturn(constructorWithBuilderComplement);
+    Mockito.when(builderTypeComplement.getValidateMethodComplement())
+        .thenReturn(validateMethodComplement);
+    Mockito.when(builderTypeComplement.getBuilderFieldsComplement())
+        .thenReturn(Sets.newHashSet(missing));
+    Mockito.when(builderTypeComplement.getWithMethodsComplement()).thenReturn(
+      Sets.newHashSet(new WithMethod.Builder().withName("withMissing").withField(missing).build()));
+    Set<FieldAssignment> assignments = Sets.newHashSet(new FieldAssignment(missing));
+    Mockito.when(constructorWithBuilderComplement.getFieldAssignments()).thenReturn(assignments);
+    Mockito.when(validateMethodComplement.getFieldAssignments()).thenReturn(assignments);
+    Mockito.when(builderTypeComplement.getBuildMethodComplement())
+        .thenReturn(BuildMethodComplement.NEEDS_VALIDATE_INVOCATION);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testNullValidationFramework() {
+    defaultComposerRequestConstructor.work(mainTypeComplement, builderTypeSupplement, null);
+  }
+
+  @Test
+  public void testEverythingIsSelected() {
+    ComposerRequest actual = defaultComposerRequestConstructor.work(
+      mainTypeComplement, builderTypeSupplement, ValidationFramework.GOOGLE_GUAVA);
+    assertEquals(Sets.newHashSet(missing), actual.getMissingFieldsInBuilder());
+    assertEquals(Sets.newHashSet(extra), actual.getExtraFieldsInBuilder());
+    assertEquals(Sets.newHashSet(missing), actual.getMissingWithMethodsInBuilder());
+    assertEquals(Sets.newHashSet(missing), actual.getMissingAssignmentsInConstructor());
+    assertEquals(Sets.newHashSet(missing), actual.getMissingFieldValidationsInBuild());
+    assertFalse(actual.isCreateConstructorWithBuilder());
+    assertFalse(actual.isCreateBuildMethodInBuilder());
+    assertTrue(actual.isCreateValidateMethodInBuilder());
+    assertEquals(ValidationFramework.GOOGLE_GUAVA, actual.getValidationFramework());
+  }
+
+  @Test
+  public void testOnlyFeaturesAreSelected() {
+    ComposerRequest actual = defaultComposerRequestConstructor.work(
+      mainTypeComplement, builderTypeSupplement, ValidationFramework.GOOGLE_GUAVA,
+      EnumSet.of(Feature.MISSING_FIELDS, Feature.MISSING_WITHS));
+    assertEquals(Sets.newHashSet(missing), actual.getMissingFieldsInBuilder());
+    assertTrue(actual.getExtraFieldsInBuilder().isEmpty());
+    assertEquals(Sets.newHashSet(missing), actual.getMissingWithMethodsInBuilder());
+    assertTrue(actual.getMissingAssignmentsInConstructor().isEmpty());
+    assertTrue(actual.getMissingFieldValidationsInBuild().isEmpty());
+    assertFalse(actual.isCreateValidateMethodInBuilder());
+  }
+
+  @Test
+  public void testSummarize() {
+    ComposerRequest request = defaultComposerRequestConstructor.work(
+      mainTypeComplement, builderTypeSupplement, ValidationFramework.GOOGLE_GUAVA);
+    assertEquals("Bob The Builder added 1 field, removed 1 field, added 1 with-method, "
+      + "added 1 assignment, created validate(), added 1 validation",
+      defaultComposerRequestConstructor.summarize(request));
+  }
+
+  @Test
+  public void testSummarizeRenamesAndRetypes() {
+    Field renamed = new Field.Builder().withName("renamed").withSignature("long").withPosition(3)
+        .build();
+    Field retyped = new Field.Builder().withName("missing").withSignature("int").withPosition(4)
+        .build();
+    ComposerRequest request = new ComposerRequest.Builder()
+        .addMissingFieldInBuilder(missing)
+        .addMissingFieldInBuilder(renamed)
+        .addExtraFieldInBuilder(extra)
+        .addExtraFieldInBuilder(retyped)
+        .addMissingWithMethodInBuilder(missing)
+        .addMissingWithMethodInBuilder(renamed)
+        .addMissingValidationInBuild(renamed)
+        .build();
+    assertEquals("Bob The Builder renamed 1 field, retyped 1 field",
+      defaultComposerRequestConstructor.summarize(request));
+  }
+
+  @Test
+  public void testSummarizeNothing() {
+    assertEquals(DefaultComposerRequestConstructor.NOTHING_TO_DO,
+      defaultComposerRequestConstructor.summarize(new ComposerRequest.Builder().build()));
+  }
+}
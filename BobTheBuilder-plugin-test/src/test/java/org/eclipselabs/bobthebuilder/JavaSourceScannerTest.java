@@ -0,0 +1,35 @@
+package org.eclipselabs.bobthebuilder;
+
+import static org.junit.Assert.assertEquals;
+
+import org.junit.Test;
+
+public class JavaSourceScannerTest {
+
+  @Test
+  public void testBodyStartPastJavadocAndAnnotations() {
+    String source = "/** Builds the {@code Person} */\n"
+      + "@SuppressWarnings({ \"unchecked\" })\n"
+      + "public Person build() {\n"
+      + "  return null;\n"
+      + "}";
+    assertEquals(source.indexOf("() {") + 3, JavaSourceScanner.bodyStart(source, 0));
+  }
+
+  @Test
+  public void testBodyStartPastBracesInLiteralsAndComments() {
+    String source = "@Pattern(\"{\") // {\nvoid run() /* { */ {\n}";
+    assertEquals(source.lastIndexOf('{'), JavaSourceScanner.bodyStart(source, 0));
+  }
+
+  @Test
+  public void testNoBody() {
+    assertEquals(-1, JavaSourceScanner.bodyStart("/** {@code x} */\nabstract void run();", 0));
+  }
+
+  @Test
+  public void testCodeStartPastComments() {
+    String source = "/** The name */\n  // not the surname\n  /* trimmed */ private String name;";
+    assertEquals(source.indexOf("private"), JavaSourceScanner.codeStart(source));
+  }
+}
@@ -0,0 +1,64 @@
+package org.eclipselabs.bobthebuilder;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import org.eclipse.jdt.core.ICompilationUnit;
+import org.eclipse.jdt.core.IType;
+import org.eclipse.jdt.core.JavaModelException;
+import org.eclipse.ui.IViewPart;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.MockitoAnnotations;
+
+public class PreAnalysisSchedulerTest {
+
+  @Mock
+  private ICompilationUnit compilationUnit;
+
+  @Mock
+  private IType type;
+
+  @Mock
+  private IType otherType;
+
+  @Before
+  public void setUp() {
+    MockitoAnnotations.initMocks(this);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testNullSubContractor() {
+    new PreAnalysisScheduler(null);
+  }
+
+  @Test
+  public void testSingleClassIsCandidate() throws JavaModelException {
+    Mockito.when(compilationUnit.getTypes()).thenReturn(new IType[] { type });
+    Mockito.when(type.isClass()).thenReturn(true);
+    assertTrue(PreAnalysisScheduler.isCandidate(compilationUnit));
+  }
+
+  @Test
+  public void testInterfaceIsNoCandidate() throws JavaModelException {
+    Mockito.when(compilationUnit.getTypes()).thenReturn(new IType[] { type });
+    Mockito.when(type.isClass()).thenReturn(false);
+    assertFalse(PreAnalysisScheduler.isCandidate(compilationUnit));
+  }
+
+  @Test
+  public void testSeveralTypesAreNoCandidate() throws JavaModelException {
+    Mockito.when(compilationUnit.getTypes()).thenReturn(new IType[] { type, otherType });
+    Mockito.when(type.isClass()).thenReturn(true);
+    Mockito.when(otherType.isClass()).thenReturn(true);
+    assertFalse(PreAnalysisScheduler.isCandidate(compilationUnit));
+  }
+
+  @Test
+  public void testViewHasNoCompilationUnit() {
+    assertNull(PreAnalysisScheduler.compilationUnitOf(Mockito.mock(IViewPart.class)));
+  }
+}
@@ -0,0 +1,63 @@
+package org.eclipselabs.bobthebuilder;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+
+import org.eclipselabs.bobthebuilder.model.Field;
+import org.junit.Test;
+
+public class ValidationFrameworkTest {
+
+  @Test
+  public void testStringMayNotBeBlank() {
+    assertEquals("Validate.isTrue(!StringUtils.isBlank(name), \"name may not be blank\");",
+      ValidationFramework.COMMONS_LANG2.composeFieldValidation(field("name", "String")));
+  }
+
+  @Test
+  public void testCollectionOfStringsMayNotBeEmpty() {
+    assertEquals("Preconditions.checkNotNull(tags, \"tags may not be null\"); "
+      + "Preconditions.checkArgument(!tags.isEmpty(), \"tags may not be empty\");",
+      ValidationFramework.GOOGLE_GUAVA.composeFieldValidation(field("tags", "List<String>")));
+  }
+
+  @Test
+  public void testMapOfStringsMayNotBeEmpty() {
+    assertEquals("Validate.notNull(labels, \"labels may not be null\"); "
+      + "Validate.isTrue(!labels.isEmpty(), \"labels may not be empty\");",
+      ValidationFramework.COMMONS_LANG3.composeFieldValidation(
+        field("labels", "Map<String, String>")));
+  }
+
+  @Test
+  public void testImportsStringUtilsOnlyForStrings() {
+    assertEquals(Collections.singleton("com.google.common.base.Preconditions"),
+      ValidationFramework.GOOGLE_GUAVA.composeImports(
+        Arrays.asList(field("age", "int"), field("tags", "List<String>"))));
+    assertEquals(
+      new LinkedHashSet<String>(Arrays.asList(
+        "org.apache.commons.lang3.Validate", "org.apache.commons.lang3.StringUtils")),
+      ValidationFramework.COMMONS_LANG3.composeImports(
+        Arrays.asList(field("age", "int"), field("name", "String"))));
+    // Guava has strings of its own, so that a project with Guava alone compiles the builder
+    assertEquals(
+      new LinkedHashSet<String>(Arrays.asList(
+        "com.google.common.base.Preconditions", "com.google.common.base.Strings")),
+      ValidationFramework.GOOGLE_GUAVA.composeImports(
+        Arrays.asList(field("age", "int"), field("name", "String"))));
+  }
+
+  @Test
+  public void testGuavaStringMayNotBeBlank() {
+    assertEquals("Preconditions.checkArgument("
+      + "!Strings.isNullOrEmpty(name) && !name.trim().isEmpty(), \"name may not be blank\");",
+      ValidationFramework.GOOGLE_GUAVA.composeFieldValidation(field("name", "String")));
+  }
+
+  private static Field field(String name, String signature) {
+    return new Field.Builder().withName(name).withSignature(signature).withPosition(1).build();
+  }
+}
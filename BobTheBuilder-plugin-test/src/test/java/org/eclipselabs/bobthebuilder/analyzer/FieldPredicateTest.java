@@ -1,5 +1,6 @@
 package org.eclipselabs.bobthebuilder.analyzer;
 
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
 
@@ -8,6 +9,8 @@ import org.eclipselabs.bobthebuilder.analyzer.FieldPredicate;
 import org.junit.Before;
 import org.junit.Test;
 
+import com.google.common.collect.Sets;
+
 /**
  * To test {@link FieldPredicate}
  */
@@ -57,4 +60,27 @@ public class FieldPredicateTest {
     assertFalse(actual);
   }
 
+  @Test
+  public void testFieldAssignmentMatchesSeveralFieldsOfTheSameInput() {
+    FieldPredicate predicate = new FieldPredicate.FieldAssignment();
+    input = "private Fu(Builder builder) {\n  this.field1 = builder.field1;\n"
+      + "  this.field2 = builder.field2;\n}";
+    assertTrue(predicate.match(field1Name, input, signature));
+    assertTrue(predicate.match(field2Name, input, signature));
+    assertFalse(predicate.match("field", input, signature));
+    assertFalse(predicate.match(field1Name, createAssignment(field2Name), signature));
+  }
+
+  @Test
+  public void testFieldAssignmentAssignedFields() {
+    input = "private Fu(Builder builder) {\n  this.field1 = builder.field1;\n"
+      + "  this.field2 = builder.field2;\n  this.field3 = field2;\n}";
+    assertEquals(Sets.newHashSet(field1Name, field2Name),
+      new FieldPredicate.FieldAssignment().assignedFields(input));
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testFieldAssignmentAssignedFieldsOfNullInput() {
+    new FieldPredicate.FieldAssignment().assignedFields(null);
+  }
 }
@@ -97,6 +97,15 @@ public class MethodPredicateTest {
     assertTrue(actual);
   }
 
+  @Test
+  public void testConstructorWithSelfTypedBuilderPasses() throws JavaModelException {
+    Mockito.when(methodFixture.isConstructor()).thenReturn(true);
+    Mockito.when(methodFixture.getSignature()).thenReturn(
+      MethodPredicate.ConstructorWithBuilder.CONSTRUCTOR_WITH_SELF_TYPED_BUILDER_SIGNATURE);
+    boolean actual = new MethodPredicate.ConstructorWithBuilder().match(methodFixture);
+    assertTrue(actual);
+  }
+
   @Test(expected = IllegalArgumentException.class)
   public void testNullMethodPassedToConstructorWithBuilder() throws JavaModelException {
     new MethodPredicate.ConstructorWithBuilder().match(null);
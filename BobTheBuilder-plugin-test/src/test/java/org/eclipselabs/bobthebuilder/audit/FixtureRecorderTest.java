@@ -0,0 +1,105 @@
+package org.eclipselabs.bobthebuilder.audit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.util.Properties;
+
+import org.eclipse.jdt.core.ICompilationUnit;
+import org.eclipselabs.bobthebuilder.mapper.eclipse.SuperclassResolver;
+import org.eclipselabs.bobthebuilder.performance.SourceJavaModel;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class FixtureRecorderTest {
+
+  private static final String PARTY =
+      "package org.example;\n\npublic abstract class Party {\n  private long id;\n}\n";
+
+  private static final String PERSON = "package org.example;\n\n"
+    + "public class Person extends Party {\n  private String name;\n}\n";
+
+  @Rule
+  public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+  private SourceJavaModel sourceJavaModel;
+
+  private FixtureRecorder fixtureRecorder;
+
+  @Before
+  public void setUp() {
+    sourceJavaModel = new SourceJavaModel();
+    fixtureRecorder = new FixtureRecorder(temporaryFolder.getRoot(), new SuperclassResolver());
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testNullCompilationUnit() throws Exception {
+    fixtureRecorder.record(null);
+  }
+
+  @Test
+  public void testDisabled() throws Exception {
+    FixtureRecorder disabled = new FixtureRecorder(null, new SuperclassResolver());
+    assertFalse(disabled.isEnabled());
+    assertNull(disabled.record(sourceJavaModel.add("org/example/Party.java", PARTY)));
+  }
+
+  @Test
+  public void testRecordsSourceSuperclasses() throws Exception {
+    sourceJavaModel.add("org/example/Party.java", PARTY);
+    File fixture = fixtureRecorder.record(sourceJavaModel.add("org/example/Person.java", PERSON));
+    assertEquals(new File(temporaryFolder.getRoot(), "Person"), fixture);
+    assertEquals("org/example/Person.java,org/example/Party.java",
+      descriptor(fixture).getProperty(FixtureRecorder.SOURCES));
+    assertEquals(PERSON, read(new File(fixture, "org/example/Person.java")));
+    assertEquals(PARTY, read(new File(fixture, "org/example/Party.java")));
+  }
+
+  @Test
+  public void testRecordsTheSameCompilationUnitAgainAlongside() throws Exception {
+    ICompilationUnit party = sourceJavaModel.add("org/example/Party.java", PARTY);
+    fixtureRecorder.record(party);
+    File fixture = fixtureRecorder.record(party);
+    assertEquals(new File(temporaryFolder.getRoot(), "Party-2"), fixture);
+    assertEquals("org/example/Party.java",
+      descriptor(fixture).getProperty(FixtureRecorder.SOURCES));
+    assertTrue(new File(fixture, "org/example/Party.java").isFile());
+  }
+
+  private static Properties descriptor(File fixture) throws IOException {
+    Properties result = new Properties();
+    InputStream input = new FileInputStream(new File(fixture, FixtureRecorder.DESCRIPTOR));
+    try {
+      result.load(input);
+    }
+    finally {
+      input.close();
+    }
+    return result;
+  }
+
+  private static String read(File file) throws IOException {
+    Reader reader = new InputStreamReader(new FileInputStream(file), "UTF-8");
+    try {
+      StringBuilder result = new StringBuilder();
+      char[] buffer = new char[4096];
+      for (int read = reader.read(buffer); read != -1; read = reader.read(buffer)) {
+        result.append(buffer, 0, read);
+      }
+      return result.toString();
+    }
+    finally {
+      reader.close();
+    }
+  }
+}
@@ -0,0 +1,93 @@
+package org.eclipselabs.bobthebuilder.audit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import org.eclipse.jdt.core.ICompilationUnit;
+import org.eclipse.jdt.core.IField;
+import org.eclipse.jdt.core.IJavaProject;
+import org.eclipse.jdt.core.IType;
+import org.eclipse.jdt.core.JavaModelException;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.MockitoAnnotations;
+
+public class JdtAccessAuditTest {
+
+  @Mock
+  private ICompilationUnit compilationUnit;
+
+  @Mock
+  private IType type;
+
+  @Mock
+  private IField field;
+
+  @Mock
+  private IJavaProject javaProject;
+
+  private JdtAccessAudit audit;
+
+  @Before
+  public void setUp() throws JavaModelException {
+    MockitoAnnotations.initMocks(this);
+    audit = new JdtAccessAudit(true);
+    Mockito.when(compilationUnit.getTypes()).thenReturn(new IType[] { type });
+    Mockito.when(type.getFields()).thenReturn(new IField[] { field });
+    Mockito.when(type.getField("name")).thenReturn(field);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testNullElement() {
+    audit.audit(null);
+  }
+
+  @Test
+  public void testDisabledReturnsElement() {
+    assertSame(compilationUnit, new JdtAccessAudit(false).audit(compilationUnit));
+  }
+
+  @Test
+  public void testCountsCallsOnReturnedHandles() throws JavaModelException {
+    ICompilationUnit audited = audit.audit(compilationUnit);
+    assertNotSame(compilationUnit, audited);
+    IType auditedType = audited.getTypes()[0];
+    auditedType.getFields();
+    auditedType.getFields();
+    assertEquals(1, audit.getCalls("ICompilationUnit.getTypes"));
+    assertEquals(2, audit.getCalls("IType.getFields"));
+    Mockito.verify(type, Mockito.times(2)).getFields();
+  }
+
+  @Test
+  public void testDuplicateFetches() throws JavaModelException {
+    IType auditedType = audit.audit(type);
+    auditedType.getField("name");
+    auditedType.getField("name");
+    auditedType.getField("name");
+    auditedType.getFields();
+    assertEquals(2, audit.getDuplicateFetches());
+    assertTrue(audit.summary().contains("Duplicate fetches: 2"));
+    assertTrue(audit.summary().contains("JdtAccessAuditTest.testDuplicateFetches"));
+  }
+
+  @Test
+  public void testUnwrapsArguments() throws JavaModelException {
+    IType auditedType = audit.audit(type);
+    IJavaProject auditedJavaProject = audit.audit(javaProject);
+    auditedType.newTypeHierarchy(auditedJavaProject, null);
+    Mockito.verify(type).newTypeHierarchy(javaProject, null);
+  }
+
+  @Test
+  public void testReset() throws JavaModelException {
+    audit.audit(type).getFields();
+    audit.reset();
+    assertEquals(0, audit.getCalls("IType.getFields"));
+    assertEquals(0, audit.getDuplicateFetches());
+  }
+}
@@ -0,0 +1,101 @@
+package org.eclipselabs.bobthebuilder.check;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class BatchJournalTest {
+
+  private static final String OPTIONS = "GOOGLE_GUAVA";
+
+  @Rule
+  public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+  private Path file;
+
+  @Before
+  public void setUp() {
+    file = temporaryFolder.getRoot().toPath().resolve("journal");
+  }
+
+  @Test
+  public void testFindsWhatWasRecordedWithSameStamp() throws IOException {
+    BatchJournal journal = new BatchJournal(file, OPTIONS);
+    journal.record("/src/A.java", "s1", BatchJournal.Outcome.SYNCED);
+    assertEquals(BatchJournal.Outcome.SYNCED, journal.find("/src/A.java", "s1"));
+    assertNull(journal.find("/src/A.java", "s2"));
+    assertNull(journal.find("/src/B.java", "s1"));
+    journal.close();
+  }
+
+  @Test
+  public void testResumesFromEarlierRun() throws IOException {
+    BatchJournal journal = new BatchJournal(file, OPTIONS);
+    journal.record("/src/A.java", "s1", BatchJournal.Outcome.FAILED);
+    journal.record("/src/A.java", "s2", BatchJournal.Outcome.IN_SYNC);
+    journal.record("/src/B.java", "s3", BatchJournal.Outcome.OUT_OF_LINE);
+    journal.close();
+    BatchJournal resumed = new BatchJournal(file, OPTIONS);
+    assertNull(resumed.find("/src/A.java", "s1"));
+    assertEquals(BatchJournal.Outcome.IN_SYNC, resumed.find("/src/A.java", "s2"));
+    assertEquals(BatchJournal.Outcome.OUT_OF_LINE, resumed.find("/src/B.java", "s3"));
+    resumed.close();
+  }
+
+  @Test
+  public void testIgnoresLineCutShort() throws IOException {
+    BatchJournal journal = new BatchJournal(file, OPTIONS);
+    journal.record("/src/A.java", "s1", BatchJournal.Outcome.IN_SYNC);
+    journal.close();
+    Files.write(file, "SYNCED\ts2\t/src/B.ja".getBytes("UTF-8"), StandardOpenOption.APPEND);
+    BatchJournal resumed = new BatchJournal(file, OPTIONS);
+    assertEquals(BatchJournal.Outcome.IN_SYNC, resumed.find("/src/A.java", "s1"));
+    assertNull(resumed.find("/src/B.ja", "s2"));
+    resumed.close();
+  }
+
+  @Test
+  public void testCutsOffLineCutShort() throws IOException {
+    Files.write(file, "SYNCED\ts2\t/src/B.ja".getBytes("UTF-8"));
+    BatchJournal resumed = new BatchJournal(file, OPTIONS);
+    resumed.record("/src/A.java", "s1", BatchJournal.Outcome.IN_SYNC);
+    resumed.close();
+    BatchJournal again = new BatchJournal(file, OPTIONS);
+    assertEquals(BatchJournal.Outcome.IN_SYNC, again.find("/src/A.java", "s1"));
+    again.close();
+  }
+
+  @Test
+  public void testFindsOnlyWithSameOptions() throws IOException {
+    BatchJournal journal = new BatchJournal(file, OPTIONS);
+    journal.record("/src/A.java", "s1", BatchJournal.Outcome.OUT_OF_LINE);
+    journal.close();
+    BatchJournal writing = new BatchJournal(file, OPTIONS + ",write");
+    assertNull(writing.find("/src/A.java", "s1"));
+    writing.close();
+  }
+
+  @Test
+  public void testCompleteDeletes() throws IOException {
+    BatchJournal journal = new BatchJournal(file, OPTIONS);
+    journal.record("/src/A.java", "s1", BatchJournal.Outcome.IN_SYNC);
+    journal.complete();
+    assertFalse(Files.exists(file));
+  }
+
+  @Test
+  public void testStampOfContent() {
+    assertEquals(BatchJournal.stampOf("class A {}"), BatchJournal.stampOf("class A {}"));
+    assertFalse(BatchJournal.stampOf("class A {}").equals(BatchJournal.stampOf("class A { }")));
+  }
+}
@@ -0,0 +1,220 @@
+package org.eclipselabs.bobthebuilder.check;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import org.eclipselabs.bobthebuilder.ValidationFramework;
+import org.eclipselabs.bobthebuilder.complement.ComplementModule;
+import org.eclipselabs.bobthebuilder.daemon.BuilderSync;
+import org.eclipselabs.bobthebuilder.daemon.DaemonModule;
+import org.eclipselabs.bobthebuilder.mapper.javac.MapperModule;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.mockito.Matchers;
+import org.mockito.Mockito;
+
+import com.google.inject.Guice;
+
+public class BuilderCheckTest {
+
+  private static final Charset UTF_8 = Charset.forName("UTF-8");
+
+  private static final String PERSON = "package org.example;\n\n"
+    + "public class Person {\n\n"
+    + "  private final int age;\n\n"
+    + "  public static class Builder {\n"
+    + "  }\n"
+    + "}\n";
+
+  private static final String ADDRESS = "package org.example;\n\n"
+    + "public class Address {\n"
+    + "}\n";
+
+  @Rule
+  public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+  private BuilderSync builderSync;
+
+  private Path cacheDirectory;
+
+  private ResultCache resultCache;
+
+  private ByteArrayOutputStream log;
+
+  private List<Path> javaFiles;
+
+  @Before
+  public void setUp() throws IOException {
+    builderSync = Mockito.spy(
+      Guice.createInjector(new MapperModule(), new ComplementModule(), new DaemonModule())
+          .getInstance(BuilderSync.class));
+    cacheDirectory = temporaryFolder.newFolder("cache").toPath();
+    resultCache = new ResultCache(cacheDirectory, "1.0.6", 1024 * 1024);
+    log = new ByteArrayOutputStream();
+    Path root = temporaryFolder.newFolder("src").toPath();
+    Files.createDirectories(root.resolve("org/example"));
+    Files.write(root.resolve("org/example/Person.java"), PERSON.getBytes(UTF_8));
+    Files.write(root.resolve("org/example/Address.java"), ADDRESS.getBytes(UTF_8));
+    javaFiles = BuilderCheck.listJavaFiles(Arrays.asList(root));
+  }
+
+  @Test
+  public void testListsJavaFiles() {
+    assertEquals(2, javaFiles.size());
+    assertTrue(javaFiles.get(0).endsWith("org/example/Address.java"));
+  }
+
+  @Test
+  public void testFindsOutOfLineFiles() throws IOException {
+    assertEquals(1, newCheck().run(javaFiles, false));
+    assertTrue(log().contains("Person.java out of line"));
+    assertEquals(PERSON, read(javaFiles.get(1)));
+  }
+
+  @Test
+  public void testSecondRunDoesNotParse() throws IOException {
+    newCheck().run(javaFiles, false);
+    Mockito.reset(builderSync);
+    // As a later run would
+    resultCache = new ResultCache(cacheDirectory, "1.0.6", 1024 * 1024);
+    assertEquals(1, newCheck().run(javaFiles, false));
+    verifyNotSynced();
+    assertTrue(log().endsWith("checked 2 files, 1 out of line, cache hit 2 of 2 (100%)\n"));
+  }
+
+  @Test
+  public void testWritesOutOfLineFiles() throws IOException {
+    assertEquals(1, newCheck().run(javaFiles, true));
+    assertTrue(read(javaFiles.get(1)).contains("public Builder withAge(int age) {"));
+    Mockito.reset(builderSync);
+    // The new source is checked once, then taken from the cache
+    assertEquals(0, newCheck().run(javaFiles, false));
+    assertEquals(0, newCheck().run(javaFiles, false));
+    Mockito.verify(builderSync, Mockito.times(1)).sync(
+      Matchers.eq("Person.java"), Matchers.<Map<String, String>> any(),
+      Matchers.any(ValidationFramework.class));
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testWithoutLog() {
+    newCheckBuilder().withLog(null).build();
+  }
+
+  @Test
+  public void testWithoutCache() throws IOException {
+    BuilderCheck check = newCheckBuilder().withResultCache(null).build();
+    assertEquals(1, check.run(javaFiles, false));
+    assertTrue(log().endsWith("checked 2 files, 1 out of line\n"));
+  }
+
+  @Test
+  public void testResumesFromJournal() throws IOException {
+    Path journalFile = temporaryFolder.getRoot().toPath().resolve("journal");
+    BatchJournal journal = new BatchJournal(journalFile, newCheck().journalOptions(true));
+    newCheck().run(javaFiles.subList(1, 2), true, journal);
+    // As if the run stopped there
+    journal.close();
+    Mockito.reset(builderSync);
+    BatchJournal resumed = new BatchJournal(journalFile, newCheck().journalOptions(true));
+    assertEquals(1, newCheck().run(javaFiles, true, resumed));
+    resumed.complete();
+    Mockito.verify(builderSync, Mockito.never()).sync(
+      Matchers.eq("Person.java"), Matchers.<Map<String, String>> any(),
+      Matchers.any(ValidationFramework.class));
+    Mockito.verify(builderSync).sync(
+      Matchers.eq("Address.java"), Matchers.<Map<String, String>> any(),
+      Matchers.any(ValidationFramework.class));
+    assertTrue(log().contains("checked 2 files, 1 out of line, 1 taken from the journal"));
+  }
+
+  @Test
+  public void testWritingRunDoesNotResumeFromCheckingOne() throws IOException {
+    Path journalFile = temporaryFolder.getRoot().toPath().resolve("journal");
+    BatchJournal journal = new BatchJournal(journalFile, newCheck().journalOptions(false));
+    assertEquals(1, newCheck().run(javaFiles, false, journal));
+    journal.close();
+    BatchJournal resumed = new BatchJournal(journalFile, newCheck().journalOptions(true));
+    newCheck().run(javaFiles, true, resumed);
+    resumed.complete();
+    assertTrue(read(javaFiles.get(1)).contains("public Builder withAge(int age) {"));
+    assertFalse(log().contains("taken from the journal"));
+  }
+
+  @Test
+  public void testFailureIsRecordedAndRunGoesOn() throws IOException {
+    Mockito.doThrow(new IllegalStateException("unparsable")).when(builderSync).sync(
+      Matchers.eq("Address.java"), Matchers.<Map<String, String>> any(),
+      Matchers.any(ValidationFramework.class));
+    BatchJournal journal = new BatchJournal(
+      temporaryFolder.getRoot().toPath().resolve("journal"), newCheck().journalOptions(false));
+    assertEquals(1, newCheck().run(javaFiles, false, journal));
+    assertEquals(BatchJournal.Outcome.FAILED, journal.find(javaFiles.get(0).toString(),
+      BatchJournal.stampOf(ADDRESS)));
+    assertEquals(BatchJournal.Outcome.OUT_OF_LINE, journal.find(javaFiles.get(1).toString(),
+      BatchJournal.stampOf(PERSON)));
+    assertTrue(log().contains("checked 2 files, 1 out of line, 1 failed"));
+    journal.close();
+  }
+
+  @Test
+  public void testListsFootprintsOfTypesWithBuilder() throws IOException {
+    BuilderCheck check = newCheckBuilder().withFootprint(true).build();
+    assertEquals(1, check.run(javaFiles, false));
+    assertTrue(log().contains("Bob The Builder estimates Person: ~16 bytes per instance "
+      + "(12 header, 4 fields, 0 padding), largest: age 4\n"
+      + "Bob The Builder estimates Person.Builder: ~16 bytes per instance"));
+    // Address has no builder
+    assertFalse(log().contains("estimates Address"));
+  }
+
+  @Test
+  public void testListsMethodSizesAsSynced() throws IOException {
+    BuilderCheck check = newCheckBuilder().withMethodSize(true).build();
+    assertEquals(1, check.run(javaFiles, false));
+    assertTrue(log().contains(
+      "Bob The Builder estimates Person.Person(Builder): ~13 bytes of bytecode\n"
+      + "Bob The Builder estimates Person.build(): ~13 bytes of bytecode\n"
+      + "Bob The Builder estimates Person.validate(): ~19 bytes of bytecode\n"));
+    assertFalse(log().contains("bytes per instance"));
+  }
+
+  private BuilderCheck newCheck() {
+    return newCheckBuilder().build();
+  }
+
+  private BuilderCheck.Builder newCheckBuilder() {
+    return new BuilderCheck.Builder()
+        .withBuilderSync(builderSync)
+        .withValidationFramework(ValidationFramework.GOOGLE_GUAVA)
+        .withCharset(UTF_8)
+        .withResultCache(resultCache)
+        .withLog(new PrintStream(log, true));
+  }
+
+  private void verifyNotSynced() {
+    Mockito.verify(builderSync, Mockito.never()).sync(
+      Matchers.anyString(), Matchers.<Map<String, String>> any(),
+      Matchers.any(ValidationFramework.class));
+  }
+
+  private String log() {
+    return new String(log.toByteArray(), UTF_8);
+  }
+
+  private static String read(Path file) throws IOException {
+    return new String(Files.readAllBytes(file), UTF_8);
+  }
+}
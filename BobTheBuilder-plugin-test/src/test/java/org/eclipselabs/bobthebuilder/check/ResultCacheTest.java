@@ -0,0 +1,152 @@
+package org.eclipselabs.bobthebuilder.check;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.jar.Attributes;
+import java.util.jar.JarEntry;
+import java.util.jar.JarFile;
+import java.util.jar.JarOutputStream;
+import java.util.jar.Manifest;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class ResultCacheTest {
+
+  @Rule
+  public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+  private Path directory;
+
+  private ResultCache resultCache;
+
+  @Before
+  public void setUp() throws IOException {
+    directory = temporaryFolder.newFolder("cache").toPath();
+    resultCache = new ResultCache(directory, "1.0.6", 1024);
+  }
+
+  @Test
+  public void testKeyOfEveryInput() throws IOException {
+    String key = resultCache.keyOf(sources("class A {}"), "GOOGLE_GUAVA");
+    assertEquals(key, resultCache.keyOf(sources("class A {}"), "GOOGLE_GUAVA"));
+    assertFalse(key.equals(resultCache.keyOf(sources("class A { }"), "GOOGLE_GUAVA")));
+    assertFalse(key.equals(resultCache.keyOf(sources("class A {}"), "COMMONS_LANG2")));
+    assertFalse(key.equals(new ResultCache(directory, "1.0.7", 1024)
+        .keyOf(sources("class A {}"), "GOOGLE_GUAVA")));
+    Map<String, String> withSuperclass = sources("class A {}");
+    withSuperclass.put("B.java", "class B {}");
+    assertFalse(key.equals(resultCache.keyOf(withSuperclass, "GOOGLE_GUAVA")));
+  }
+
+  @Test
+  public void testGetWhatWasPut() throws IOException {
+    resultCache.put("aa01", ResultCache.Result.IN_SYNC);
+    resultCache.put("bb02", new ResultCache.Result("class B {\n  int \u00e9;\n}\n"));
+    assertTrue(resultCache.get("aa01").isInSync());
+    assertEquals("class B {\n  int \u00e9;\n}\n", resultCache.get("bb02").getNewSource());
+    assertNull(resultCache.get("cc03"));
+    assertEquals(2, resultCache.getHits());
+    assertEquals(1, resultCache.getMisses());
+    assertEquals(2.0 / 3, resultCache.getHitRate(), 0.001);
+  }
+
+  @Test
+  public void testEntriesOutliveTheCache() throws IOException {
+    resultCache.put("aa01", ResultCache.Result.IN_SYNC);
+    assertNotNull(new ResultCache(directory, "1.0.6", 1024).get("aa01"));
+  }
+
+  @Test
+  public void testEvictsLeastRecentlyUsed() throws IOException {
+    String source = new String(new char[300]).replace('\0', 'x');
+    resultCache.put("aa01", new ResultCache.Result(source));
+    resultCache.put("bb02", new ResultCache.Result(source));
+    resultCache.put("cc03", new ResultCache.Result(source));
+    // Set apart, as the clock of the file system may be coarse: aa01 was used last
+    long now = System.currentTimeMillis();
+    touch("aa01", now + 10000);
+    touch("bb02", now - 30000);
+    touch("cc03", now - 20000);
+    resultCache.put("dd04", new ResultCache.Result(source));
+    assertNotNull(resultCache.get("aa01"));
+    assertNotNull(resultCache.get("dd04"));
+    assertNull(resultCache.get("bb02"));
+    assertNull(resultCache.get("cc03"));
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testNoVersion() throws IOException {
+    new ResultCache(directory, "", 1024);
+  }
+
+  @Test
+  public void testVersionOfBuildOutput() {
+    assertTrue(ResultCache.versionOf(ResultCache.class).length() > 0);
+  }
+
+  @Test
+  public void testVersionOfRelease() throws IOException {
+    assertEquals("1.0.6.v20121105",
+      ResultCache.versionOfJar(jar("release.jar", "1.0.6.v20121105", "class A {}")));
+  }
+
+  @Test
+  public void testVersionOfSnapshotsTellsBuildsApart() throws IOException {
+    String version = ResultCache.versionOfJar(jar("first.jar", "1.0.6.snapshot", "class A {}"));
+    assertTrue(version.startsWith("1.0.6.snapshot-"));
+    assertEquals(version,
+      ResultCache.versionOfJar(jar("same.jar", "1.0.6.snapshot", "class A {}")));
+    assertFalse(version.equals(
+      ResultCache.versionOfJar(jar("second.jar", "1.0.6.snapshot", "class A { }"))));
+  }
+
+  private File jar(String name, String bundleVersion, String content) throws IOException {
+    Manifest manifest = new Manifest();
+    manifest.getMainAttributes().put(Attributes.Name.MANIFEST_VERSION, "1.0");
+    manifest.getMainAttributes().putValue("Bundle-Version", bundleVersion);
+    File result = temporaryFolder.newFile(name);
+    JarOutputStream jar = new JarOutputStream(new FileOutputStream(result));
+    try {
+      // Entries of a fixed time, so that jars of the same content have the same bytes
+      JarEntry manifestEntry = new JarEntry(JarFile.MANIFEST_NAME);
+      manifestEntry.setTime(0);
+      jar.putNextEntry(manifestEntry);
+      manifest.write(jar);
+      jar.closeEntry();
+      JarEntry entry = new JarEntry("A.class");
+      entry.setTime(0);
+      jar.putNextEntry(entry);
+      jar.write(content.getBytes("UTF-8"));
+      jar.closeEntry();
+    }
+    finally {
+      jar.close();
+    }
+    return result;
+  }
+
+  private void touch(String key, long lastModified) {
+    directory.resolve(key.substring(0, 2)).resolve(key + ".entry").toFile()
+        .setLastModified(lastModified);
+  }
+
+  private static Map<String, String> sources(String source) {
+    Map<String, String> result = new LinkedHashMap<String, String>();
+    result.putAll(Collections.singletonMap("A.java", source));
+    return result;
+  }
+}
@@ -0,0 +1,101 @@
+package org.eclipselabs.bobthebuilder.check;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.List;
+
+import org.eclipselabs.bobthebuilder.ValidationFramework;
+import org.eclipselabs.bobthebuilder.complement.ComplementModule;
+import org.eclipselabs.bobthebuilder.daemon.BuilderSync;
+import org.eclipselabs.bobthebuilder.daemon.DaemonModule;
+import org.eclipselabs.bobthebuilder.mapper.javac.MapperModule;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import com.google.inject.Guice;
+
+public class ShardedCheckTest {
+
+  private static final Charset UTF_8 = Charset.forName("UTF-8");
+
+  @Rule
+  public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+  @Test
+  public void testPartitionKeepsPackagesTogether() {
+    List<List<Path>> partition = ShardedCheck.partition(Arrays.asList(
+      Paths.get("/a/A1.java"), Paths.get("/a/A2.java"), Paths.get("/a/A3.java"),
+      Paths.get("/b/B1.java"), Paths.get("/b/B2.java"),
+      Paths.get("/c/C1.java"), Paths.get("/c/C2.java")), 2);
+    assertEquals(2, partition.size());
+    assertEquals(Arrays.asList(Paths.get("/a/A1.java"), Paths.get("/a/A2.java"),
+      Paths.get("/a/A3.java")), partition.get(0));
+    assertEquals(Arrays.asList(Paths.get("/b/B1.java"), Paths.get("/b/B2.java"),
+      Paths.get("/c/C1.java"), Paths.get("/c/C2.java")), partition.get(1));
+  }
+
+  @Test
+  public void testNoMoreShardsThanPackages() {
+    assertEquals(1, ShardedCheck.partition(
+      Arrays.asList(Paths.get("/a/A1.java"), Paths.get("/a/A2.java")), 4).size());
+  }
+
+  @Test
+  public void testWorkersCheckAndThisJvmWrites() throws IOException, InterruptedException {
+    Path root = temporaryFolder.newFolder("src").toPath();
+    Path person = write(root.resolve("org/example/Person.java"), "package org.example;\n\n"
+      + "public class Person {\n\n"
+      + "  private final int age;\n\n"
+      + "  public static class Builder {\n"
+      + "  }\n"
+      + "}\n");
+    write(root.resolve("org/example/party/Party.java"), "package org.example.party;\n\n"
+      + "public class Party {\n"
+      + "}\n");
+    ByteArrayOutputStream log = new ByteArrayOutputStream();
+    BuilderCheck check = new BuilderCheck.Builder()
+        .withBuilderSync(
+          Guice.createInjector(new MapperModule(), new ComplementModule(), new DaemonModule())
+              .getInstance(BuilderSync.class))
+        .withValidationFramework(ValidationFramework.GOOGLE_GUAVA)
+        .withCharset(UTF_8)
+        .withLog(new PrintStream(log, true))
+        .build();
+    String cacheDirectory = System.getProperty(BuilderCheck.CACHE_DIRECTORY_PROPERTY);
+    // Workers take the cache from the system properties
+    System.setProperty(BuilderCheck.CACHE_DIRECTORY_PROPERTY, "");
+    try {
+      assertEquals(1, new ShardedCheck(check, 2, "64m")
+          .run(BuilderCheck.listJavaFiles(Arrays.asList(root)), true, null));
+    }
+    finally {
+      if (cacheDirectory == null) {
+        System.clearProperty(BuilderCheck.CACHE_DIRECTORY_PROPERTY);
+      }
+      else {
+        System.setProperty(BuilderCheck.CACHE_DIRECTORY_PROPERTY, cacheDirectory);
+      }
+    }
+    assertTrue(new String(Files.readAllBytes(person), UTF_8)
+        .contains("public Builder withAge(int age) {"));
+    String output = new String(log.toByteArray(), UTF_8);
+    assertTrue(output, output.contains("Bob The Builder synced " + person));
+    assertTrue(output, output.endsWith("checked 2 files, 1 out of line\n"));
+  }
+
+  private static Path write(Path javaFile, String source) throws IOException {
+    Files.createDirectories(javaFile.getParent());
+    Files.write(javaFile, source.getBytes(UTF_8));
+    return javaFile;
+  }
+}
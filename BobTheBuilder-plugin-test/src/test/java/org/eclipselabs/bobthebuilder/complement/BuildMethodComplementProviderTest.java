@@ -45,6 +45,14 @@ public class BuildMethodComplementProviderTest {
     assertEquals(BuildMethodComplement.ENTIRE_METHOD, actual);
   }
 
+  @Test
+  public void testAbstractMainType() {
+    Mockito.when(mainType.isAbstractType()).thenReturn(true);
+    Mockito.when(mainType.getBuilderType()).thenReturn(null);
+    BuildMethodComplement actual = buildMethodComplementProvider.complement(mainType);
+    assertEquals(BuildMethodComplement.NOTHING_TO_DO, actual);
+  }
+
   @Test
   public void testNullBuildMethod() {
     Mockito.when(builderType.getBuildMethod()).thenReturn(null);
@@ -2,10 +2,14 @@ package org.eclipselabs.bobthebuilder.complement;
 
 import static org.junit.Assert.assertEquals;
 
+import java.util.Collections;
+
 import org.eclipselabs.bobthebuilder.model.BuilderTypeComplement;
 import org.eclipselabs.bobthebuilder.model.ConstructorWithBuilderComplement;
+import org.eclipselabs.bobthebuilder.model.Field;
 import org.eclipselabs.bobthebuilder.model.MainType;
 import org.eclipselabs.bobthebuilder.model.MainTypeComplement;
+import org.eclipselabs.bobthebuilder.model.ValidateMethodComplement;
 import org.junit.Before;
 import org.junit.Test;
 import org.mockito.Mock;
@@ -20,6 +24,15 @@ public class MainTypeComplementProviderTest {
   @Mock
   private BuilderTypeComplementProvider builderTypeComplementProvider;
 
+  @Mock
+  private UnboxableFieldsProvider unboxableFieldsProvider;
+
+  @Mock
+  private ValidateMethodComplement validateMethodComplement;
+
+  @Mock
+  private Field field;
+
   private MainTypeComplementProvider mainTypeComplementProvider;
 
   @Mock
@@ -35,10 +48,15 @@ public class MainTypeComplementProviderTest {
   public void setUp() {
     MockitoAnnotations.initMocks(this);
     mainTypeComplementProvider = new MainTypeComplementProvider(
-        constructorWithBuilderComplementProvider, builderTypeComplementProvider);
+        constructorWithBuilderComplementProvider, builderTypeComplementProvider,
+        unboxableFieldsProvider);
     Mockito.when(constructorWithBuilderComplementProvider.complement(mainType)).thenReturn(
       constructorWithBuilderComplement);
     Mockito.when(builderTypeComplementProvider.complement(mainType)).thenReturn(builderTypeComplement);
+    Mockito.when(builderTypeComplement.getValidateMethodComplement())
+        .thenReturn(validateMethodComplement);
+    Mockito.when(unboxableFieldsProvider.provide(mainType, validateMethodComplement))
+        .thenReturn(Collections.singleton(field));
   }
 
   @Test(expected = IllegalArgumentException.class)
@@ -51,5 +69,6 @@ public class MainTypeComplementProviderTest {
     MainTypeComplement actual = mainTypeComplementProvider.complement(mainType);
     assertEquals(constructorWithBuilderComplement, actual.getConstructorWithBuilderComplement());
     assertEquals(builderTypeComplement, actual.getBuilderTypeComplement());
+    assertEquals(Collections.singleton(field), actual.getUnboxableFields());
   }
 }
@@ -0,0 +1,126 @@
+package org.eclipselabs.bobthebuilder.complement;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+
+import org.eclipselabs.bobthebuilder.model.BuilderType;
+import org.eclipselabs.bobthebuilder.model.Field;
+import org.eclipselabs.bobthebuilder.model.FieldAssignment;
+import org.eclipselabs.bobthebuilder.model.MainType;
+import org.eclipselabs.bobthebuilder.model.ValidateMethod;
+import org.eclipselabs.bobthebuilder.model.ValidateMethodComplement;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.MockitoAnnotations;
+
+import com.google.common.collect.Sets;
+
+public class UnboxableFieldsProviderTest {
+
+  private UnboxableFieldsProvider unboxableFieldsProvider;
+
+  @Mock
+  private MainType mainType;
+
+  @Mock
+  private BuilderType builderType;
+
+  @Mock
+  private ValidateMethod validateMethod;
+
+  private Field age;
+
+  private Field active;
+
+  private Field name;
+
+  private ValidateMethodComplement noMissingValidations;
+
+  @Before
+  public void setUp() {
+    MockitoAnnotations.initMocks(this);
+    unboxableFieldsProvider = new UnboxableFieldsProvider();
+    age = field("age", "Integer", 1);
+    active = field("active", "java.lang.Boolean", 2);
+    name = field("name", "String", 3);
+    noMissingValidations =
+        new ValidateMethodComplement(Collections.<FieldAssignment> emptySet(), false);
+    Mockito.when(mainType.getFields()).thenReturn(Sets.newHashSet(age, active, name));
+    Mockito.when(mainType.getBuilderType()).thenReturn(builderType);
+    Mockito.when(builderType.getBuilderFields()).thenReturn(Sets.newHashSet(age, active, name));
+    Mockito.when(builderType.getValidateMethod()).thenReturn(validateMethod);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testNullMainType() {
+    unboxableFieldsProvider.provide(null, noMissingValidations);
+  }
+
+  @Test
+  public void testValidatedNotNullAlready() {
+    Mockito.when(validateMethod.getSource()).thenReturn("private void validate() {\n"
+      + "  Preconditions.checkNotNull(age, \"age may not be null\");\n"
+      + "  Validate.notNull(this.active);\n"
+      + "  Validate.notNull(name, \"name may not be null\");\n"
+      + "}");
+    assertEquals(Sets.newHashSet(age, active),
+      unboxableFieldsProvider.provide(mainType, noMissingValidations));
+  }
+
+  @Test
+  public void testOtherValidationsAllowNull() {
+    Mockito.when(validateMethod.getSource()).thenReturn("private void validate() {\n"
+      + "  Validate.isTrue(age == null || age > 0, \"age should be positive\");\n"
+      + "  Validate.notNull(activeSince);\n"
+      + "}");
+    assertTrue(unboxableFieldsProvider.provide(mainType, noMissingValidations).isEmpty());
+  }
+
+  @Test
+  public void testMissingValidationsAreNotNull() {
+    Mockito.when(mainType.getBuilderType()).thenReturn(null);
+    Set<FieldAssignment> missing = new HashSet<FieldAssignment>();
+    missing.add(new FieldAssignment(age));
+    missing.add(new FieldAssignment(name));
+    assertEquals(Collections.singleton(age),
+      unboxableFieldsProvider.provide(mainType, new ValidateMethodComplement(missing, true)));
+  }
+
+  @Test
+  public void testBuilderFieldOfOtherType() {
+    Mockito.when(builderType.getBuilderFields())
+        .thenReturn(Sets.newHashSet(field("age", "Long", 1), active, name));
+    Mockito.when(validateMethod.getSource()).thenReturn("private void validate() {\n"
+      + "  Validate.notNull(age);\n"
+      + "}");
+    assertTrue(unboxableFieldsProvider.provide(mainType, noMissingValidations).isEmpty());
+  }
+
+  @Test
+  public void testUnbox() {
+    assertEquals("int", UnboxableFieldsProvider.unbox(age).getSignature());
+    assertEquals(1, UnboxableFieldsProvider.unbox(age).getPosition());
+    assertEquals("boolean", UnboxableFieldsProvider.primitiveOf(active.getSignature()));
+    assertNull(UnboxableFieldsProvider.primitiveOf("String"));
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testUnboxNotBoxed() {
+    UnboxableFieldsProvider.unbox(name);
+  }
+
+  private static Field field(String name, String signature, int position) {
+    return new Field.Builder()
+        .withName(name)
+        .withSignature(signature)
+        .withPosition(position)
+        .build();
+  }
+}
@@ -0,0 +1,73 @@
+package org.eclipselabs.bobthebuilder.composer;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.jdt.core.ICompilationUnit;
+import org.eclipse.jdt.core.JavaModelException;
+import org.eclipselabs.bobthebuilder.mapper.eclipse.FlattenedICompilationUnit;
+import org.eclipselabs.bobthebuilder.model.JavaClassFile;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.MockitoAnnotations;
+
+public class BatchComposerTest {
+
+  @Mock
+  private Composer composer;
+
+  @Mock
+  private ComposerRequest request;
+
+  @Mock
+  private FlattenedICompilationUnit flattenedICompilationUnit;
+
+  @Mock
+  private ICompilationUnit compilationUnit;
+
+  @Mock
+  private JavaClassFile javaClassFile;
+
+  @Mock
+  private IProgressMonitor monitor;
+
+  private BatchComposer batchComposer;
+
+  private Composition composition;
+
+  @Before
+  public void setUp() {
+    MockitoAnnotations.initMocks(this);
+    batchComposer = new BatchComposer(composer);
+    Mockito.when(flattenedICompilationUnit.getCompilationUnit()).thenReturn(compilationUnit);
+    composition = new Composition.Builder()
+        .withRequest(request)
+        .withFlattenedICompilationUnit(flattenedICompilationUnit)
+        .withJavaClassFile(javaClassFile)
+        .build();
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testNullCompositions() throws JavaModelException {
+    batchComposer.composeAll(null, monitor);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testNullComposition() throws JavaModelException {
+    batchComposer.composeAll(Arrays.asList(composition, null), monitor);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testSameCompilationUnitTwice() throws JavaModelException {
+    batchComposer.composeAll(Arrays.asList(composition, composition), monitor);
+  }
+
+  @Test
+  public void testNoCompositions() throws JavaModelException {
+    batchComposer.composeAll(new ArrayList<Composition>(), monitor);
+    Mockito.verifyZeroInteractions(composer, monitor);
+  }
+}
@@ -9,6 +9,7 @@ import org.eclipselabs.bobthebuilder.analyzer.FieldPredicate;
 import org.eclipselabs.bobthebuilder.model.Field;
 import org.eclipselabs.bobthebuilder.model.FieldAssignment;
 import org.eclipselabs.bobthebuilder.model.MainType;
+import org.eclipselabs.bobthebuilder.model.SuperType;
 import org.eclipselabs.bobthebuilder.model.ValidateMethod;
 import org.junit.Before;
 import org.junit.Test;
@@ -88,13 +89,56 @@ public class BuilderComposerTest {
     Mockito.when(mainType.getName()).thenReturn("MainType");
   }
 
+  @Test(expected = IllegalArgumentException.class)
+  public void testComposeBuilderSkeletonNullType() {
+    builderComposer.composeSkeleton(null);
+  }
+
   @Test
   public void testComposeBuilderSkeleton() {
-    String actual = builderComposer.composeSkeleton();
+    String actual = builderComposer.composeSkeleton(mainType);
     String expected = "public static class Builder{\n}";
     assertEquals(expected, actual);
   }
 
+  @Test
+  public void testComposeAbstractBuilderSkeleton() {
+    Mockito.when(mainType.isAbstractType()).thenReturn(true);
+    String actual = builderComposer.composeSkeleton(mainType);
+    String expected =
+        "public static abstract class Builder<T extends Builder<T>> {\n" +
+          "  protected abstract T self();\n" +
+          "}";
+    assertEquals(expected, actual);
+  }
+
+  @Test
+  public void testComposeAbstractSubBuilderSkeleton() {
+    Mockito.when(mainType.isAbstractType()).thenReturn(true);
+    Mockito.when(mainType.isExtendingSuperBuilder()).thenReturn(true);
+    Mockito.when(mainType.getSuperType()).thenReturn(superType());
+    String actual = builderComposer.composeSkeleton(mainType);
+    String expected =
+        "public static abstract class Builder<T extends Builder<T>> extends Base.Builder<T> {\n" +
+          "}";
+    assertEquals(expected, actual);
+  }
+
+  @Test
+  public void testComposeSubBuilderSkeleton() {
+    Mockito.when(mainType.isExtendingSuperBuilder()).thenReturn(true);
+    Mockito.when(mainType.getSuperType()).thenReturn(superType());
+    String actual = builderComposer.composeSkeleton(mainType);
+    String expected =
+        "public static class Builder extends Base.Builder<Builder> {\n" +
+          "  @Override\n" +
+          "  protected Builder self() {\n" +
+          "    return this;\n" +
+          "  }\n" +
+          "}";
+    assertEquals(expected, actual);
+  }
+
   @Test(expected = IllegalArgumentException.class)
   public void testComposeDeclarationNullField() {
     builderComposer.composeFieldDeclaration(null);
@@ -123,28 +167,76 @@ public class BuilderComposerTest {
     assertEquals(expected, actual);
   }
 
+  @Test
+  public void testComposeSelfTypedWithMethod() {
+    String actual = builderComposer.composeWithMethod(fieldBuilder.build(), true);
+    String expected =
+        "public T withFieldName(String fieldName) {\n" +
+          "  this.fieldName = fieldName;\n" +
+          "  return self();\n" +
+          "}";
+    assertEquals(expected, actual);
+  }
+
   @Test(expected = IllegalArgumentException.class)
   public void testComposeValidateNullFields() {
-    builderComposer.composeValidateMethodFromScratch(null, ValidationFramework.GOOGLE_GUAVA);
+    builderComposer.composeValidateMethodFromScratch(
+      null, ValidationFramework.GOOGLE_GUAVA, mainType);
   }
 
   @Test(expected = IllegalArgumentException.class)
   public void testComposeValidateNullValidation() {
-    builderComposer.composeValidateMethodFromScratch(Sets.<Field> newHashSet(), null);
+    builderComposer.composeValidateMethodFromScratch(Sets.<Field> newHashSet(), null, mainType);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testComposeValidateNullType() {
+    builderComposer.composeValidateMethodFromScratch(
+      Sets.<Field> newHashSet(), ValidationFramework.GOOGLE_GUAVA, null);
   }
 
   @Test
   public void testComposeValidateMethod() {
     String actual = builderComposer.composeValidateMethodFromScratch(
-      Sets.<Field> newHashSet(fieldBuilder.build()), ValidationFramework.GOOGLE_GUAVA);
+      Sets.<Field> newHashSet(fieldBuilder.build()), ValidationFramework.GOOGLE_GUAVA, mainType);
 
     String expected = "private void validate() {\n" +
     "  Preconditions.checkArgument(" +
-    "!StringUtils.isBlank(fieldName), \"fieldName may not be blank\");\n" +
+    "!Strings.isNullOrEmpty(fieldName) && !fieldName.trim().isEmpty(), " +
+    "\"fieldName may not be blank\");\n" +
     "}";;
     assertEquals(expected, actual);
   }
 
+  @Test
+  public void testComposeValidateMethodOfAbstractType() {
+    Mockito.when(mainType.isAbstractType()).thenReturn(true);
+    String actual = builderComposer.composeValidateMethodFromScratch(
+      Sets.<Field> newHashSet(fieldBuilder.build()), ValidationFramework.GOOGLE_GUAVA, mainType);
+    String expected = "protected void validate() {\n" +
+    "  Preconditions.checkArgument(" +
+    "!Strings.isNullOrEmpty(fieldName) && !fieldName.trim().isEmpty(), " +
+    "\"fieldName may not be blank\");\n" +
+    "}";
+    assertEquals(expected, actual);
+  }
+
+  @Test
+  public void testComposeValidateMethodCallingSuperBuilder() {
+    Mockito.when(mainType.isExtendingSuperBuilder()).thenReturn(true);
+    Mockito.when(mainType.getSuperType()).thenReturn(superType());
+    String actual = builderComposer.composeValidateMethodFromScratch(
+      Sets.<Field> newHashSet(fieldBuilder.build()), ValidationFramework.GOOGLE_GUAVA, mainType);
+    String expected = "@Override\n" +
+    "protected void validate() {\n" +
+    "  super.validate();\n" +
+    "  Preconditions.checkArgument(" +
+    "!Strings.isNullOrEmpty(fieldName) && !fieldName.trim().isEmpty(), " +
+    "\"fieldName may not be blank\");\n" +
+    "}";
+    assertEquals(expected, actual);
+  }
+
   @Test(expected = IllegalArgumentException.class)
   public void testComposeValidateFromExistingNullRequest() {
     builderComposer.composeValidateMethodFromExisting(null, validateMethodBuilder.build());
@@ -192,6 +284,12 @@ public class BuilderComposerTest {
     "}";
     assertEquals(expected, actual);
   }
-  
-  
+
+  private SuperType superType() {
+    return new SuperType.Builder()
+        .withName("Base")
+        .withSelfTypedBuilder(true)
+        .withValidateMethodInBuilder(true)
+        .build();
+  }
 }
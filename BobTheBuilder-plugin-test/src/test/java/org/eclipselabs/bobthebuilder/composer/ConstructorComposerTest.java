@@ -7,8 +7,12 @@ import org.eclipselabs.bobthebuilder.analyzer.FieldPredicate;
 import org.eclipselabs.bobthebuilder.model.ConstructorWithBuilder;
 import org.eclipselabs.bobthebuilder.model.Field;
 import org.eclipselabs.bobthebuilder.model.FieldAssignment;
+import org.eclipselabs.bobthebuilder.model.MainType;
+import org.eclipselabs.bobthebuilder.model.SuperType;
 import org.junit.Before;
 import org.junit.Test;
+import org.mockito.Mock;
+import org.mockito.Mockito;
 import org.mockito.MockitoAnnotations;
 
 import com.google.common.collect.Sets;
@@ -35,6 +39,9 @@ public class ConstructorComposerTest {
 
   private ConstructorWithBuilder.Builder constructorWithBuilder;
 
+  @Mock
+  private MainType mainType;
+
   @Before
   public void setUp() {
     MockitoAnnotations.initMocks(this);
@@ -81,15 +88,16 @@ public class ConstructorComposerTest {
         .withName(mainTypeName)
         .withFieldAssignment(Sets.<FieldAssignment> newHashSet())
         .withSource(source);
+    Mockito.when(mainType.getName()).thenReturn(mainTypeName);
   }
 
   @Test(expected = IllegalArgumentException.class)
   public void testComposeFromScratchNullRequest() {
-    constructorComposer.composeFromScratch(null, mainTypeName);
+    constructorComposer.composeFromScratch(null, mainType);
   }
 
   @Test(expected = IllegalArgumentException.class)
-  public void testComposeFromScratchNullMainTypeName() {
+  public void testComposeFromScratchNullMainType() {
     constructorComposer.composeFromScratch(composerRequestBuilder.build(), null);
   }
 
@@ -97,7 +105,7 @@ public class ConstructorComposerTest {
   public void testComposeFromScratch() throws Exception {
     String actual =
         constructorComposer.composeFromScratch(composerRequestBuilder.build(),
-          mainTypeName);
+          mainType);
     String expected =
         "private MainType(Builder builder) {" + "\n" +
           "  this.missingAssignment1 = builder.missingAssignment1;" + "\n" +
@@ -106,6 +114,24 @@ public class ConstructorComposerTest {
     assertEquals(expected, actual);
   }
 
+  @Test
+  public void testComposeFromScratchAbstractSubType() throws Exception {
+    Mockito.when(mainType.isAbstractType()).thenReturn(true);
+    Mockito.when(mainType.isExtendingSuperBuilder()).thenReturn(true);
+    Mockito.when(mainType.getSuperType()).thenReturn(
+      new SuperType.Builder().withName("Base").withSelfTypedBuilder(true).build());
+    String actual =
+        constructorComposer.composeFromScratch(composerRequestBuilder.build(),
+          mainType);
+    String expected =
+        "protected MainType(Builder<?> builder) {" + "\n" +
+          "  super(builder);" + "\n" +
+          "  this.missingAssignment1 = builder.missingAssignment1;" + "\n" +
+          "  this.missingAssignment2 = builder.missingAssignment2;" + "\n" +
+          "}";
+    assertEquals(expected, actual);
+  }
+
   @Test(expected = IllegalArgumentException.class)
   public void testComposeFromExistingNullRequest() {
     constructorComposer.composeFromExisting(null, constructorWithBuilder.build());
@@ -0,0 +1,189 @@
+package org.eclipselabs.bobthebuilder.composer;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import org.eclipselabs.bobthebuilder.ValidationFramework;
+import org.eclipselabs.bobthebuilder.model.Field;
+import org.eclipselabs.bobthebuilder.model.FieldChange;
+import org.junit.Before;
+import org.junit.Test;
+
+public class FieldChangeComposerTest {
+
+  private FieldChangeComposer fieldChangeComposer;
+
+  private FieldChange rename;
+
+  private FieldChange retype;
+
+  @Before
+  public void setUp() {
+    fieldChangeComposer = new FieldChangeComposer();
+    rename = change(field("name", "String"), field("fullName", "String"));
+    retype = change(field("count", "int"), field("count", "long"));
+  }
+
+  @Test
+  public void testRenameFieldDeclarationKeepsJavadoc() {
+    String source = "/** The name, not the surname */\nprivate String name;";
+    assertEquals("/** The name, not the surname */\nprivate String fullName;",
+      SourceReplacement.apply(source, fieldChangeComposer.composeFieldDeclaration(rename, source)));
+  }
+
+  @Test
+  public void testRetypeFieldDeclaration() {
+    String source = "private int count = 1;";
+    assertEquals("private long count = 1;",
+      SourceReplacement.apply(source, fieldChangeComposer.composeFieldDeclaration(retype, source)));
+  }
+
+  @Test
+  public void testFieldDeclarationOfAnotherType() {
+    String source = "private StringBuilder name;";
+    assertTrue(fieldChangeComposer.composeFieldDeclaration(rename, source).isEmpty());
+  }
+
+  @Test
+  public void testRenameWithMethod() {
+    String source =
+        "/**\n" +
+          " * @param name as written on the passport\n" +
+          " */\n" +
+          "public Builder withName(String name) {\n" +
+          "  this.name = name.trim();\n" +
+          "  return this;\n" +
+          "}";
+    String expected =
+        "/**\n" +
+          " * @param fullName as written on the passport\n" +
+          " */\n" +
+          "public Builder withFullName(String fullName) {\n" +
+          "  this.fullName = fullName.trim();\n" +
+          "  return this;\n" +
+          "}";
+    assertEquals(expected,
+      SourceReplacement.apply(source, fieldChangeComposer.composeWithMethod(rename, source)));
+  }
+
+  @Test
+  public void testRenameWithMethodWithBlockCommentInBody() {
+    String source =
+        "public Builder withName(String name) {\n" +
+          "  /* as written on the passport */\n" +
+          "  this.name = name;\n" +
+          "  return this;\n" +
+          "}";
+    String expected =
+        "public Builder withFullName(String fullName) {\n" +
+          "  /* as written on the passport */\n" +
+          "  this.fullName = fullName;\n" +
+          "  return this;\n" +
+          "}";
+    assertEquals(expected,
+      SourceReplacement.apply(source, fieldChangeComposer.composeWithMethod(rename, source)));
+  }
+
+  @Test
+  public void testRetypeWithMethod() {
+    String source = "public Builder withCount(final int count) {\n  this.count = count;\n}";
+    assertEquals("public Builder withCount(final long count) {\n  this.count = count;\n}",
+      SourceReplacement.apply(source, fieldChangeComposer.composeWithMethod(retype, source)));
+  }
+
+  @Test
+  public void testRenameConstructorWithBuilder() {
+    String source = "private Fu(Builder builder) {\n  this.name = builder.name;\n}";
+    assertEquals("private Fu(Builder builder) {\n  this.fullName = builder.fullName;\n}",
+      SourceReplacement.apply(source,
+        fieldChangeComposer.composeConstructorWithBuilder(rename, source, true)));
+    assertEquals("private Fu(Builder builder) {\n  this.name = builder.fullName;\n}",
+      SourceReplacement.apply(source,
+        fieldChangeComposer.composeConstructorWithBuilder(rename, source, false)));
+  }
+
+  @Test
+  public void testRetypeLeavesConstructorWithBuilder() {
+    String source = "private Fu(Builder builder) {\n  this.count = builder.count;\n}";
+    assertTrue(fieldChangeComposer.composeConstructorWithBuilder(retype, source, true).isEmpty());
+  }
+
+  @Test
+  public void testRenameValidateMethod() {
+    String source =
+        "private void validate() {\n" +
+          "  Validate.notNull(name, \"name may not be null\");\n" +
+          "  Validate.notNull(surname, \"surname may not be null\");\n" +
+          "}";
+    String expected =
+        "private void validate() {\n" +
+          "  Validate.notNull(fullName, \"fullName may not be null\");\n" +
+          "  Validate.notNull(surname, \"surname may not be null\");\n" +
+          "}";
+    assertEquals(expected, SourceReplacement.apply(source,
+      fieldChangeComposer.composeValidateMethod(rename, source, ValidationFramework.COMMONS_LANG2)));
+  }
+
+  @Test
+  public void testRetypeValidateMethod() {
+    String source =
+        "private void validate() {\n" +
+          "  Validate.isTrue(count > 0, \"count should be set\");\n" +
+          "}";
+    String expected =
+        "private void validate() {\n" +
+          "  Validate.isTrue(count > 0L, \"count should be set\");\n" +
+          "}";
+    assertEquals(expected, SourceReplacement.apply(source,
+      fieldChangeComposer.composeValidateMethod(retype, source, ValidationFramework.COMMONS_LANG2)));
+  }
+
+  @Test
+  public void testRetypeValidateMethodWithBlockCommentInBody() {
+    String source =
+        "/** Checks the {@code count} */\n" +
+          "private void validate() {\n" +
+          "  Validate.isTrue(count > 0, \"count should be set\");\n" +
+          "  /* more to come */\n" +
+          "}";
+    String expected =
+        "/** Checks the {@code count} */\n" +
+          "private void validate() {\n" +
+          "  Validate.isTrue(count > 0L, \"count should be set\");\n" +
+          "  /* more to come */\n" +
+          "}";
+    assertEquals(expected, SourceReplacement.apply(source,
+      fieldChangeComposer.composeValidateMethod(retype, source, ValidationFramework.COMMONS_LANG2)));
+  }
+
+  @Test
+  public void testRemoveValidationWithBlockCommentInBody() {
+    String source =
+        "/** Checks the {@code age} */\n" +
+          "private void validate() {\n" +
+          "  /* age { may be left out } */\n" +
+          "  Preconditions.checkNotNull(age, \"age may not be null\");\n" +
+          "  /* more to come */\n" +
+          "}";
+    String expected =
+        "/** Checks the {@code age} */\n" +
+          "private void validate() {\n" +
+          "  /* age { may be left out } */\n" +
+          "  /* more to come */\n" +
+          "}";
+    assertEquals(expected, SourceReplacement.apply(source,
+      fieldChangeComposer.composeValidationRemoval(
+        field("age", "Integer"), source, ValidationFramework.GOOGLE_GUAVA)));
+  }
+
+  private static Field field(String name, String signature) {
+    return new Field.Builder().withName(name).withSignature(signature).withPosition(1).build();
+  }
+
+  private static FieldChange change(Field builderField, Field mainTypeField) {
+    return new FieldChange.Builder()
+        .withBuilderField(builderField)
+        .withMainTypeField(mainTypeField)
+        .build();
+  }
+}
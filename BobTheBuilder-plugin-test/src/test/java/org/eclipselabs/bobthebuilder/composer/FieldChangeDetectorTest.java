@@ -0,0 +1,90 @@
+package org.eclipselabs.bobthebuilder.composer;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.List;
+
+import org.eclipselabs.bobthebuilder.model.Field;
+import org.eclipselabs.bobthebuilder.model.FieldChange;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.google.common.collect.Lists;
+import com.google.common.collect.Sets;
+
+public class FieldChangeDetectorTest {
+
+  private FieldChangeDetector fieldChangeDetector;
+
+  @Before
+  public void setUp() {
+    fieldChangeDetector = new FieldChangeDetector();
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testNullExtraFields() {
+    fieldChangeDetector.detect(null, Sets.<Field> newHashSet());
+  }
+
+  @Test
+  public void testNothingMissing() {
+    List<FieldChange> actual = fieldChangeDetector.detect(
+      Sets.newHashSet(field("id", "long", 1)), Sets.<Field> newHashSet());
+    assertTrue(actual.isEmpty());
+  }
+
+  @Test
+  public void testRetype() {
+    Field extra = field("id", "int", 10);
+    Field missing = field("id", "long", 1);
+    List<FieldChange> actual =
+        fieldChangeDetector.detect(Sets.newHashSet(extra), Sets.newHashSet(missing));
+    assertEquals(Lists.newArrayList(change(extra, missing)), actual);
+    assertTrue(actual.get(0).isRetype());
+  }
+
+  @Test
+  public void testRenamesArePairedInTheOrderOfDeclaration() {
+    Field extraFirst = field("first", "String", 10);
+    Field extraSecond = field("second", "String", 20);
+    Field missingFirst = field("name", "String", 1);
+    Field missingSecond = field("surname", "String", 2);
+    List<FieldChange> actual = fieldChangeDetector.detect(
+      Sets.newHashSet(extraSecond, extraFirst), Sets.newHashSet(missingSecond, missingFirst));
+    assertEquals(
+      Lists.newArrayList(change(extraFirst, missingFirst), change(extraSecond, missingSecond)),
+      actual);
+    assertTrue(actual.get(0).isRename());
+  }
+
+  @Test
+  public void testRenameNeedsTheSameType() {
+    List<FieldChange> actual = fieldChangeDetector.detect(
+      Sets.newHashSet(field("count", "int", 10)), Sets.newHashSet(field("name", "String", 1)));
+    assertTrue(actual.isEmpty());
+  }
+
+  @Test
+  public void testAmbiguousRenamesAreNotPaired() {
+    List<FieldChange> actual = fieldChangeDetector.detect(
+      Sets.newHashSet(field("first", "String", 10)),
+      Sets.newHashSet(field("name", "String", 1), field("surname", "String", 2)));
+    assertTrue(actual.isEmpty());
+  }
+
+  private static Field field(String name, String signature, int position) {
+    return new Field.Builder()
+        .withName(name)
+        .withSignature(signature)
+        .withPosition(position)
+        .build();
+  }
+
+  private static FieldChange change(Field builderField, Field mainTypeField) {
+    return new FieldChange.Builder()
+        .withBuilderField(builderField)
+        .withMainTypeField(mainTypeField)
+        .build();
+  }
+}
@@ -0,0 +1,200 @@
+package org.eclipselabs.bobthebuilder.composer;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.eclipse.jdt.core.IField;
+import org.eclipse.jdt.core.IMethod;
+import org.eclipse.jdt.core.ISourceRange;
+import org.eclipse.jdt.core.IType;
+import org.eclipse.jdt.core.JavaModelException;
+import org.eclipselabs.bobthebuilder.ValidationFramework;
+import org.eclipselabs.bobthebuilder.analyzer.FieldPredicate;
+import org.eclipselabs.bobthebuilder.model.Field;
+import org.eclipselabs.bobthebuilder.model.FieldChange;
+import org.eclipselabs.bobthebuilder.model.MainType;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.MockitoAnnotations;
+
+public class FieldUnboxerTest {
+
+  @Mock
+  private FieldChangeEditor fieldChangeEditor;
+
+  @Mock
+  private IType mainType;
+
+  @Mock
+  private IType builderType;
+
+  @Mock
+  private IField mainTypeField;
+
+  @Mock
+  private ISourceRange sourceRange;
+
+  @Mock
+  private IMethod validateMethod;
+
+  private FieldUnboxer fieldUnboxer;
+
+  private Field age;
+
+  private Field name;
+
+  @Before
+  public void setUp() throws JavaModelException {
+    MockitoAnnotations.initMocks(this);
+    fieldUnboxer = new FieldUnboxer(new FieldChangeComposer(), fieldChangeEditor);
+    age = field("age", "Integer", 1);
+    name = field("name", "String", 2);
+    Mockito.when(mainType.getField("age")).thenReturn(mainTypeField);
+    Mockito.when(mainTypeField.exists()).thenReturn(true);
+    Mockito.when(mainTypeField.getSource()).thenReturn("private final Integer age;");
+    Mockito.when(mainTypeField.getSourceRange()).thenReturn(sourceRange);
+    Mockito.when(sourceRange.getOffset()).thenReturn(100);
+  }
+
+  @Test
+  public void testNothingToUnbox() {
+    ComposerRequest request = new ComposerRequest.Builder().addMissingFieldInBuilder(age).build();
+    assertSame(request, fieldUnboxer.unbox(request));
+  }
+
+  @Test
+  public void testCreatesPrimitiveMembers() {
+    ComposerRequest request = new ComposerRequest.Builder()
+        .addMissingFieldInBuilder(age)
+        .addMissingFieldInBuilder(name)
+        .addMissingWithMethodInBuilder(age)
+        .addMissingAssignmentInConstructor(age)
+        .addMissingValidationInBuild(age)
+        .addUnboxedField(age)
+        .withBuildMethodInBuilder()
+        .withValidationFramework(ValidationFramework.GOOGLE_GUAVA)
+        .build();
+    ComposerRequest actual = fieldUnboxer.unbox(request);
+    Field unboxed = field("age", "int", 1);
+    assertTrue(actual.getMissingFieldsInBuilder().contains(unboxed));
+    assertTrue(actual.getMissingFieldsInBuilder().contains(name));
+    assertEquals(Collections.singleton(unboxed), actual.getMissingWithMethodsInBuilder());
+    assertEquals(Collections.singleton(unboxed), actual.getMissingAssignmentsInConstructor());
+    // A primitive cannot be null
+    assertTrue(actual.getMissingFieldValidationsInBuild().isEmpty());
+    // As it is before, to be found where it is declared still
+    assertEquals(Collections.singleton(age), actual.getUnboxedFields());
+    assertTrue(actual.isCreateBuildMethodInBuilder());
+    assertEquals(ValidationFramework.GOOGLE_GUAVA, actual.getValidationFramework());
+  }
+
+  @Test
+  public void testRetypesMainTypeFieldInPlace() throws JavaModelException {
+    ComposerRequest request = new ComposerRequest.Builder().addUnboxedField(age).build();
+    List<SourceReplacement> actual =
+        fieldUnboxer.compose(request, mainType, null, validateMethod);
+    assertEquals(1, actual.size());
+    assertEquals(114, actual.get(0).getOffset());
+    assertEquals("Integer".length(), actual.get(0).getLength());
+    assertEquals("int", actual.get(0).getText());
+    Mockito.verifyZeroInteractions(fieldChangeEditor);
+  }
+
+  @Test
+  public void testRetypesBuilderMembersInPlace() throws JavaModelException {
+    SourceReplacement builderReplacement = new SourceReplacement(200, 7, "int");
+    FieldChange change = new FieldChange.Builder()
+        .withBuilderField(age)
+        .withMainTypeField(field("age", "int", 1))
+        .build();
+    Mockito.when(fieldChangeEditor.compose(Arrays.asList(change), builderType, null,
+      null, ValidationFramework.COMMONS_LANG2, false))
+        .thenReturn(Arrays.asList(builderReplacement));
+    ComposerRequest request = new ComposerRequest.Builder()
+        .addUnboxedField(age)
+        .withValidationFramework(ValidationFramework.COMMONS_LANG2)
+        .build();
+    List<SourceReplacement> actual =
+        fieldUnboxer.compose(request, mainType, builderType, validateMethod);
+    assertEquals(2, actual.size());
+    assertSame(builderReplacement, actual.get(1));
+  }
+
+  @Test
+  public void testDropsNotNullValidation() throws JavaModelException {
+    String source =
+        "private void validate() {\n" +
+          "    Preconditions.checkNotNull(age, \"age may not be null\");\n" +
+          "    Preconditions.checkArgument(age < 150, \"age is too high\");\n" +
+          "    Preconditions.checkNotNull(name, \"name may not be null\");\n" +
+          "  }";
+    String expected =
+        "private void validate() {\n" +
+          "    Preconditions.checkArgument(age < 150, \"age is too high\");\n" +
+          "    Preconditions.checkNotNull(name, \"name may not be null\");\n" +
+          "  }";
+    ISourceRange validateRange = Mockito.mock(ISourceRange.class);
+    Mockito.when(validateMethod.exists()).thenReturn(true);
+    Mockito.when(validateMethod.getSource()).thenReturn(source);
+    Mockito.when(validateMethod.getSourceRange()).thenReturn(validateRange);
+    Mockito.when(mainTypeField.exists()).thenReturn(false);
+    ComposerRequest request = new ComposerRequest.Builder()
+        .addUnboxedField(age)
+        .withValidationFramework(ValidationFramework.GOOGLE_GUAVA)
+        .build();
+    assertEquals(expected, SourceReplacement.apply(source,
+      fieldUnboxer.compose(request, mainType, builderType, validateMethod)));
+  }
+
+  @Test
+  public void testValidateMethodCreatedWithoutUnboxedField() {
+    ComposerRequest request = new ComposerRequest.Builder()
+        .addMissingFieldInBuilder(age)
+        .addMissingValidationInBuild(age)
+        .addMissingValidationInBuild(name)
+        .addUnboxedField(age)
+        .withValidateMethodInBuilder()
+        .withValidationFramework(ValidationFramework.GOOGLE_GUAVA)
+        .build();
+    MainType mainType = new MainType.Builder()
+        .withName("Person")
+        .withFields(Collections.singleton(age))
+        .build();
+    String actual = new BuilderComposer(Mockito.mock(FieldPredicate.class))
+        .composeValidateMethodFromScratch(
+          fieldUnboxer.unbox(request).getMissingFieldValidationsInBuild(),
+          ValidationFramework.GOOGLE_GUAVA, mainType);
+    assertFalse(actual.contains("age"));
+    assertTrue(actual.contains("Preconditions.checkArgument(!Strings.isNullOrEmpty(name)"));
+  }
+
+  @Test
+  public void testMainTypeFieldGone() throws JavaModelException {
+    Mockito.when(mainTypeField.exists()).thenReturn(false);
+    ComposerRequest request = new ComposerRequest.Builder().addUnboxedField(age).build();
+    assertTrue(fieldUnboxer.compose(request, mainType, null, validateMethod).isEmpty());
+    Mockito.verify(mainTypeField, Mockito.never()).getSource();
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testNullMainType() throws JavaModelException {
+    fieldUnboxer.compose(new ComposerRequest.Builder().build(), null, builderType,
+      validateMethod);
+  }
+
+  private static Field field(String name, String signature, int position) {
+    return new Field.Builder()
+        .withName(name)
+        .withSignature(signature)
+        .withPosition(position)
+        .build();
+  }
+}
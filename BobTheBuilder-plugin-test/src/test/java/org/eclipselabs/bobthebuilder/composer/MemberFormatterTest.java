@@ -0,0 +1,35 @@
+package org.eclipselabs.bobthebuilder.composer;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.List;
+
+import org.eclipse.jdt.core.ISourceRange;
+import org.eclipse.jdt.core.SourceRange;
+import org.junit.Test;
+
+import com.google.common.collect.Lists;
+
+public class MemberFormatterTest {
+
+  @Test
+  public void testMergeNothing() {
+    assertTrue(MemberFormatter.merge(Lists.<ISourceRange> newArrayList()).isEmpty());
+  }
+
+  @Test
+  public void testMergeSortsApartRanges() {
+    List<ISourceRange> actual = MemberFormatter.merge(Lists.<ISourceRange> newArrayList(
+      new SourceRange(50, 10), new SourceRange(10, 5)));
+    assertEquals(
+      Lists.<ISourceRange> newArrayList(new SourceRange(10, 5), new SourceRange(50, 10)), actual);
+  }
+
+  @Test
+  public void testMergeJoinsNestedAndTouchingRanges() {
+    List<ISourceRange> actual = MemberFormatter.merge(Lists.<ISourceRange> newArrayList(
+      new SourceRange(10, 100), new SourceRange(20, 5), new SourceRange(110, 10)));
+    assertEquals(Lists.<ISourceRange> newArrayList(new SourceRange(10, 110)), actual);
+  }
+}
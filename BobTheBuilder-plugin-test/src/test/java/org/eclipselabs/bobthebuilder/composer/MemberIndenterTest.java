@@ -0,0 +1,77 @@
+package org.eclipselabs.bobthebuilder.composer;
+
+import static org.junit.Assert.assertEquals;
+
+import org.junit.Before;
+import org.junit.Test;
+
+public class MemberIndenterTest {
+
+  private MemberIndenter memberIndenter;
+
+  @Before
+  public void setUp() {
+    memberIndenter = new MemberIndenter();
+  }
+
+  @Test
+  public void testIndentsByBraces() {
+    assertEquals("    public Builder withName(String name) {\n"
+      + "    \tthis.name = name;\n"
+      + "    \treturn this;\n"
+      + "    }",
+      memberIndenter.indent(
+        "public Builder withName(String name) {\n  this.name = name;\nreturn this;\n}",
+        "    ", "\t"));
+  }
+
+  @Test
+  public void testLinesUpJavadoc() {
+    assertEquals("  /**\n   * Builds.\n   */\n  void build() {\n  }",
+      memberIndenter.indent("/**\n* Builds.\n */\nvoid build() {\n}", "  ", "  "));
+  }
+
+  @Test
+  public void testDropsWhatIsLeftOfClosingBraceLine() {
+    assertEquals("  Person(Builder builder) {\n"
+      + "    this.name = builder.name;\n\n"
+      + "    this.age = builder.age;\n"
+      + "    this.tags = builder.tags;\n"
+      + "  }",
+      memberIndenter.indent("Person(Builder builder) {\n"
+        + "    this.name = builder.name;\n\n"
+        + "    this.age = builder.age;\n"
+        + "  \n"
+        + "  this.tags = builder.tags;\n"
+        + "}",
+        "  ", "  "));
+  }
+
+  @Test
+  public void testEndsLinesWithDelimiter() {
+    assertEquals("  void build() {\r\n    validate();\r\n\r\n    return;\r\n  }",
+      memberIndenter.indent("void build() {\nvalidate();\n\nreturn;\n}", "  ", "  ", "\r\n"));
+    assertEquals("  void build() {\r\n    validate();\r\n  }",
+      memberIndenter.indent("void build() {\r\n  validate();\r\n}", "  ", "  "));
+  }
+
+  @Test
+  public void testLineDelimiter() {
+    assertEquals("\r\n", MemberIndenter.lineDelimiter("class A {\r\n}\n"));
+    assertEquals("\n", MemberIndenter.lineDelimiter("class A {\n}\r\n"));
+    assertEquals("\n", MemberIndenter.lineDelimiter("class A {}"));
+  }
+
+  @Test
+  public void testIndentationAt() {
+    assertEquals("\t  ", MemberIndenter.indentationAt("class A {\n\t  int x;\n}", 13));
+    assertEquals("", MemberIndenter.indentationAt("class A {}", 0));
+  }
+
+  @Test
+  public void testIndentUnit() {
+    assertEquals("    ", MemberIndenter.indentUnit("/**\n * A.\n */\nclass A {\n    int x;\n}"));
+    assertEquals("\t", MemberIndenter.indentUnit("class A {\n\tint x;\n}"));
+    assertEquals("  ", MemberIndenter.indentUnit("class A {}"));
+  }
+}
@@ -0,0 +1,122 @@
+package org.eclipselabs.bobthebuilder.daemon;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipselabs.bobthebuilder.ValidationFramework;
+import org.eclipselabs.bobthebuilder.complement.ComplementModule;
+import org.eclipselabs.bobthebuilder.mapper.javac.MapperModule;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import com.google.inject.Guice;
+
+public class BuilderSyncDaemonTest {
+
+  private static final Charset UTF_8 = Charset.forName("UTF-8");
+
+  private static final String PERSON = "package org.example;\n\n"
+    + "public class Person extends Party {\n\n"
+    + "  private final int age;\n\n"
+    + "  public static class Builder extends Party.Builder<Builder> {\n"
+    + "  }\n"
+    + "}\n";
+
+  private static final String PARTY = "package org.example;\n\n"
+    + "public abstract class Party {\n\n"
+    + "  public abstract static class Builder<T extends Builder<T>> {\n\n"
+    + "    protected void validate() {\n"
+    + "    }\n"
+    + "  }\n"
+    + "}\n";
+
+  @Rule
+  public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+  private ExecutorService executorService;
+
+  private ByteArrayOutputStream log;
+
+  private BuilderSyncDaemon daemon;
+
+  private Path person;
+
+  @Before
+  public void setUp() throws IOException {
+    executorService = Executors.newSingleThreadExecutor();
+    log = new ByteArrayOutputStream();
+    daemon = new BuilderSyncDaemon(
+      Guice.createInjector(new MapperModule(), new ComplementModule(), new DaemonModule())
+          .getInstance(BuilderSync.class),
+      ValidationFramework.COMMONS_LANG2, UTF_8, executorService, new PrintStream(log, true));
+    Path directory = temporaryFolder.newFolder("org").toPath();
+    person = directory.resolve("Person.java");
+    Files.write(person, PERSON.getBytes(UTF_8));
+    Files.write(directory.resolve("Party.java"), PARTY.getBytes(UTF_8));
+  }
+
+  @After
+  public void tearDown() {
+    daemon.shutdown();
+  }
+
+  @Test
+  public void testWritesSyncedSource() throws IOException {
+    assertTrue(daemon.sync(person));
+    String source = read(person);
+    assertTrue(source.contains("    public Builder withAge(int age) {\n"));
+    // The superclass of the same directory is read along
+    assertTrue(source.contains("      super.validate();\n"));
+    assertTrue(new String(log.toByteArray(), UTF_8).startsWith("Bob The Builder synced "));
+    // Nor is a temporary file left behind
+    assertEquals(2, person.getParent().toFile().list().length);
+  }
+
+  @Test
+  public void testSkipsOwnWrite() throws IOException {
+    daemon.sync(person);
+    String source = read(person);
+    assertFalse(daemon.sync(person));
+    assertEquals(source, read(person));
+  }
+
+  @Test
+  public void testSkipsSourceInLine() throws IOException {
+    daemon.sync(person);
+    String source = read(person);
+    Files.write(person, source.getBytes(UTF_8));
+    assertFalse(daemon.sync(person));
+  }
+
+  @Test
+  public void testSkipsMissingFile() {
+    assertFalse(daemon.sync(person.resolveSibling("Missing.java")));
+  }
+
+  @Test
+  public void testSyncsChangedFilesOnWorkers() throws IOException, InterruptedException {
+    daemon.changed(Collections.singleton(person));
+    executorService.shutdown();
+    assertTrue(executorService.awaitTermination(30, TimeUnit.SECONDS));
+    assertTrue(read(person).contains("    public Builder withAge(int age) {\n"));
+  }
+
+  private static String read(Path file) throws IOException {
+    return new String(Files.readAllBytes(file), UTF_8);
+  }
+}
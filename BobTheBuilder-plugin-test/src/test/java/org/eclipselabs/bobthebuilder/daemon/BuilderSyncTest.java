@@ -0,0 +1,213 @@
+package org.eclipselabs.bobthebuilder.daemon;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.eclipselabs.bobthebuilder.ValidationFramework;
+import org.eclipselabs.bobthebuilder.complement.ComplementModule;
+import org.eclipselabs.bobthebuilder.mapper.javac.MapperModule;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.google.inject.Guice;
+
+public class BuilderSyncTest {
+
+  private static final String PATH = "org/example/Person.java";
+
+  private static final String EMPTY_BUILDER = "package org.example;\n\n"
+    + "public class Person {\n\n"
+    + "  private final String name;\n\n"
+    + "  private final int age;\n\n"
+    + "  public static class Builder {\n"
+    + "  }\n"
+    + "}\n";
+
+  private static final String DRIFTED_BUILDER = "package org.example;\n\n"
+    + "import org.apache.commons.lang.Validate;\n\n"
+    + "public class Person {\n\n"
+    + "  private final String name;\n\n"
+    + "  private final int age;\n\n"
+    + "  private Person(Builder builder) {\n"
+    + "    this.name = builder.name;\n"
+    + "  }\n\n"
+    + "  public static class Builder {\n\n"
+    + "    private String name;\n\n"
+    + "    private long removed;\n\n"
+    + "    public Builder withName(String name) {\n"
+    + "      this.name = name;\n"
+    + "      return this;\n"
+    + "    }\n\n"
+    + "    public Builder withRemoved(long removed) {\n"
+    + "      this.removed = removed;\n"
+    + "      return this;\n"
+    + "    }\n\n"
+    + "    public Person build() {\n"
+    + "      validate();\n"
+    + "      return new Person(this);\n"
+    + "    }\n\n"
+    + "    private void validate() {\n"
+    + "      Validate.notNull(name, \"name may not be null\");\n"
+    + "    }\n"
+    + "  }\n"
+    + "}\n";
+
+  private BuilderSync builderSync;
+
+  @Before
+  public void setUp() {
+    builderSync = Guice.createInjector(
+      new MapperModule(), new ComplementModule(), new DaemonModule())
+        .getInstance(BuilderSync.class);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testSourceOfPathMissing() {
+    builderSync.sync(PATH, Collections.<String, String> emptyMap(),
+      ValidationFramework.GOOGLE_GUAVA);
+  }
+
+  @Test
+  public void testNothingToDoWithoutBuilder() {
+    assertNull(sync("package org.example;\n\npublic class Person {\n  private String name;\n}\n"));
+  }
+
+  @Test
+  public void testNothingToDoWithOtherThanOneType() {
+    assertNull(sync("class Person {\n  static class Builder {}\n}\nclass Other {}\n"));
+  }
+
+  @Test
+  public void testCompletesEmptyBuilder() {
+    assertEquals("package org.example;\n\n"
+      + "import com.google.common.base.Preconditions;\n"
+      + "import com.google.common.base.Strings;\n\n"
+      + "public class Person {\n\n"
+      + "  private final String name;\n\n"
+      + "  private final int age;\n\n"
+      + "  private Person(Builder builder) {\n"
+      + "    this.name = builder.name;\n"
+      + "    this.age = builder.age;\n"
+      + "  }\n\n"
+      + "  public static class Builder {\n"
+      + "    private String name;\n\n"
+      + "    private int age;\n\n"
+      + "    public Builder withName(String name) {\n"
+      + "      this.name = name;\n"
+      + "      return this;\n"
+      + "    }\n\n"
+      + "    public Builder withAge(int age) {\n"
+      + "      this.age = age;\n"
+      + "      return this;\n"
+      + "    }\n\n"
+      + "    public Person build() {\n"
+      + "      validate();\n"
+      + "      return new Person(this);\n"
+      + "    }\n\n"
+      + "    private void validate() {\n"
+      + "      Preconditions.checkArgument(!Strings.isNullOrEmpty(name) && !name.trim().isEmpty(), "
+      + "\"name may not be blank\");\n"
+      + "      Preconditions.checkArgument(age > 0, \"age should be set\");\n"
+      + "    }\n"
+      + "  }\n"
+      + "}\n",
+      sync(EMPTY_BUILDER));
+  }
+
+  @Test
+  public void testBringsDriftedBuilderInLine() {
+    assertEquals("package org.example;\n\n"
+      + "import org.apache.commons.lang.Validate;\n\n"
+      + "public class Person {\n\n"
+      + "  private final String name;\n\n"
+      + "  private final int age;\n\n"
+      + "  private Person(Builder builder) {\n"
+      + "    this.name = builder.name;\n"
+      + "    this.age = builder.age;\n"
+      + "  }\n\n"
+      + "  public static class Builder {\n\n"
+      + "    private String name;\n\n"
+      + "    private int age;\n\n"
+      + "    public Builder withName(String name) {\n"
+      + "      this.name = name;\n"
+      + "      return this;\n"
+      + "    }\n\n"
+      + "    public Builder withAge(int age) {\n"
+      + "      this.age = age;\n"
+      + "      return this;\n"
+      + "    }\n\n"
+      + "    public Person build() {\n"
+      + "      validate();\n"
+      + "      return new Person(this);\n"
+      + "    }\n\n"
+      + "    private void validate() {\n"
+      + "      Validate.notNull(name, \"name may not be null\");\n"
+      + "      Validate.isTrue(age > 0, \"age should be set\");\n"
+      + "    }\n"
+      + "  }\n"
+      + "}\n",
+      sync(DRIFTED_BUILDER));
+  }
+
+  @Test
+  public void testSyncedSourceHasNothingToDo() {
+    assertNull(sync(sync(EMPTY_BUILDER)));
+    assertNull(sync(sync(DRIFTED_BUILDER)));
+  }
+
+  @Test
+  public void testKeepsCarriageReturnLineFeeds() {
+    assertEquals(crlf(sync(EMPTY_BUILDER)), sync(crlf(EMPTY_BUILDER)));
+    assertEquals(crlf(sync(DRIFTED_BUILDER)), sync(crlf(DRIFTED_BUILDER)));
+  }
+
+  @Test
+  public void testTakesSuperBuilderAmongSources() {
+    Map<String, String> sources = new LinkedHashMap<String, String>();
+    sources.put(PATH, "package org.example;\n\n"
+      + "public class Person extends Party {\n\n"
+      + "  private final int age;\n\n"
+      + "  private Person(Builder builder) {\n"
+      + "    this.age = builder.age;\n"
+      + "  }\n\n"
+      + "  public static class Builder extends Party.Builder<Builder> {\n\n"
+      + "    private int age;\n\n"
+      + "    public Builder withAge(int age) {\n"
+      + "      this.age = age;\n"
+      + "      return this;\n"
+      + "    }\n\n"
+      + "    public Person build() {\n"
+      + "      return new Person(this);\n"
+      + "    }\n"
+      + "  }\n"
+      + "}\n");
+    String withoutSuperclass =
+        builderSync.sync(PATH, sources, ValidationFramework.COMMONS_LANG2);
+    sources.put("org/example/Party.java", "package org.example;\n\n"
+      + "public abstract class Party {\n\n"
+      + "  public abstract static class Builder<T extends Builder<T>> {\n\n"
+      + "    protected void validate() {\n"
+      + "    }\n"
+      + "  }\n"
+      + "}\n");
+    String withSuperclass = builderSync.sync(PATH, sources, ValidationFramework.COMMONS_LANG2);
+    assertTrue(withoutSuperclass.contains("    private void validate() {\n"));
+    assertTrue(withSuperclass.contains("    @Override\n"
+      + "    protected void validate() {\n"
+      + "      super.validate();\n"));
+  }
+
+  private static String crlf(String source) {
+    return source.replace("\n", "\r\n");
+  }
+
+  private String sync(String source) {
+    return builderSync.sync(PATH, Collections.singletonMap(PATH, source),
+      ValidationFramework.GOOGLE_GUAVA);
+  }
+}
@@ -0,0 +1,97 @@
+package org.eclipselabs.bobthebuilder.daemon;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class SourceRootWatcherTest {
+
+  @Rule
+  public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+  private Path root;
+
+  private SourceRootWatcher watcher;
+
+  private final Set<Path> changed = Collections.synchronizedSet(new HashSet<Path>());
+
+  private Thread thread;
+
+  @Before
+  public void setUp() throws IOException {
+    root = temporaryFolder.newFolder("src").toPath();
+    Files.createDirectories(root.resolve("org/example"));
+    watcher = new SourceRootWatcher(Arrays.asList(root), 10);
+    thread = new Thread() {
+      @Override
+      public void run() {
+        try {
+          watcher.run(new SourceRootWatcher.Listener() {
+            @Override
+            public void changed(Set<Path> javaFiles) {
+              changed.addAll(javaFiles);
+            }
+          });
+        }
+        catch (InterruptedException e) {
+          // Done
+        }
+        catch (IOException e) {
+          throw new IllegalStateException(e);
+        }
+      }
+    };
+    thread.start();
+  }
+
+  @After
+  public void tearDown() throws IOException, InterruptedException {
+    watcher.close();
+    thread.join(TimeUnit.SECONDS.toMillis(10));
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testNoRoots() throws IOException {
+    new SourceRootWatcher(Collections.<Path> emptyList(), 10);
+  }
+
+  @Test
+  public void testReportsJavaFilesBelowRoot() throws IOException, InterruptedException {
+    Path person = root.resolve("org/example/Person.java");
+    Files.write(person, "class Person {}".getBytes("UTF-8"));
+    Files.write(root.resolve("org/example/notes.txt"), "notes".getBytes("UTF-8"));
+    awaitChanged(person);
+    assertFalse(changed.contains(root.resolve("org/example/notes.txt")));
+  }
+
+  @Test
+  public void testReportsJavaFilesOfNewDirectories() throws IOException, InterruptedException {
+    Path party = root.resolve("org/example/party/Party.java");
+    Files.createDirectories(party.getParent());
+    Files.write(party, "class Party {}".getBytes("UTF-8"));
+    awaitChanged(party);
+  }
+
+  // Watch services that poll may take seconds to notice
+  private void awaitChanged(Path javaFile) throws InterruptedException {
+    long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(30);
+    while (!changed.contains(javaFile) && System.nanoTime() - deadline < 0) {
+      Thread.sleep(10);
+    }
+    assertTrue(changed.contains(javaFile));
+  }
+}
@@ -0,0 +1,165 @@
+package org.eclipselabs.bobthebuilder.drift;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import org.eclipse.jdt.core.ICompilationUnit;
+import org.eclipse.jdt.core.IField;
+import org.eclipse.jdt.core.IJavaElement;
+import org.eclipse.jdt.core.IJavaElementDelta;
+import org.eclipse.jdt.core.IMethod;
+import org.eclipse.jdt.core.IType;
+import org.eclipselabs.bobthebuilder.complement.BuilderFieldsComplementProvider;
+import org.eclipselabs.bobthebuilder.mapper.eclipse.BuilderTypeMapper;
+import org.eclipselabs.bobthebuilder.mapper.eclipse.FieldMapper;
+import org.eclipselabs.bobthebuilder.model.Field;
+import org.eclipselabs.bobthebuilder.supplement.BuilderFieldsSupplementProvider;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.MockitoAnnotations;
+
+import com.google.common.collect.Sets;
+
+public class BuilderDriftDetectorTest {
+
+  @Mock
+  private FieldMapper fieldMapper;
+
+  @Mock
+  private BuilderTypeMapper builderTypeMapper;
+
+  @Mock
+  private ICompilationUnit compilationUnit;
+
+  @Mock
+  private IType mainType;
+
+  @Mock
+  private IType builderType;
+
+  private BuilderDriftDetector builderDriftDetector;
+
+  private Field name;
+
+  private Field age;
+
+  private Field builderName;
+
+  private Field builderNickname;
+
+  @Before
+  public void setUp() throws Exception {
+    MockitoAnnotations.initMocks(this);
+    builderDriftDetector = new BuilderDriftDetector(fieldMapper, builderTypeMapper,
+      new BuilderFieldsComplementProvider(),
+      new BuilderFieldsSupplementProvider(builderTypeMapper, fieldMapper));
+    name = new Field.Builder().withName("name").withSignature("String").withPosition(1).build();
+    age = new Field.Builder().withName("age").withSignature("int").withPosition(2).build();
+    builderName =
+        new Field.Builder().withName("name").withSignature("String").withPosition(10).build();
+    builderNickname =
+        new Field.Builder().withName("nickname").withSignature("String").withPosition(11).build();
+    Mockito.when(compilationUnit.getTypes()).thenReturn(new IType[] { mainType });
+    Mockito.when(builderTypeMapper.findBuilderType(mainType)).thenReturn(builderType);
+    Mockito.when(mainType.getElementName()).thenReturn("Person");
+    Mockito.when(fieldMapper.map(mainType)).thenReturn(Sets.newHashSet(name, age));
+    Mockito.when(fieldMapper.map(builderType))
+        .thenReturn(Sets.newHashSet(builderName, builderNickname));
+  }
+
+  @Test
+  public void testDrift() throws Exception {
+    BuilderDrift actual = builderDriftDetector.detect(compilationUnit, Long.MAX_VALUE);
+    assertEquals(Sets.newHashSet(age), actual.getMissingFields());
+    assertEquals(Sets.newHashSet(builderNickname), actual.getExtraFields());
+    assertSame(mainType, actual.getMainType());
+    assertSame(builderType, actual.getBuilderType());
+  }
+
+  @Test
+  public void testNoDrift() throws Exception {
+    Mockito.when(fieldMapper.map(builderType)).thenReturn(Sets.newHashSet(builderName));
+    Mockito.when(fieldMapper.map(mainType)).thenReturn(Sets.newHashSet(name));
+    assertTrue(builderDriftDetector.detect(compilationUnit, Long.MAX_VALUE).isEmpty());
+  }
+
+  @Test
+  public void testNoBuilder() throws Exception {
+    Mockito.when(builderTypeMapper.findBuilderType(mainType)).thenReturn(null);
+    assertSame(BuilderDrift.NONE, builderDriftDetector.detect(compilationUnit, Long.MAX_VALUE));
+    Mockito.verify(fieldMapper, Mockito.never()).map(mainType);
+  }
+
+  @Test
+  public void testMoreThanOneType() throws Exception {
+    Mockito.when(compilationUnit.getTypes()).thenReturn(new IType[] { mainType, builderType });
+    assertSame(BuilderDrift.NONE, builderDriftDetector.detect(compilationUnit, Long.MAX_VALUE));
+  }
+
+  @Test
+  public void testDeadlinePassed() throws Exception {
+    assertNull(builderDriftDetector.detect(compilationUnit, System.nanoTime()));
+    Mockito.verify(fieldMapper, Mockito.never()).map(builderType);
+  }
+
+  @Test
+  public void testNullDeltaDoesNotAffect() {
+    assertFalse(builderDriftDetector.affects(null));
+  }
+
+  @Test
+  public void testMethodDeltaDoesNotAffect() {
+    IJavaElementDelta methodDelta = delta(Mockito.mock(IMethod.class), IJavaElement.METHOD,
+      IJavaElementDelta.CHANGED, IJavaElementDelta.F_CONTENT);
+    IJavaElementDelta typeDelta = delta(mainType, IJavaElement.TYPE, IJavaElementDelta.CHANGED,
+      IJavaElementDelta.F_CHILDREN, methodDelta);
+    IJavaElementDelta compilationUnitDelta = delta(compilationUnit,
+      IJavaElement.COMPILATION_UNIT, IJavaElementDelta.CHANGED,
+      IJavaElementDelta.F_CONTENT | IJavaElementDelta.F_FINE_GRAINED | IJavaElementDelta.F_CHILDREN,
+      typeDelta);
+    assertFalse(builderDriftDetector.affects(compilationUnitDelta));
+  }
+
+  @Test
+  public void testFieldDeltaAffects() {
+    IJavaElementDelta fieldDelta = delta(Mockito.mock(IField.class), IJavaElement.FIELD,
+      IJavaElementDelta.ADDED, 0);
+    IJavaElementDelta typeDelta = delta(mainType, IJavaElement.TYPE, IJavaElementDelta.CHANGED,
+      IJavaElementDelta.F_CHILDREN, fieldDelta);
+    IJavaElementDelta compilationUnitDelta = delta(compilationUnit,
+      IJavaElement.COMPILATION_UNIT, IJavaElementDelta.CHANGED,
+      IJavaElementDelta.F_CONTENT | IJavaElementDelta.F_FINE_GRAINED | IJavaElementDelta.F_CHILDREN,
+      typeDelta);
+    assertTrue(builderDriftDetector.affects(compilationUnitDelta));
+  }
+
+  @Test
+  public void testRemovedTypeAffects() {
+    IJavaElementDelta typeDelta =
+        delta(builderType, IJavaElement.TYPE, IJavaElementDelta.REMOVED, 0);
+    assertTrue(builderDriftDetector.affects(typeDelta));
+  }
+
+  @Test
+  public void testCoarseDeltaAffects() {
+    IJavaElementDelta compilationUnitDelta = delta(compilationUnit,
+      IJavaElement.COMPILATION_UNIT, IJavaElementDelta.CHANGED, IJavaElementDelta.F_CONTENT);
+    assertTrue(builderDriftDetector.affects(compilationUnitDelta));
+  }
+
+  private static IJavaElementDelta delta(IJavaElement element, int elementType, int kind,
+    int flags, IJavaElementDelta... children) {
+    Mockito.when(element.getElementType()).thenReturn(elementType);
+    IJavaElementDelta result = Mockito.mock(IJavaElementDelta.class);
+    Mockito.when(result.getElement()).thenReturn(element);
+    Mockito.when(result.getKind()).thenReturn(kind);
+    Mockito.when(result.getFlags()).thenReturn(flags);
+    Mockito.when(result.getAffectedChildren()).thenReturn(children);
+    return result;
+  }
+}
@@ -0,0 +1,136 @@
+package org.eclipselabs.bobthebuilder.drift;
+
+import static org.junit.Assert.assertEquals;
+
+import org.eclipse.core.runtime.Path;
+import org.eclipse.jdt.core.ICompilationUnit;
+import org.eclipse.jdt.core.IField;
+import org.eclipse.jdt.core.IJavaElementDelta;
+import org.eclipse.jdt.core.ISourceRange;
+import org.eclipse.jdt.core.IType;
+import org.eclipse.jdt.core.compiler.CategorizedProblem;
+import org.eclipse.jdt.core.compiler.ReconcileContext;
+import org.eclipselabs.bobthebuilder.model.Field;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Matchers;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.MockitoAnnotations;
+
+import com.google.common.collect.Sets;
+
+public class BuilderDriftParticipantTest {
+
+  @Mock
+  private BuilderDriftDetector builderDriftDetector;
+
+  @Mock
+  private ReconcileContext context;
+
+  @Mock
+  private ICompilationUnit workingCopy;
+
+  @Mock
+  private IJavaElementDelta delta;
+
+  @Mock
+  private IType mainType;
+
+  @Mock
+  private IType builderType;
+
+  @Mock
+  private IField age;
+
+  @Mock
+  private ISourceRange ageNameRange;
+
+  private BuilderDriftParticipant builderDriftParticipant;
+
+  private BuilderDrift drift;
+
+  @Before
+  public void setUp() throws Exception {
+    MockitoAnnotations.initMocks(this);
+    builderDriftParticipant = new BuilderDriftParticipant(builderDriftDetector);
+    drift = new BuilderDrift(mainType, builderType, Sets.newHashSet(
+      new Field.Builder().withName("age").withSignature("int").withPosition(1).build()),
+      Sets.<Field> newHashSet());
+    Mockito.when(context.getWorkingCopy()).thenReturn(workingCopy);
+    Mockito.when(context.getDelta()).thenReturn(delta);
+    Mockito.when(workingCopy.getPath()).thenReturn(new Path("/project/src/Person.java"));
+    Mockito.when(mainType.getField("age")).thenReturn(age);
+    Mockito.when(builderType.getElementName()).thenReturn("Builder");
+    Mockito.when(age.exists()).thenReturn(true);
+    Mockito.when(age.getNameRange()).thenReturn(ageNameRange);
+    Mockito.when(ageNameRange.getOffset()).thenReturn(30);
+    Mockito.when(ageNameRange.getLength()).thenReturn(3);
+    Mockito.when(builderDriftDetector.detect(Matchers.eq(workingCopy), Matchers.anyLong()))
+        .thenReturn(drift);
+  }
+
+  @Test
+  public void testReportsDrift() throws Exception {
+    builderDriftParticipant.reconcile(context);
+    CategorizedProblem[] problems = reported();
+    assertEquals(1, problems.length);
+    assertEquals("age has no counterpart in Builder", problems[0].getMessage());
+    assertEquals(30, problems[0].getSourceStart());
+    assertEquals(32, problems[0].getSourceEnd());
+  }
+
+  @Test
+  public void testReportsNothingWithoutDrift() throws Exception {
+    Mockito.when(builderDriftDetector.detect(Matchers.eq(workingCopy), Matchers.anyLong()))
+        .thenReturn(BuilderDrift.NONE);
+    builderDriftParticipant.reconcile(context);
+    Mockito.verify(context, Mockito.never())
+        .putProblems(Matchers.anyString(), Matchers.any(CategorizedProblem[].class));
+  }
+
+  @Test
+  public void testUnaffectedReconcileReusesDrift() throws Exception {
+    Mockito.when(builderDriftDetector.affects(delta)).thenReturn(false);
+    builderDriftParticipant.reconcile(context);
+    Mockito.when(ageNameRange.getOffset()).thenReturn(40);
+    builderDriftParticipant.reconcile(context);
+    Mockito.verify(builderDriftDetector, Mockito.times(1))
+        .detect(Matchers.eq(workingCopy), Matchers.anyLong());
+    CategorizedProblem[] problems = reported();
+    assertEquals(40, problems[0].getSourceStart());
+  }
+
+  @Test
+  public void testAffectedReconcileDetectsAgain() throws Exception {
+    Mockito.when(builderDriftDetector.affects(delta)).thenReturn(true);
+    builderDriftParticipant.reconcile(context);
+    builderDriftParticipant.reconcile(context);
+    Mockito.verify(builderDriftDetector, Mockito.times(2))
+        .detect(Matchers.eq(workingCopy), Matchers.anyLong());
+  }
+
+  @Test
+  public void testOverBudgetReportsPreviousDriftAndDetectsAgain() throws Exception {
+    Mockito.when(builderDriftDetector.affects(delta)).thenReturn(false);
+    builderDriftParticipant.reconcile(context);
+    Mockito.when(builderDriftDetector.detect(Matchers.eq(workingCopy), Matchers.anyLong()))
+        .thenReturn(null);
+    Mockito.when(builderDriftDetector.affects(delta)).thenReturn(true);
+    builderDriftParticipant.reconcile(context);
+    assertEquals(1, reported().length);
+    Mockito.when(builderDriftDetector.affects(delta)).thenReturn(false);
+    builderDriftParticipant.reconcile(context);
+    Mockito.verify(builderDriftDetector, Mockito.times(3))
+        .detect(Matchers.eq(workingCopy), Matchers.anyLong());
+  }
+
+  private CategorizedProblem[] reported() {
+    ArgumentCaptor<CategorizedProblem[]> problems =
+        ArgumentCaptor.forClass(CategorizedProblem[].class);
+    Mockito.verify(context, Mockito.atLeastOnce())
+        .putProblems(Matchers.eq(BuilderDriftParticipant.MARKER_TYPE), problems.capture());
+    return problems.getValue();
+  }
+}
@@ -0,0 +1,112 @@
+package org.eclipselabs.bobthebuilder.footprint;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+
+import org.eclipselabs.bobthebuilder.model.Field;
+import org.eclipselabs.bobthebuilder.model.MainType;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mockito;
+
+public class FootprintEstimatorTest {
+
+  private FootprintEstimator footprintEstimator;
+
+  @Before
+  public void setUp() {
+    footprintEstimator = new FootprintEstimator();
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testNullMainType() {
+    footprintEstimator.estimate(null);
+  }
+
+  @Test
+  public void testNoFields() {
+    Footprint footprint = estimate();
+    assertEquals(12, footprint.getHeaderBytes());
+    assertEquals(0, footprint.getFieldBytes());
+    assertEquals(4, footprint.getPaddingBytes());
+    assertEquals(16, footprint.getShallowBytes());
+  }
+
+  @Test
+  public void testReferencesAreCompressed() {
+    Footprint footprint = estimate(field("name", "String"), field("age", "int"));
+    assertEquals(8, footprint.getFieldBytes());
+    assertEquals(4, footprint.getPaddingBytes());
+    assertEquals(24, footprint.getShallowBytes());
+  }
+
+  @Test
+  public void testSmallFieldFillsGapAfterHeader() {
+    Footprint footprint = estimate(
+      field("id", "long"), field("active", "boolean"), field("name", "String"));
+    // active at 12, 3 bytes up to id at 16, name at 24, 4 bytes up to 32
+    assertEquals(13, footprint.getFieldBytes());
+    assertEquals(7, footprint.getPaddingBytes());
+    assertEquals(32, footprint.getShallowBytes());
+  }
+
+  @Test
+  public void testFieldsOfEveryWidth() {
+    Footprint footprint = estimate(field("amount", "double"), field("count", "float"),
+      field("initial", "char"), field("level", "short"), field("flag", "byte"),
+      field("tags", "java.util.List<String>"), field("values", "int[]"));
+    // count fills the gap, then amount, initial, level and flag, 3 bytes up to tags and values
+    assertEquals(25, footprint.getFieldBytes());
+    assertEquals(3, footprint.getPaddingBytes());
+    assertEquals(40, footprint.getShallowBytes());
+  }
+
+  @Test
+  public void testLargestContributorsFirst() {
+    Footprint footprint = estimate(
+      field("name", "String"), field("flag", "boolean"), field("id", "long"),
+      field("age", "int"));
+    List<String> names = new ArrayList<String>();
+    for (Footprint.Contributor each : footprint.getContributors()) {
+      names.add(each.getField().getName());
+    }
+    // Of the same width in the order they are declared
+    assertEquals(Arrays.asList("id", "name", "age", "flag"), names);
+    assertEquals("Person: ~32 bytes per instance (12 header, 17 fields, 3 padding), "
+      + "largest: id 8, name 4", footprint.describe(2));
+  }
+
+  @Test
+  public void testMainTypeAndBuilder() {
+    MainType mainType = Mockito.mock(MainType.class);
+    Mockito.when(mainType.getName()).thenReturn("Person");
+    Mockito.when(mainType.getFields()).thenReturn(
+      new HashSet<Field>(Arrays.asList(field("name", "String"), field("age", "int"))));
+    List<Footprint> footprints = footprintEstimator.estimate(mainType);
+    assertEquals(2, footprints.size());
+    assertEquals("Person", footprints.get(0).getTypeName());
+    assertEquals("Person.Builder", footprints.get(1).getTypeName());
+    assertEquals(24, footprints.get(1).getShallowBytes());
+  }
+
+  private Footprint estimate(Field... fields) {
+    List<Field> list = new ArrayList<Field>(Arrays.asList(fields));
+    Collections.shuffle(list);
+    return footprintEstimator.estimate("Person", list);
+  }
+
+  private int position;
+
+  private Field field(String name, String signature) {
+    return new Field.Builder()
+        .withName(name)
+        .withSignature(signature)
+        .withPosition(++position)
+        .build();
+  }
+}
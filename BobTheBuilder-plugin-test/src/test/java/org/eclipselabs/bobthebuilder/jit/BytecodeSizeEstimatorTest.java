@@ -0,0 +1,98 @@
+package org.eclipselabs.bobthebuilder.jit;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * The sizes are those javac compiles the members to.
+ */
+public class BytecodeSizeEstimatorTest {
+
+  private static final Set<String> FIELD_NAMES = new HashSet<String>(Arrays.asList("name", "age"));
+
+  private BytecodeSizeEstimator bytecodeSizeEstimator;
+
+  @Before
+  public void setUp() {
+    bytecodeSizeEstimator = new BytecodeSizeEstimator();
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testNullSource() {
+    bytecodeSizeEstimator.estimateMethod(null, FIELD_NAMES);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testNoBody() {
+    bytecodeSizeEstimator.estimateMethod("protected abstract T self();", FIELD_NAMES);
+  }
+
+  @Test
+  public void testConstructorWithBuilder() {
+    assertEquals(21, bytecodeSizeEstimator.estimateConstructor("private Person(Builder builder) {\n"
+      + "  this.name = builder.name;\n"
+      + "  this.age = builder.age;\n"
+      + "}", FIELD_NAMES));
+  }
+
+  @Test
+  public void testConstructorCallingSuper() {
+    assertEquals(14, bytecodeSizeEstimator.estimateConstructor("private Person(Builder builder) {\n"
+      + "  super(builder);\n"
+      + "  this.age = builder.age;\n"
+      + "}", FIELD_NAMES));
+  }
+
+  @Test
+  public void testBuildMethod() {
+    assertEquals(13, bytecodeSizeEstimator.estimateMethod("public Person build() {\n"
+      + "  validate();\n"
+      + "  return new Person(this);\n"
+      + "}", FIELD_NAMES));
+  }
+
+  @Test
+  public void testValidateMethod() {
+    assertEquals(28, bytecodeSizeEstimator.estimateMethod("private void validate() {\n"
+      + "  Preconditions.checkNotNull(name, \"name may not be null\");\n"
+      + "  Preconditions.checkArgument(age > 0, \"age should be set\");\n"
+      + "}", FIELD_NAMES));
+  }
+
+  @Test
+  public void testBodyAfterJavadocAndAnnotations() {
+    assertEquals(13, bytecodeSizeEstimator.estimateMethod("/**\n"
+      + " * Builds the {@code Person}, see {@link #validate()}.\n"
+      + " */\n"
+      + "@SuppressWarnings({ \"unchecked\", \"rawtypes\" })\n"
+      + "public Person build() {\n"
+      + "  validate();\n"
+      + "  return new Person(this);\n"
+      + "}", FIELD_NAMES));
+  }
+
+  @Test
+  public void testIgnoresComments() {
+    assertEquals(1, bytecodeSizeEstimator.estimateMethod("private void validate() {\n"
+      + "  // Validate.notNull(name, \"name may not be null\");\n"
+      + "  /* Validate.isTrue(age > 0, \"age should be set\"); */\n"
+      + "}", Collections.<String> emptySet()));
+  }
+
+  @Test
+  public void testGrowsWithStatements() {
+    StringBuilder source = new StringBuilder("private void validate() {\n");
+    for (int i = 0; i < 20; i++) {
+      source.append("  Validate.isTrue(age > 0, \"age should be set\");\n");
+    }
+    source.append("}");
+    assertEquals(20 * 18 + 1, bytecodeSizeEstimator.estimateMethod(source.toString(), FIELD_NAMES));
+  }
+}
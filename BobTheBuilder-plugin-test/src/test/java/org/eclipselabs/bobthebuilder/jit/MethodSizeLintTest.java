@@ -0,0 +1,141 @@
+package org.eclipselabs.bobthebuilder.jit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Collections;
+import java.util.List;
+
+import org.eclipselabs.bobthebuilder.ValidationFramework;
+import org.eclipselabs.bobthebuilder.composer.BuilderComposer;
+import org.eclipselabs.bobthebuilder.composer.ComposerRequest;
+import org.eclipselabs.bobthebuilder.composer.ConstructorComposer;
+import org.eclipselabs.bobthebuilder.model.BuildMethod;
+import org.eclipselabs.bobthebuilder.model.BuilderType;
+import org.eclipselabs.bobthebuilder.model.ConstructorWithBuilder;
+import org.eclipselabs.bobthebuilder.model.Field;
+import org.eclipselabs.bobthebuilder.model.MainType;
+import org.eclipselabs.bobthebuilder.model.ValidateMethod;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.MockitoAnnotations;
+
+public class MethodSizeLintTest {
+
+  private static final String CONSTRUCTOR_WITH_BUILDER = "private Person(Builder builder) {\n"
+    + "  this.age = builder.age;\n"
+    + "}";
+
+  private static final String BUILD_METHOD = "public Person build() {\n"
+    + "  return new Person(this);\n"
+    + "}";
+
+  private static final String VALIDATE_METHOD = "private void validate() {\n"
+    + "}";
+
+  @Mock
+  private ConstructorComposer constructorComposer;
+
+  @Mock
+  private BuilderComposer builderComposer;
+
+  @Mock
+  private MainType mainType;
+
+  @Mock
+  private BuilderType builderType;
+
+  @Mock
+  private ConstructorWithBuilder constructorWithBuilder;
+
+  @Mock
+  private BuildMethod buildMethod;
+
+  @Mock
+  private ValidateMethod validateMethod;
+
+  private Field age;
+
+  private MethodSizeLint methodSizeLint;
+
+  @Before
+  public void setUp() {
+    MockitoAnnotations.initMocks(this);
+    age = new Field.Builder().withName("age").withSignature("int").withPosition(1).build();
+    methodSizeLint = new MethodSizeLint(
+      constructorComposer, builderComposer, new BytecodeSizeEstimator());
+    Mockito.when(mainType.getName()).thenReturn("Person");
+    Mockito.when(mainType.getFields()).thenReturn(Collections.singleton(age));
+    Mockito.when(constructorWithBuilder.getSource()).thenReturn(CONSTRUCTOR_WITH_BUILDER);
+    Mockito.when(buildMethod.getSource()).thenReturn(BUILD_METHOD);
+    Mockito.when(validateMethod.getSource()).thenReturn(VALIDATE_METHOD);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testNullRequest() {
+    methodSizeLint.lint(mainType, null);
+  }
+
+  @Test
+  public void testNothingWithoutBuilder() {
+    assertTrue(methodSizeLint.lint(mainType, new ComposerRequest.Builder().build()).isEmpty());
+  }
+
+  @Test
+  public void testExistingMethodsAsTheyAre() {
+    Mockito.when(mainType.getConstructorWithBuilder()).thenReturn(constructorWithBuilder);
+    Mockito.when(mainType.getBuilderType()).thenReturn(builderType);
+    Mockito.when(builderType.getBuildMethod()).thenReturn(buildMethod);
+    Mockito.when(builderType.getValidateMethod()).thenReturn(validateMethod);
+    List<MethodSize> methodSizes =
+        methodSizeLint.lint(mainType, new ComposerRequest.Builder().build());
+    assertEquals(3, methodSizes.size());
+    assertEquals("Person(Builder): ~13 bytes of bytecode", methodSizes.get(0).describe());
+    assertEquals("build(): ~9 bytes of bytecode", methodSizes.get(1).describe());
+    assertEquals("validate(): ~1 bytes of bytecode", methodSizes.get(2).describe());
+    assertFalse(methodSizes.get(0).isComposed());
+    Mockito.verifyZeroInteractions(constructorComposer, builderComposer);
+  }
+
+  @Test
+  public void testComposedMethods() {
+    Mockito.when(mainType.getBuilderType()).thenReturn(builderType);
+    Mockito.when(builderType.getValidateMethod()).thenReturn(validateMethod);
+    ComposerRequest request = new ComposerRequest.Builder()
+        .withConstructorWithBuilder()
+        .withBuildMethodInBuilder()
+        .addMissingValidationInBuild(age)
+        .withValidationFramework(ValidationFramework.COMMONS_LANG2)
+        .build();
+    Mockito.when(constructorComposer.composeFromScratch(request, mainType))
+        .thenReturn(CONSTRUCTOR_WITH_BUILDER);
+    Mockito.when(builderComposer.composeBuilderMethod(mainType, false)).thenReturn(BUILD_METHOD);
+    Mockito.when(builderComposer.composeValidateMethodFromExisting(request, validateMethod))
+        .thenReturn("private void validate() {\n"
+          + "  Validate.isTrue(age > 0, \"age should be set\");\n"
+          + "}");
+    List<MethodSize> methodSizes = methodSizeLint.lint(mainType, request);
+    assertEquals(3, methodSizes.size());
+    assertTrue(methodSizes.get(0).isComposed());
+    assertTrue(methodSizes.get(1).isComposed());
+    assertEquals("validate(): ~19 bytes of bytecode", methodSizes.get(2).describe());
+    assertTrue(methodSizes.get(2).isComposed());
+  }
+
+  @Test
+  public void testWarnsAboveInliningThreshold() {
+    MethodSize methodSize = new MethodSize("validate()", 400, true);
+    assertTrue(methodSize.isWarning());
+    assertEquals("validate(): ~400 bytes of bytecode, too large to inline (FreqInlineSize 325)",
+      methodSize.describe());
+    assertFalse(new MethodSize("build()", 40, true).isWarning());
+    assertEquals("build(): ~40 bytes of bytecode, inlined where hot only (MaxInlineSize 35)",
+      new MethodSize("build()", 40, true).describe());
+    assertEquals("validate(): ~9000 bytes of bytecode, too large to compile "
+      + "(HugeMethodLimit 8000), it runs interpreted",
+      new MethodSize("validate()", 9000, false).describe());
+  }
+}
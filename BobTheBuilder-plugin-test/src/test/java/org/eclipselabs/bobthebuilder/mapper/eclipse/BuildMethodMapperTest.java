@@ -22,6 +22,12 @@ public class BuildMethodMapperTest {
   @Mock
   private MethodPredicate.BuildInBuilder predicate;
 
+  @Mock
+  private MethodPredicate.ValidateInBuilder validateInBuilder;
+
+  @Mock
+  private MethodPredicate.ConstructorWithBuilder constructorWithBuilder;
+
   @Mock
   private IType builderType;
 
@@ -42,7 +48,8 @@ public class BuildMethodMapperTest {
     Mockito.when(validateMethodInvocationMapper.map(buildMethod)).thenReturn(
       validateMethodInvocation);
     Mockito.when(buildMethod.getSource()).thenReturn(source);
-    buildMethodMapper = new BuildMethodMapper(validateMethodInvocationMapper, predicate);
+    buildMethodMapper = new BuildMethodMapper(validateMethodInvocationMapper,
+        new MemberClassifier(predicate, validateInBuilder, constructorWithBuilder));
   }
 
   @Test(expected = IllegalArgumentException.class)
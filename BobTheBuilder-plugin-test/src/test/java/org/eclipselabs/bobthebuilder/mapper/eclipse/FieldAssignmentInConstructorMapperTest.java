@@ -2,6 +2,8 @@ package org.eclipselabs.bobthebuilder.mapper.eclipse;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import java.util.HashSet;
@@ -73,6 +75,23 @@ public class FieldAssignmentInConstructorMapperTest {
     assertEquals(expected, actual);
   }
 
+  @Test
+  public void testMapAssignmentsScansTheSourceOnce() throws JavaModelException {
+    Field unassigned = new Field.Builder()
+        .withName("field3")
+        .withSignature(signature1)
+        .withPosition(3)
+        .build();
+    fields.add(unassigned);
+    when(predicate.assignedFields(source)).thenReturn(Sets.newHashSet(field1Name));
+    Set<FieldAssignment> actual =
+        fieldBasedContentInMethodMapper.mapAssignments(method, fields, predicate);
+    Set<FieldAssignment> expected =
+        Sets.newHashSet(new FieldAssignment(field1), new FieldAssignment(field2));
+    assertEquals(expected, actual);
+    verify(predicate, times(1)).assignedFields(source);
+  }
+
   @Test(expected = IllegalArgumentException.class)
   public void testNullMethod() throws JavaModelException {
     fieldBasedContentInMethodMapper.map(null, fields, predicate);
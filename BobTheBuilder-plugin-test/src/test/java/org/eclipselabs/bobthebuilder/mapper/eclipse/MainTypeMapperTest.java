@@ -1,10 +1,12 @@
 package org.eclipselabs.bobthebuilder.mapper.eclipse;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
 import static org.mockito.Mockito.when;
 
 import java.util.Set;
 
+import org.eclipse.jdt.core.Flags;
 import org.eclipse.jdt.core.IType;
 import org.eclipse.jdt.core.JavaModelException;
 import org.eclipselabs.bobthebuilder.model.BuilderType;
@@ -12,6 +14,7 @@ import org.eclipselabs.bobthebuilder.model.ConstructorWithBuilder;
 import org.eclipselabs.bobthebuilder.model.Field;
 import org.eclipselabs.bobthebuilder.model.Imports;
 import org.eclipselabs.bobthebuilder.model.MainType;
+import org.eclipselabs.bobthebuilder.model.SuperType;
 import org.junit.Before;
 import org.junit.Test;
 import org.mockito.Mock;
@@ -44,6 +47,11 @@ public class MainTypeMapperTest {
   @Mock
   private ConstructorWithBuilderMapper constructorWithBuilderMapper;
 
+  @Mock
+  private SuperTypeMapper superTypeMapper;
+
+  private SuperType superType = new SuperType.Builder().withName("Base").build();
+
   private Field field1 = new Field.Builder()
       .withName("field1")
       .withSignature("signature1")
@@ -65,13 +73,15 @@ public class MainTypeMapperTest {
   public void setUp() throws JavaModelException {
     MockitoAnnotations.initMocks(this);
     mainTypeMapper = new MainTypeMapper(builderTypeMapper, fieldMapper,
-        constructorWithBuilderMapper);
+        constructorWithBuilderMapper, superTypeMapper);
     when(fieldMapper.map(mainType)).thenReturn(fields);
     when(builderTypeMapper.map(mainType, imports, fields)).thenReturn(builderType);
     when(mainType.isClass()).thenReturn(true);
     when(mainType.isBinary()).thenReturn(false);
     when(mainType.getElementName()).thenReturn(typeName);
     when(constructorWithBuilderMapper.map(mainType, fields)).thenReturn(constructorWithBuilder);
+    when(superTypeMapper.map(mainType)).thenReturn(superType);
+    when(mainType.getFlags()).thenReturn(Flags.AccAbstract);
   }
 
   @Test(expected = IllegalArgumentException.class)
@@ -96,5 +106,7 @@ public class MainTypeMapperTest {
     MainType actual = mainTypeMapper.map(mainType, imports);
     assertEquals(typeName, actual.getName());
     assertEquals(builderType, actual.getBuilderType());
+    assertEquals(superType, actual.getSuperType());
+    assertTrue(actual.isAbstractType());
   }
 }
@@ -0,0 +1,141 @@
+package org.eclipselabs.bobthebuilder.mapper.eclipse;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
+
+import org.eclipse.jdt.core.IField;
+import org.eclipse.jdt.core.IMethod;
+import org.eclipse.jdt.core.IType;
+import org.eclipse.jdt.core.JavaModelException;
+import org.eclipselabs.bobthebuilder.analyzer.MethodPredicate;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.MockitoAnnotations;
+
+public class MemberClassifierTest {
+
+  @Mock
+  private MethodPredicate.BuildInBuilder buildInBuilder;
+
+  @Mock
+  private MethodPredicate.ValidateInBuilder validateInBuilder;
+
+  @Mock
+  private MethodPredicate.ConstructorWithBuilder constructorWithBuilder;
+
+  @Mock
+  private IType type;
+
+  @Mock
+  private IMethod buildMethod;
+
+  @Mock
+  private IMethod validateMethod;
+
+  @Mock
+  private IMethod constructor;
+
+  @Mock
+  private IMethod withMethod;
+
+  @Mock
+  private IMethod otherMethod;
+
+  @Mock
+  private IField field;
+
+  private MemberClassifier memberClassifier;
+
+  @Before
+  public void setUp() throws JavaModelException {
+    MockitoAnnotations.initMocks(this);
+    Mockito.when(type.getMethods()).thenReturn(
+      new IMethod[] { buildMethod, validateMethod, constructor, withMethod, otherMethod });
+    Mockito.when(buildInBuilder.match(buildMethod)).thenReturn(true);
+    Mockito.when(validateInBuilder.match(validateMethod)).thenReturn(true);
+    Mockito.when(constructorWithBuilder.match(constructor)).thenReturn(true);
+    Mockito.when(withMethod.getElementName()).thenReturn("withField1");
+    Mockito.when(withMethod.getParameterTypes()).thenReturn(new String[] { "QString;" });
+    Mockito.when(otherMethod.getElementName()).thenReturn("with");
+    Mockito.when(field.getElementName()).thenReturn("field1");
+    Mockito.when(field.getTypeSignature()).thenReturn("QString;");
+    memberClassifier =
+        new MemberClassifier(buildInBuilder, validateInBuilder, constructorWithBuilder);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testNullType() throws JavaModelException {
+    memberClassifier.classify(null);
+  }
+
+  @Test
+  public void testClassify() throws JavaModelException {
+    ClassifiedMembers actual = memberClassifier.classify(type);
+    assertSame(buildMethod, actual.getBuildMethod());
+    assertSame(validateMethod, actual.getValidateMethod());
+    assertSame(constructor, actual.getConstructorWithBuilder());
+    assertEquals(Arrays.asList(withMethod), actual.getWithMethods(field));
+    assertEquals(Arrays.asList(otherMethod), actual.getOtherMethods());
+  }
+
+  @Test
+  public void testNoMethods() throws JavaModelException {
+    Mockito.when(type.getMethods()).thenReturn(new IMethod[] {});
+    ClassifiedMembers actual = memberClassifier.classify(type);
+    assertNull(actual.getBuildMethod());
+    assertNull(actual.getValidateMethod());
+    assertNull(actual.getConstructorWithBuilder());
+    assertTrue(actual.getWithMethods(field).isEmpty());
+    assertTrue(actual.getOtherMethods().isEmpty());
+  }
+
+  @Test
+  public void testWithMethodOfAnotherType() throws JavaModelException {
+    Mockito.when(field.getTypeSignature()).thenReturn("Qlong;");
+    assertTrue(memberClassifier.classify(type).getWithMethods(field).isEmpty());
+  }
+
+  @Test
+  public void testClassifiesOnceInScope() throws JavaModelException {
+    memberClassifier.inScope(new MemberClassifier.Scope<Void>() {
+      @Override
+      public Void run() throws JavaModelException {
+        ClassifiedMembers first = memberClassifier.classify(type);
+        // A nested scope is part of the outer one
+        ClassifiedMembers second = memberClassifier.inScope(classification());
+        assertSame(first, second);
+        return null;
+      }
+    });
+    Mockito.verify(type, Mockito.times(1)).getMethods();
+  }
+
+  @Test
+  public void testClassifiesAgainInNextScope() throws JavaModelException {
+    memberClassifier.inScope(classification());
+    memberClassifier.inScope(classification());
+    Mockito.verify(type, Mockito.times(2)).getMethods();
+  }
+
+  @Test
+  public void testKeepsNothingOutOfScope() throws JavaModelException {
+    memberClassifier.classify(type);
+    memberClassifier.classify(type);
+    Mockito.verify(type, Mockito.times(2)).getMethods();
+  }
+
+  private MemberClassifier.Scope<ClassifiedMembers> classification() {
+    return new MemberClassifier.Scope<ClassifiedMembers>() {
+      @Override
+      public ClassifiedMembers run() throws JavaModelException {
+        return memberClassifier.classify(type);
+      }
+    };
+  }
+}
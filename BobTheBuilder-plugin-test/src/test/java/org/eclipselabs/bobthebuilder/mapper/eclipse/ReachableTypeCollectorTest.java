@@ -0,0 +1,175 @@
+package org.eclipselabs.bobthebuilder.mapper.eclipse;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
+import java.util.HashSet;
+
+import org.eclipse.jdt.core.ICompilationUnit;
+import org.eclipse.jdt.core.IField;
+import org.eclipse.jdt.core.IJavaProject;
+import org.eclipse.jdt.core.ISourceRange;
+import org.eclipse.jdt.core.IType;
+import org.eclipse.jdt.core.JavaModelException;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.MockitoAnnotations;
+
+public class ReachableTypeCollectorTest {
+
+  @Mock
+  private MainTypeSelector mainTypeSelector;
+
+  @Mock
+  private FieldMapper fieldMapper;
+
+  @Mock
+  private IJavaProject javaProject;
+
+  @Mock
+  private IJavaProject otherJavaProject;
+
+  @Mock
+  private IType order;
+
+  @Mock
+  private ICompilationUnit orderCompilationUnit;
+
+  @Mock
+  private IType address;
+
+  @Mock
+  private ICompilationUnit addressCompilationUnit;
+
+  @Mock
+  private IType item;
+
+  @Mock
+  private ICompilationUnit itemCompilationUnit;
+
+  @Mock
+  private IType list;
+
+  @Mock
+  private IType string;
+
+  private ReachableTypeCollector reachableTypeCollector;
+
+  @Before
+  public void setUp() throws JavaModelException {
+    MockitoAnnotations.initMocks(this);
+    reachableTypeCollector = new ReachableTypeCollector(mainTypeSelector, fieldMapper, 10);
+    Mockito.when(mainTypeSelector.map(orderCompilationUnit)).thenReturn(order);
+    Mockito.when(orderCompilationUnit.getJavaProject()).thenReturn(javaProject);
+    sourceType(order, orderCompilationUnit, "Order");
+    sourceType(address, addressCompilationUnit, "Address");
+    sourceType(item, itemCompilationUnit, "Item");
+    binaryType(list, "java.util", "List");
+    binaryType(string, "java.lang", "String");
+    for (IType each : Arrays.asList(order, address, item)) {
+      resolve(each, "org.example", "Order");
+      resolve(each, "org.example", "Address");
+      resolve(each, "org.example", "Item");
+      resolve(each, "java.util", "List");
+      resolve(each, "java.lang", "String");
+    }
+    fields(order, "QString;", "I", "QAddress;", "QList<QItem;>;", "[QAddress;");
+    fields(address, "QString;", "QOrder;");
+    fields(item);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testNullCompilationUnit() throws JavaModelException {
+    reachableTypeCollector.collect(null);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testMaxTypesNotPositive() {
+    new ReachableTypeCollector(mainTypeSelector, fieldMapper, 0);
+  }
+
+  @Test
+  public void testFollowsFieldTypesOnce() throws JavaModelException {
+    ReachableTypes reachableTypes = reachableTypeCollector.collect(orderCompilationUnit);
+    assertEquals(
+      Arrays.asList(orderCompilationUnit, addressCompilationUnit, itemCompilationUnit),
+      reachableTypes.getCompilationUnits());
+    assertFalse(reachableTypes.isTruncated());
+  }
+
+  @Test
+  public void testFollowsTypesReachedThroughOthers() throws JavaModelException {
+    fields(order, "QAddress;");
+    fields(address, "QMap<QString;+QItem;>;");
+    resolve(address, "java.util", "Map");
+    ReachableTypes reachableTypes = reachableTypeCollector.collect(orderCompilationUnit);
+    assertEquals(
+      Arrays.asList(orderCompilationUnit, addressCompilationUnit, itemCompilationUnit),
+      reachableTypes.getCompilationUnits());
+  }
+
+  @Test
+  public void testStopsAtMaxTypes() throws JavaModelException {
+    reachableTypeCollector = new ReachableTypeCollector(mainTypeSelector, fieldMapper, 2);
+    ReachableTypes reachableTypes = reachableTypeCollector.collect(orderCompilationUnit);
+    assertEquals(Arrays.asList(orderCompilationUnit, addressCompilationUnit),
+      reachableTypes.getCompilationUnits());
+    assertTrue(reachableTypes.isTruncated());
+  }
+
+  @Test
+  public void testSkipsTypesNoBuilderIsSyncedFor() throws JavaModelException {
+    Mockito.when(address.isClass()).thenReturn(false);
+    Mockito.when(item.getJavaProject()).thenReturn(otherJavaProject);
+    ReachableTypes reachableTypes = reachableTypeCollector.collect(orderCompilationUnit);
+    assertEquals(Arrays.asList(orderCompilationUnit), reachableTypes.getCompilationUnits());
+    assertFalse(reachableTypes.isTruncated());
+  }
+
+  @Test
+  public void testSkipsUnresolvedTypes() throws JavaModelException {
+    fields(order, "QT;", "QAddress;");
+    Mockito.when(order.resolveType("Address")).thenReturn(new String[][] {
+        { "org.example", "Address" }, { "org.example.other", "Address" } });
+    ReachableTypes reachableTypes = reachableTypeCollector.collect(orderCompilationUnit);
+    assertEquals(Arrays.asList(orderCompilationUnit), reachableTypes.getCompilationUnits());
+  }
+
+  private void sourceType(IType type, ICompilationUnit compilationUnit, String name)
+    throws JavaModelException {
+    Mockito.when(type.isClass()).thenReturn(true);
+    Mockito.when(type.getCompilationUnit()).thenReturn(compilationUnit);
+    Mockito.when(type.getJavaProject()).thenReturn(javaProject);
+    Mockito.when(compilationUnit.getTypes()).thenReturn(new IType[] { type });
+    Mockito.when(javaProject.findType("org.example", name)).thenReturn(type);
+  }
+
+  private void binaryType(IType type, String packageName, String name)
+    throws JavaModelException {
+    Mockito.when(type.isClass()).thenReturn(true);
+    Mockito.when(type.isBinary()).thenReturn(true);
+    Mockito.when(javaProject.findType(packageName, name)).thenReturn(type);
+  }
+
+  private static void resolve(IType type, String packageName, String name)
+    throws JavaModelException {
+    Mockito.when(type.resolveType(name)).thenReturn(new String[][] { { packageName, name } });
+  }
+
+  private void fields(IType type, String... typeSignatures) throws JavaModelException {
+    HashSet<IField> fields = new HashSet<IField>();
+    for (int i = 0; i < typeSignatures.length; i++) {
+      IField field = Mockito.mock(IField.class);
+      ISourceRange sourceRange = Mockito.mock(ISourceRange.class);
+      Mockito.when(sourceRange.getOffset()).thenReturn(i * 10);
+      Mockito.when(field.getSourceRange()).thenReturn(sourceRange);
+      Mockito.when(field.getTypeSignature()).thenReturn(typeSignatures[i]);
+      fields.add(field);
+    }
+    Mockito.when(fieldMapper.findFields(type)).thenReturn(fields);
+  }
+}
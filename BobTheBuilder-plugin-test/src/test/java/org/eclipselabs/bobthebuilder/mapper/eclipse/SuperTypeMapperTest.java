@@ -0,0 +1,113 @@
+package org.eclipselabs.bobthebuilder.mapper.eclipse;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+import org.eclipse.jdt.core.Flags;
+import org.eclipse.jdt.core.IMethod;
+import org.eclipse.jdt.core.IType;
+import org.eclipse.jdt.core.ITypeParameter;
+import org.eclipse.jdt.core.JavaModelException;
+import org.eclipselabs.bobthebuilder.analyzer.MethodPredicate;
+import org.eclipselabs.bobthebuilder.model.SuperType;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.MockitoAnnotations;
+
+public class SuperTypeMapperTest {
+
+  @Mock
+  private SuperclassResolver superclassResolver;
+
+  @Mock
+  private BuilderTypeMapper builderTypeMapper;
+
+  @Mock
+  private MethodPredicate.BuildInBuilder buildInBuilder;
+
+  @Mock
+  private MethodPredicate.ValidateInBuilder validateInBuilder;
+
+  @Mock
+  private MethodPredicate.ConstructorWithBuilder constructorWithBuilder;
+
+  @Mock
+  private IType type;
+
+  @Mock
+  private IType superclass;
+
+  @Mock
+  private IType superBuilderType;
+
+  @Mock
+  private ITypeParameter typeParameter;
+
+  @Mock
+  private IMethod validateMethod;
+
+  private SuperTypeMapper superTypeMapper;
+
+  @Before
+  public void setUp() throws JavaModelException {
+    MockitoAnnotations.initMocks(this);
+    superTypeMapper = new SuperTypeMapper(superclassResolver, builderTypeMapper,
+        new MemberClassifier(buildInBuilder, validateInBuilder, constructorWithBuilder));
+    Mockito.when(type.getSuperclassName()).thenReturn("Base<Fu>");
+    Mockito.when(superclassResolver.resolve(type)).thenReturn(superclass);
+    Mockito.when(builderTypeMapper.findBuilderType(superclass)).thenReturn(superBuilderType);
+    Mockito.when(superBuilderType.getTypeParameters()).thenReturn(
+      new ITypeParameter[] { typeParameter });
+    Mockito.when(superBuilderType.getMethods()).thenReturn(new IMethod[] { validateMethod });
+    Mockito.when(validateInBuilder.match(validateMethod)).thenReturn(true);
+    Mockito.when(validateMethod.getFlags()).thenReturn(Flags.AccProtected);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testNullType() throws JavaModelException {
+    superTypeMapper.map(null);
+  }
+
+  @Test
+  public void testNoSuperclass() throws JavaModelException {
+    Mockito.when(type.getSuperclassName()).thenReturn(null);
+    assertNull(superTypeMapper.map(type));
+    Mockito.verifyZeroInteractions(superclassResolver);
+  }
+
+  @Test
+  public void testBinarySuperclass() throws JavaModelException {
+    Mockito.when(superclass.isBinary()).thenReturn(true);
+    assertNull(superTypeMapper.map(type));
+  }
+
+  @Test
+  public void testSuperclassWithoutBuilder() throws JavaModelException {
+    Mockito.when(builderTypeMapper.findBuilderType(superclass)).thenReturn(null);
+    assertNull(superTypeMapper.map(type));
+  }
+
+  @Test
+  public void testSelfTypedSuperBuilder() throws JavaModelException {
+    SuperType expected = new SuperType.Builder()
+        .withName("Base")
+        .withSelfTypedBuilder(true)
+        .withValidateMethodInBuilder(true)
+        .build();
+    assertEquals(expected, superTypeMapper.map(type));
+  }
+
+  @Test
+  public void testPlainSuperBuilderWithPrivateValidate() throws JavaModelException {
+    Mockito.when(superBuilderType.getTypeParameters()).thenReturn(new ITypeParameter[] {});
+    Mockito.when(validateMethod.getFlags()).thenReturn(Flags.AccPrivate);
+    SuperType expected = new SuperType.Builder()
+        .withName("Base")
+        .withSelfTypedBuilder(false)
+        .withValidateMethodInBuilder(false)
+        .build();
+    assertEquals(expected, superTypeMapper.map(type));
+  }
+}
@@ -0,0 +1,69 @@
+package org.eclipselabs.bobthebuilder.mapper.eclipse;
+
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.jdt.core.IJavaProject;
+import org.eclipse.jdt.core.IType;
+import org.eclipse.jdt.core.JavaModelException;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.MockitoAnnotations;
+
+public class SuperclassResolverTest {
+
+  @Mock
+  private IType type;
+
+  @Mock
+  private IType superclass;
+
+  @Mock
+  private IJavaProject javaProject;
+
+  private SuperclassResolver superclassResolver;
+
+  @Before
+  public void setUp() throws JavaModelException {
+    MockitoAnnotations.initMocks(this);
+    superclassResolver = new SuperclassResolver();
+    Mockito.when(type.getJavaProject()).thenReturn(javaProject);
+    Mockito.when(type.getSuperclassName()).thenReturn("Base<Fu>");
+    Mockito.when(type.resolveType("Base")).thenReturn(new String[][] { { "org.example", "Base" } });
+    Mockito.when(javaProject.findType("org.example", "Base")).thenReturn(superclass);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testNullType() throws JavaModelException {
+    superclassResolver.resolve(null);
+  }
+
+  @Test
+  public void testResolvesWithoutTypeArguments() throws JavaModelException {
+    assertSame(superclass, superclassResolver.resolve(type));
+    Mockito.verify(type, Mockito.never()).newSupertypeHierarchy(
+      Mockito.any(IProgressMonitor.class));
+  }
+
+  @Test
+  public void testNoSuperclass() throws JavaModelException {
+    Mockito.when(type.getSuperclassName()).thenReturn(null);
+    assertNull(superclassResolver.resolve(type));
+  }
+
+  @Test
+  public void testAmbiguousSuperclass() throws JavaModelException {
+    Mockito.when(type.resolveType("Base")).thenReturn(new String[][] {
+        { "org.example", "Base" }, { "org.example.other", "Base" } });
+    assertNull(superclassResolver.resolve(type));
+  }
+
+  @Test
+  public void testUnresolvedSuperclass() throws JavaModelException {
+    Mockito.when(type.resolveType("Base")).thenReturn(null);
+    assertNull(superclassResolver.resolve(type));
+  }
+}
@@ -30,6 +30,12 @@ public class ValidateMethodMapperTest {
   @Mock
   private MethodPredicate.ValidateInBuilder predicate;
 
+  @Mock
+  private MethodPredicate.BuildInBuilder buildInBuilder;
+
+  @Mock
+  private MethodPredicate.ConstructorWithBuilder constructorWithBuilder;
+
   @Mock
   private ValidationFrameworkMapper validationFrameworkMapper;
 
@@ -65,7 +71,8 @@ public class ValidateMethodMapperTest {
     fields = Sets.newHashSet(field1, field2);
     Mockito.when(validatedFieldsMapper.map(validateMethod, fields)).thenReturn(fieldAssignments);
     Mockito.when(builderType.getMethods()).thenReturn(new IMethod[] { validateMethod });
-    validateMethodMapper = new ValidateMethodMapper(validatedFieldsMapper, predicate,
+    validateMethodMapper = new ValidateMethodMapper(validatedFieldsMapper,
+        new MemberClassifier(buildInBuilder, predicate, constructorWithBuilder),
         validationFrameworkMapper);
   }
 
@@ -0,0 +1,108 @@
+package org.eclipselabs.bobthebuilder.mapper.eclipse;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.EnumSet;
+
+import org.eclipse.jdt.core.ElementChangedEvent;
+import org.eclipse.jdt.core.IJavaElement;
+import org.eclipse.jdt.core.IJavaElementDelta;
+import org.eclipse.jdt.core.IJavaProject;
+import org.eclipse.jdt.core.IType;
+import org.eclipse.jdt.core.JavaModelException;
+import org.eclipselabs.bobthebuilder.ValidationFramework;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.MockitoAnnotations;
+
+public class ValidationFrameworkResolverTest {
+
+  @Mock
+  private IJavaProject javaProject;
+
+  @Mock
+  private IType validateType;
+
+  @Mock
+  private IJavaElementDelta modelDelta;
+
+  @Mock
+  private IJavaElementDelta projectDelta;
+
+  private ValidationFrameworkResolver validationFrameworkResolver;
+
+  @Before
+  public void setUp() throws JavaModelException {
+    MockitoAnnotations.initMocks(this);
+    validationFrameworkResolver = new ValidationFrameworkResolver();
+    Mockito.when(javaProject.findType(ValidationFramework.COMMONS_LANG2.getFullClassName()))
+        .thenReturn(validateType);
+    Mockito.when(javaProject.findType(ValidationFramework.COMMONS_LANG3.getFullClassName()))
+        .thenReturn(validateType);
+    Mockito.when(javaProject.getElementType()).thenReturn(IJavaElement.JAVA_PROJECT);
+    Mockito.when(modelDelta.getAffectedChildren())
+        .thenReturn(new IJavaElementDelta[] { projectDelta });
+    Mockito.when(projectDelta.getElement()).thenReturn(javaProject);
+    Mockito.when(projectDelta.getKind()).thenReturn(IJavaElementDelta.CHANGED);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testNullProject() throws JavaModelException {
+    validationFrameworkResolver.resolve(null);
+  }
+
+  @Test
+  public void testResolve() throws JavaModelException {
+    assertEquals(
+      EnumSet.of(ValidationFramework.COMMONS_LANG3, ValidationFramework.COMMONS_LANG2),
+      validationFrameworkResolver.resolve(javaProject));
+  }
+
+  @Test
+  public void testResolveDefault() throws JavaModelException {
+    assertEquals(ValidationFramework.COMMONS_LANG3,
+      validationFrameworkResolver.resolveDefault(javaProject));
+  }
+
+  @Test
+  public void testResolveDefaultWithoutFramework() throws JavaModelException {
+    Mockito.when(javaProject.findType(Mockito.anyString())).thenReturn(null);
+    assertTrue(validationFrameworkResolver.resolve(javaProject).isEmpty());
+    assertEquals(ValidationFramework.DEFAULT,
+      validationFrameworkResolver.resolveDefault(javaProject));
+  }
+
+  @Test
+  public void testResolvedOnce() throws JavaModelException {
+    validationFrameworkResolver.resolve(javaProject);
+    validationFrameworkResolver.resolveDefault(javaProject);
+    Mockito.verify(javaProject, Mockito.times(1))
+        .findType(ValidationFramework.GOOGLE_GUAVA.getFullClassName());
+  }
+
+  @Test
+  public void testClasspathChangeEvicts() throws JavaModelException {
+    validationFrameworkResolver.resolve(javaProject);
+    Mockito.when(projectDelta.getFlags())
+        .thenReturn(IJavaElementDelta.F_RESOLVED_CLASSPATH_CHANGED);
+    validationFrameworkResolver.elementChanged(new ElementChangedEvent(
+      modelDelta, ElementChangedEvent.POST_CHANGE));
+    validationFrameworkResolver.resolve(javaProject);
+    Mockito.verify(javaProject, Mockito.times(2))
+        .findType(ValidationFramework.GOOGLE_GUAVA.getFullClassName());
+  }
+
+  @Test
+  public void testOtherChangeKeeps() throws JavaModelException {
+    validationFrameworkResolver.resolve(javaProject);
+    Mockito.when(projectDelta.getFlags()).thenReturn(IJavaElementDelta.F_CHILDREN);
+    validationFrameworkResolver.elementChanged(new ElementChangedEvent(
+      modelDelta, ElementChangedEvent.POST_CHANGE));
+    validationFrameworkResolver.resolve(javaProject);
+    Mockito.verify(javaProject, Mockito.times(1))
+        .findType(ValidationFramework.GOOGLE_GUAVA.getFullClassName());
+  }
+}
@@ -11,7 +11,7 @@ import org.eclipse.jdt.core.IMethod;
 import org.eclipse.jdt.core.ISourceRange;
 import org.eclipse.jdt.core.IType;
 import org.eclipse.jdt.core.JavaModelException;
-import org.eclipselabs.bobthebuilder.analyzer.WithMethodPredicate;
+import org.eclipselabs.bobthebuilder.analyzer.MethodPredicate;
 import org.eclipselabs.bobthebuilder.model.Field;
 import org.eclipselabs.bobthebuilder.model.WithMethod;
 import org.junit.Before;
@@ -25,7 +25,13 @@ import com.google.common.collect.Sets;
 public class WithMethodsMapperTest {
 
   @Mock
-  private WithMethodPredicate withMethodPredicate;
+  private MethodPredicate.BuildInBuilder buildInBuilder;
+
+  @Mock
+  private MethodPredicate.ValidateInBuilder validateInBuilder;
+
+  @Mock
+  private MethodPredicate.ConstructorWithBuilder constructorWithBuilder;
 
   @Mock
   private IField field1;
@@ -66,12 +72,9 @@ public class WithMethodsMapperTest {
   @Before
   public void setUp() throws Exception {
     MockitoAnnotations.initMocks(this);
-    Mockito.when(withMethodPredicate.match(field1, method1)).thenReturn(true);
-    Mockito.when(withMethodPredicate.match(field2, method3)).thenReturn(false);
-    Mockito.when(withMethodPredicate.match(field1, method3)).thenReturn(false);
-    Mockito.when(withMethodPredicate.match(field2, method1)).thenReturn(false);
     Mockito.when(builderType.getMethods()).thenReturn(new IMethod[] { method1, method3 });
     Mockito.when(method1.getElementName()).thenReturn(method1Name);
+    Mockito.when(method1.getParameterTypes()).thenReturn(new String[] { field1Signature });
     Mockito.when(fieldMapper.findFields(builderType)).thenReturn(Sets.newHashSet(field1, field2));
     Mockito.when(field1.getElementName()).thenReturn(field1Name);
     Mockito.when(field1.getTypeSignature()).thenReturn(field1Signature);
@@ -81,7 +84,9 @@ public class WithMethodsMapperTest {
     Mockito.when(field2.getSourceRange()).thenReturn(sourceRange2);
     Mockito.when(sourceRange1.getOffset()).thenReturn(1);
     Mockito.when(sourceRange2.getOffset()).thenReturn(1);
-    withMethodsMapper = new WithMethodsMapper(withMethodPredicate, fieldMapper);
+    withMethodsMapper = new WithMethodsMapper(
+        new MemberClassifier(buildInBuilder, validateInBuilder, constructorWithBuilder),
+        fieldMapper);
   }
 
   @Test(expected = IllegalArgumentException.class)
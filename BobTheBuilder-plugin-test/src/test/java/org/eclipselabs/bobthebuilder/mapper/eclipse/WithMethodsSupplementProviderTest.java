@@ -13,7 +13,7 @@ import org.eclipse.jdt.core.IMethod;
 import org.eclipse.jdt.core.ISourceRange;
 import org.eclipse.jdt.core.IType;
 import org.eclipse.jdt.core.JavaModelException;
-import org.eclipselabs.bobthebuilder.analyzer.WithMethodPredicate;
+import org.eclipselabs.bobthebuilder.analyzer.MethodPredicate;
 import org.eclipselabs.bobthebuilder.model.WithMethod;
 import org.eclipselabs.bobthebuilder.supplement.BuilderFieldsSupplementProvider;
 import org.junit.Before;
@@ -29,7 +29,13 @@ public class WithMethodsSupplementProviderTest {
   private BuilderTypeMapper builderTypeMapper;
 
   @Mock
-  private WithMethodPredicate withMethodPredicate;
+  private MethodPredicate.BuildInBuilder buildInBuilder;
+
+  @Mock
+  private MethodPredicate.ValidateInBuilder validateInBuilder;
+
+  @Mock
+  private MethodPredicate.ConstructorWithBuilder constructorWithBuilder;
 
   @Mock
   private BuilderFieldsSupplementProvider builderFieldsSupplementProvider;
@@ -58,7 +64,7 @@ public class WithMethodsSupplementProviderTest {
   @Mock
   private IMethod anotherMethod;
 
-  private String method1Name = "withMethod1";
+  private String method1Name = "withField1";
 
   private String field1Name = "field1";
 
@@ -71,17 +77,18 @@ public class WithMethodsSupplementProviderTest {
   public void setUp() throws JavaModelException {
     MockitoAnnotations.initMocks(this);
     withMethodsSupplementProvider = new WithMethodsSupplementProvider(
-        builderTypeMapper, withMethodPredicate, builderFieldsSupplementProvider);
+        builderTypeMapper,
+        new MemberClassifier(buildInBuilder, validateInBuilder, constructorWithBuilder),
+        builderFieldsSupplementProvider);
     extraFields = Sets.<IField> newHashSet(field1, field2);
     when(builderFieldsSupplementProvider.supplement(mainType)).thenReturn(extraFields);
     when(builderTypeMapper.findBuilderType(mainType)).thenReturn(builderType);
     when(withMethod1.getElementName()).thenReturn(method1Name);
     methods = new IMethod[] { withMethod1, anotherMethod };
     when(builderType.getMethods()).thenReturn(methods);
-    when(withMethodPredicate.match(field1, withMethod1)).thenReturn(true);
-    when(withMethodPredicate.match(field1, anotherMethod)).thenReturn(false);
-    when(withMethodPredicate.match(field2, withMethod1)).thenReturn(false);
-    when(withMethodPredicate.match(field2, anotherMethod)).thenReturn(false);
+    when(withMethod1.getParameterTypes()).thenReturn(new String[] { field1Signature });
+    when(anotherMethod.getElementName()).thenReturn("anotherMethod");
+    when(field2.getElementName()).thenReturn("field2");
     when(field1.getElementName()).thenReturn(field1Name);
     when(field1.getTypeSignature()).thenReturn(field1Signature);
     when(field1.getSourceRange()).thenReturn(sourceRange1);
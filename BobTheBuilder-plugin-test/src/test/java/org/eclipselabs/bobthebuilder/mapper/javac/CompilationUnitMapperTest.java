@@ -0,0 +1,208 @@
+package org.eclipselabs.bobthebuilder.mapper.javac;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.eclipse.jdt.core.ICompilationUnit;
+import org.eclipselabs.bobthebuilder.model.JavaClassFile;
+import org.eclipselabs.bobthebuilder.performance.Fixture;
+import org.eclipselabs.bobthebuilder.performance.SourceJavaModel;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.google.inject.Guice;
+
+/**
+ * Maps the same sources with this mapper and with the Eclipse one, over the source-backed Java
+ * model of the performance fixtures, and expects the same result.
+ */
+public class CompilationUnitMapperTest {
+
+  private static final String PATH = "org/example/Order.java";
+
+  private static final String ORDER = "package org.example;\n\n"
+    + "import java.util.List;\n"
+    + "import java.util.Map;\n"
+    + "import static com.google.common.base.Preconditions.checkNotNull;\n\n"
+    + "/**\n * An order.\n */\n"
+    + "@SuppressWarnings({ \"unused\" })\n"
+    + "public class Order implements java.io.Serializable {\n\n"
+    + "  private static final long serialVersionUID = 1L; // no builder for constants\n\n"
+    + "  /** The lines, in the order they were added. */\n"
+    + "  private final List<Line> lines;\n\n"
+    + "  // Line comments are not part of the member\n"
+    + "  private final Map<String, List<? extends Number>> totals;\n\n"
+    + "  private final java.util.Set<? super Integer> seen, skipped;\n\n"
+    + "  private final String tags[];\n\n"
+    + "  private final byte[][] attachments;\n\n"
+    + "  private boolean paid;\n\n"
+    + "  private Order(Builder builder) {\n"
+    + "    this.lines = builder.lines;\n"
+    + "    this.tags = builder.tags;\n"
+    + "    this.paid = builder.paid;\n"
+    + "  } // not a javadoc\n\n"
+    + "  static class Line {\n  }\n\n"
+    + "  public static class Builder {\n"
+    + "    private List<Line> lines;\n"
+    + "    private String[] tags;\n"
+    + "    private Map<String, List<? extends Number>> totals;\n"
+    + "    private boolean paid;\n\n"
+    + "    public Builder withLines(List<Line> lines) {\n"
+    + "      this.lines = lines;\n"
+    + "      return this;\n"
+    + "    }\n\n"
+    + "    public Builder withTags(String... tags) {\n"
+    + "      this.tags = tags;\n"
+    + "      return this;\n"
+    + "    }\n\n"
+    + "    public Builder withTotals(Map<String,List<? extends Number>> totals) {\n"
+    + "      this.totals = totals;\n"
+    + "      return this;\n"
+    + "    }\n\n"
+    + "    public Builder withPaid(Boolean paid) {\n"
+    + "      return this;\n"
+    + "    }\n\n"
+    + "    /** Builds the order. */\n"
+    + "    public Order build() {\n"
+    + "      validate();\n"
+    + "      return new Order(this);\n"
+    + "    }\n\n"
+    + "    private void validate() {\n"
+    + "      checkNotNull(lines, \"lines may not be null\");\n"
+    + "      checkNotNull(totals, \"totals may not be null\");\n"
+    + "    }\n"
+    + "  }\n"
+    + "}\n";
+
+  private static final String BASE = "package org.example;\n\n"
+    + "public abstract class Base<T> {\n\n"
+    + "  private final long id;\n\n"
+    + "  protected Base(Builder<?> builder) {\n"
+    + "    this.id = builder.id;\n"
+    + "  }\n\n"
+    + "  public abstract static class Builder<T extends Builder<T>> {\n"
+    + "    private long id;\n\n"
+    + "    public T withId(long id) {\n"
+    + "      this.id = id;\n"
+    + "      return self();\n"
+    + "    }\n\n"
+    + "    protected abstract T self();\n\n"
+    + "    protected void validate() {\n"
+    + "    }\n"
+    + "  }\n"
+    + "}\n";
+
+  private static final String ITEM = "package org.example;\n\n"
+    + "public class Item extends Base<String> {\n\n"
+    + "  private final String name;\n\n"
+    + "  private Item(Builder builder) {\n"
+    + "    super(builder);\n"
+    + "    this.name = builder.name;\n"
+    + "  }\n\n"
+    + "  public static class Builder extends Base.Builder<Builder> {\n"
+    + "    private String name;\n\n"
+    + "    @Override\n"
+    + "    protected Builder self() {\n"
+    + "      return this;\n"
+    + "    }\n"
+    + "  }\n"
+    + "}\n";
+
+  private org.eclipselabs.bobthebuilder.mapper.eclipse.CompilationUnitMapper eclipseMapper;
+
+  private CompilationUnitMapper javacMapper;
+
+  @Before
+  public void setUp() {
+    eclipseMapper =
+        Guice.createInjector(new org.eclipselabs.bobthebuilder.mapper.eclipse.MapperModule())
+            .getInstance(org.eclipselabs.bobthebuilder.mapper.eclipse.CompilationUnitMapper.class);
+    javacMapper =
+        Guice.createInjector(new MapperModule()).getInstance(CompilationUnitMapper.class);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testNullCompilationUnit() {
+    javacMapper.map(null);
+  }
+
+  @Test(expected = IllegalStateException.class)
+  public void testMoreThanOneType() {
+    javacMapper.map(parse(PATH, "class A {}\nclass B {}\n"));
+  }
+
+  @Test(expected = IllegalStateException.class)
+  public void testInterface() {
+    javacMapper.map(parse(PATH, "interface A {}\n"));
+  }
+
+  @Test
+  public void testRecordedFixture() throws Exception {
+    JavaClassFile javaClassFile = assertSameMapping(Fixture.recordedSources("person"));
+    assertEquals("Party", javaClassFile.getMainType().getSuperType().getName());
+  }
+
+  @Test
+  public void testFieldsMembersAndComments() throws Exception {
+    Map<String, String> sources = new LinkedHashMap<String, String>();
+    sources.put(PATH, ORDER);
+    JavaClassFile javaClassFile = assertSameMapping(sources);
+    assertEquals(7, javaClassFile.getMainType().getFields().size());
+    assertEquals(3, javaClassFile.getMainType().getBuilderType().getWithMethods().size());
+    assertNull(javaClassFile.getMainType().getSuperType());
+  }
+
+  @Test
+  public void testSelfTypedSuperBuilder() throws Exception {
+    Map<String, String> sources = new LinkedHashMap<String, String>();
+    sources.put("org/example/Item.java", ITEM);
+    sources.put("org/example/Base.java", BASE);
+    JavaClassFile javaClassFile = assertSameMapping(sources);
+    assertTrue(javaClassFile.getMainType().getSuperType().isSelfTypedBuilder());
+    assertTrue(javaClassFile.getMainType().getSuperType().isValidateMethodInBuilder());
+  }
+
+  @Test
+  public void testAbstractType() throws Exception {
+    Map<String, String> sources = new LinkedHashMap<String, String>();
+    sources.put("org/example/Base.java", BASE);
+    JavaClassFile javaClassFile = assertSameMapping(sources);
+    assertTrue(javaClassFile.getMainType().isAbstractType());
+    assertNotNull(javaClassFile.getMainType().getConstructorWithBuilder());
+  }
+
+  @Test
+  public void testUnknownSuperclass() throws Exception {
+    Map<String, String> sources = new LinkedHashMap<String, String>();
+    sources.put("org/example/Item.java", ITEM);
+    assertNull(assertSameMapping(sources).getMainType().getSuperType());
+  }
+
+  private JavaClassFile assertSameMapping(Map<String, String> sources) throws Exception {
+    SourceJavaModel sourceJavaModel = new SourceJavaModel();
+    ParsedSources.Builder parsedSources = new ParsedSources.Builder();
+    ICompilationUnit compilationUnit = null;
+    String path = null;
+    for (Map.Entry<String, String> each : sources.entrySet()) {
+      ICompilationUnit added = sourceJavaModel.add(each.getKey(), each.getValue());
+      parsedSources.withSource(each.getKey(), each.getValue());
+      if (compilationUnit == null) {
+        compilationUnit = added;
+        path = each.getKey();
+      }
+    }
+    JavaClassFile expected = eclipseMapper.map(compilationUnit);
+    JavaClassFile actual = javacMapper.map(parsedSources.build().getCompilationUnit(path));
+    assertEquals(expected, actual);
+    return actual;
+  }
+
+  private static ParsedCompilationUnit parse(String path, String source) {
+    return new ParsedSources.Builder().withSource(path, source).build().getCompilationUnit(path);
+  }
+}
@@ -0,0 +1,89 @@
+package org.eclipselabs.bobthebuilder.mapper.javac;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+import java.util.List;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import com.sun.source.tree.ClassTree;
+import com.sun.source.tree.Tree;
+
+public class ParsedCompilationUnitTest {
+
+  // The ranges expected below are those the Java model gives the members of this source
+  private static final String SOURCE = "@Deprecated(/* { */)\nclass A {  // after brace\n"
+    + "  int x; // trailing x\n"
+    + "  // leading y\n"
+    + "  /** doc */\n"
+    + "  int y, z;\n\n"
+    + "  /* block */ // line\n"
+    + "  @Deprecated void m() {\n"
+    + "  } // trailing m\n"
+    + "  /** d1 */ /** d2 */ void n() {}\n"
+    + "  /**/ class B {\n"
+    + "    /** b */ String s = \"{\";\n"
+    + "  }\n"
+    + "}\n";
+
+  private ParsedCompilationUnit compilationUnit;
+
+  private List<? extends Tree> members;
+
+  @Before
+  public void setUp() {
+    ParsedSources parsedSources =
+        new ParsedSources.Builder().withSource("A.java", SOURCE).build();
+    compilationUnit = parsedSources.getCompilationUnit("A.java");
+    members = ((ClassTree) compilationUnit.getTree().getTypeDecls().get(0)).getMembers();
+  }
+
+  @Test
+  public void testTrailingLineComment() {
+    assertEquals("int x; // trailing x", compilationUnit.getSource(members.get(0)));
+  }
+
+  @Test
+  public void testFieldsOfOneDeclaration() {
+    assertEquals("/** doc */\n  int y, z;", compilationUnit.getSource(members.get(1)));
+    assertEquals("/** doc */\n  int y, z;", compilationUnit.getSource(members.get(2)));
+    assertEquals(
+      compilationUnit.getStartPosition(members.get(1)),
+      compilationUnit.getStartPosition(members.get(2)));
+  }
+
+  @Test
+  public void testLeadingCommentsThatAreNotJavadoc() {
+    assertEquals("@Deprecated void m() {\n  } // trailing m",
+      compilationUnit.getSource(members.get(3)));
+  }
+
+  @Test
+  public void testLastJavadoc() {
+    assertEquals("/** d2 */ void n() {}", compilationUnit.getSource(members.get(4)));
+  }
+
+  @Test
+  public void testMemberType() {
+    assertEquals("class B {\n    /** b */ String s = \"{\";\n  }",
+      compilationUnit.getSource(members.get(5)));
+    Tree field = ((ClassTree) members.get(5)).getMembers().get(0);
+    assertEquals("/** b */ String s = \"{\";", compilationUnit.getSource(field));
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testNotAMember() {
+    compilationUnit.getSource(compilationUnit.getTree());
+  }
+
+  @Test
+  public void testFindType() {
+    assertSame(members.get(5), compilationUnit.findType("B"));
+    assertNotNull(compilationUnit.findType("A"));
+    assertNull(compilationUnit.findType("C"));
+  }
+}
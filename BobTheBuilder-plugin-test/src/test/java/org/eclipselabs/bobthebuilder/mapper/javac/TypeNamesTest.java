@@ -0,0 +1,58 @@
+package org.eclipselabs.bobthebuilder.mapper.javac;
+
+import static org.junit.Assert.assertEquals;
+
+import org.eclipse.jdt.core.Signature;
+import org.junit.Test;
+
+import com.sun.source.tree.ClassTree;
+import com.sun.source.tree.VariableTree;
+
+public class TypeNamesTest {
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testNull() {
+    TypeNames.toString(null);
+  }
+
+  @Test
+  public void testAsSignatureToString() {
+    String[] types = {
+        "int",
+        "String",
+        "java.lang.String",
+        "byte[][]",
+        "List<String>",
+        "Map<String, List<String>>",
+        "List<?>",
+        "List<? extends Number>",
+        "java.util.List<? super Integer>[]",
+        "Map.Entry<String, Object>",
+        "Outer<String>.Inner" };
+    for (String each : types) {
+      assertEquals(each,
+        Signature.toString(Signature.createTypeSignature(each, false)), typeName(each));
+    }
+  }
+
+  @Test
+  public void testExtraDimensions() {
+    ClassTree type = parse("String s[];");
+    VariableTree field = (VariableTree) type.getMembers().get(0);
+    assertEquals("String[]", TypeNames.toString(field.getType()));
+  }
+
+  private static String typeName(String type) {
+    return TypeNames.toString(((VariableTree) parse(type + " f;").getMembers().get(0)).getType());
+  }
+
+  private static ClassTree parse(String member) {
+    return (ClassTree) new ParsedSources.Builder()
+        .withSource("A.java", "class A { " + member + " }")
+        .build()
+        .getCompilationUnit("A.java")
+        .getTree()
+        .getTypeDecls()
+        .get(0);
+  }
+}
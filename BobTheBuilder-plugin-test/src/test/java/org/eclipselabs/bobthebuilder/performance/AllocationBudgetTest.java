@@ -0,0 +1,106 @@
+package org.eclipselabs.bobthebuilder.performance;
+
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Properties;
+
+import org.eclipselabs.bobthebuilder.performance.Pipeline.Phase;
+import org.junit.Assume;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+/**
+ * Fails when a phase allocates more per invocation than its budget in
+ * {@value #BUDGETS} allows. A budget is a fixed part plus a part per field of the main type, the
+ * latter also checked on its own as the growth between the smallest and the largest synthetic
+ * fixture. After a deliberate change in allocation, measure again and update the budgets.
+ */
+public class AllocationBudgetTest {
+
+  static final String BUDGETS = "allocation-budgets.properties";
+
+  private static final int SMALL = 8;
+
+  private static final int LARGE = 64;
+
+  private static AllocationMeter allocationMeter;
+
+  private static Pipeline pipeline;
+
+  private static Properties budgets;
+
+  @BeforeClass
+  public static void setUpClass() throws IOException {
+    allocationMeter = new AllocationMeter();
+    pipeline = new Pipeline();
+    budgets = new Properties();
+    InputStream input = AllocationBudgetTest.class.getResourceAsStream(BUDGETS);
+    try {
+      budgets.load(input);
+    }
+    finally {
+      input.close();
+    }
+  }
+
+  @Before
+  public void setUp() {
+    Assume.assumeTrue(allocationMeter.isSupported());
+  }
+
+  @Test
+  public void testMapping() throws Exception {
+    assertWithinBudget(Phase.MAPPING);
+  }
+
+  @Test
+  public void testFlattening() throws Exception {
+    assertWithinBudget(Phase.FLATTENING);
+  }
+
+  @Test
+  public void testComplement() throws Exception {
+    assertWithinBudget(Phase.COMPLEMENT);
+  }
+
+  @Test
+  public void testSupplement() throws Exception {
+    assertWithinBudget(Phase.SUPPLEMENT);
+  }
+
+  @Test
+  public void testDialogContent() throws Exception {
+    assertWithinBudget(Phase.DIALOG_CONTENT);
+  }
+
+  @Test
+  public void testComposition() throws Exception {
+    assertWithinBudget(Phase.COMPOSITION);
+  }
+
+  private void assertWithinBudget(Phase phase) throws Exception {
+    String key = phase.name().toLowerCase();
+    double tolerance = Double.parseDouble(budgets.getProperty("tolerance"));
+    long base = Long.parseLong(budgets.getProperty(key + ".base"));
+    long perField = Long.parseLong(budgets.getProperty(key + ".perField"));
+    List<Fixture> fixtures = Arrays.asList(
+      Fixture.fu(), Fixture.fuBarBaz(), Fixture.withFields(SMALL), Fixture.withFields(LARGE));
+    long[] measured = new long[fixtures.size()];
+    for (int i = 0; i < measured.length; i++) {
+      Fixture fixture = fixtures.get(i);
+      measured[i] = allocationMeter.measure(pipeline.task(phase, fixture));
+      long budget = base + perField * fixture.getFieldCount();
+      assertTrue(phase + " over " + fixture + " allocates " + measured[i]
+        + " bytes per invocation, the budget is " + budget,
+        measured[i] <= budget * tolerance);
+    }
+    long growth = (measured[3] - measured[2]) / (LARGE - SMALL);
+    assertTrue(phase + " allocates " + growth + " bytes per field, the budget is " + perField,
+      growth <= perField * tolerance);
+  }
+}
@@ -0,0 +1,89 @@
+package org.eclipselabs.bobthebuilder.performance;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.concurrent.Callable;
+
+/**
+ * Measures the bytes the current thread allocates per invocation of a task, using the allocation
+ * counter of the HotSpot {@code ThreadMXBean}. The task is warmed up first so that the figures
+ * are those of compiled code, and the smallest of several rounds is kept so that a stray
+ * allocation, e.g. by class loading, does not count against the task. Slow tasks get a shorter
+ * warm-up and shorter rounds, since they warm up the code they run many times per invocation.
+ */
+public class AllocationMeter {
+
+  private static final int WARM_UP_INVOCATIONS = 2000;
+
+  private static final long WARM_UP_NANOS = 500L * 1000 * 1000;
+
+  private static final int ROUNDS = 5;
+
+  private static final int INVOCATIONS_PER_ROUND = 200;
+
+  // Keeps the results reachable so that the task is not optimised away
+  private volatile Object sink;
+
+  private final com.sun.management.ThreadMXBean threadMXBean;
+
+  // What measuring allocates by itself, subtracted from every result
+  private final long overhead;
+
+  public AllocationMeter() {
+    ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+    if (bean instanceof com.sun.management.ThreadMXBean
+      && ((com.sun.management.ThreadMXBean) bean).isThreadAllocatedMemorySupported()) {
+      threadMXBean = (com.sun.management.ThreadMXBean) bean;
+      threadMXBean.setThreadAllocatedMemoryEnabled(true);
+      overhead = measureWithOverhead(new Callable<Object>() {
+        @Override
+        public Object call() {
+          return null;
+        }
+      });
+    }
+    else {
+      threadMXBean = null;
+      overhead = 0;
+    }
+  }
+
+  public boolean isSupported() {
+    return threadMXBean != null;
+  }
+
+  public long measure(Callable<?> task) {
+    if (!isSupported()) {
+      throw new IllegalStateException("Thread allocation counters are not supported");
+    }
+    return Math.max(0, measureWithOverhead(task) - overhead);
+  }
+
+  private long measureWithOverhead(Callable<?> task) {
+    try {
+      int warmUpInvocations = 0;
+      long warmUpStart = System.nanoTime();
+      while (warmUpInvocations < WARM_UP_INVOCATIONS
+        && System.nanoTime() - warmUpStart < WARM_UP_NANOS) {
+        sink = task.call();
+        warmUpInvocations++;
+      }
+      int invocationsPerRound = Math.max(
+        1, Math.min(INVOCATIONS_PER_ROUND, warmUpInvocations / ROUNDS));
+      long result = Long.MAX_VALUE;
+      long threadId = Thread.currentThread().getId();
+      for (int round = 0; round < ROUNDS; round++) {
+        long before = threadMXBean.getThreadAllocatedBytes(threadId);
+        for (int i = 0; i < invocationsPerRound; i++) {
+          sink = task.call();
+        }
+        long after = threadMXBean.getThreadAllocatedBytes(threadId);
+        result = Math.min(result, (after - before) / invocationsPerRound);
+      }
+      return result;
+    }
+    catch (Exception e) {
+      throw new IllegalStateException("The measured task failed", e);
+    }
+  }
+}
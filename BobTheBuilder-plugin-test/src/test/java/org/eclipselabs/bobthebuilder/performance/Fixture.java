@@ -0,0 +1,230 @@
+package org.eclipselabs.bobthebuilder.performance;
+
+import static org.eclipselabs.bobthebuilder.performance.SyntheticJavaModel.compilationUnit;
+import static org.eclipselabs.bobthebuilder.performance.SyntheticJavaModel.constant;
+import static org.eclipselabs.bobthebuilder.performance.SyntheticJavaModel.constructor;
+import static org.eclipselabs.bobthebuilder.performance.SyntheticJavaModel.field;
+import static org.eclipselabs.bobthebuilder.performance.SyntheticJavaModel.method;
+import static org.eclipselabs.bobthebuilder.performance.SyntheticJavaModel.type;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+
+import org.apache.commons.lang.StringUtils;
+import org.eclipse.jdt.core.Flags;
+import org.eclipse.jdt.core.ICompilationUnit;
+import org.eclipse.jdt.core.IField;
+import org.eclipse.jdt.core.IMethod;
+import org.eclipse.jdt.core.IType;
+import org.eclipse.jdt.core.JavaModelException;
+import org.eclipse.jdt.core.Signature;
+import org.eclipselabs.bobthebuilder.audit.FixtureRecorder;
+
+/**
+ * A compilation unit to run the pipeline over. {@link #fu()} and {@link #fuBarBaz()} mirror the
+ * classes of the same name in {@code org.eclipselabs.bobthebuilder}, {@link #withFields(int)} is a
+ * class of the given size whose builder covers only the first half of its fields, and
+ * {@link #recorded(String)} replays a fixture written by {@link FixtureRecorder}.
+ */
+public class Fixture {
+
+  private static final String[] SIGNATURES = {
+      Signature.SIG_LONG, "QString;", Signature.SIG_INT, Signature.SIG_BOOLEAN, "QList<QString;>;" };
+
+  static final String RECORDINGS = "recordings";
+
+  private static final String CONSTRUCTOR_WITH_BUILDER_SIGNATURE = "(QBuilder;)V";
+
+  private final String name;
+
+  private final int fieldCount;
+
+  private final ICompilationUnit compilationUnit;
+
+  private Fixture(String name, int fieldCount, ICompilationUnit compilationUnit) {
+    this.name = name;
+    this.fieldCount = fieldCount;
+    this.compilationUnit = compilationUnit;
+  }
+
+  public static Fixture fu() {
+    IType builder = type("Builder",
+      new IField[] {
+          field("id", Signature.SIG_LONG, 200),
+          field("description", "QString;", 220),
+          constant("HOLA", "QString;", 250) },
+      new IMethod[] {
+          withMethod("id", Signature.SIG_LONG, 300),
+          withMethod("description", "QString;", 400) });
+    IType fu = type("Fu",
+      new IField[] {
+          field("id", Signature.SIG_LONG, 50),
+          field("description", "QString;", 70),
+          constant("HOLA", "QString;", 100) },
+      new IMethod[] { mainMethod(120) },
+      builder);
+    return new Fixture("Fu", 2, compilationUnit("Fu", fu));
+  }
+
+  public static Fixture fuBarBaz() {
+    IType builder = type("Builder",
+      new IField[] {
+          field("id", Signature.SIG_LONG, 300),
+          field("description", "QString;", 320),
+          field("index", Signature.SIG_INT, 340) },
+      new IMethod[] {
+          withMethod("id", Signature.SIG_LONG, 400),
+          withMethod("description", "QString;", 500),
+          withMethod("index", Signature.SIG_INT, 600) });
+    IType fuBarBaz = type("FuBarBaz",
+      new IField[] {
+          field("id", Signature.SIG_LONG, 50),
+          field("description", "QString;", 70) },
+      new IMethod[] {
+          mainMethod(100),
+          constructorWithBuilder("FuBarBaz", 200, "id") },
+      builder);
+    return new Fixture("FuBarBaz", 2, compilationUnit("FuBarBaz", fuBarBaz));
+  }
+
+  public static Fixture withFields(int fieldCount) {
+    String name = "Synthetic" + fieldCount;
+    int covered = fieldCount / 2;
+    IField[] fields = new IField[fieldCount];
+    List<IField> builderFields = new ArrayList<IField>();
+    List<IMethod> withMethods = new ArrayList<IMethod>();
+    String[] assigned = new String[covered];
+    int builderOffset = 100 * (fieldCount + 2);
+    for (int i = 0; i < fieldCount; i++) {
+      String fieldName = "field" + i;
+      String signature = SIGNATURES[i % SIGNATURES.length];
+      fields[i] = field(fieldName, signature, 50 + 20 * i);
+      if (i < covered) {
+        builderFields.add(field(fieldName, signature, builderOffset + 20 * i));
+        withMethods.add(withMethod(fieldName, signature, builderOffset * 2 + 100 * i));
+        assigned[i] = fieldName;
+      }
+    }
+    IType builder = type("Builder",
+      builderFields.toArray(new IField[builderFields.size()]),
+      withMethods.toArray(new IMethod[withMethods.size()]));
+    IType mainType = type(name, fields,
+      new IMethod[] { constructorWithBuilder(name, 50 + 20 * fieldCount, assigned) },
+      builder);
+    return new Fixture(name, fieldCount, compilationUnit(name, mainType, "java.util.List"));
+  }
+
+  /**
+   * The fixture recorded in the directory of the given name under {@value #RECORDINGS}, next to
+   * this class on the classpath. To replay a fixture recorded in the IDE, copy its directory there.
+   */
+  public static Fixture recorded(String name) throws IOException, JavaModelException {
+    SourceJavaModel model = new SourceJavaModel();
+    ICompilationUnit recorded = null;
+    for (Map.Entry<String, String> each : recordedSources(name).entrySet()) {
+      ICompilationUnit compilationUnit = model.add(each.getKey(), each.getValue());
+      if (recorded == null) {
+        recorded = compilationUnit;
+      }
+    }
+    int fieldCount = 0;
+    for (IField each : recorded.getTypes()[0].getFields()) {
+      if (!Flags.isStatic(each.getFlags()) || !Flags.isFinal(each.getFlags())) {
+        fieldCount++;
+      }
+    }
+    return new Fixture(name, fieldCount, recorded);
+  }
+
+  /**
+   * The sources of the fixture {@link #recorded(String)} replays, keyed by their paths, the
+   * recorded compilation unit first.
+   */
+  public static Map<String, String> recordedSources(String name) throws IOException {
+    String directory = RECORDINGS + "/" + name + "/";
+    Properties descriptor = new Properties();
+    InputStream input = open(directory + FixtureRecorder.DESCRIPTOR);
+    try {
+      descriptor.load(input);
+    }
+    finally {
+      input.close();
+    }
+    Map<String, String> result = new LinkedHashMap<String, String>();
+    for (String each : StringUtils.split(descriptor.getProperty(FixtureRecorder.SOURCES), ",")) {
+      InputStream source = open(directory + each);
+      try {
+        result.put(each, read(source));
+      }
+      finally {
+        source.close();
+      }
+    }
+    return result;
+  }
+
+  private static InputStream open(String resource) throws IOException {
+    InputStream result = Fixture.class.getResourceAsStream(resource);
+    if (result == null) {
+      throw new IOException("No " + resource + " next to " + Fixture.class.getName());
+    }
+    return result;
+  }
+
+  private static String read(InputStream input) throws IOException {
+    Reader reader = new InputStreamReader(input, "UTF-8");
+    StringBuilder result = new StringBuilder();
+    char[] buffer = new char[4096];
+    for (int read = reader.read(buffer); read >= 0; read = reader.read(buffer)) {
+      result.append(buffer, 0, read);
+    }
+    return result.toString();
+  }
+
+  private static IMethod withMethod(String fieldName, String signature, int offset) {
+    String methodName = "with" + StringUtils.capitalize(fieldName);
+    String source = "public Builder " + methodName + "(" + Signature.toString(signature) + " "
+      + fieldName + ") {\n  this." + fieldName + " = " + fieldName + ";\n  return this;\n}";
+    return method(methodName, new String[] { signature }, "(" + signature + ")QBuilder;",
+      source, offset);
+  }
+
+  private static IMethod mainMethod(int offset) {
+    return method("main", new String[] { "[QString;" }, "([QString;)V",
+      "public static void main(String[] args) {/* do nothing */\n}", offset);
+  }
+
+  private static IMethod constructorWithBuilder(String typeName, int offset, String... assigned) {
+    StringBuilder source = new StringBuilder("private " + typeName + "(Builder builder) {\n");
+    for (String each : assigned) {
+      source.append("  this.").append(each).append(" = builder.").append(each).append(";\n");
+    }
+    source.append("}");
+    return constructor(typeName, new String[] { "QBuilder;" }, CONSTRUCTOR_WITH_BUILDER_SIGNATURE,
+      source.toString(), offset);
+  }
+
+  public String getName() {
+    return name;
+  }
+
+  public int getFieldCount() {
+    return fieldCount;
+  }
+
+  public ICompilationUnit getCompilationUnit() {
+    return compilationUnit;
+  }
+
+  @Override
+  public String toString() {
+    return name;
+  }
+}
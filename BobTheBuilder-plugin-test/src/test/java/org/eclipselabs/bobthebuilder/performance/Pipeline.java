@@ -0,0 +1,253 @@
+package org.eclipselabs.bobthebuilder.performance;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.TreeSet;
+import java.util.concurrent.Callable;
+
+import org.eclipse.jdt.core.JavaModelException;
+import org.eclipselabs.bobthebuilder.DialogContent;
+import org.eclipselabs.bobthebuilder.DialogRequestConstructor;
+import org.eclipselabs.bobthebuilder.ValidationFramework;
+import org.eclipselabs.bobthebuilder.complement.ComplementModule;
+import org.eclipselabs.bobthebuilder.complement.MainTypeComplementProvider;
+import org.eclipselabs.bobthebuilder.composer.BuilderComposer;
+import org.eclipselabs.bobthebuilder.composer.ComposerModule;
+import org.eclipselabs.bobthebuilder.composer.ComposerRequest;
+import org.eclipselabs.bobthebuilder.composer.ConstructorComposer;
+import org.eclipselabs.bobthebuilder.mapper.eclipse.CompilationUnitFlattener;
+import org.eclipselabs.bobthebuilder.mapper.eclipse.CompilationUnitMapper;
+import org.eclipselabs.bobthebuilder.mapper.eclipse.FlattenedICompilationUnit;
+import org.eclipselabs.bobthebuilder.mapper.eclipse.MapperModule;
+import org.eclipselabs.bobthebuilder.mapper.eclipse.MemberClassifier;
+import org.eclipselabs.bobthebuilder.model.BuilderTypeComplement;
+import org.eclipselabs.bobthebuilder.model.BuilderTypeSupplement;
+import org.eclipselabs.bobthebuilder.model.Field;
+import org.eclipselabs.bobthebuilder.model.FieldAssignment;
+import org.eclipselabs.bobthebuilder.model.JavaClassFile;
+import org.eclipselabs.bobthebuilder.model.MainType;
+import org.eclipselabs.bobthebuilder.model.MainTypeComplement;
+import org.eclipselabs.bobthebuilder.model.WithMethod;
+import org.eclipselabs.bobthebuilder.supplement.BuilderTypeSupplementProvider;
+import org.eclipselabs.bobthebuilder.supplement.SupplementModule;
+
+import com.google.inject.Guice;
+import com.google.inject.Injector;
+
+/**
+ * The phases {@link org.eclipselabs.bobthebuilder.SubContractor} runs, wired the way the plug-in
+ * wires them, each as a task over a fixture whose input is the output of the previous phases.
+ * Composition stops at the source strings, since writing them needs a working copy.
+ */
+public class Pipeline {
+
+  private static final ValidationFramework VALIDATION_FRAMEWORK = ValidationFramework.GOOGLE_GUAVA;
+
+  public enum Phase {
+    MAPPING {
+      @Override
+      Callable<?> task(final Pipeline pipeline, final Fixture fixture) {
+        return new Callable<Object>() {
+          @Override
+          public Object call() throws JavaModelException {
+            return pipeline.map(fixture);
+          }
+        };
+      }
+    },
+    FLATTENING {
+      @Override
+      Callable<?> task(final Pipeline pipeline, final Fixture fixture) {
+        return new Callable<Object>() {
+          @Override
+          public Object call() throws JavaModelException {
+            return pipeline.inScope(new MemberClassifier.Scope<Object>() {
+              @Override
+              public Object run() throws JavaModelException {
+                return pipeline.compilationUnitFlattener.flatten(fixture.getCompilationUnit());
+              }
+            });
+          }
+        };
+      }
+    },
+    COMPLEMENT {
+      @Override
+      Callable<?> task(final Pipeline pipeline, Fixture fixture) throws JavaModelException {
+        final MainType mainType = pipeline.map(fixture).getMainType();
+        return new Callable<Object>() {
+          @Override
+          public Object call() {
+            return pipeline.mainTypeComplementProvider.complement(mainType);
+          }
+        };
+      }
+    },
+    SUPPLEMENT {
+      @Override
+      Callable<?> task(final Pipeline pipeline, Fixture fixture) throws JavaModelException {
+        final MainType mainType = pipeline.map(fixture).getMainType();
+        final FlattenedICompilationUnit flattened =
+            pipeline.compilationUnitFlattener.flatten(fixture.getCompilationUnit());
+        return new Callable<Object>() {
+          @Override
+          public Object call() throws JavaModelException {
+            return pipeline.inScope(new MemberClassifier.Scope<Object>() {
+              @Override
+              public Object run() throws JavaModelException {
+                return pipeline.builderTypeSupplementProvider.provideSupplement(
+                  mainType, flattened.getMainType());
+              }
+            });
+          }
+        };
+      }
+    },
+    DIALOG_CONTENT {
+      @Override
+      Callable<?> task(final Pipeline pipeline, Fixture fixture) throws JavaModelException {
+        MainType mainType = pipeline.map(fixture).getMainType();
+        final MainTypeComplement complement =
+            pipeline.mainTypeComplementProvider.complement(mainType);
+        final BuilderTypeSupplement supplement =
+            pipeline.builderTypeSupplementProvider.provideSupplement(
+              mainType,
+              pipeline.compilationUnitFlattener.flatten(fixture.getCompilationUnit()).getMainType());
+        return new Callable<DialogContent>() {
+          @Override
+          public DialogContent call() throws JavaModelException {
+            return pipeline.dialogRequestConstructor.work(
+              complement, supplement, VALIDATION_FRAMEWORK);
+          }
+        };
+      }
+    },
+    COMPOSITION {
+      @Override
+      Callable<?> task(final Pipeline pipeline, Fixture fixture) throws JavaModelException {
+        final MainType mainType = pipeline.map(fixture).getMainType();
+        final ComposerRequest request =
+            selectAll(pipeline.mainTypeComplementProvider.complement(mainType));
+        return new Callable<List<String>>() {
+          @Override
+          public List<String> call() {
+            return pipeline.compose(request, mainType);
+          }
+        };
+      }
+    };
+
+    abstract Callable<?> task(Pipeline pipeline, Fixture fixture) throws JavaModelException;
+  }
+
+  private final MemberClassifier memberClassifier;
+
+  private final CompilationUnitMapper compilationUnitMapper;
+
+  private final CompilationUnitFlattener compilationUnitFlattener;
+
+  private final MainTypeComplementProvider mainTypeComplementProvider;
+
+  private final BuilderTypeSupplementProvider builderTypeSupplementProvider;
+
+  private final DialogRequestConstructor dialogRequestConstructor;
+
+  private final BuilderComposer builderComposer;
+
+  private final ConstructorComposer constructorComposer;
+
+  public Pipeline() {
+    Injector injector = Guice.createInjector(
+      new MapperModule(),
+      new ComplementModule(),
+      new SupplementModule(),
+      new ComposerModule());
+    memberClassifier = injector.getInstance(MemberClassifier.class);
+    compilationUnitMapper = injector.getInstance(CompilationUnitMapper.class);
+    compilationUnitFlattener = injector.getInstance(CompilationUnitFlattener.class);
+    mainTypeComplementProvider = injector.getInstance(MainTypeComplementProvider.class);
+    builderTypeSupplementProvider = injector.getInstance(BuilderTypeSupplementProvider.class);
+    dialogRequestConstructor = injector.getInstance(DialogRequestConstructor.class);
+    builderComposer = injector.getInstance(BuilderComposer.class);
+    constructorComposer = injector.getInstance(ConstructorComposer.class);
+  }
+
+  public Callable<?> task(Phase phase, Fixture fixture) throws JavaModelException {
+    return phase.task(this, fixture);
+  }
+
+  private JavaClassFile map(final Fixture fixture) throws JavaModelException {
+    return inScope(new MemberClassifier.Scope<JavaClassFile>() {
+      @Override
+      public JavaClassFile run() throws JavaModelException {
+        return compilationUnitMapper.map(fixture.getCompilationUnit());
+      }
+    });
+  }
+
+  // Each task classifies afresh, as SubContractor does for each analysis
+  private <T> T inScope(MemberClassifier.Scope<T> work) throws JavaModelException {
+    return memberClassifier.inScope(work);
+  }
+
+  // What the dialog hands to the composer when every entry is left checked
+  private static ComposerRequest selectAll(MainTypeComplement complement) {
+    ComposerRequest.Builder result = new ComposerRequest.Builder();
+    BuilderTypeComplement builderTypeComplement = complement.getBuilderTypeComplement();
+    for (Field each : builderTypeComplement.getBuilderFieldsComplement()) {
+      result.addMissingFieldInBuilder(each);
+    }
+    for (WithMethod each : builderTypeComplement.getWithMethodsComplement()) {
+      result.addMissingWithMethodInBuilder(each.getField());
+    }
+    if (complement.getConstructorWithBuilderComplement().isCompleteComplement()) {
+      result.withConstructorWithBuilder();
+    }
+    for (FieldAssignment each :
+      complement.getConstructorWithBuilderComplement().getFieldAssignments()) {
+      result.addMissingAssignmentInConstructor(each.getField());
+    }
+    if (builderTypeComplement.getBuildMethodComplement().isCompleteComplement()) {
+      result.withBuildMethodInBuilder();
+    }
+    if (builderTypeComplement.getValidateMethodComplement().isCompleteComplement()) {
+      result.withValidateMethodInBuilder();
+    }
+    for (FieldAssignment each :
+      builderTypeComplement.getValidateMethodComplement().getFieldAssignments()) {
+      result.addMissingValidationInBuild(each.getField());
+    }
+    return result.withValidationFramework(VALIDATION_FRAMEWORK).build();
+  }
+
+  // The strings Composer#edit creates members from, in the same order
+  private List<String> compose(ComposerRequest request, MainType mainType) {
+    List<String> result = new ArrayList<String>();
+    if (request.isCreateConstructorWithBuilder()) {
+      result.add(constructorComposer.composeFromScratch(request, mainType));
+    }
+    if (mainType.getConstructorWithBuilder() != null
+      && !request.getMissingAssignmentsInConstructor().isEmpty()) {
+      result.add(constructorComposer.composeFromExisting(
+        request, mainType.getConstructorWithBuilder()));
+    }
+    if (mainType.getBuilderType() == null) {
+      result.add(builderComposer.composeSkeleton(mainType));
+    }
+    for (Field each : new TreeSet<Field>(request.getMissingFieldsInBuilder())) {
+      result.add(builderComposer.composeFieldDeclaration(each));
+    }
+    for (Field each : new TreeSet<Field>(request.getMissingWithMethodsInBuilder())) {
+      result.add(builderComposer.composeWithMethod(each, false));
+    }
+    if (request.isCreateBuildMethodInBuilder()) {
+      result.add(builderComposer.composeBuilderMethod(
+        mainType, request.isCreateValidateMethodInBuilder()));
+    }
+    if (request.isCreateValidateMethodInBuilder()) {
+      result.add(builderComposer.composeValidateMethodFromScratch(
+        request.getMissingFieldValidationsInBuild(), VALIDATION_FRAMEWORK, mainType));
+    }
+    return result;
+  }
+}
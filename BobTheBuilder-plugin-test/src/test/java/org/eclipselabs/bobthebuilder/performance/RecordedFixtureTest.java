@@ -0,0 +1,87 @@
+package org.eclipselabs.bobthebuilder.performance;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.eclipselabs.bobthebuilder.model.Field;
+import org.eclipselabs.bobthebuilder.model.JavaClassFile;
+import org.eclipselabs.bobthebuilder.model.MainType;
+import org.eclipselabs.bobthebuilder.model.MainTypeComplement;
+import org.eclipselabs.bobthebuilder.performance.Pipeline.Phase;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+/**
+ * Replays the recorded fixtures through the pipeline, over the source-backed java model rather
+ * than over mocks.
+ */
+public class RecordedFixtureTest {
+
+  private static Pipeline pipeline;
+
+  private static Fixture person;
+
+  @BeforeClass
+  public static void setUpClass() throws Exception {
+    pipeline = new Pipeline();
+    person = Fixture.recorded("person");
+  }
+
+  @Test
+  public void testFieldCount() {
+    assertEquals(7, person.getFieldCount());
+  }
+
+  @Test
+  public void testMapping() throws Exception {
+    MainType mainType = ((JavaClassFile) pipeline.task(Phase.MAPPING, person).call()).getMainType();
+    Map<String, String> signatures = new HashMap<String, String>();
+    for (Field each : mainType.getFields()) {
+      signatures.put(each.getName(), each.getSignature());
+    }
+    assertEquals("String", signatures.get("firstName"));
+    assertEquals("String", signatures.get("lastName"));
+    assertEquals("int", signatures.get("age"));
+    assertEquals("List<Address>", signatures.get("addresses"));
+    assertEquals("Map<String,List<String>>", signatures.get("phoneNumbers"));
+    assertEquals("byte[]", signatures.get("photo"));
+    assertEquals("boolean", signatures.get("active"));
+    assertEquals(7, signatures.size());
+    assertEquals(5, mainType.getBuilderType().getBuilderFields().size());
+    assertEquals(4, mainType.getBuilderType().getWithMethods().size());
+    assertEquals(4, mainType.getConstructorWithBuilder().getFieldAssignment().size());
+    assertEquals("Party", mainType.getSuperType().getName());
+    assertTrue(mainType.getSuperType().isSelfTypedBuilder());
+    assertTrue(mainType.getSuperType().isValidateMethodInBuilder());
+    assertFalse(mainType.isAbstractType());
+  }
+
+  @Test
+  public void testComplement() throws Exception {
+    MainTypeComplement complement =
+        (MainTypeComplement) pipeline.task(Phase.COMPLEMENT, person).call();
+    Set<String> names = new HashSet<String>();
+    for (Field each : complement.getBuilderTypeComplement().getBuilderFieldsComplement()) {
+      names.add(each.getName());
+    }
+    assertEquals(new HashSet<String>(Arrays.asList("phoneNumbers", "photo", "active")),
+      names);
+  }
+
+  @Test
+  public void testComposition() throws Exception {
+    @SuppressWarnings("unchecked")
+    List<String> composition = (List<String>) pipeline.task(Phase.COMPOSITION, person).call();
+    assertTrue(composition.contains("private byte[] photo;"));
+    assertTrue(composition.contains("private Map<String,List<String>> phoneNumbers;"));
+    assertTrue(composition.get(0).contains("this.active = builder.active;"));
+  }
+}
@@ -0,0 +1,165 @@
+package org.eclipselabs.bobthebuilder.performance;
+
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.Callable;
+
+import org.apache.commons.lang.StringUtils;
+import org.eclipselabs.bobthebuilder.performance.Pipeline.Phase;
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+/**
+ * Runs every phase over synthetic classes of 100, 1,000 and 10,000 fields and fails when a phase
+ * grows faster than n log n. The growth exponent is fitted between the two largest sizes, where
+ * fixed costs no longer hide it, and compared with the exponent n log n has over the same range,
+ * plus {@link #EXPONENT_MARGIN} for timing noise. A quadratic phase has an exponent of 2.
+ * <p>
+ * The timings of every phase are written to the file named by the system property
+ * {@value #REPORT_PROPERTY}, e.g. target/scaling.txt, and are otherwise only part of a failure.
+ */
+public class ScalingTest {
+
+  public static final String REPORT_PROPERTY = "bobthebuilder.scaling.report";
+
+  private static final int[] SIZES = { 100, 1000, 10000 };
+
+  private static final double EXPONENT_MARGIN = 0.5;
+
+  private static final int RUNS = 5;
+
+  private static Pipeline pipeline;
+
+  private static Fixture[] fixtures;
+
+  private static final Map<Phase, long[]> timings = new EnumMap<Phase, long[]>(Phase.class);
+
+  @BeforeClass
+  public static void setUpClass() {
+    pipeline = new Pipeline();
+    fixtures = new Fixture[SIZES.length];
+    for (int i = 0; i < SIZES.length; i++) {
+      fixtures[i] = Fixture.withFields(SIZES[i]);
+    }
+  }
+
+  @AfterClass
+  public static void tearDownClass() throws IOException {
+    String report = System.getProperty(REPORT_PROPERTY);
+    if (StringUtils.isBlank(report)) {
+      return;
+    }
+    File file = new File(report).getAbsoluteFile();
+    File parent = file.getParentFile();
+    if (!parent.isDirectory() && !parent.mkdirs()) {
+      throw new IOException("Could not create " + parent);
+    }
+    Writer writer = new OutputStreamWriter(new FileOutputStream(file), "UTF-8");
+    try {
+      writer.write(table());
+    }
+    finally {
+      writer.close();
+    }
+  }
+
+  @Test
+  public void testMapping() throws Exception {
+    assertAtMostNLogN(Phase.MAPPING);
+  }
+
+  @Test
+  public void testFlattening() throws Exception {
+    assertAtMostNLogN(Phase.FLATTENING);
+  }
+
+  @Test
+  public void testComplement() throws Exception {
+    assertAtMostNLogN(Phase.COMPLEMENT);
+  }
+
+  @Test
+  public void testSupplement() throws Exception {
+    assertAtMostNLogN(Phase.SUPPLEMENT);
+  }
+
+  @Test
+  public void testDialogContent() throws Exception {
+    assertAtMostNLogN(Phase.DIALOG_CONTENT);
+  }
+
+  @Test
+  public void testComposition() throws Exception {
+    assertAtMostNLogN(Phase.COMPOSITION);
+  }
+
+  private void assertAtMostNLogN(Phase phase) throws Exception {
+    Callable<?>[] tasks = new Callable<?>[SIZES.length];
+    for (int i = 0; i < SIZES.length; i++) {
+      tasks[i] = pipeline.task(phase, fixtures[i]);
+      tasks[i].call();
+    }
+    long[] nanos = new long[SIZES.length];
+    for (int i = 0; i < SIZES.length; i++) {
+      nanos[i] = time(tasks[i]);
+    }
+    timings.put(phase, nanos);
+    int last = SIZES.length - 1;
+    double exponent = exponent(SIZES[last - 1], nanos[last - 1], SIZES[last], nanos[last]);
+    double bound = nLogNExponent(SIZES[last - 1], SIZES[last]) + EXPONENT_MARGIN;
+    assertTrue(String.format("%s grows as n^%.2f between %d and %d fields, more than n log n%n%s",
+      phase, exponent, SIZES[last - 1], SIZES[last], table()),
+      exponent <= bound);
+  }
+
+  /*
+   * The fastest of a few runs. Every size has run once before, so that the code the task needs is
+   * loaded and compiled before the smaller sizes are timed, and the garbage of a previous run is
+   * collected before it can be collected while timing.
+   */
+  private static long time(Callable<?> task) throws Exception {
+    long result = Long.MAX_VALUE;
+    for (int i = 0; i < RUNS; i++) {
+      System.gc();
+      long start = System.nanoTime();
+      task.call();
+      result = Math.min(result, System.nanoTime() - start);
+    }
+    return Math.max(1, result);
+  }
+
+  private static double exponent(int n1, long t1, int n2, long t2) {
+    return Math.log((double) t2 / t1) / Math.log((double) n2 / n1);
+  }
+
+  private static double nLogNExponent(int n1, int n2) {
+    return exponent(n1, Math.round(n1 * Math.log(n1)), n2, Math.round(n2 * Math.log(n2)));
+  }
+
+  private static String table() {
+    StringBuilder result = new StringBuilder(String.format("%-16s", "phase"));
+    for (int each : SIZES) {
+      result.append(String.format("%12s", "n=" + each));
+    }
+    result.append(String.format("%10s%n", "exponent"));
+    for (Map.Entry<Phase, long[]> each : timings.entrySet()) {
+      long[] nanos = each.getValue();
+      result.append(String.format("%-16s", each.getKey()));
+      for (long eachNanos : nanos) {
+        result.append(String.format("%10.2fms", eachNanos / 1000000.0));
+      }
+      int last = nanos.length - 1;
+      result.append(String.format("%10.2f%n",
+        exponent(SIZES[last - 1], nanos[last - 1], SIZES[last], nanos[last])));
+    }
+    return result.toString();
+  }
+}
@@ -0,0 +1,310 @@
+package org.eclipselabs.bobthebuilder.performance;
+
+import static org.eclipselabs.bobthebuilder.performance.SyntheticJavaModel.handle;
+import static org.eclipselabs.bobthebuilder.performance.SyntheticJavaModel.proxy;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.commons.lang.StringUtils;
+import org.apache.commons.lang.Validate;
+import org.eclipse.jdt.core.Flags;
+import org.eclipse.jdt.core.ICompilationUnit;
+import org.eclipse.jdt.core.IField;
+import org.eclipse.jdt.core.IImportDeclaration;
+import org.eclipse.jdt.core.IJavaElement;
+import org.eclipse.jdt.core.IJavaProject;
+import org.eclipse.jdt.core.IMethod;
+import org.eclipse.jdt.core.IPackageFragment;
+import org.eclipse.jdt.core.IType;
+import org.eclipse.jdt.core.ITypeParameter;
+import org.eclipse.jdt.core.JavaCore;
+import org.eclipse.jdt.core.Signature;
+import org.eclipse.jdt.core.SourceRange;
+import org.eclipse.jdt.core.dom.AST;
+import org.eclipse.jdt.core.dom.ASTNode;
+import org.eclipse.jdt.core.dom.ASTParser;
+import org.eclipse.jdt.core.dom.BodyDeclaration;
+import org.eclipse.jdt.core.dom.CompilationUnit;
+import org.eclipse.jdt.core.dom.FieldDeclaration;
+import org.eclipse.jdt.core.dom.ImportDeclaration;
+import org.eclipse.jdt.core.dom.MethodDeclaration;
+import org.eclipse.jdt.core.dom.SingleVariableDeclaration;
+import org.eclipse.jdt.core.dom.Type;
+import org.eclipse.jdt.core.dom.TypeDeclaration;
+import org.eclipse.jdt.core.dom.TypeParameter;
+import org.eclipse.jdt.core.dom.VariableDeclarationFragment;
+
+/**
+ * Java model handles over plain source strings, parsed once without a workspace, so that real
+ * compilation units, e.g. those recorded by
+ * {@link org.eclipselabs.bobthebuilder.audit.FixtureRecorder}, can be run through the mappers
+ * offline. The handles answer what the mappers ask of them with what the source says, signatures
+ * unresolved as in the java model of a source file. A type name is resolved by its simple name
+ * among the types of the compilation units added to the same model, any other is left unresolved.
+ */
+public class SourceJavaModel {
+
+  private static final String LINE_SEPARATOR = "\n";
+
+  private final Map<String, IType> typesByQualifiedName = new HashMap<String, IType>();
+
+  // What resolveType answers for each simple name, the package and the type qualified name
+  private final Map<String, String[]> resolvedNames = new HashMap<String, String[]>();
+
+  private final IJavaProject javaProject = javaProject();
+
+  /**
+   * Parses the source, the path of which is that of the file in its source folder, e.g.
+   * {@code org/example/Person.java}.
+   */
+  public ICompilationUnit add(String path, String source) {
+    Validate.notEmpty(path, "path may not be empty");
+    Validate.notNull(source, "source may not be null");
+    CompilationUnit ast = parse(source);
+    String packageName = ast.getPackage() == null
+        ? "" : ast.getPackage().getName().getFullyQualifiedName();
+    Map<String, Object> packageAnswers = new HashMap<String, Object>();
+    IPackageFragment packageFragment = handle(
+      IPackageFragment.class, IJavaElement.PACKAGE_FRAGMENT, packageName, packageAnswers);
+    Map<String, Object> answers = new HashMap<String, Object>();
+    ICompilationUnit result = handle(ICompilationUnit.class, IJavaElement.COMPILATION_UNIT,
+      StringUtils.substringAfterLast("/" + path, "/"), answers);
+    List<IImportDeclaration> imports = new ArrayList<IImportDeclaration>();
+    for (Object each : ast.imports()) {
+      imports.add(importDeclaration((ImportDeclaration) each, result, source));
+    }
+    List<IType> types = new ArrayList<IType>();
+    for (Object each : ast.types()) {
+      if (each instanceof TypeDeclaration) {
+        types.add(type((TypeDeclaration) each, result, null, packageName, "", source));
+      }
+    }
+    packageAnswers.put("getCompilationUnits", new ICompilationUnit[] { result });
+    answers.put("getParent", packageFragment);
+    answers.put("getTypes", types.toArray(new IType[types.size()]));
+    answers.put("getImports", imports.toArray(new IImportDeclaration[imports.size()]));
+    answers.put("getSource", source);
+    answers.put("getSourceRange", new SourceRange(0, source.length()));
+    answers.put("findRecommendedLineSeparator", LINE_SEPARATOR);
+    answers.put("isConsistent", Boolean.TRUE);
+    return result;
+  }
+
+  /*
+   * JLS3 is the language of the 1.6 sources the plug-in targets, and the only level the 3.6
+   * java model the plug-in requires knows. Later java models deprecate it without parsing these
+   * sources any differently.
+   */
+  @SuppressWarnings({ "unchecked", "deprecation" })
+  private static CompilationUnit parse(String source) {
+    ASTParser parser = ASTParser.newParser(AST.JLS3);
+    parser.setKind(ASTParser.K_COMPILATION_UNIT);
+    Map<String, String> options = JavaCore.getOptions();
+    JavaCore.setComplianceOptions(JavaCore.VERSION_1_6, options);
+    parser.setCompilerOptions(options);
+    parser.setSource(source.toCharArray());
+    return (CompilationUnit) parser.createAST(null);
+  }
+
+  private static IImportDeclaration importDeclaration(
+    ImportDeclaration declaration, ICompilationUnit compilationUnit, String source) {
+    Map<String, Object> answers = new HashMap<String, Object>();
+    answers.put("isOnDemand", declaration.isOnDemand());
+    answers.put("getFlags", declaration.isStatic() ? Flags.AccStatic : Flags.AccDefault);
+    answers.put("getParent", compilationUnit);
+    answers.put("getCompilationUnit", compilationUnit);
+    putSource(answers, declaration, source);
+    String name = declaration.getName().getFullyQualifiedName();
+    return handle(IImportDeclaration.class, IJavaElement.IMPORT_DECLARATION,
+      declaration.isOnDemand() ? name + ".*" : name, answers);
+  }
+
+  private IType type(final TypeDeclaration declaration, ICompilationUnit compilationUnit,
+    IType declaringType, String qualifier, String enclosingTypeNames, String source) {
+    String name = declaration.getName().getIdentifier();
+    String typeQualifiedName = enclosingTypeNames + name;
+    Map<String, Object> answers = new HashMap<String, Object>();
+    final IType result = handle(IType.class, IJavaElement.TYPE, name, answers);
+    answers.put("getDeclaringType", declaringType);
+    answers.put("getParent", declaringType == null ? compilationUnit : declaringType);
+    answers.put("getCompilationUnit", compilationUnit);
+    String fullyQualifiedName = qualifier.length() == 0
+        ? name : qualifier + (declaringType == null ? "." : "$") + name;
+    List<IField> fields = new ArrayList<IField>();
+    for (FieldDeclaration each : declaration.getFields()) {
+      for (Object eachFragment : each.fragments()) {
+        fields.add(field(each, (VariableDeclarationFragment) eachFragment, result, source));
+      }
+    }
+    List<IMethod> methods = new ArrayList<IMethod>();
+    for (MethodDeclaration each : declaration.getMethods()) {
+      methods.add(method(each, result, source));
+    }
+    List<IType> types = new ArrayList<IType>();
+    for (TypeDeclaration each : declaration.getTypes()) {
+      types.add(type(each, compilationUnit, result, fullyQualifiedName, typeQualifiedName + ".",
+        source));
+    }
+    final IField[] fieldArray = fields.toArray(new IField[fields.size()]);
+    answers.put("getFields", fieldArray);
+    answers.put("getField", new SyntheticJavaModel.Answer() {
+      @Override
+      public Object answer(Object[] args) {
+        for (IField each : fieldArray) {
+          if (each.getElementName().equals(args[0])) {
+            return each;
+          }
+        }
+        Map<String, Object> missing = new HashMap<String, Object>();
+        missing.put("exists", Boolean.FALSE);
+        missing.put("getDeclaringType", result);
+        missing.put("getParent", result);
+        return handle(IField.class, IJavaElement.FIELD, (String) args[0], missing);
+      }
+    });
+    answers.put("getMethods", methods.toArray(new IMethod[methods.size()]));
+    answers.put("getTypes", types.toArray(new IType[types.size()]));
+    answers.put("getTypeParameters", typeParameters(declaration.typeParameters(), result, source));
+    answers.put("getFlags",
+      declaration.getModifiers() | (declaration.isInterface() ? Flags.AccInterface : 0));
+    answers.put("isClass", !declaration.isInterface());
+    answers.put("isInterface", declaration.isInterface());
+    answers.put("isMember", declaringType != null);
+    answers.put("getFullyQualifiedName", fullyQualifiedName);
+    answers.put("getJavaProject", javaProject);
+    answers.put("resolveType", new SyntheticJavaModel.Answer() {
+      @Override
+      public Object answer(Object[] args) {
+        return resolveType((String) args[0]);
+      }
+    });
+    putSource(answers, declaration, source);
+    putNameRange(answers, declaration.getName());
+    if (declaration.getSuperclassType() != null) {
+      String superclassName = declaration.getSuperclassType().toString();
+      answers.put("getSuperclassName", superclassName);
+      answers.put("getSuperclassTypeSignature",
+        Signature.createTypeSignature(superclassName, false));
+    }
+    if (!resolvedNames.containsKey(name)) {
+      String qualifiedName = fullyQualifiedName.replace('$', '.');
+      String packageName =
+          StringUtils.removeEnd(StringUtils.removeEnd(qualifiedName, typeQualifiedName), ".");
+      resolvedNames.put(name, new String[] { packageName, typeQualifiedName });
+      typesByQualifiedName.put(qualifiedName, result);
+    }
+    return result;
+  }
+
+  private static IField field(FieldDeclaration declaration, VariableDeclarationFragment fragment,
+    IType declaringType, String source) {
+    Map<String, Object> answers = new HashMap<String, Object>();
+    answers.put("getTypeSignature", Signature.createTypeSignature(
+      typeName(declaration.getType(), fragment.getExtraDimensions()), false));
+    answers.put("getFlags", declaration.getModifiers());
+    answers.put("getDeclaringType", declaringType);
+    answers.put("getParent", declaringType);
+    answers.put("getCompilationUnit", declaringType.getCompilationUnit());
+    // As in the java model, the declaration of all its fragments is the source of every fragment
+    putSource(answers, declaration, source);
+    putNameRange(answers, fragment.getName());
+    return handle(
+      IField.class, IJavaElement.FIELD, fragment.getName().getIdentifier(), answers);
+  }
+
+  private static IMethod method(MethodDeclaration declaration, IType declaringType,
+    String source) {
+    List<String> parameterTypes = new ArrayList<String>();
+    List<String> parameterNames = new ArrayList<String>();
+    for (Object each : declaration.parameters()) {
+      SingleVariableDeclaration parameter = (SingleVariableDeclaration) each;
+      String typeName = typeName(parameter.getType(), parameter.getExtraDimensions());
+      parameterTypes.add(
+        Signature.createTypeSignature(parameter.isVarargs() ? typeName + "[]" : typeName, false));
+      parameterNames.add(parameter.getName().getIdentifier());
+    }
+    String[] parameterTypeArray = parameterTypes.toArray(new String[parameterTypes.size()]);
+    String returnType = declaration.isConstructor()
+        ? Signature.SIG_VOID
+        : Signature.createTypeSignature(
+          typeName(declaration.getReturnType2(), declaration.getExtraDimensions()), false);
+    Map<String, Object> answers = new HashMap<String, Object>();
+    answers.put("getParameterTypes", parameterTypeArray);
+    answers.put("getParameterNames", parameterNames.toArray(new String[parameterNames.size()]));
+    answers.put("getNumberOfParameters", parameterTypeArray.length);
+    answers.put("getReturnType", returnType);
+    answers.put("getSignature", Signature.createMethodSignature(parameterTypeArray, returnType));
+    answers.put("isConstructor", declaration.isConstructor());
+    answers.put("getFlags", declaration.getModifiers());
+    answers.put("getDeclaringType", declaringType);
+    answers.put("getParent", declaringType);
+    answers.put("getCompilationUnit", declaringType.getCompilationUnit());
+    putSource(answers, declaration, source);
+    putNameRange(answers, declaration.getName());
+    IMethod result = handle(
+      IMethod.class, IJavaElement.METHOD, declaration.getName().getIdentifier(), answers);
+    answers.put("getTypeParameters",
+      typeParameters(declaration.typeParameters(), result, source));
+    return result;
+  }
+
+  private static ITypeParameter[] typeParameters(
+    List<?> declarations, IJavaElement parent, String source) {
+    ITypeParameter[] result = new ITypeParameter[declarations.size()];
+    for (int i = 0; i < result.length; i++) {
+      TypeParameter declaration = (TypeParameter) declarations.get(i);
+      Map<String, Object> answers = new HashMap<String, Object>();
+      List<String> bounds = new ArrayList<String>();
+      for (Object each : declaration.typeBounds()) {
+        bounds.add(each.toString());
+      }
+      answers.put("getBounds", bounds.toArray(new String[bounds.size()]));
+      answers.put("getParent", parent);
+      putSource(answers, declaration, source);
+      result[i] = handle(ITypeParameter.class, IJavaElement.TYPE_PARAMETER,
+        declaration.getName().getIdentifier(), answers);
+    }
+    return result;
+  }
+
+  private IJavaProject javaProject() {
+    Map<String, Object> answers = new HashMap<String, Object>();
+    answers.put("findType", new SyntheticJavaModel.Answer() {
+      @Override
+      public Object answer(Object[] args) {
+        String packageName = (String) args[0];
+        String name = packageName.length() == 0 ? (String) args[1] : packageName + "." + args[1];
+        return typesByQualifiedName.get(name);
+      }
+    });
+    return handle(IJavaProject.class, IJavaElement.JAVA_PROJECT, "source", answers);
+  }
+
+  private String[][] resolveType(String typeName) {
+    String[] resolved = resolvedNames.get(StringUtils.substringAfterLast("." + typeName, "."));
+    return resolved == null ? null : new String[][] { resolved };
+  }
+
+  private static String typeName(Type type, int extraDimensions) {
+    return type.toString() + StringUtils.repeat("[]", extraDimensions);
+  }
+
+  // A member ends, as in the Java model, after a comment that follows it on the same line
+  private static void putSource(Map<String, Object> answers, ASTNode node, String source) {
+    int offset = node.getStartPosition();
+    int length = node.getLength();
+    if (node instanceof BodyDeclaration) {
+      CompilationUnit root = (CompilationUnit) node.getRoot();
+      length = root.getExtendedStartPosition(node) + root.getExtendedLength(node) - offset;
+    }
+    answers.put("getSource", source.substring(offset, offset + length));
+    answers.put("getSourceRange", new SourceRange(offset, length));
+  }
+
+  private static void putNameRange(Map<String, Object> answers, ASTNode name) {
+    answers.put("getNameRange", new SourceRange(name.getStartPosition(), name.getLength()));
+  }
+}
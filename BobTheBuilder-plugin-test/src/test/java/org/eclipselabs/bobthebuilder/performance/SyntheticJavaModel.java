@@ -0,0 +1,156 @@
+package org.eclipselabs.bobthebuilder.performance;
+
+import java.lang.reflect.Array;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.eclipse.jdt.core.Flags;
+import org.eclipse.jdt.core.ICompilationUnit;
+import org.eclipse.jdt.core.IField;
+import org.eclipse.jdt.core.IImportDeclaration;
+import org.eclipse.jdt.core.IJavaElement;
+import org.eclipse.jdt.core.IMethod;
+import org.eclipse.jdt.core.IType;
+import org.eclipse.jdt.core.SourceRange;
+
+/**
+ * Java model handles backed by plain values, so that the mappers can run outside of a workspace
+ * without the bookkeeping of a mocking framework skewing what is measured. Calls that are not
+ * answered return null, zero, false or an empty array.
+ */
+public final class SyntheticJavaModel {
+
+  private static final int CONSTANT_FLAGS = Flags.AccPrivate | Flags.AccStatic | Flags.AccFinal;
+
+  private SyntheticJavaModel() {}
+
+  public static ICompilationUnit compilationUnit(String name, IType type, String... imports) {
+    IImportDeclaration[] importDeclarations = new IImportDeclaration[imports.length];
+    for (int i = 0; i < imports.length; i++) {
+      importDeclarations[i] = handle(IImportDeclaration.class, IJavaElement.IMPORT_DECLARATION,
+        imports[i], new HashMap<String, Object>());
+    }
+    Map<String, Object> answers = new HashMap<String, Object>();
+    answers.put("getTypes", new IType[] { type });
+    answers.put("getImports", importDeclarations);
+    return handle(ICompilationUnit.class, IJavaElement.COMPILATION_UNIT, name + ".java", answers);
+  }
+
+  public static IType type(String name, IField[] fields, IMethod[] methods, IType... types) {
+    Map<String, Object> answers = new HashMap<String, Object>();
+    answers.put("getFields", fields);
+    answers.put("getMethods", methods);
+    answers.put("getTypes", types);
+    answers.put("isClass", Boolean.TRUE);
+    return handle(IType.class, IJavaElement.TYPE, name, answers);
+  }
+
+  public static IField field(String name, String typeSignature, int offset) {
+    return field(name, typeSignature, offset, Flags.AccPrivate);
+  }
+
+  public static IField constant(String name, String typeSignature, int offset) {
+    return field(name, typeSignature, offset, CONSTANT_FLAGS);
+  }
+
+  private static IField field(String name, String typeSignature, int offset, int flags) {
+    Map<String, Object> answers = new HashMap<String, Object>();
+    answers.put("getTypeSignature", typeSignature);
+    answers.put("getFlags", flags);
+    answers.put("getSourceRange", new SourceRange(offset, name.length()));
+    return handle(IField.class, IJavaElement.FIELD, name, answers);
+  }
+
+  public static IMethod method(
+    String name, String[] parameterTypes, String signature, String source, int offset) {
+    return method(name, parameterTypes, signature, source, offset, false);
+  }
+
+  public static IMethod constructor(
+    String name, String[] parameterTypes, String signature, String source, int offset) {
+    return method(name, parameterTypes, signature, source, offset, true);
+  }
+
+  private static IMethod method(String name, String[] parameterTypes, String signature,
+    String source, int offset, boolean constructor) {
+    Map<String, Object> answers = new HashMap<String, Object>();
+    answers.put("getParameterTypes", parameterTypes);
+    answers.put("getSignature", signature);
+    answers.put("getSource", source);
+    answers.put("getSourceRange", new SourceRange(offset, source.length()));
+    answers.put("isConstructor", constructor);
+    return handle(IMethod.class, IJavaElement.METHOD, name, answers);
+  }
+
+  static <T extends IJavaElement> T handle(
+    Class<T> type, int elementType, String elementName, Map<String, Object> answers) {
+    answers.put("getElementName", elementName);
+    answers.put("getElementType", elementType);
+    if (!answers.containsKey("exists")) {
+      answers.put("exists", Boolean.TRUE);
+    }
+    return proxy(type, answers);
+  }
+
+  /**
+   * An object of the interface that answers a call with the answer stored under the name of the
+   * method, or with what an {@link Answer} stored there computes from the arguments.
+   */
+  static <T> T proxy(Class<T> type, Map<String, Object> answers) {
+    return type.cast(Proxy.newProxyInstance(
+      SyntheticJavaModel.class.getClassLoader(), new Class<?>[] { type }, new Handle(answers)));
+  }
+
+  // An answer that depends on the arguments of the call
+  interface Answer {
+
+    Object answer(Object[] args);
+  }
+
+  private static class Handle implements InvocationHandler {
+
+    private final Map<String, Object> answers;
+
+    Handle(Map<String, Object> answers) {
+      this.answers = answers;
+    }
+
+    @Override
+    public Object invoke(Object proxy, Method method, Object[] args) {
+      String name = method.getName();
+      if (name.equals("equals")) {
+        return proxy == args[0];
+      }
+      if (name.equals("hashCode")) {
+        return System.identityHashCode(proxy);
+      }
+      if (name.equals("toString")) {
+        return String.valueOf(answers.get("getElementName"));
+      }
+      if (answers.containsKey(name)) {
+        Object answer = answers.get(name);
+        return answer instanceof Answer ? ((Answer) answer).answer(args) : answer;
+      }
+      return defaultValue(method.getReturnType());
+    }
+
+    private static Object defaultValue(Class<?> returnType) {
+      if (returnType.isArray()) {
+        return Array.newInstance(returnType.getComponentType(), 0);
+      }
+      if (returnType == boolean.class) {
+        return Boolean.FALSE;
+      }
+      if (returnType == int.class) {
+        return 0;
+      }
+      if (returnType == long.class) {
+        return 0L;
+      }
+      return null;
+    }
+  }
+}
@@ -0,0 +1,148 @@
+package org.eclipselabs.bobthebuilder.server;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.util.List;
+import java.util.Map;
+
+import org.eclipselabs.bobthebuilder.complement.ComplementModule;
+import org.eclipselabs.bobthebuilder.daemon.DaemonModule;
+import org.eclipselabs.bobthebuilder.mapper.javac.MapperModule;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import com.google.inject.Guice;
+
+public class JsonRpcServerTest {
+
+  private static final Charset UTF_8 = Charset.forName("UTF-8");
+
+  private static final String PERSON = "package org.example;\n\n"
+    + "public class Person {\n\n"
+    + "  private final String name;\n"
+    + "}\n";
+
+  @Rule
+  public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+  private JsonRpcServer server;
+
+  private String uri;
+
+  @Before
+  public void setUp() throws IOException {
+    server = new JsonRpcServer(
+      Guice.createInjector(new MapperModule(), new ComplementModule(), new DaemonModule())
+          .getInstance(BuilderCommandHandler.class),
+      new PrintStream(new ByteArrayOutputStream()));
+    File person = temporaryFolder.newFile("Person.java");
+    Files.write(person.toPath(), PERSON.getBytes(UTF_8));
+    uri = person.toURI().toString();
+  }
+
+  @Test
+  public void testComposesEditsWithoutApplyingThem() throws IOException {
+    Map<String, Object> response = server.handle(compose(1, "[\"" + uri + "\"]"));
+    assertEquals(1L, response.get("id"));
+    List<?> edits = (List<?>) response.get("result");
+    assertFalse(edits.isEmpty());
+    assertTrue(Json.write(edits).contains("public static class Builder"));
+    assertTrue(Json.write(edits).contains("public Builder withName(String name) {"));
+    assertEquals(PERSON, new String(Files.readAllBytes(
+      temporaryFolder.getRoot().toPath().resolve("Person.java")), UTF_8));
+  }
+
+  @Test
+  public void testComposesTextOfBuffer() {
+    String text = PERSON.replace("String name", "int age");
+    Map<String, Object> response = server.handle(
+      compose(1, "[\"" + uri + "\", {\"text\": " + Json.write(text) + "}]"));
+    assertTrue(Json.write(response.get("result")).contains("withAge(int age)"));
+  }
+
+  @Test
+  public void testComposesOnlyFeatures() {
+    Map<String, Object> response = server.handle(
+      compose(1, "[\"" + uri + "\", {\"features\": [\"MISSING_FIELDS\"]}]"));
+    String edits = Json.write(response.get("result"));
+    assertTrue(edits.contains("private String name;"));
+    assertFalse(edits.contains("withName"));
+  }
+
+  @Test
+  public void testNothingToDo() {
+    Map<String, Object> response = server.handle(compose(1,
+      "[\"" + uri + "\", {\"text\": \"class Person {}\\nclass Other {}\\n\"}]"));
+    assertTrue(((List<?>) response.get("result")).isEmpty());
+  }
+
+  @Test
+  public void testInvalidParams() {
+    assertError(JsonRpcServer.INVALID_PARAMS, server.handle(compose(1, "[\"http://example\"]")));
+    assertError(JsonRpcServer.INVALID_PARAMS, server.handle(
+      compose(1, "[\"" + uri + "\", {\"features\": [\"NONE\"]}]")));
+  }
+
+  @Test
+  public void testErrors() {
+    assertError(JsonRpcServer.PARSE_ERROR, server.handle("{"));
+    assertError(JsonRpcServer.INVALID_REQUEST, server.handle("[]"));
+    assertError(JsonRpcServer.METHOD_NOT_FOUND,
+      server.handle("{\"jsonrpc\":\"2.0\",\"id\":1,\"method\":\"initialize\"}"));
+  }
+
+  @Test
+  public void testServesFramedMessagesUntilExit() throws IOException {
+    String request = compose(7, "[\"" + uri + "\"]");
+    String shutdown = "{\"jsonrpc\":\"2.0\",\"id\":8,\"method\":\"shutdown\"}";
+    String exit = "{\"jsonrpc\":\"2.0\",\"method\":\"exit\"}";
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    assertTrue(server.serve(
+      new ByteArrayInputStream((frame(request) + frame(shutdown) + frame(exit)).getBytes(UTF_8)),
+      out));
+    String output = new String(out.toByteArray(), UTF_8);
+    assertTrue(output.startsWith("Content-Length: "));
+    assertTrue(output.contains("\"id\":7,\"result\":[{\"range\""));
+    assertTrue(output.endsWith("{\"jsonrpc\":\"2.0\",\"id\":8,\"result\":null}"));
+  }
+
+  @Test
+  public void testSkipsMessagesOfInvalidLength() throws IOException {
+    String shutdown = "{\"jsonrpc\":\"2.0\",\"id\":8,\"method\":\"shutdown\"}";
+    String exit = "{\"jsonrpc\":\"2.0\",\"method\":\"exit\"}";
+    String input = "Content-Length: many\r\n\r\n{\"id\":1}" + frame(shutdown)
+      + "Content-Length: -2\r\n\r\n{}" + frame(exit);
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    assertTrue(server.serve(new ByteArrayInputStream(input.getBytes(UTF_8)), out));
+    String output = new String(out.toByteArray(), UTF_8);
+    assertTrue(output.contains("{\"jsonrpc\":\"2.0\",\"id\":null,\"error\":{\"code\":-32700,"
+      + "\"message\":\"Invalid Content-Length: many\"}}"));
+    assertTrue(output.contains("{\"jsonrpc\":\"2.0\",\"id\":8,\"result\":null}"));
+    assertTrue(output.endsWith("{\"jsonrpc\":\"2.0\",\"id\":null,\"error\":{\"code\":-32700,"
+      + "\"message\":\"Invalid Content-Length: -2\"}}"));
+  }
+
+  private static String compose(int id, String arguments) {
+    return "{\"jsonrpc\":\"2.0\",\"id\":" + id + ",\"method\":\"workspace/executeCommand\","
+      + "\"params\":{\"command\":\"bobthebuilder.compose\",\"arguments\":" + arguments + "}}";
+  }
+
+  private static String frame(String message) {
+    return "Content-Length: " + message.getBytes(UTF_8).length + "\r\n\r\n" + message;
+  }
+
+  private static void assertError(int code, Map<String, Object> response) {
+    assertEquals(code, ((Map<?, ?>) response.get("error")).get("code"));
+  }
+}
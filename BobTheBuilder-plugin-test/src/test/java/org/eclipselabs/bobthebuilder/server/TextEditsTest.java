@@ -0,0 +1,74 @@
+package org.eclipselabs.bobthebuilder.server;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.List;
+import java.util.Map;
+
+import org.junit.Test;
+
+public class TextEditsTest {
+
+  @Test
+  public void testNoEditsForSameSource() {
+    assertTrue(TextEdits.between("class A {\n}\n", "class A {\n}\n").isEmpty());
+  }
+
+  @Test
+  public void testInsertionsAmongCommonLines() {
+    List<Map<String, Object>> edits = TextEdits.between(
+      "import a;\nclass A {\n  int x;\n}\n",
+      "import a;\nimport b;\nclass A {\n  int x;\n  int y;\n}\n");
+    assertEquals(2, edits.size());
+    assertEquals("{\"range\":{\"start\":{\"line\":1,\"character\":0},"
+      + "\"end\":{\"line\":1,\"character\":0}},\"newText\":\"import b;\\n\"}",
+      Json.write(edits.get(0)));
+    assertEquals("{\"range\":{\"start\":{\"line\":3,\"character\":0},"
+      + "\"end\":{\"line\":3,\"character\":0}},\"newText\":\"  int y;\\n\"}",
+      Json.write(edits.get(1)));
+  }
+
+  @Test
+  public void testReplacement() {
+    List<Map<String, Object>> edits =
+        TextEdits.between("class A {\n  long x;\n}\n", "class A {\n  int x;\n}\n");
+    assertEquals("[{\"range\":{\"start\":{\"line\":1,\"character\":0},"
+      + "\"end\":{\"line\":2,\"character\":0}},\"newText\":\"  int x;\\n\"}]",
+      Json.write(edits));
+  }
+
+  @Test
+  public void testAppendToLastLineWithoutTerminator() {
+    List<Map<String, Object>> edits = TextEdits.between("class A {\n}", "class A {\n}\n// end\n");
+    assertEquals("[{\"range\":{\"start\":{\"line\":1,\"character\":0},"
+      + "\"end\":{\"line\":1,\"character\":1}},\"newText\":\"}\\n// end\\n\"}]",
+      Json.write(edits));
+  }
+
+  @Test
+  public void testEditsApplyToNewSource() {
+    String source = "a\nb\nc\nd\ne\n";
+    String newSource = "a\nx\nc\ne\ny\n";
+    assertEquals(newSource, apply(source, TextEdits.between(source, newSource)));
+  }
+
+  // From the last edit, which does not move the lines of those before it
+  private static String apply(String source, List<Map<String, Object>> edits) {
+    StringBuilder result = new StringBuilder(source);
+    for (int i = edits.size() - 1; i >= 0; i--) {
+      Map<?, ?> range = (Map<?, ?>) edits.get(i).get("range");
+      result.replace(offset(source, (Map<?, ?>) range.get("start")),
+        offset(source, (Map<?, ?>) range.get("end")), (String) edits.get(i).get("newText"));
+    }
+    return result.toString();
+  }
+
+  private static int offset(String source, Map<?, ?> position) {
+    int result = 0;
+    for (int line = 0; line < (Integer) position.get("line"); line++) {
+      result = source.indexOf('\n', result) + 1;
+    }
+    return result + (Integer) position.get("character");
+  }
+}
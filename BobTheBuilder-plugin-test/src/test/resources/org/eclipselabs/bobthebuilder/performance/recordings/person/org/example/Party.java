@@ -0,0 +1,51 @@
+package org.example;
+
+import java.util.Date;
+
+import org.apache.commons.lang.Validate;
+
+/**
+ * Anyone the application keeps track of.
+ */
+public abstract class Party {
+
+  private final long id;
+
+  private final Date created;
+
+  protected Party(Builder<?> builder) {
+    this.id = builder.id;
+    this.created = builder.created;
+  }
+
+  public long getId() {
+    return id;
+  }
+
+  public Date getCreated() {
+    return created;
+  }
+
+  public abstract static class Builder<T extends Builder<T>> {
+
+    private long id;
+
+    private Date created;
+
+    public T withId(long id) {
+      this.id = id;
+      return self();
+    }
+
+    public T withCreated(Date created) {
+      this.created = created;
+      return self();
+    }
+
+    protected abstract T self();
+
+    protected void validate() {
+      Validate.notNull(created, "created may not be null");
+    }
+  }
+}
@@ -0,0 +1,128 @@
+package org.example;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.commons.lang.Validate;
+
+/**
+ * A person, with the addresses and phone numbers we know of.
+ */
+public class Person extends Party implements Comparable<Person> {
+
+  private static final long serialVersionUID = 1L;
+
+  public static final String UNKNOWN = "unknown";
+
+  private final String firstName, lastName;
+
+  private final int age;
+
+  private final List<Address> addresses;
+
+  private final Map<String, List<String>> phoneNumbers;
+
+  private final byte[] photo;
+
+  private boolean active;
+
+  private Person(Builder builder) {
+    super(builder);
+    this.firstName = builder.firstName;
+    this.lastName = builder.lastName;
+    this.age = builder.age;
+    this.addresses = builder.addresses;
+  }
+
+  public String getFirstName() {
+    return firstName;
+  }
+
+  public String getLastName() {
+    return lastName;
+  }
+
+  public int getAge() {
+    return age;
+  }
+
+  public List<Address> getAddresses() {
+    return Collections.unmodifiableList(addresses);
+  }
+
+  public Map<String, List<String>> getPhoneNumbers() {
+    return phoneNumbers;
+  }
+
+  public byte[] getPhoto() {
+    return photo;
+  }
+
+  public boolean isActive() {
+    return active;
+  }
+
+  @Override
+  public int compareTo(Person other) {
+    int result = lastName.compareTo(other.lastName);
+    return result != 0 ? result : firstName.compareTo(other.firstName);
+  }
+
+  public static class Address {
+
+    private String street;
+
+    private String city;
+  }
+
+  public static class Builder extends Party.Builder<Builder> {
+
+    private String firstName;
+
+    private String lastName;
+
+    private int age;
+
+    private List<Address> addresses;
+
+    private String nickname;
+
+    public Builder withFirstName(String firstName) {
+      this.firstName = firstName;
+      return this;
+    }
+
+    public Builder withLastName(String lastName) {
+      this.lastName = lastName;
+      return this;
+    }
+
+    public Builder withAge(int age) {
+      this.age = age;
+      return this;
+    }
+
+    public Builder withNickname(String nickname) {
+      this.nickname = nickname;
+      return this;
+    }
+
+    @Override
+    protected Builder self() {
+      return this;
+    }
+
+    public Person build() {
+      validate();
+      return new Person(this);
+    }
+
+    @Override
+    protected void validate() {
+      super.validate();
+      Validate.notNull(firstName, "firstName may not be null");
+      Validate.notNull(lastName, "lastName may not be null");
+    }
+  }
+}
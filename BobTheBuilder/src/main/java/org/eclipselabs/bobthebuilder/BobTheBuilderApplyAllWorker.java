@@ -0,0 +1,25 @@
+package org.eclipselabs.bobthebuilder;
+
+import org.eclipse.jdt.core.ICompilationUnit;
+import org.eclipse.jdt.core.JavaModelException;
+import org.eclipse.ui.IEditorPart;
+
+/**
+ * Applies everything the dialog would select by default without showing it, and reports what was
+ * done in the status line of the editor, where it stays until the next message.
+ */
+public class BobTheBuilderApplyAllWorker extends BobTheBuilderWorker {
+
+  // Only the dialog worker pre-analyzes, each handler has a SubContractor of its own
+  public BobTheBuilderApplyAllWorker() {
+    super(false);
+  }
+
+  @Override
+  protected void work(IEditorPart activeEditor, ICompilationUnit compilationUnit)
+    throws JavaModelException {
+    String summary = getSubContractor().workWithDefaults(compilationUnit);
+    activeEditor.getEditorSite().getActionBars().getStatusLineManager()
+        .setMessage(summary == null ? DefaultComposerRequestConstructor.NOTHING_TO_DO : summary);
+  }
+}
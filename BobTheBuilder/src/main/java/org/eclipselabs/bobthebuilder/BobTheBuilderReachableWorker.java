@@ -0,0 +1,26 @@
+package org.eclipselabs.bobthebuilder;
+
+import org.eclipse.jdt.core.ICompilationUnit;
+import org.eclipse.jdt.core.JavaModelException;
+import org.eclipse.ui.IEditorPart;
+
+/**
+ * Applies everything the dialog would select by default, without showing it, to the type of the
+ * editor and to the value types reachable from it through the types of its fields, and reports
+ * what was done in the status line of the editor.
+ */
+public class BobTheBuilderReachableWorker extends BobTheBuilderWorker {
+
+  // Only the dialog worker pre-analyzes, each handler has a SubContractor of its own
+  public BobTheBuilderReachableWorker() {
+    super(false);
+  }
+
+  @Override
+  protected void work(IEditorPart activeEditor, ICompilationUnit compilationUnit)
+    throws JavaModelException {
+    String summary = getSubContractor().workReachableWithDefaults(compilationUnit);
+    activeEditor.getEditorSite().getActionBars().getStatusLineManager()
+        .setMessage(summary == null ? DefaultComposerRequestConstructor.NOTHING_TO_DO : summary);
+  }
+}
@@ -6,17 +6,23 @@ import org.apache.commons.lang.exception.ExceptionUtils;
 import org.eclipse.core.commands.AbstractHandler;
 import org.eclipse.core.commands.ExecutionEvent;
 import org.eclipse.core.commands.ExecutionException;
+import org.eclipse.jdt.core.ElementChangedEvent;
 import org.eclipse.jdt.core.ICompilationUnit;
 import org.eclipse.jdt.core.IJavaElement;
+import org.eclipse.jdt.core.JavaCore;
+import org.eclipse.jdt.core.JavaModelException;
 import org.eclipse.jdt.ui.JavaUI;
 import org.eclipse.jface.dialogs.MessageDialog;
+import org.eclipse.jface.text.IRewriteTarget;
 import org.eclipse.swt.widgets.Shell;
 import org.eclipse.ui.IEditorPart;
 import org.eclipse.ui.IWorkbenchWindow;
+import org.eclipse.ui.PlatformUI;
 import org.eclipse.ui.handlers.HandlerUtil;
 import org.eclipselabs.bobthebuilder.complement.ComplementModule;
 import org.eclipselabs.bobthebuilder.composer.ComposerModule;
 import org.eclipselabs.bobthebuilder.mapper.eclipse.MapperModule;
+import org.eclipselabs.bobthebuilder.mapper.eclipse.ValidationFrameworkResolver;
 import org.eclipselabs.bobthebuilder.supplement.SupplementModule;
 
 import com.google.inject.Guice;
@@ -36,7 +42,19 @@ public class BobTheBuilderWorker extends AbstractHandler {
 
   private SubContractor subContractor;
 
+  private ValidationFrameworkResolver validationFrameworkResolver;
+
+  private PreAnalysisScheduler preAnalysisScheduler;
+
   public BobTheBuilderWorker() {
+    this(true);
+  }
+
+  /**
+   * The dialog worker pre-analyzes the editor in focus, see {@link PreAnalysisScheduler}, from the
+   * time the handler is created on.
+   */
+  protected BobTheBuilderWorker(boolean preAnalyzing) {
     Injector injector = Guice.createInjector(
       new WorkerModule(), 
       new MapperModule(), 
@@ -45,6 +63,22 @@ public class BobTheBuilderWorker extends AbstractHandler {
       new ComposerModule());
     subContractor = injector.getInstance(SubContractor.class);
     Validate.notNull(subContractor, "BobTheBuilderSubContractor may not null");
+    validationFrameworkResolver = injector.getInstance(ValidationFrameworkResolver.class);
+    JavaCore.addElementChangedListener(
+      validationFrameworkResolver, ElementChangedEvent.POST_CHANGE);
+    if (preAnalyzing && PlatformUI.isWorkbenchRunning()) {
+      preAnalysisScheduler = new PreAnalysisScheduler(subContractor);
+      preAnalysisScheduler.install(PlatformUI.getWorkbench());
+    }
+  }
+
+  @Override
+  public void dispose() {
+    if (preAnalysisScheduler != null && PlatformUI.isWorkbenchRunning()) {
+      preAnalysisScheduler.uninstall(PlatformUI.getWorkbench());
+    }
+    JavaCore.removeElementChangedListener(validationFrameworkResolver);
+    super.dispose();
   }
 
   public Object execute(ExecutionEvent event) throws ExecutionException {
@@ -61,16 +95,35 @@ public class BobTheBuilderWorker extends AbstractHandler {
     }
     shell = window.getShell();
 
+    // The edits land in the document of the editor, where they are undone in one step
+    IRewriteTarget rewriteTarget = (IRewriteTarget) activeEditor.getAdapter(IRewriteTarget.class);
+    if (rewriteTarget != null) {
+      rewriteTarget.beginCompoundChange();
+    }
     try {
-      subContractor.work(shell, compilationUnit);
+      work(activeEditor, compilationUnit);
     }
     catch (Exception e) {
       bark("Could not create the request to send to the dialog.\n" + e.getClass().getName() + " "
         + e.getMessage() + "\n" + StringUtils.left(ExceptionUtils.getFullStackTrace(e), 1000));
     }
+    finally {
+      if (rewriteTarget != null) {
+        rewriteTarget.endCompoundChange();
+      }
+    }
     return null;
   }
 
+  protected void work(IEditorPart activeEditor, ICompilationUnit compilationUnit)
+    throws JavaModelException {
+    subContractor.work(shell, compilationUnit);
+  }
+
+  protected SubContractor getSubContractor() {
+    return subContractor;
+  }
+
   private void bark(String message) {
     MessageDialog.openInformation(shell, BOB_THE_BUILDER, message);
   }
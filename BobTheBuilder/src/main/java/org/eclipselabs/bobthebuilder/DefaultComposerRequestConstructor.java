@@ -0,0 +1,167 @@
+package org.eclipselabs.bobthebuilder;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumSet;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import javax.inject.Inject;
+
+import org.apache.commons.lang.StringUtils;
+import org.apache.commons.lang.Validate;
+import org.eclipselabs.bobthebuilder.composer.ComposerRequest;
+import org.eclipselabs.bobthebuilder.composer.FieldChangeDetector;
+import org.eclipselabs.bobthebuilder.model.BuilderTypeComplement;
+import org.eclipselabs.bobthebuilder.model.BuilderTypeSupplement;
+import org.eclipselabs.bobthebuilder.model.Field;
+import org.eclipselabs.bobthebuilder.model.FieldAssignment;
+import org.eclipselabs.bobthebuilder.model.FieldChange;
+import org.eclipselabs.bobthebuilder.model.MainTypeComplement;
+import org.eclipselabs.bobthebuilder.model.WithMethod;
+
+/**
+ * Builds the request {@link DialogConstructor} hands to the composer when every entry of the
+ * dialog is left as it is checked, straight from the complement and the supplement, without the
+ * tree the dialog shows. The boxed fields it offers to unbox are unchecked, and stay boxed.
+ */
+public class DefaultComposerRequestConstructor {
+
+  public static final String NOTHING_TO_DO = "Nothing for Bob The Builder to do";
+
+  private final FieldChangeDetector fieldChangeDetector;
+
+  @Inject
+  public DefaultComposerRequestConstructor(FieldChangeDetector fieldChangeDetector) {
+    this.fieldChangeDetector = fieldChangeDetector;
+  }
+
+  public ComposerRequest work(
+    MainTypeComplement mainTypeComplement,
+    BuilderTypeSupplement builderTypeSupplement,
+    ValidationFramework validationFramework) {
+    return work(mainTypeComplement, builderTypeSupplement, validationFramework,
+      EnumSet.allOf(Feature.class));
+  }
+
+  /**
+   * As if only the entries of the features were left checked. The builder, its constructor and
+   * its build method are created regardless, as the dialog does not let them be unchecked either.
+   */
+  public ComposerRequest work(
+    MainTypeComplement mainTypeComplement,
+    BuilderTypeSupplement builderTypeSupplement,
+    ValidationFramework validationFramework,
+    Set<Feature> features) {
+    Validate.notNull(mainTypeComplement, "mainTypeComplement may not be null");
+    Validate.notNull(builderTypeSupplement, "builderTypeSupplement may not be null");
+    Validate.notNull(validationFramework, "validationFramework may not be null");
+    Validate.notNull(features, "features may not be null");
+    ComposerRequest.Builder result = new ComposerRequest.Builder();
+    BuilderTypeComplement builderTypeComplement = mainTypeComplement.getBuilderTypeComplement();
+    if (features.contains(Feature.MISSING_FIELDS)) {
+      for (Field each : builderTypeComplement.getBuilderFieldsComplement()) {
+        result.addMissingFieldInBuilder(each);
+      }
+    }
+    if (features.contains(Feature.EXTRA_FIELDS)) {
+      for (Field each : builderTypeSupplement.getExtraFields()) {
+        result.addExtraFieldInBuilder(each);
+      }
+    }
+    if (features.contains(Feature.MISSING_WITHS)) {
+      for (WithMethod each : builderTypeComplement.getWithMethodsComplement()) {
+        result.addMissingWithMethodInBuilder(each.getField());
+      }
+    }
+    if (mainTypeComplement.getConstructorWithBuilderComplement().isCompleteComplement()) {
+      result.withConstructorWithBuilder();
+    }
+    if (features.contains(Feature.MISSING_ASSIGNMENTS)) {
+      for (FieldAssignment each :
+        mainTypeComplement.getConstructorWithBuilderComplement().getFieldAssignments()) {
+        result.addMissingAssignmentInConstructor(each.getField());
+      }
+    }
+    if (builderTypeComplement.getBuildMethodComplement().isCompleteComplement()) {
+      result.withBuildMethodInBuilder();
+    }
+    if (features.contains(Feature.MISSING_VALIDATE)
+      && builderTypeComplement.getBuildMethodComplement().isValidateMethodComplement()) {
+      result.withValidateMethodInBuilder();
+    }
+    if (features.contains(Feature.MISSING_VALIDATIONS)) {
+      for (FieldAssignment each :
+        builderTypeComplement.getValidateMethodComplement().getFieldAssignments()) {
+        result.addMissingValidationInBuild(each.getField());
+      }
+    }
+    return result.withValidationFramework(validationFramework).build();
+  }
+
+  /**
+   * A one line account of what composing the request does, e.g. to show once it is done. A field
+   * that {@link FieldChangeDetector} pairs is reported as renamed or retyped, as the composer
+   * changes it in place along with its with-method, assignment and validation.
+   */
+  public String summarize(ComposerRequest request) {
+    Validate.notNull(request, "request may not be null");
+    Set<Field> changedBuilderFields = new HashSet<Field>();
+    Set<Field> changedMainTypeFields = new HashSet<Field>();
+    int renames = 0;
+    for (FieldChange each : fieldChangeDetector.detect(
+      request.getExtraFieldsInBuilder(), request.getMissingFieldsInBuilder())) {
+      changedBuilderFields.add(each.getBuilderField());
+      changedMainTypeFields.add(each.getMainTypeField());
+      if (each.isRename()) {
+        renames++;
+      }
+    }
+    List<String> changes = new ArrayList<String>();
+    addCount(changes, "added",
+      countOthers(request.getMissingFieldsInBuilder(), changedMainTypeFields), "field");
+    addCount(changes, "removed",
+      countOthers(request.getExtraFieldsInBuilder(), changedBuilderFields), "field");
+    addCount(changes, "renamed", renames, "field");
+    addCount(changes, "retyped", changedMainTypeFields.size() - renames, "field");
+    addCount(changes, "added",
+      countOthers(request.getMissingWithMethodsInBuilder(), changedMainTypeFields), "with-method");
+    if (request.isCreateConstructorWithBuilder()) {
+      changes.add("created the constructor with builder");
+    }
+    addCount(changes, "added",
+      countOthers(request.getMissingAssignmentsInConstructor(), changedMainTypeFields),
+      "assignment");
+    if (request.isCreateBuildMethodInBuilder()) {
+      changes.add("created build()");
+    }
+    if (request.isCreateValidateMethodInBuilder()) {
+      changes.add("created validate()");
+    }
+    addCount(changes, "added",
+      countOthers(request.getMissingFieldValidationsInBuild(), changedMainTypeFields),
+      "validation");
+    addCount(changes, "unboxed", request.getUnboxedFields().size(), "field");
+    if (changes.isEmpty()) {
+      return NOTHING_TO_DO;
+    }
+    return "Bob The Builder " + StringUtils.join(changes, ", ");
+  }
+
+  private static int countOthers(Collection<Field> fields, Set<Field> changedFields) {
+    int result = 0;
+    for (Field each : fields) {
+      if (!changedFields.contains(each)) {
+        result++;
+      }
+    }
+    return result;
+  }
+
+  private static void addCount(List<String> changes, String verb, int count, String noun) {
+    if (count > 0) {
+      changes.add(verb + " " + count + " " + noun + (count == 1 ? "" : "s"));
+    }
+  }
+}
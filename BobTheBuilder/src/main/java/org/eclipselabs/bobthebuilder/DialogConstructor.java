@@ -1,5 +1,6 @@
 package org.eclipselabs.bobthebuilder;
 
+import java.util.List;
 
 import org.apache.commons.lang.Validate;
 import org.eclipse.jface.viewers.CheckboxTreeViewer;
@@ -15,6 +16,8 @@ import org.eclipse.swt.widgets.Label;
 import org.eclipse.swt.widgets.Listener;
 import org.eclipse.swt.widgets.Shell;
 import org.eclipselabs.bobthebuilder.composer.ComposerRequest;
+import org.eclipselabs.bobthebuilder.footprint.Footprint;
+import org.eclipselabs.bobthebuilder.jit.MethodSize;
 import org.eclipselabs.bobthebuilder.mapper.eclipse.FlattenedICompilationUnit;
 import org.eclipselabs.bobthebuilder.model.Field;
 
@@ -22,14 +25,21 @@ public class DialogConstructor {
 
   private static final int NUMBER_OF_COLUMNS = 3;
 
+  // The fields named beside the estimated size of an instance, all of them in the tool tip
+  private static final int FOOTPRINT_CONTRIBUTORS = 3;
+
   public DialogConstructor() {}
 
   @SuppressWarnings("deprecation")
   ComposerRequest show(
       final DialogContent dialogRequest,
       final FlattenedICompilationUnit flattenedICompilationUnit,
+      final List<Footprint> footprints,
+      final List<MethodSize> methodSizes,
       Shell shell) {
     Validate.notNull(dialogRequest, "dialogRequest may not be null");
+    Validate.notNull(footprints, "footprints may not be null");
+    Validate.notNull(methodSizes, "methodSizes may not be null");
     final ComposerRequest.Builder composerRequestBuilder = new ComposerRequest.Builder();
     BobTheBuilderDialog bobTheBuilderDialog = new BobTheBuilderDialog(shell) {
 
@@ -72,9 +82,25 @@ public class DialogConstructor {
         featuresTreeViewer.setAutoExpandLevel(2);
         featuresTreeViewer.setInput(dialogRequest.getTree());
         featuresTreeViewer.setAllChecked(true);
+        uncheckOffers(featuresTreeViewer, dialogRequest.getTree());
         Control featureTree = featuresTreeViewer.getControl();
         featureTree.setSize(100, 100);
         scrolledComposite.setContent(featureTree);
+
+        for (Footprint each : footprints) {
+          Label footprintLabel = new Label(getShell(), SWT.NONE);
+          footprintLabel.setText(each.describe(FOOTPRINT_CONTRIBUTORS));
+          footprintLabel.setToolTipText(each.toString());
+          footprintLabel.setLayoutData(createTopSectionGridData());
+        }
+        for (MethodSize each : methodSizes) {
+          Label methodSizeLabel = new Label(getShell(), SWT.NONE);
+          methodSizeLabel.setText(each.describe());
+          if (each.isWarning()) {
+            methodSizeLabel.setForeground(getShell().getDisplay().getSystemColor(SWT.COLOR_RED));
+          }
+          methodSizeLabel.setLayoutData(createTopSectionGridData());
+        }
         
         Label validationLabel = new Label(getShell(), SWT.BORDER);
         validationLabel.setText("Select validation framework");
@@ -88,7 +114,7 @@ public class DialogConstructor {
         }
         validationCombo.setItems(validationNames);
         validationCombo.setLayoutData(createValidationAreaGridData());
-        validationCombo.setText(ValidationFramework.GOOGLE_GUAVA.name());
+        validationCombo.setText(dialogRequest.getValidationFramework().name());
 
         Label fillerLabel = new Label(getShell(), SWT.BORDER);
         fillerLabel.setLayoutData(createValidationAreaGridData());
@@ -130,6 +156,9 @@ public class DialogConstructor {
                   case MISSING_VALIDATIONS:
                     composerRequestBuilder.addMissingValidationInBuild((Field) eachFieldNode
                         .getData());
+                    break;
+                  case UNBOXABLE_FIELDS:
+                    composerRequestBuilder.addUnboxedField((Field) eachFieldNode.getData());
                 }
               }
               else if (each instanceof FeatureTreeNode) {
@@ -165,6 +194,16 @@ public class DialogConstructor {
         waitAndSee();
       }
 
+      // Changing the main type beyond its builder is left to be checked by hand
+      private void uncheckOffers(
+          CheckboxTreeViewer featuresTreeViewer, BobTheBuilderTreeNode tree) {
+        for (FeatureTreeNode each : tree.getChildren()) {
+          if (DialogTreeCheckStateProvider.isOffer(each)) {
+            featuresTreeViewer.setSubtreeChecked(each, false);
+          }
+        }
+      }
+
       private GridData createValidationAreaGridData() {
         return new GridData(GridData.FILL, GridData.CENTER, true, false);
       }
@@ -180,6 +219,7 @@ public class DialogConstructor {
           @Override
           public void handleEvent(Event event) {
             featuresTreeViewer.setAllChecked(true);
+            uncheckOffers(featuresTreeViewer, dialogRequest.getTree());
             getShell().layout();
           }
         });
@@ -5,15 +5,26 @@ import org.apache.commons.lang.Validate;
 public class DialogContent {
 
   private final BobTheBuilderTreeNode tree;
+
+  private final ValidationFramework validationFramework;
   
-  public DialogContent(BobTheBuilderTreeNode tree) {
+  public DialogContent(BobTheBuilderTreeNode tree, ValidationFramework validationFramework) {
     Validate.notNull(tree, "Analyzed may not be null");
+    Validate.notNull(validationFramework, "validationFramework may not be null");
     this.tree = tree;
+    this.validationFramework = validationFramework;
   }
 
   public BobTheBuilderTreeNode getTree() {
     return tree;
   }
 
+  /**
+   * The validation framework selected by default in the dialog.
+   */
+  public ValidationFramework getValidationFramework() {
+    return validationFramework;
+  }
+
 
 }
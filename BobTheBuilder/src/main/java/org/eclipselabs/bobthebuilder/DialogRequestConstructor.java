@@ -39,9 +39,11 @@ public class DialogRequestConstructor {
 
   public DialogContent work(
     MainTypeComplement mainTypeComplement,
-    BuilderTypeSupplement builderTypeSupplement) throws JavaModelException {
+    BuilderTypeSupplement builderTypeSupplement,
+    ValidationFramework validationFramework) throws JavaModelException {
     Validate.notNull(mainTypeComplement, "mainTypeComplement may not be null");
     Validate.notNull(builderTypeSupplement, "builderTypeSupplement may not be null");
+    Validate.notNull(validationFramework, "validationFramework may not be null");
     BobTheBuilderTreeNode tree = new BobTheBuilderTreeNode.Builder().build();
     BuilderTypeComplement builderTypeComplement = mainTypeComplement.getBuilderTypeComplement();
     tree.addChild(
@@ -144,9 +146,20 @@ public class DialogRequestConstructor {
                 "No fields to validate"
                 : "Fields to validate...",
             fieldsToValidate,
-              new FieldTextBuilder.ValidationBuilder(ValidationFramework.GOOGLE_GUAVA),
+              new FieldTextBuilder.ValidationBuilder(validationFramework),
             tree));
-    return new DialogContent(tree);
+    Set<Field> unboxableFields = mainTypeComplement.getUnboxableFields();
+    tree.addChild(
+          convertToTree(
+            Feature.UNBOXABLE_FIELDS,
+            unboxableFields.isEmpty()
+                ?
+                "No boxed fields the builder keeps from being null"
+                : "Boxed fields the builder keeps from being null, to make primitive...",
+            new TreeSet<Field>(unboxableFields),
+            new FieldTextBuilder.UnboxingBuilder(),
+            tree));
+    return new DialogContent(tree, validationFramework);
   }
 
   private FeatureTreeNode convertToTree(
@@ -20,7 +20,18 @@ public class DialogTreeCheckStateProvider implements ICheckStateProvider {
 
   @Override
   public boolean isChecked(Object arg0) {
-    return true;
+    return !isOffer((TreeNode<?, ?, ?>) arg0);
+  }
+
+  /**
+   * Whether the node is, or is under, a feature that changes the main type beyond its builder,
+   * which is only done when checked by hand.
+   */
+  static boolean isOffer(TreeNode<?, ?, ?> node) {
+    if (node instanceof FieldTreeNode) {
+      return ((FieldTreeNode) node).getParent().getData() == Feature.UNBOXABLE_FIELDS;
+    }
+    return node.getData() == Feature.UNBOXABLE_FIELDS;
   }
 
   @Override
@@ -1,6 +1,6 @@
 package org.eclipselabs.bobthebuilder;
 
-enum Feature {
+public enum Feature {
   MISSING_BUILDER(1),
   MISSING_CONSTRUCTOR(2),
   NO_MISSING_CONSTRUCTOR(3),
@@ -12,7 +12,8 @@ enum Feature {
   EXTRA_FIELDS(9),
   MISSING_VALIDATE(10),
   NO_MISSING_VALIDATE(11),
-  MISSING_VALIDATIONS(12) ;
+  MISSING_VALIDATIONS(12),
+  UNBOXABLE_FIELDS(13);
 
   private final int ordering;
 
@@ -19,6 +19,9 @@ public class FeatureTreeNode implements TreeNode<String, Feature, Field> {
 
   private final String text;
 
+  // The children change while the tree is built, and hashing them hashed the whole subtree
+  private static final String[] EXCLUDED_FIELDS = new String[] {"parent", "children"};
+
   @Override
   public Set<FieldTreeNode> getChildren() {
     return children;
@@ -82,12 +85,12 @@ public class FeatureTreeNode implements TreeNode<String, Feature, Field> {
 
   @Override
   public int hashCode() {
-    return HashCodeBuilder.reflectionHashCode(this);
+    return HashCodeBuilder.reflectionHashCode(this, EXCLUDED_FIELDS);
   }
 
   @Override
   public boolean equals(Object obj) {
-    return EqualsBuilder.reflectionEquals(this, obj);
+    return EqualsBuilder.reflectionEquals(this, obj, EXCLUDED_FIELDS);
   }
 
   @Override
@@ -3,6 +3,7 @@ package org.eclipselabs.bobthebuilder;
 import javax.inject.Inject;
 
 import org.eclipse.jdt.core.JavaModelException;
+import org.eclipselabs.bobthebuilder.complement.UnboxableFieldsProvider;
 import org.eclipselabs.bobthebuilder.composer.BuilderComposer;
 import org.eclipselabs.bobthebuilder.composer.ConstructorWithBuilderComposer;
 import org.eclipselabs.bobthebuilder.model.Field;
@@ -73,4 +74,14 @@ public interface FieldTextBuilder {
     }
     
   }
+
+  public static class UnboxingBuilder implements FieldTextBuilder {
+
+    @Override
+    public String createMessage(Field field) throws JavaModelException {
+      return field.getSignature() + " " + field.getName() + " becomes "
+        + UnboxableFieldsProvider.primitiveOf(field.getSignature());
+    }
+
+  }
 }
@@ -0,0 +1,101 @@
+package org.eclipselabs.bobthebuilder;
+
+import org.apache.commons.lang.Validate;
+
+/**
+ * Reads the source of a member the way javac does as far as telling code from comments and
+ * literals goes, for the source that is only at hand as text: braces and names in a Javadoc, a
+ * block comment or a string are not those of the member.
+ */
+public final class JavaSourceScanner {
+
+  private JavaSourceScanner() {}
+
+  /**
+   * The brace that opens the body of the declaration starting at the offset, the first one outside
+   * of comments, literals and parentheses, as the Javadoc and the annotations may hold braces too.
+   * -1 when it has none.
+   */
+  public static int bodyStart(String source, int from) {
+    Validate.notNull(source, "source may not be null");
+    int depth = 0;
+    int i = from;
+    while (i < source.length()) {
+      int skipped = skip(source, i);
+      if (skipped > i) {
+        i = skipped;
+        continue;
+      }
+      char c = source.charAt(i);
+      if (c == '(') {
+        depth++;
+      }
+      else if (c == ')') {
+        depth--;
+      }
+      else if (c == '{' && depth == 0) {
+        return i;
+      }
+      i++;
+    }
+    return -1;
+  }
+
+  /**
+   * Where the declaration starts past its Javadoc and any other comment before it.
+   */
+  public static int codeStart(String source) {
+    Validate.notNull(source, "source may not be null");
+    int i = 0;
+    while (i < source.length()) {
+      if (Character.isWhitespace(source.charAt(i))) {
+        i++;
+      }
+      else if (source.startsWith("//", i) || source.startsWith("/*", i)) {
+        i = skip(source, i);
+      }
+      else {
+        break;
+      }
+    }
+    return i;
+  }
+
+  /**
+   * The end of the comment or the literal starting at the offset, the offset itself when none does.
+   */
+  public static int skip(String source, int i) {
+    if (source.startsWith("//", i)) {
+      return lineEnd(source, i);
+    }
+    if (source.startsWith("/*", i)) {
+      return commentEnd(source, i);
+    }
+    if (i < source.length() && (source.charAt(i) == '"' || source.charAt(i) == '\'')) {
+      return literalEnd(source, i);
+    }
+    return i;
+  }
+
+  public static int lineEnd(String source, int from) {
+    int i = from;
+    while (i < source.length() && source.charAt(i) != '\n' && source.charAt(i) != '\r') {
+      i++;
+    }
+    return i;
+  }
+
+  public static int commentEnd(String source, int start) {
+    int close = source.indexOf("*/", start + 2);
+    return close < 0 ? source.length() : close + 2;
+  }
+
+  public static int literalEnd(String source, int start) {
+    char quote = source.charAt(start);
+    int i = start + 1;
+    while (i < source.length() && source.charAt(i) != quote) {
+      i += source.charAt(i) == '\\' ? 2 : 1;
+    }
+    return Math.min(i + 1, source.length());
+  }
+}
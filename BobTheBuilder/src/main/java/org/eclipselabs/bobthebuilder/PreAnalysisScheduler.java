@@ -0,0 +1,245 @@
+package org.eclipselabs.bobthebuilder;
+
+import org.apache.commons.lang.Validate;
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.OperationCanceledException;
+import org.eclipse.core.runtime.Status;
+import org.eclipse.core.runtime.jobs.Job;
+import org.eclipse.jdt.core.ICompilationUnit;
+import org.eclipse.jdt.core.IJavaElement;
+import org.eclipse.jdt.core.IType;
+import org.eclipse.jdt.core.JavaModelException;
+import org.eclipse.jdt.ui.JavaUI;
+import org.eclipse.jface.text.DocumentEvent;
+import org.eclipse.jface.text.IDocument;
+import org.eclipse.jface.text.IDocumentListener;
+import org.eclipse.ui.IEditorPart;
+import org.eclipse.ui.IPartListener2;
+import org.eclipse.ui.IWindowListener;
+import org.eclipse.ui.IWorkbench;
+import org.eclipse.ui.IWorkbenchPage;
+import org.eclipse.ui.IWorkbenchPart;
+import org.eclipse.ui.IWorkbenchPartReference;
+import org.eclipse.ui.IWorkbenchWindow;
+
+/**
+ * Has the {@link SubContractor} pre-analyze the compilation unit of the Java editor in focus, in a
+ * background job of the lowest priority, so that the dialog opens without analyzing when the
+ * source did not change since. The job is canceled as soon as the editor loses focus or its
+ * document changes, and scheduled again once the typing pauses for longer than the reconciler
+ * waits.
+ * <p>
+ * Listens on the UI thread, to the parts of every workbench window and to the document of the
+ * editor in focus.
+ */
+public class PreAnalysisScheduler implements IWindowListener, IPartListener2, IDocumentListener {
+
+  // Flipping through editors does not start an analysis for each
+  static final long ACTIVATION_DELAY_MILLIS = 200;
+
+  // The reconciler of the Java editor waits 500ms, the members are those of the source after
+  static final long TYPING_PAUSE_MILLIS = 1000;
+
+  private final SubContractor subContractor;
+
+  private final PreAnalysisJob job = new PreAnalysisJob();
+
+  private IWorkbenchPartReference editorReference;
+
+  private IDocument document;
+
+  public PreAnalysisScheduler(SubContractor subContractor) {
+    Validate.notNull(subContractor, "subContractor may not be null");
+    this.subContractor = subContractor;
+  }
+
+  public void install(IWorkbench workbench) {
+    Validate.notNull(workbench, "workbench may not be null");
+    workbench.addWindowListener(this);
+    for (IWorkbenchWindow each : workbench.getWorkbenchWindows()) {
+      windowOpened(each);
+    }
+    IWorkbenchWindow activeWindow = workbench.getActiveWorkbenchWindow();
+    IWorkbenchPage activePage = activeWindow == null ? null : activeWindow.getActivePage();
+    if (activePage != null && activePage.getActiveEditor() != null) {
+      track(activePage.getReference(activePage.getActiveEditor()));
+    }
+  }
+
+  public void uninstall(IWorkbench workbench) {
+    Validate.notNull(workbench, "workbench may not be null");
+    workbench.removeWindowListener(this);
+    for (IWorkbenchWindow each : workbench.getWorkbenchWindows()) {
+      windowClosed(each);
+    }
+    untrack();
+    subContractor.clearPreAnalysis();
+  }
+
+  @Override
+  public void windowOpened(IWorkbenchWindow window) {
+    window.getPartService().addPartListener(this);
+  }
+
+  @Override
+  public void windowClosed(IWorkbenchWindow window) {
+    window.getPartService().removePartListener(this);
+  }
+
+  @Override
+  public void windowActivated(IWorkbenchWindow window) {}
+
+  @Override
+  public void windowDeactivated(IWorkbenchWindow window) {}
+
+  @Override
+  public void partActivated(IWorkbenchPartReference partReference) {
+    track(partReference);
+  }
+
+  @Override
+  public void partDeactivated(IWorkbenchPartReference partReference) {
+    if (partReference == editorReference) {
+      untrack();
+    }
+  }
+
+  @Override
+  public void partHidden(IWorkbenchPartReference partReference) {
+    partDeactivated(partReference);
+  }
+
+  @Override
+  public void partClosed(IWorkbenchPartReference partReference) {
+    partDeactivated(partReference);
+  }
+
+  @Override
+  public void partBroughtToTop(IWorkbenchPartReference partReference) {}
+
+  @Override
+  public void partOpened(IWorkbenchPartReference partReference) {}
+
+  @Override
+  public void partVisible(IWorkbenchPartReference partReference) {}
+
+  @Override
+  public void partInputChanged(IWorkbenchPartReference partReference) {
+    if (partReference == editorReference) {
+      untrack();
+      track(partReference);
+    }
+  }
+
+  @Override
+  public void documentAboutToBeChanged(DocumentEvent event) {
+    job.cancel();
+  }
+
+  @Override
+  public void documentChanged(DocumentEvent event) {
+    job.schedule(TYPING_PAUSE_MILLIS);
+  }
+
+  private void track(IWorkbenchPartReference partReference) {
+    if (partReference == null || partReference == editorReference) {
+      return;
+    }
+    ICompilationUnit compilationUnit = compilationUnitOf(partReference.getPart(false));
+    if (compilationUnit == null) {
+      return;
+    }
+    untrack();
+    IEditorPart editor = (IEditorPart) partReference.getPart(false);
+    editorReference = partReference;
+    document = JavaUI.getDocumentProvider().getDocument(editor.getEditorInput());
+    if (document != null) {
+      document.addDocumentListener(this);
+    }
+    job.compilationUnit = compilationUnit;
+    job.schedule(ACTIVATION_DELAY_MILLIS);
+  }
+
+  private void untrack() {
+    job.cancel();
+    job.compilationUnit = null;
+    job.failedCompilationUnit = null;
+    if (document != null) {
+      document.removeDocumentListener(this);
+    }
+    document = null;
+    editorReference = null;
+  }
+
+  static ICompilationUnit compilationUnitOf(IWorkbenchPart part) {
+    if (!(part instanceof IEditorPart)) {
+      return null;
+    }
+    IJavaElement javaElement =
+        JavaUI.getEditorInputJavaElement(((IEditorPart) part).getEditorInput());
+    return javaElement instanceof ICompilationUnit ? (ICompilationUnit) javaElement : null;
+  }
+
+  /**
+   * Whether the compilation unit has or may get a builder, i.e. declares a single class.
+   */
+  static boolean isCandidate(ICompilationUnit compilationUnit) throws JavaModelException {
+    IType[] types = compilationUnit.getTypes();
+    return types.length == 1 && types[0].isClass();
+  }
+
+  private class PreAnalysisJob extends Job {
+
+    private volatile ICompilationUnit compilationUnit;
+
+    // The job runs again at every pause in the typing, a failure is logged once until the unit in
+    // focus changes or is analyzed again
+    private volatile ICompilationUnit failedCompilationUnit;
+
+    PreAnalysisJob() {
+      super("Bob The Builder pre-analysis");
+      setSystem(true);
+      setPriority(DECORATE);
+    }
+
+    @Override
+    protected IStatus run(IProgressMonitor monitor) {
+      ICompilationUnit target = compilationUnit;
+      if (target == null) {
+        return Status.OK_STATUS;
+      }
+      try {
+        if (isCandidate(target)) {
+          subContractor.preAnalyze(target, monitor);
+        }
+        if (target.equals(failedCompilationUnit)) {
+          failedCompilationUnit = null;
+        }
+      }
+      catch (OperationCanceledException e) {
+        return Status.CANCEL_STATUS;
+      }
+      catch (JavaModelException e) {
+        // The run analyzes again and reports what went wrong
+      }
+      catch (RuntimeException e) {
+        // As above, e.g. for a source the mappers do not support, but worth knowing of
+        if (!target.equals(failedCompilationUnit)) {
+          failedCompilationUnit = target;
+          log(new Status(IStatus.WARNING, Activator.PLUGIN_ID,
+            "Could not pre-analyze " + target.getElementName(), e));
+        }
+      }
+      return Status.OK_STATUS;
+    }
+
+    private void log(IStatus status) {
+      Activator activator = Activator.getDefault();
+      if (activator == null) {
+        return;
+      }
+      activator.getLog().log(status);
+    }
+  }
+}
@@ -1,17 +1,46 @@
 package org.eclipselabs.bobthebuilder;
 
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
 import javax.inject.Inject;
 
+import org.apache.commons.lang.StringUtils;
 import org.apache.commons.lang.Validate;
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.NullProgressMonitor;
+import org.eclipse.core.runtime.OperationCanceledException;
+import org.eclipse.core.runtime.Status;
 import org.eclipse.jdt.core.ICompilationUnit;
 import org.eclipse.jdt.core.JavaModelException;
 import org.eclipse.swt.widgets.Shell;
+import org.eclipselabs.bobthebuilder.audit.FixtureRecorder;
+import org.eclipselabs.bobthebuilder.audit.JdtAccessAudit;
 import org.eclipselabs.bobthebuilder.complement.MainTypeComplementProvider;
+import org.eclipselabs.bobthebuilder.composer.BatchComposer;
 import org.eclipselabs.bobthebuilder.composer.Composer;
 import org.eclipselabs.bobthebuilder.composer.ComposerRequest;
+import org.eclipselabs.bobthebuilder.composer.Composition;
+import org.eclipselabs.bobthebuilder.footprint.Footprint;
+import org.eclipselabs.bobthebuilder.footprint.FootprintEstimator;
+import org.eclipselabs.bobthebuilder.jit.MethodSize;
+import org.eclipselabs.bobthebuilder.jit.MethodSizeLint;
 import org.eclipselabs.bobthebuilder.mapper.eclipse.CompilationUnitFlattener;
 import org.eclipselabs.bobthebuilder.mapper.eclipse.CompilationUnitMapper;
 import org.eclipselabs.bobthebuilder.mapper.eclipse.FlattenedICompilationUnit;
+import org.eclipselabs.bobthebuilder.mapper.eclipse.MemberClassifier;
+import org.eclipselabs.bobthebuilder.mapper.eclipse.ReachableTypeCollector;
+import org.eclipselabs.bobthebuilder.mapper.eclipse.ReachableTypes;
+import org.eclipselabs.bobthebuilder.mapper.eclipse.ValidationFrameworkResolver;
+import org.eclipselabs.bobthebuilder.model.BuilderType;
 import org.eclipselabs.bobthebuilder.model.BuilderTypeSupplement;
 import org.eclipselabs.bobthebuilder.model.JavaClassFile;
 import org.eclipselabs.bobthebuilder.model.MainType;
@@ -35,6 +64,27 @@ public class SubContractor {
 
   private final BuilderTypeSupplementProvider builderTypeSupplementProvider;
 
+  private final MemberClassifier memberClassifier;
+
+  private final ValidationFrameworkResolver validationFrameworkResolver;
+
+  private final JdtAccessAudit jdtAccessAudit;
+
+  private final DefaultComposerRequestConstructor defaultComposerRequestConstructor;
+
+  private final FixtureRecorder fixtureRecorder;
+
+  private final ReachableTypeCollector reachableTypeCollector;
+
+  private final BatchComposer batchComposer;
+
+  private final FootprintEstimator footprintEstimator;
+
+  private final MethodSizeLint methodSizeLint;
+
+  // Only the latest pre-analysis is kept, that of the editor in focus
+  private PreAnalysis preAnalysis;
+
   @Inject
   public SubContractor(
       DialogConstructor dialogConstructor,
@@ -44,7 +94,16 @@ public class SubContractor {
       CompilationUnitMapper compilationUnitMapper,
       CompilationUnitFlattener compilationUnitFlattener,
       MainTypeComplementProvider mainTypeComplementProvider,
-      BuilderTypeSupplementProvider builderTypeSupplementProvider) {
+      BuilderTypeSupplementProvider builderTypeSupplementProvider,
+      MemberClassifier memberClassifier,
+      ValidationFrameworkResolver validationFrameworkResolver,
+      JdtAccessAudit jdtAccessAudit,
+      DefaultComposerRequestConstructor defaultComposerRequestConstructor,
+      FixtureRecorder fixtureRecorder,
+      ReachableTypeCollector reachableTypeCollector,
+      BatchComposer batchComposer,
+      FootprintEstimator footprintEstimator,
+      MethodSizeLint methodSizeLint) {
     this.dialogConstructor = dialogConstructor;
     this.composer = composer;
     this.nothingToDoDialogConstructor = nothingToDoDialogConstructor;
@@ -53,30 +112,369 @@ public class SubContractor {
     this.compilationUnitFlattener = compilationUnitFlattener;
     this.mainTypeComplementProvider = mainTypeComplementProvider;
     this.builderTypeSupplementProvider = builderTypeSupplementProvider;
+    this.memberClassifier = memberClassifier;
+    this.validationFrameworkResolver = validationFrameworkResolver;
+    this.jdtAccessAudit = jdtAccessAudit;
+    this.defaultComposerRequestConstructor = defaultComposerRequestConstructor;
+    this.fixtureRecorder = fixtureRecorder;
+    this.reachableTypeCollector = reachableTypeCollector;
+    this.batchComposer = batchComposer;
+    this.footprintEstimator = footprintEstimator;
+    this.methodSizeLint = methodSizeLint;
   }
 
   public void work(Shell shell, ICompilationUnit compilationUnit) throws JavaModelException {
     Validate.notNull(shell, "shell may not be null");
     Validate.notNull(compilationUnit, "compilationUnit may not be null");
-    JavaClassFile javaClassFile = compilationUnitMapper.map(compilationUnit);
-    FlattenedICompilationUnit flattenedICompilationUnit =
-        compilationUnitFlattener.flatten(compilationUnit);
-    MainType mainType = javaClassFile.getMainType();
-    MainTypeComplement mainTypeComplement = mainTypeComplementProvider.complement(mainType);
-    BuilderTypeSupplement builderTypeSupplement = builderTypeSupplementProvider.provideSupplement(
-      mainType,
-      flattenedICompilationUnit.getMainType());
-
-    DialogContent dialogContent =
-        dialogRequestConstructor.work(mainTypeComplement, builderTypeSupplement);
-
-    if (mainTypeComplement.isEmptyComplement() && builderTypeSupplement.isEmptySupplement()) {
+    try {
+      doWork(shell, compilationUnit);
+    }
+    finally {
+      endWork();
+    }
+  }
+
+  /**
+   * Analyzes the compilation unit ahead of a run, which then takes the result instead of analyzing
+   * again as long as the source of the compilation unit is the same. A working copy that is not
+   * consistent with its buffer is left alone, as its members are not those of the source. Throws
+   * {@link OperationCanceledException} when the monitor is canceled.
+   */
+  public void preAnalyze(ICompilationUnit compilationUnit, IProgressMonitor monitor)
+    throws JavaModelException {
+    Validate.notNull(compilationUnit, "compilationUnit may not be null");
+    Validate.notNull(monitor, "monitor may not be null");
+    if (!compilationUnit.isConsistent()) {
+      return;
+    }
+    String source = compilationUnit.getSource();
+    synchronized (this) {
+      if (source == null
+        || preAnalysis != null && preAnalysis.isOf(compilationUnit, source)) {
+        return;
+      }
+    }
+    // Not audited, the audit accounts for the runs
+    Analysis analysis = analyze(compilationUnit, compilationUnit, monitor);
+    if (!source.equals(compilationUnit.getSource())) {
+      // Changed while it was analyzed, the members may be of either source
+      return;
+    }
+    synchronized (this) {
+      preAnalysis = new PreAnalysis(compilationUnit, source, analysis);
+    }
+  }
+
+  public synchronized void clearPreAnalysis() {
+    preAnalysis = null;
+  }
+
+  /**
+   * Composes what the dialog selects by default without showing it, and returns a summary of what
+   * was done, or null when there was nothing to do.
+   */
+  public String workWithDefaults(ICompilationUnit compilationUnit) throws JavaModelException {
+    Validate.notNull(compilationUnit, "compilationUnit may not be null");
+    try {
+      Analysis analysis = analyze(compilationUnit);
+      if (analysis.isNothingToDo()) {
+        return null;
+      }
+      ComposerRequest composerRequest = defaultComposerRequestConstructor.work(
+        analysis.mainTypeComplement,
+        analysis.builderTypeSupplement,
+        analysis.validationFramework);
+      composer.compose(
+        composerRequest, null, analysis.flattenedICompilationUnit, analysis.javaClassFile);
+      return defaultComposerRequestConstructor.summarize(composerRequest);
+    }
+    finally {
+      endWork();
+    }
+  }
+
+  /**
+   * As {@link #workWithDefaults(ICompilationUnit)}, for the compilation unit and every compilation
+   * unit {@link ReachableTypeCollector} reaches from it. They are analyzed concurrently and
+   * composed as one batch, see {@link BatchComposer}.
+   */
+  public String workReachableWithDefaults(ICompilationUnit compilationUnit)
+    throws JavaModelException {
+    Validate.notNull(compilationUnit, "compilationUnit may not be null");
+    try {
+      ReachableTypes reachableTypes = reachableTypeCollector.collect(compilationUnit);
+      List<Composition> compositions = new ArrayList<Composition>();
+      List<String> typeNames = new ArrayList<String>();
+      for (Analysis each :
+        analyzeConcurrently(compilationUnit, reachableTypes.getCompilationUnits())) {
+        if (each.isNothingToDo()) {
+          continue;
+        }
+        ComposerRequest composerRequest = defaultComposerRequestConstructor.work(
+          each.mainTypeComplement,
+          each.builderTypeSupplement,
+          each.validationFramework);
+        compositions.add(new Composition.Builder()
+            .withRequest(composerRequest)
+            .withFlattenedICompilationUnit(each.flattenedICompilationUnit)
+            .withJavaClassFile(each.javaClassFile)
+            .build());
+        typeNames.add(each.javaClassFile.getMainType().getName());
+      }
+      if (compositions.isEmpty()) {
+        return null;
+      }
+      batchComposer.composeAll(compositions, null);
+      return summarize(typeNames, reachableTypes);
+    }
+    finally {
+      endWork();
+    }
+  }
+
+  private static String summarize(List<String> typeNames, ReachableTypes reachableTypes) {
+    String result = "Bob The Builder updated " + StringUtils.join(typeNames, ", ") + " ("
+      + typeNames.size() + " of " + reachableTypes.getCompilationUnits().size()
+      + " reachable types)";
+    if (reachableTypes.isTruncated()) {
+      result += ", stopped following fields at " + reachableTypes.getCompilationUnits().size()
+        + " types";
+    }
+    return result;
+  }
+
+  private List<Analysis> analyzeConcurrently(
+    final ICompilationUnit root, List<ICompilationUnit> compilationUnits)
+    throws JavaModelException {
+    int threads = Math.min(compilationUnits.size(), Runtime.getRuntime().availableProcessors());
+    ExecutorService executor = Executors.newFixedThreadPool(threads);
+    try {
+      List<Future<Analysis>> analyses = new ArrayList<Future<Analysis>>();
+      for (final ICompilationUnit each : compilationUnits) {
+        analyses.add(executor.submit(new Callable<Analysis>() {
+          @Override
+          public Analysis call() throws JavaModelException {
+            return analyze(each, each.equals(root));
+          }
+        }));
+      }
+      List<Analysis> result = new ArrayList<Analysis>();
+      for (Future<Analysis> each : analyses) {
+        result.add(waitFor(each));
+      }
+      return result;
+    }
+    finally {
+      executor.shutdownNow();
+    }
+  }
+
+  private static Analysis waitFor(Future<Analysis> analysis) throws JavaModelException {
+    try {
+      return analysis.get();
+    }
+    catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new OperationCanceledException();
+    }
+    catch (ExecutionException e) {
+      Throwable cause = e.getCause();
+      if (cause instanceof JavaModelException) {
+        throw (JavaModelException) cause;
+      }
+      if (cause instanceof CoreException) {
+        throw new JavaModelException((CoreException) cause);
+      }
+      if (cause instanceof RuntimeException) {
+        throw (RuntimeException) cause;
+      }
+      throw new IllegalStateException(cause);
+    }
+  }
+
+  private void endWork() {
+    if (jdtAccessAudit.isEnabled()) {
+      logAudit();
+      jdtAccessAudit.reset();
+    }
+  }
+
+  private void doWork(Shell shell, ICompilationUnit compilationUnit) throws JavaModelException {
+    Analysis analysis = analyze(compilationUnit);
+    DialogContent dialogContent = dialogRequestConstructor.work(
+      analysis.mainTypeComplement,
+      analysis.builderTypeSupplement,
+      analysis.validationFramework);
+
+    if (analysis.isNothingToDo()) {
       nothingToDoDialogConstructor.show(shell);
       return;
     }
-    ComposerRequest composerRequest =
-        dialogConstructor.show(dialogContent, flattenedICompilationUnit, shell);
-    composer.compose(composerRequest, dialogContent, flattenedICompilationUnit, javaClassFile);
+    List<Footprint> footprints =
+        footprintEstimator.estimate(analysis.javaClassFile.getMainType());
+    // The methods as the dialog proposes them, with everything checked
+    List<MethodSize> methodSizes = methodSizeLint.lint(
+      analysis.javaClassFile.getMainType(),
+      defaultComposerRequestConstructor.work(
+        analysis.mainTypeComplement,
+        analysis.builderTypeSupplement,
+        analysis.validationFramework));
+    ComposerRequest composerRequest = dialogConstructor.show(
+      dialogContent, analysis.flattenedICompilationUnit, footprints, methodSizes, shell);
+    composer.compose(composerRequest, dialogContent, analysis.flattenedICompilationUnit,
+      analysis.javaClassFile);
     return;
   }
+
+  private Analysis analyze(ICompilationUnit compilationUnit) throws JavaModelException {
+    return analyze(compilationUnit, true);
+  }
+
+  /*
+   * Only the compilation unit of the editor may be pre-analyzed, any other would use up its
+   * pre-analysis for nothing.
+   */
+  private Analysis analyze(ICompilationUnit compilationUnit, boolean mayBePreAnalyzed)
+    throws JavaModelException {
+    if (fixtureRecorder.isEnabled()) {
+      record(compilationUnit);
+    }
+    if (mayBePreAnalyzed) {
+      Analysis result = takePreAnalysis(compilationUnit);
+      if (result != null) {
+        return result;
+      }
+    }
+    return analyze(
+      compilationUnit, jdtAccessAudit.audit(compilationUnit), new NullProgressMonitor());
+  }
+
+  /*
+   * The members are classified once for the analysis, and again by the next, as the composer
+   * changes them in between.
+   */
+  private Analysis analyze(final ICompilationUnit compilationUnit,
+    final ICompilationUnit auditedCompilationUnit, final IProgressMonitor monitor)
+    throws JavaModelException {
+    return memberClassifier.inScope(new MemberClassifier.Scope<Analysis>() {
+      @Override
+      public Analysis run() throws JavaModelException {
+        return analyzeInScope(compilationUnit, auditedCompilationUnit, monitor);
+      }
+    });
+  }
+
+  private Analysis analyzeInScope(ICompilationUnit compilationUnit,
+    ICompilationUnit auditedCompilationUnit, IProgressMonitor monitor) throws JavaModelException {
+    Analysis result = new Analysis();
+    result.javaClassFile = compilationUnitMapper.map(auditedCompilationUnit);
+    checkCanceled(monitor);
+    FlattenedICompilationUnit audited = compilationUnitFlattener.flatten(auditedCompilationUnit);
+    // The composer hands the flattened handles back to the java model, which takes no proxies
+    result.flattenedICompilationUnit = auditedCompilationUnit == compilationUnit
+        ? audited : compilationUnitFlattener.flatten(compilationUnit);
+    checkCanceled(monitor);
+    MainType mainType = result.javaClassFile.getMainType();
+    result.mainTypeComplement = mainTypeComplementProvider.complement(mainType);
+    result.builderTypeSupplement =
+        builderTypeSupplementProvider.provideSupplement(mainType, audited.getMainType());
+    checkCanceled(monitor);
+    result.validationFramework = selectValidationFramework(mainType, compilationUnit);
+    return result;
+  }
+
+  private static void checkCanceled(IProgressMonitor monitor) {
+    if (monitor.isCanceled()) {
+      throw new OperationCanceledException();
+    }
+  }
+
+  /*
+   * The pre-analysis of the compilation unit when its source did not change since. It is used up
+   * either way, the run is about to change the source.
+   */
+  private Analysis takePreAnalysis(ICompilationUnit compilationUnit) throws JavaModelException {
+    PreAnalysis taken;
+    synchronized (this) {
+      taken = preAnalysis;
+      preAnalysis = null;
+    }
+    if (taken == null || !taken.isOf(compilationUnit, compilationUnit.getSource())) {
+      return null;
+    }
+    return taken.analysis;
+  }
+
+  // What every way of working knows about a compilation unit before composing
+  private static class Analysis {
+
+    private JavaClassFile javaClassFile;
+
+    private FlattenedICompilationUnit flattenedICompilationUnit;
+
+    private MainTypeComplement mainTypeComplement;
+
+    private BuilderTypeSupplement builderTypeSupplement;
+
+    private ValidationFramework validationFramework;
+
+    boolean isNothingToDo() {
+      return mainTypeComplement.isEmptyComplement() && builderTypeSupplement.isEmptySupplement();
+    }
+  }
+
+  private static class PreAnalysis {
+
+    private final ICompilationUnit compilationUnit;
+
+    private final String source;
+
+    private final Analysis analysis;
+
+    PreAnalysis(ICompilationUnit compilationUnit, String source, Analysis analysis) {
+      this.compilationUnit = compilationUnit;
+      this.source = source;
+      this.analysis = analysis;
+    }
+
+    boolean isOf(ICompilationUnit otherCompilationUnit, String otherSource) {
+      return compilationUnit.equals(otherCompilationUnit) && source.equals(otherSource);
+    }
+  }
+
+  /*
+   * The framework of an existing validate method wins over the one resolved from the classpath.
+   */
+  private ValidationFramework selectValidationFramework(
+    MainType mainType, ICompilationUnit compilationUnit) throws JavaModelException {
+    BuilderType builderType = mainType.getBuilderType();
+    if (builderType != null && builderType.getValidateMethod() != null
+      && builderType.getValidateMethod().getValidationFramework() != null) {
+      return builderType.getValidateMethod().getValidationFramework();
+    }
+    return validationFrameworkResolver.resolveDefault(compilationUnit.getJavaProject());
+  }
+
+  private void logAudit() {
+    log(new Status(IStatus.INFO, Activator.PLUGIN_ID, jdtAccessAudit.summary()));
+  }
+
+  // A fixture that cannot be written is no reason to stop the run
+  private void record(ICompilationUnit compilationUnit) throws JavaModelException {
+    try {
+      fixtureRecorder.record(compilationUnit);
+    }
+    catch (IOException e) {
+      log(new Status(IStatus.WARNING, Activator.PLUGIN_ID,
+        "Could not record " + compilationUnit.getElementName(), e));
+    }
+  }
+
+  private static void log(IStatus status) {
+    Activator activator = Activator.getDefault();
+    if (activator == null) {
+      return;
+    }
+    activator.getLog().log(status);
+  }
 }
@@ -1,28 +1,41 @@
 package org.eclipselabs.bobthebuilder;
 
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
 import org.apache.commons.lang.StringUtils;
 import org.apache.commons.lang.Validate;
 import org.eclipselabs.bobthebuilder.model.Field;
 
-//TODO StringUtils import needs to be added as well
 public enum ValidationFramework {
   GOOGLE_GUAVA(
       "com.google.common.base.Preconditions",
       "Preconditions.checkNotNull",
-      "Preconditions.checkArgument"),
+      "Preconditions.checkArgument",
+      "com.google.common.base.Strings",
+      "!Strings.isNullOrEmpty(%1$s) && !%1$s.trim().isEmpty()"),
   COMMONS_LANG3(
       "org.apache.commons.lang3.Validate",
       "Validate.notNull",
-      "Validate.isTrue"),
+      "Validate.isTrue",
+      "org.apache.commons.lang3.StringUtils",
+      "!StringUtils.isBlank(%1$s)"),
   COMMONS_LANG2(
       "org.apache.commons.lang.Validate",
       COMMONS_LANG3.checkNotNull,
-      COMMONS_LANG3.checkArgument);
+      COMMONS_LANG3.checkArgument,
+      "org.apache.commons.lang.StringUtils",
+      COMMONS_LANG3.notBlankCondition);
+
+  /**
+   * The framework composed with when none of them is on the classpath, as the dialog always did.
+   */
+  public static final ValidationFramework DEFAULT = GOOGLE_GUAVA;
 
   private static final String checkNotNullTemplateEnding = "(%1$s, \"%1$s may not be null\");";
 
-  private static final String checkBlankStringTemplateEnding =
-      "(!StringUtils.isBlank(%1$s), \"%1$s may not be blank\");";
+  private static final String checkBlankStringTemplateEnding = ", \"%1$s may not be blank\");";
 
   private static final String checkNotDefaultTemplateEnding = "(%1$s > %2$s, \"%1$s should be set\");";
 
@@ -35,10 +48,22 @@ public enum ValidationFramework {
 
   private String checkNotNull;
 
-  private ValidationFramework(String fullClassName, String checkNotNull, String checkArgument) {
+  // The string utilities of the same library, so that a builder needs no other to compile
+  private String stringsClassName;
+
+  private String notBlankCondition;
+
+  private String checkBlankStringTemplate;
+
+  private ValidationFramework(String fullClassName, String checkNotNull, String checkArgument,
+      String stringsClassName, String notBlankCondition) {
     this.fullClassName = fullClassName;
     this.checkArgument = checkArgument;
     this.checkNotNull = checkNotNull;
+    this.stringsClassName = stringsClassName;
+    this.notBlankCondition = notBlankCondition;
+    this.checkBlankStringTemplate =
+        checkArgument + "(" + notBlankCondition + checkBlankStringTemplateEnding;
   }
 
   public String getFullClassName() {
@@ -53,6 +78,23 @@ public enum ValidationFramework {
     return checkNotNull;
   }
 
+  /**
+   * The classes to import for the validations composed for the fields: the framework, and the
+   * string utilities of the same library that the validation of a string calls.
+   */
+  public Set<String> composeImports(Collection<Field> fields) {
+    Validate.notNull(fields, "fields may not be null");
+    Set<String> result = new LinkedHashSet<String>();
+    result.add(fullClassName);
+    String stringsCall = StringUtils.substringAfterLast(stringsClassName, ".") + ".";
+    for (Field each : fields) {
+      if (composeFieldValidation(each).contains(stringsCall)) {
+        result.add(stringsClassName);
+      }
+    }
+    return result;
+  }
+
   public String getReadableName() {
     return StringUtils.lowerCase(this.name()).replace('_', ' ');
   }
@@ -82,15 +124,16 @@ public enum ValidationFramework {
     else if (signature.equals("short")) {
       return String.format(checkArgument + checkNotDefaultTemplateEnding, fieldName, "0");
     }
-    else if (signature.contains("String") || signature.contains("java.lang.String")) {
-      return String.format(checkArgument + checkBlankStringTemplateEnding, fieldName);
-    }
+    // Before strings, which collections of strings would be taken for
     else if (signature.contains("Map")
         || signature.contains("Set")
         || signature.contains("List")) {
       return String.format(checkNotNull + checkNotNullTemplateEnding, fieldName) + " " +
         String.format(checkArgument + checkNotEmptyCollectionTemplateEnding, fieldName);
     }
+    else if (signature.contains("String") || signature.contains("java.lang.String")) {
+      return String.format(checkBlankStringTemplate, fieldName);
+    }
     else {
       return String.format(checkNotNull + checkNotNullTemplateEnding, fieldName);
     }
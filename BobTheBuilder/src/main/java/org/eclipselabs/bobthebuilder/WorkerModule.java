@@ -1,8 +1,10 @@
 package org.eclipselabs.bobthebuilder;
 
+import org.eclipselabs.bobthebuilder.audit.JdtAccessAudit;
 import org.eclipselabs.bobthebuilder.composer.Composer;
 
 import com.google.inject.AbstractModule;
+import com.google.inject.Singleton;
 
 public class WorkerModule extends AbstractModule {
 
@@ -12,7 +14,9 @@ public class WorkerModule extends AbstractModule {
     bind(DialogConstructor.class);
     bind(NothingToDoDialogConstructor.class);
     bind(DialogRequestConstructor.class);
+    bind(DefaultComposerRequestConstructor.class);
     bind(SubContractor.class);
+    bind(JdtAccessAudit.class).in(Singleton.class);
   }
 
 }
@@ -2,7 +2,6 @@ package org.eclipselabs.bobthebuilder.analyzer;
 
 import java.util.Collections;
 import java.util.HashSet;
-import java.util.Iterator;
 import java.util.Set;
 
 import org.apache.commons.lang.Validate;
@@ -17,20 +16,21 @@ public class DifferenceBetweenFieldSetsAnalyzer {
   public Set<IField> analyze(Set<IField> mainTypeFields, Set<IField> builderFields) throws JavaModelException {
     Validate.notNull(mainTypeFields, "main type fields may not be null");
     Validate.notNull(builderFields, "builder type fields may not be null");
+    Set<String> builderFieldKeys = new HashSet<String>();
+    for (IField each : builderFields) {
+      builderFieldKeys.add(key(each));
+    }
     Set<IField> copyOfMainTypeFields = new HashSet<IField>();
-    Set<IField> copyOfBuilderFields = new HashSet<IField>();
-    copyOfMainTypeFields.addAll(mainTypeFields);
-    copyOfBuilderFields.addAll(builderFields);
-    Iterator<IField> iterator = copyOfMainTypeFields.iterator();
-    while (iterator.hasNext()) {
-      IField each = iterator.next();
-      for (IField eachBuilderField : copyOfBuilderFields) {
-        if (each.getElementName().equals(eachBuilderField.getElementName()) &&
-            each.getTypeSignature().equals(eachBuilderField.getTypeSignature())) {
-          iterator.remove();
-        }
+    for (IField each : mainTypeFields) {
+      if (!builderFieldKeys.contains(key(each))) {
+        copyOfMainTypeFields.add(each);
       }
     }
     return Collections.unmodifiableSet(copyOfMainTypeFields);
   }
+
+  // Name and type signature, the two things a builder field has to share with its field
+  private static String key(IField field) throws JavaModelException {
+    return field.getElementName() + " " + field.getTypeSignature();
+  }
 }
@@ -1,5 +1,7 @@
 package org.eclipselabs.bobthebuilder.analyzer;
 
+import java.util.HashSet;
+import java.util.Set;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -15,15 +17,29 @@ public interface FieldPredicate {
       return "this\\." + fieldName + "\\s*=\\s*\\S*" + fieldName + "\\s*;";
     }
 
+    // Any assignment createFieldAssignmentRegex matches, with the name of the field as group 1
+    private static final Pattern ANY_FIELD_ASSIGNMENT =
+        Pattern.compile("this\\.([\\w$]+)\\s*=\\s*\\S*\\1\\s*;");
+
     @Override
     public boolean match(String fieldToMatch, String input, String signature) {
       Validate.notNull(fieldToMatch, "field to match may not be null");
-      Validate.notNull(input, "input may not be null");
-      Pattern pattern = Pattern.compile(createFieldAssignmentRegex(fieldToMatch));
-      Matcher matcher = pattern.matcher(input);
-      return matcher.find();
+      return assignedFields(input).contains(fieldToMatch);
     }
 
+    /**
+     * The names of all the fields the input assigns, for matching the fields of a method against
+     * its source in one scan rather than in one scan per field.
+     */
+    public Set<String> assignedFields(String input) {
+      Validate.notNull(input, "input may not be null");
+      Set<String> result = new HashSet<String>();
+      Matcher matcher = ANY_FIELD_ASSIGNMENT.matcher(input);
+      while (matcher.find()) {
+        result.add(matcher.group(1));
+      }
+      return result;
+    }
   }
 
   public static class FieldValidation implements FieldPredicate {
@@ -38,11 +38,18 @@ public interface MethodPredicate {
   public static class ConstructorWithBuilder implements MethodPredicate {
     public final static String CONSTRUCTOR_WITH_BUILDER_SIGNATURE = "(QBuilder;)V";
 
+    // The constructor of an abstract type takes its self-typed builder as Builder<?>
+    public final static String CONSTRUCTOR_WITH_SELF_TYPED_BUILDER_SIGNATURE = "(QBuilder<*>;)V";
+
     @Override
     public boolean match(IMethod method) throws JavaModelException {
       Validate.notNull(method, "method may not be null");
-      return method.isConstructor() &&
-        method.getSignature().equals(CONSTRUCTOR_WITH_BUILDER_SIGNATURE);
+      if (!method.isConstructor()) {
+        return false;
+      }
+      String signature = method.getSignature();
+      return signature.equals(CONSTRUCTOR_WITH_BUILDER_SIGNATURE) ||
+        signature.equals(CONSTRUCTOR_WITH_SELF_TYPED_BUILDER_SIGNATURE);
     }
   }
 
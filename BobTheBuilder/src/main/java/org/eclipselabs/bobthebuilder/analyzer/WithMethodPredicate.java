@@ -9,11 +9,14 @@ import org.eclipse.jdt.core.Signature;
 import org.eclipselabs.bobthebuilder.model.Field;
 
 public class WithMethodPredicate {
+
+  public static final String WITH_METHOD_PREFIX = "with";
+
   public boolean match(IField field, IMethod method) throws JavaModelException {
     Validate.notNull(field, "field may not be null");
     Validate.notNull(method, "method may not be null");
     return method.getElementName()
-        .equals("with" + StringUtils.capitalize(field.getElementName())) &&
+        .equals(WITH_METHOD_PREFIX + StringUtils.capitalize(field.getElementName())) &&
       method.getParameterTypes()[0].equals(field.getTypeSignature());
   }
 
@@ -21,7 +24,7 @@ public class WithMethodPredicate {
     Validate.notNull(field, "field may not be null");
     Validate.notNull(method, "method may not be null");
     return method.getElementName()
-        .equals("with" + StringUtils.capitalize(field.getName())) &&
+        .equals(WITH_METHOD_PREFIX + StringUtils.capitalize(field.getName())) &&
       Signature.toString(method.getParameterTypes()[0]).equals(field.getSignature());
   }
 
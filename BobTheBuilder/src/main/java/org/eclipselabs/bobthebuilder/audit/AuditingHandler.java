@@ -0,0 +1,132 @@
+package org.eclipselabs.bobthebuilder.audit;
+
+import java.lang.reflect.Array;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+import org.eclipse.jdt.core.IJavaElement;
+
+/**
+ * Forwards every call to the decorated handle and reports it to {@link JdtAccessAudit}. Handles
+ * returned by the call are decorated in turn, so that the whole traversal from the compilation unit
+ * down is audited.
+ */
+class AuditingHandler implements InvocationHandler {
+
+  private static final String UNKNOWN_CALL_SITE = "<unknown>";
+
+  private final Object delegate;
+
+  private final JdtAccessAudit audit;
+
+  private AuditingHandler(Object delegate, JdtAccessAudit audit) {
+    this.delegate = delegate;
+    this.audit = audit;
+  }
+
+  @SuppressWarnings("unchecked")
+  static <T> T wrap(T element, JdtAccessAudit audit) {
+    if (JdtAccessAudit.isAudited(element)) {
+      return element;
+    }
+    Class<?> type = element.getClass();
+    return (T) Proxy.newProxyInstance(
+      type.getClassLoader(), interfacesOf(type), new AuditingHandler(element, audit));
+  }
+
+  @Override
+  public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+    Object[] unwrappedArgs = unwrap(args);
+    if (isObjectMethod(method)) {
+      return method.invoke(delegate, unwrappedArgs);
+    }
+    long start = System.nanoTime();
+    Object result;
+    try {
+      result = method.invoke(delegate, unwrappedArgs);
+    }
+    catch (InvocationTargetException e) {
+      throw e.getCause();
+    }
+    finally {
+      audit.record(delegate, method, unwrappedArgs, callSite(), System.nanoTime() - start);
+    }
+    return wrapResult(result);
+  }
+
+  private Object wrapResult(Object result) {
+    if (result instanceof IJavaElement) {
+      return wrap(result, audit);
+    }
+    if (result instanceof IJavaElement[]) {
+      Object[] elements = (Object[]) result;
+      Object[] wrapped =
+          (Object[]) Array.newInstance(result.getClass().getComponentType(), elements.length);
+      for (int i = 0; i < elements.length; i++) {
+        wrapped[i] = elements[i] == null ? null : wrap(elements[i], audit);
+      }
+      return wrapped;
+    }
+    return result;
+  }
+
+  private static Object[] unwrap(Object[] args) {
+    if (args == null) {
+      return null;
+    }
+    Object[] result = args.clone();
+    for (int i = 0; i < result.length; i++) {
+      if (JdtAccessAudit.isAudited(result[i])) {
+        result[i] = ((AuditingHandler) Proxy.getInvocationHandler(result[i])).delegate;
+      }
+    }
+    return result;
+  }
+
+  private static boolean isObjectMethod(Method method) {
+    String name = method.getName();
+    int parameters = method.getParameterTypes().length;
+    return (name.equals("equals") && parameters == 1)
+      || (name.equals("hashCode") && parameters == 0)
+      || (name.equals("toString") && parameters == 0);
+  }
+
+  // The first frame outside of the proxy machinery and the audit itself
+  private static String callSite() {
+    for (StackTraceElement each : new Throwable().getStackTrace()) {
+      String className = each.getClassName();
+      if (className.equals(AuditingHandler.class.getName())
+        || className.equals(JdtAccessAudit.class.getName())
+        || className.startsWith("java.lang.reflect.")
+        || className.startsWith("sun.reflect.")
+        || className.startsWith("jdk.internal.")
+        || className.startsWith("com.sun.proxy.")
+        || className.contains("$Proxy")) {
+        continue;
+      }
+      return className.substring(className.lastIndexOf('.') + 1) + "." + each.getMethodName()
+        + ":" + each.getLineNumber();
+    }
+    return UNKNOWN_CALL_SITE;
+  }
+
+  private static Class<?>[] interfacesOf(Class<?> type) {
+    Set<Class<?>> result = new LinkedHashSet<Class<?>>();
+    for (Class<?> current = type; current != null; current = current.getSuperclass()) {
+      addInterfaces(current, result);
+    }
+    return result.toArray(new Class<?>[result.size()]);
+  }
+
+  private static void addInterfaces(Class<?> type, Set<Class<?>> result) {
+    for (Class<?> each : type.getInterfaces()) {
+      if (result.add(each)) {
+        addInterfaces(each, result);
+      }
+    }
+  }
+}
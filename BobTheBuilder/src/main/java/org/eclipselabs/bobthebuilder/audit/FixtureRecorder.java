@@ -0,0 +1,143 @@
+package org.eclipselabs.bobthebuilder.audit;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+
+import javax.inject.Inject;
+
+import org.apache.commons.lang.StringUtils;
+import org.apache.commons.lang.Validate;
+import org.eclipse.jdt.core.ICompilationUnit;
+import org.eclipse.jdt.core.IJavaElement;
+import org.eclipse.jdt.core.IType;
+import org.eclipse.jdt.core.JavaModelException;
+import org.eclipselabs.bobthebuilder.mapper.eclipse.SuperclassResolver;
+
+/**
+ * Opt-in recording of the compilation units Bob The Builder runs on, as fixtures that tests replay
+ * offline. A fixture is a directory holding the source of the compilation unit and those of its
+ * source superclasses at their package paths, along with a {@value #DESCRIPTOR} that lists them
+ * under {@value #SOURCES}, the recorded compilation unit first.
+ * <p>
+ * Enabled with the system property {@value #DIRECTORY_PROPERTY} naming the directory the fixtures
+ * are written to, e.g. in the eclipse.ini of the IDE, or with {@link #FixtureRecorder(File,
+ * SuperclassResolver)} from a test.
+ */
+public class FixtureRecorder {
+
+  public static final String DIRECTORY_PROPERTY = "bobthebuilder.record";
+
+  public static final String DESCRIPTOR = "fixture.properties";
+
+  public static final String SOURCES = "sources";
+
+  private static final String ENCODING = "UTF-8";
+
+  private final File directory;
+
+  private final SuperclassResolver superclassResolver;
+
+  @Inject
+  public FixtureRecorder(SuperclassResolver superclassResolver) {
+    this(StringUtils.isBlank(System.getProperty(DIRECTORY_PROPERTY))
+        ? null : new File(System.getProperty(DIRECTORY_PROPERTY)), superclassResolver);
+  }
+
+  /**
+   * Disabled when the directory is null.
+   */
+  public FixtureRecorder(File directory, SuperclassResolver superclassResolver) {
+    Validate.notNull(superclassResolver, "superclassResolver may not be null");
+    this.directory = directory;
+    this.superclassResolver = superclassResolver;
+  }
+
+  public boolean isEnabled() {
+    return directory != null;
+  }
+
+  /**
+   * Returns the directory of the fixture, or null when the recorder is disabled.
+   */
+  public File record(ICompilationUnit compilationUnit) throws JavaModelException, IOException {
+    Validate.notNull(compilationUnit, "compilationUnit may not be null");
+    if (!isEnabled()) {
+      return null;
+    }
+    List<ICompilationUnit> compilationUnits = new ArrayList<ICompilationUnit>();
+    compilationUnits.add(compilationUnit);
+    IType[] types = compilationUnit.getTypes();
+    if (types.length == 1) {
+      IType superclass = superclassResolver.resolve(types[0]);
+      while (superclass != null && !superclass.isBinary()) {
+        ICompilationUnit superclassCompilationUnit = superclass.getCompilationUnit();
+        if (superclassCompilationUnit != null
+          && !compilationUnits.contains(superclassCompilationUnit)) {
+          compilationUnits.add(superclassCompilationUnit);
+        }
+        superclass = superclassResolver.resolve(superclass);
+      }
+    }
+    File fixture = newFixtureDirectory(
+      StringUtils.substringBeforeLast(compilationUnit.getElementName(), "."));
+    List<String> paths = new ArrayList<String>();
+    for (ICompilationUnit each : compilationUnits) {
+      String path = path(each);
+      write(new File(fixture, path), each.getSource());
+      paths.add(path);
+    }
+    Properties descriptor = new Properties();
+    descriptor.setProperty(SOURCES, StringUtils.join(paths, ","));
+    OutputStream output = new FileOutputStream(new File(fixture, DESCRIPTOR));
+    try {
+      descriptor.store(output, "Recorded by Bob The Builder");
+    }
+    finally {
+      output.close();
+    }
+    return fixture;
+  }
+
+  // Synchronized as the compilation units reachable from one another are recorded concurrently
+  private synchronized File newFixtureDirectory(String name) throws IOException {
+    File result = new File(directory, name);
+    for (int i = 2; result.exists(); i++) {
+      result = new File(directory, name + "-" + i);
+    }
+    if (!result.mkdirs()) {
+      throw new IOException("Could not create " + result);
+    }
+    return result;
+  }
+
+  // The path of the compilation unit in its source folder, e.g. org/example/Person.java
+  private static String path(ICompilationUnit compilationUnit) {
+    IJavaElement packageFragment = compilationUnit.getParent();
+    String packageName = packageFragment == null ? "" : packageFragment.getElementName();
+    if (packageName.length() == 0) {
+      return compilationUnit.getElementName();
+    }
+    return packageName.replace('.', '/') + "/" + compilationUnit.getElementName();
+  }
+
+  private static void write(File file, String content) throws IOException {
+    File parent = file.getParentFile();
+    if (!parent.isDirectory() && !parent.mkdirs()) {
+      throw new IOException("Could not create " + parent);
+    }
+    Writer writer = new OutputStreamWriter(new FileOutputStream(file), ENCODING);
+    try {
+      writer.write(content);
+    }
+    finally {
+      writer.close();
+    }
+  }
+}
@@ -0,0 +1,198 @@
+package org.eclipselabs.bobthebuilder.audit;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import javax.inject.Inject;
+
+import org.apache.commons.lang.StringUtils;
+import org.apache.commons.lang.Validate;
+import org.eclipse.jdt.core.IJavaElement;
+
+/**
+ * Opt-in audit of the calls made on the java model handles during a run. The handles are wrapped
+ * in decorating proxies by {@link #audit(IJavaElement)}, and every call on them, or on the handles
+ * they return, is counted and timed per method and per call site. A call repeated with the same
+ * arguments on the same element is reported as a duplicate fetch.
+ * <p>
+ * Enabled with the system property {@value #ENABLED_PROPERTY}, e.g. in the eclipse.ini of the IDE,
+ * or with {@link #JdtAccessAudit(boolean)} from a test.
+ */
+public class JdtAccessAudit {
+
+  public static final String ENABLED_PROPERTY = "bobthebuilder.audit";
+
+  private final boolean enabled;
+
+  // Keyed by declaring interface and method name, e.g. IType.getMethods
+  private final Map<String, Statistic> byMethod = new HashMap<String, Statistic>();
+
+  // Keyed by the call site followed by the method
+  private final Map<String, Statistic> byCallSite = new HashMap<String, Statistic>();
+
+  private final Map<Access, Statistic> byAccess = new HashMap<Access, Statistic>();
+
+  @Inject
+  public JdtAccessAudit() {
+    this(Boolean.getBoolean(ENABLED_PROPERTY));
+  }
+
+  public JdtAccessAudit(boolean enabled) {
+    this.enabled = enabled;
+  }
+
+  public boolean isEnabled() {
+    return enabled;
+  }
+
+  /**
+   * Returns the element itself when the audit is disabled.
+   */
+  public <T extends IJavaElement> T audit(T element) {
+    Validate.notNull(element, "element may not be null");
+    if (!enabled) {
+      return element;
+    }
+    return AuditingHandler.wrap(element, this);
+  }
+
+  synchronized void record(
+    Object element, Method method, Object[] args, String callSite, long nanos) {
+    String methodKey = method.getDeclaringClass().getSimpleName() + "." + method.getName();
+    add(byMethod, methodKey, nanos);
+    add(byCallSite, callSite + " -> " + methodKey, nanos);
+    add(byAccess, new Access(element, methodKey, args), nanos);
+  }
+
+  public synchronized int getCalls(String methodKey) {
+    Statistic statistic = byMethod.get(methodKey);
+    return statistic == null ? 0 : statistic.calls;
+  }
+
+  /**
+   * The number of calls that fetched again what an earlier call on the same element with the same
+   * arguments already fetched.
+   */
+  public synchronized int getDuplicateFetches() {
+    int result = 0;
+    for (Statistic each : byAccess.values()) {
+      result += each.calls - 1;
+    }
+    return result;
+  }
+
+  public synchronized void reset() {
+    byMethod.clear();
+    byCallSite.clear();
+    byAccess.clear();
+  }
+
+  public synchronized String summary() {
+    List<String> lines = new ArrayList<String>();
+    lines.add("JDT model access, per method (calls, ms):");
+    appendSorted(lines, byMethod);
+    lines.add("Per call site (calls, ms):");
+    appendSorted(lines, byCallSite);
+    lines.add("Duplicate fetches: " + getDuplicateFetches());
+    for (Map.Entry<Access, Statistic> each : sortedByCalls(byAccess)) {
+      if (each.getValue().calls > 1) {
+        lines.add("  " + each.getValue() + "  " + each.getKey());
+      }
+    }
+    return StringUtils.join(lines, "\n");
+  }
+
+  private static <K> void add(Map<K, Statistic> statistics, K key, long nanos) {
+    Statistic statistic = statistics.get(key);
+    if (statistic == null) {
+      statistic = new Statistic();
+      statistics.put(key, statistic);
+    }
+    statistic.calls++;
+    statistic.nanos += nanos;
+  }
+
+  private static void appendSorted(List<String> lines, Map<String, Statistic> statistics) {
+    for (Map.Entry<String, Statistic> each : sortedByCalls(statistics)) {
+      lines.add("  " + each.getValue() + "  " + each.getKey());
+    }
+  }
+
+  private static <K> List<Map.Entry<K, Statistic>> sortedByCalls(Map<K, Statistic> statistics) {
+    List<Map.Entry<K, Statistic>> result =
+        new ArrayList<Map.Entry<K, Statistic>>(statistics.entrySet());
+    Collections.sort(result, new Comparator<Map.Entry<K, Statistic>>() {
+      @Override
+      public int compare(Map.Entry<K, Statistic> o1, Map.Entry<K, Statistic> o2) {
+        return o2.getValue().calls - o1.getValue().calls;
+      }
+    });
+    return result;
+  }
+
+  private static class Statistic {
+
+    private int calls;
+
+    private long nanos;
+
+    @Override
+    public String toString() {
+      return String.format("%6d %9.3f", calls, nanos / 1000000.0);
+    }
+  }
+
+  private static class Access {
+
+    private final Object element;
+
+    private final String methodKey;
+
+    private final List<Object> args;
+
+    Access(Object element, String methodKey, Object[] args) {
+      this.element = element;
+      this.methodKey = methodKey;
+      this.args = args == null
+          ? Collections.emptyList()
+          : Arrays.asList(args);
+    }
+
+    @Override
+    public int hashCode() {
+      return (element.hashCode() * 31 + methodKey.hashCode()) * 31 + args.hashCode();
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+      if (!(obj instanceof Access)) {
+        return false;
+      }
+      Access other = (Access) obj;
+      return element.equals(other.element)
+        && methodKey.equals(other.methodKey)
+        && args.equals(other.args);
+    }
+
+    @Override
+    public String toString() {
+      String name = element instanceof IJavaElement
+          ? ((IJavaElement) element).getElementName()
+          : String.valueOf(element);
+      return methodKey + args + " on " + name;
+    }
+  }
+
+  static boolean isAudited(Object object) {
+    return object != null
+      && Proxy.isProxyClass(object.getClass())
+      && Proxy.getInvocationHandler(object) instanceof AuditingHandler;
+  }
+}
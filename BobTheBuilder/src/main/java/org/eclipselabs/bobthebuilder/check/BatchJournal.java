@@ -0,0 +1,163 @@
+package org.eclipselabs.bobthebuilder.check;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.apache.commons.lang.Validate;
+
+/**
+ * Records the progress of a batch run, one line per unit as it is done: its outcome, the stamp of
+ * the content it was done with and its handle. A run that starts from the journal of an earlier one
+ * that did not complete skips the units done since with the content they still have and the same
+ * options, so that it does only the remaining work. A line cut short by a crash is cut off the
+ * journal, its unit done again.
+ */
+public class BatchJournal {
+
+  private static final Charset UTF_8 = Charset.forName("UTF-8");
+
+  private static final char SEPARATOR = '\t';
+
+  private final Path file;
+
+  private final String options;
+
+  private final Map<String, Entry> entries = new HashMap<String, Entry>();
+
+  private final Writer writer;
+
+  /**
+   * The options are those that change the outcome of a unit, such as whether it is written: a unit
+   * is only taken from the journal by a run with the options it was done with.
+   */
+  public BatchJournal(Path file, String options) throws IOException {
+    Validate.notNull(file, "file may not be null");
+    Validate.notNull(options, "options may not be null");
+    this.file = file;
+    this.options = options;
+    load();
+    this.writer = new BufferedWriter(new OutputStreamWriter(Files.newOutputStream(
+      file, StandardOpenOption.CREATE, StandardOpenOption.APPEND), UTF_8));
+  }
+
+  /**
+   * The stamp of the content, which tells whether a unit changed since it was recorded.
+   */
+  public static String stampOf(String content) {
+    Validate.notNull(content, "content may not be null");
+    return new Sha256().update(content).toHex();
+  }
+
+  /**
+   * Returns the outcome recorded for the unit with the stamp, null when it was not done with it.
+   */
+  public synchronized Outcome find(String handle, String stamp) {
+    Validate.notEmpty(handle, "handle may not be empty");
+    Validate.notNull(stamp, "stamp may not be null");
+    Entry entry = entries.get(handle);
+    return entry == null || !entry.stamp.equals(keyOf(stamp)) ? null : entry.outcome;
+  }
+
+  // Flushed unit by unit, as the journal is of no use if it is lost with the run
+  public synchronized void record(String handle, String stamp, Outcome outcome)
+    throws IOException {
+    Validate.notEmpty(handle, "handle may not be empty");
+    Validate.notNull(stamp, "stamp may not be null");
+    Validate.notNull(outcome, "outcome may not be null");
+    Validate.isTrue(handle.indexOf('\n') < 0 && handle.indexOf('\r') < 0,
+      "handle may not span lines");
+    String key = keyOf(stamp);
+    writer.write(outcome.name() + SEPARATOR + key + SEPARATOR + handle + "\n");
+    writer.flush();
+    entries.put(handle, new Entry(key, outcome));
+  }
+
+  public synchronized void close() throws IOException {
+    writer.close();
+  }
+
+  /**
+   * Closes and deletes the journal once the run completed, so that the next one starts over.
+   */
+  public synchronized void complete() throws IOException {
+    close();
+    Files.deleteIfExists(file);
+  }
+
+  // The stamp along with the options, as the result cache keys its entries
+  private String keyOf(String stamp) {
+    return new Sha256().update(options).update(stamp).toHex();
+  }
+
+  private void load() throws IOException {
+    byte[] content;
+    try {
+      content = Files.readAllBytes(file);
+    }
+    catch (NoSuchFileException e) {
+      return;
+    }
+    // Only whole lines, the last one may have been cut short
+    int length = content.length;
+    while (length > 0 && content[length - 1] != '\n') {
+      length--;
+    }
+    for (String each : new String(content, 0, length, UTF_8).split("\n")) {
+      parse(each);
+    }
+    if (length < content.length) {
+      // Cut off, or the next line would be appended to it
+      FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE);
+      try {
+        channel.truncate(length);
+      }
+      finally {
+        channel.close();
+      }
+    }
+  }
+
+  private void parse(String line) {
+    int first = line.indexOf(SEPARATOR);
+    int second = first < 0 ? -1 : line.indexOf(SEPARATOR, first + 1);
+    if (second < 0) {
+      return;
+    }
+    try {
+      entries.put(line.substring(second + 1),
+        new Entry(line.substring(first + 1, second), Outcome.valueOf(line.substring(0, first))));
+    }
+    catch (IllegalArgumentException e) {
+      // Not a line of this journal
+    }
+  }
+
+  public enum Outcome {
+    IN_SYNC,
+    OUT_OF_LINE,
+    SYNCED,
+    FAILED
+  }
+
+  private static class Entry {
+
+    private final String stamp;
+
+    private final Outcome outcome;
+
+    Entry(String stamp, Outcome outcome) {
+      this.stamp = stamp;
+      this.outcome = outcome;
+    }
+  }
+}
@@ -0,0 +1,523 @@
+package org.eclipselabs.bobthebuilder.check;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.charset.Charset;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.commons.lang.StringUtils;
+import org.apache.commons.lang.Validate;
+import org.eclipselabs.bobthebuilder.ValidationFramework;
+import org.eclipselabs.bobthebuilder.complement.ComplementModule;
+import org.eclipselabs.bobthebuilder.daemon.BuilderSync;
+import org.eclipselabs.bobthebuilder.daemon.DaemonModule;
+import org.eclipselabs.bobthebuilder.daemon.SourceFiles;
+import org.eclipselabs.bobthebuilder.footprint.Footprint;
+import org.eclipselabs.bobthebuilder.jit.MethodSize;
+import org.eclipselabs.bobthebuilder.mapper.javac.MapperModule;
+
+import com.google.inject.Guice;
+
+/**
+ * Checks, e.g. on CI, that the builders of the java files of source folders are in line with their
+ * main types, and lists those that are not; with {@value #WRITE_PROPERTY} set, it brings them in
+ * line instead. Files whose sources did not change since an earlier run are taken from the
+ * {@link ResultCache} without being parsed. With a {@link BatchJournal} at
+ * {@value #JOURNAL_PROPERTY}, a run that was interrupted resumes where it stopped. With
+ * {@value #SHARDS_PROPERTY} above 1, the files are checked by as many worker JVMs, see
+ * {@link ShardedCheck}. With {@value #FOOTPRINT_PROPERTY} set, the estimated size of an instance of
+ * every main type with a builder and of its builder is listed along, see
+ * {@link org.eclipselabs.bobthebuilder.footprint.FootprintEstimator}. With
+ * {@value #METHOD_SIZE_PROPERTY} set, so is the estimated bytecode size of the constructor with
+ * builder, the build method and the validate method, as the check leaves them, see
+ * {@link org.eclipselabs.bobthebuilder.jit.MethodSize}.
+ * <p>
+ * Started with the source folders as arguments, on a Java 7 runtime with a JDK, as
+ * {@link BuilderSync} is. It exits with 1 when a builder is not in line and was not written. The
+ * system properties {@value #VALIDATION_FRAMEWORK_PROPERTY}, {@value #ENCODING_PROPERTY},
+ * {@value #CACHE_DIRECTORY_PROPERTY} (empty for none) and {@value #CACHE_MAX_BYTES_PROPERTY}
+ * override the defaults.
+ */
+public class BuilderCheck {
+
+  public static final String WRITE_PROPERTY = "bobthebuilder.check.write";
+
+  public static final String VALIDATION_FRAMEWORK_PROPERTY =
+      "bobthebuilder.check.validationFramework";
+
+  public static final String ENCODING_PROPERTY = "bobthebuilder.check.encoding";
+
+  public static final String CACHE_DIRECTORY_PROPERTY = "bobthebuilder.cache.directory";
+
+  public static final String CACHE_MAX_BYTES_PROPERTY = "bobthebuilder.cache.maxBytes";
+
+  public static final String JOURNAL_PROPERTY = "bobthebuilder.check.journal";
+
+  public static final String SHARDS_PROPERTY = "bobthebuilder.check.shards";
+
+  public static final String WORKER_HEAP_PROPERTY = "bobthebuilder.check.workerHeap";
+
+  public static final String FOOTPRINT_PROPERTY = "bobthebuilder.check.footprint";
+
+  public static final String METHOD_SIZE_PROPERTY = "bobthebuilder.check.methodSize";
+
+  static final String DEFAULT_ENCODING = "UTF-8";
+
+  static final String DEFAULT_CACHE_DIRECTORY = ".bobthebuilder-cache";
+
+  static final long DEFAULT_CACHE_MAX_BYTES = 64L * 1024 * 1024;
+
+  static final int DEFAULT_SHARDS = 1;
+
+  private static final String JAVA_FILE_SUFFIX = ".java";
+
+  // The fields named beside the estimated size of an instance
+  private static final int FOOTPRINT_CONTRIBUTORS = 3;
+
+  private final BuilderSync builderSync;
+
+  private final ValidationFramework validationFramework;
+
+  private final Charset charset;
+
+  // Null when results are not cached
+  private final ResultCache resultCache;
+
+  private final PrintStream log;
+
+  private final boolean footprint;
+
+  private final boolean methodSize;
+
+  private BuilderCheck(Builder builder) {
+    this.builderSync = builder.builderSync;
+    this.validationFramework = builder.validationFramework;
+    this.charset = builder.charset;
+    this.resultCache = builder.resultCache;
+    this.log = builder.log;
+    this.footprint = builder.footprint;
+    this.methodSize = builder.methodSize;
+  }
+
+  public static class Builder {
+
+    private BuilderSync builderSync;
+
+    private ValidationFramework validationFramework;
+
+    private Charset charset;
+
+    private ResultCache resultCache;
+
+    private PrintStream log;
+
+    private boolean footprint;
+
+    private boolean methodSize;
+
+    public Builder withBuilderSync(BuilderSync builderSync) {
+      this.builderSync = builderSync;
+      return this;
+    }
+
+    public Builder withValidationFramework(ValidationFramework validationFramework) {
+      this.validationFramework = validationFramework;
+      return this;
+    }
+
+    public Builder withCharset(Charset charset) {
+      this.charset = charset;
+      return this;
+    }
+
+    // None when results are not to be cached
+    public Builder withResultCache(ResultCache resultCache) {
+      this.resultCache = resultCache;
+      return this;
+    }
+
+    public Builder withLog(PrintStream log) {
+      this.log = log;
+      return this;
+    }
+
+    public Builder withFootprint(boolean footprint) {
+      this.footprint = footprint;
+      return this;
+    }
+
+    public Builder withMethodSize(boolean methodSize) {
+      this.methodSize = methodSize;
+      return this;
+    }
+
+    public BuilderCheck build() {
+      validate();
+      return new BuilderCheck(this);
+    }
+
+    private void validate() {
+      Validate.notNull(builderSync, "builderSync may not be null");
+      Validate.notNull(validationFramework, "validationFramework may not be null");
+      Validate.notNull(charset, "charset may not be null");
+      Validate.notNull(log, "log may not be null");
+    }
+  }
+
+  public static void main(String[] args) throws IOException, InterruptedException {
+    if (args.length == 0) {
+      System.err.println("Usage: " + BuilderCheck.class.getName() + " <source folder>...");
+      System.exit(2);
+    }
+    List<Path> roots = new ArrayList<Path>();
+    for (String each : args) {
+      roots.add(Paths.get(each).toAbsolutePath());
+    }
+    BuilderCheck check = fromSystemProperties(System.out);
+    boolean write = Boolean.getBoolean(WRITE_PROPERTY);
+    String journalFile = System.getProperty(JOURNAL_PROPERTY);
+    BatchJournal journal = StringUtils.isEmpty(journalFile)
+        ? null
+        : new BatchJournal(Paths.get(journalFile), check.journalOptions(write));
+    int shards = Integer.getInteger(SHARDS_PROPERTY, DEFAULT_SHARDS);
+    List<Path> javaFiles = listJavaFiles(roots);
+    int outOfLine = shards > 1
+        ? new ShardedCheck(check, shards, System.getProperty(WORKER_HEAP_PROPERTY))
+            .run(javaFiles, write, journal)
+        : check.run(javaFiles, write, journal);
+    if (journal != null) {
+      journal.complete();
+    }
+    System.exit(outOfLine > 0 && !write ? 1 : 0);
+  }
+
+  // As the system properties have it, for the main and for the workers of a sharded check
+  static BuilderCheck fromSystemProperties(PrintStream log) throws IOException {
+    String cacheDirectory = System.getProperty(CACHE_DIRECTORY_PROPERTY, DEFAULT_CACHE_DIRECTORY);
+    ResultCache resultCache = StringUtils.isEmpty(cacheDirectory)
+        ? null
+        : new ResultCache(
+          Paths.get(cacheDirectory),
+          ResultCache.versionOf(BuilderCheck.class),
+          Long.getLong(CACHE_MAX_BYTES_PROPERTY, DEFAULT_CACHE_MAX_BYTES));
+    return new BuilderCheck.Builder()
+        .withBuilderSync(
+          Guice.createInjector(new MapperModule(), new ComplementModule(), new DaemonModule())
+              .getInstance(BuilderSync.class))
+        .withValidationFramework(ValidationFramework.valueOf(System.getProperty(
+          VALIDATION_FRAMEWORK_PROPERTY, ValidationFramework.DEFAULT.name())))
+        .withCharset(Charset.forName(System.getProperty(ENCODING_PROPERTY, DEFAULT_ENCODING)))
+        .withResultCache(resultCache)
+        .withLog(log)
+        .withFootprint(Boolean.getBoolean(FOOTPRINT_PROPERTY))
+        .withMethodSize(Boolean.getBoolean(METHOD_SIZE_PROPERTY))
+        .build();
+  }
+
+  /**
+   * Checks the files, writes those out of line when asked to, and returns how many were.
+   */
+  public int run(List<Path> javaFiles, boolean write) throws IOException {
+    return run(javaFiles, write, null);
+  }
+
+  /**
+   * As {@link #run(List, boolean)}, recording the outcome of every file in the journal and taking
+   * that of the files it recorded with the content they still have. A file that cannot be checked
+   * is recorded as failed and the run goes on.
+   */
+  public int run(List<Path> javaFiles, boolean write, BatchJournal journal) throws IOException {
+    Validate.notNull(javaFiles, "javaFiles may not be null");
+    Report report = new Report();
+    for (Path each : javaFiles) {
+      if (!resume(each, journal, report)) {
+        conclude(checkFile(each), write, journal, report);
+      }
+    }
+    if (resultCache != null) {
+      report.countCacheLookups(resultCache.getHits(), resultCache.getMisses());
+    }
+    return finish(javaFiles.size(), report);
+  }
+
+  /**
+   * Checks the file without writing it, null when it is gone.
+   */
+  FileResult checkFile(Path javaFile) {
+    String source;
+    try {
+      source = SourceFiles.read(javaFile, charset);
+    }
+    catch (IOException e) {
+      return FileResult.failed(javaFile, "", "could not read " + javaFile + ": " + e);
+    }
+    if (source == null) {
+      return null;
+    }
+    String stamp = BatchJournal.stampOf(source);
+    try {
+      ResultCache.Result checked = check(javaFile, source);
+      String estimates = describeEstimates(
+        javaFile, source, checked.isInSync() ? source : checked.getNewSource());
+      return checked.isInSync()
+          ? new FileResult(javaFile, stamp, BatchJournal.Outcome.IN_SYNC, null, estimates)
+          : new FileResult(javaFile, stamp, BatchJournal.Outcome.OUT_OF_LINE,
+            checked.getNewSource(), estimates);
+    }
+    catch (IOException e) {
+      return FileResult.failed(javaFile, stamp, "could not check " + javaFile + ": " + e);
+    }
+    catch (RuntimeException e) {
+      return FileResult.failed(javaFile, stamp, "could not check " + javaFile + ": " + e);
+    }
+  }
+
+  /**
+   * The options that change the outcome a file is journaled with: a file found out of line by a
+   * run that does not write it is still to be synced by one that does.
+   */
+  String journalOptions(boolean write) {
+    return validationFramework.name() + (write ? ",write" : "");
+  }
+
+  // Whether the journal has the outcome of the file with the content it still has
+  boolean resume(Path javaFile, BatchJournal journal, Report report) throws IOException {
+    if (journal == null) {
+      return false;
+    }
+    String source = SourceFiles.read(javaFile, charset);
+    BatchJournal.Outcome outcome =
+        source == null ? null : journal.find(javaFile.toString(), BatchJournal.stampOf(source));
+    if (outcome == null) {
+      return false;
+    }
+    report.resumed++;
+    report.count(outcome);
+    return true;
+  }
+
+  /**
+   * Writes the file when asked to, with the new source of its result unless it changed since it
+   * was checked, then logs and records the outcome.
+   */
+  void conclude(FileResult result, boolean write, BatchJournal journal, Report report)
+    throws IOException {
+    if (result == null) {
+      return;
+    }
+    Path javaFile = result.getJavaFile();
+    BatchJournal.Outcome outcome = result.getOutcome();
+    String stamp = result.getStamp();
+    if (result.getEstimates() != null) {
+      for (String each : StringUtils.split(result.getEstimates(), '\n')) {
+        log.println("Bob The Builder estimates " + each);
+      }
+    }
+    if (outcome == BatchJournal.Outcome.FAILED) {
+      log.println("Bob The Builder " + result.getFailure());
+    }
+    else if (outcome == BatchJournal.Outcome.OUT_OF_LINE) {
+      String source = write ? SourceFiles.read(javaFile, charset) : null;
+      if (source != null && BatchJournal.stampOf(source).equals(stamp)
+        && SourceFiles.replace(javaFile, source, result.getNewSource(), charset)) {
+        log.println("Bob The Builder synced " + javaFile);
+        // Recorded with the content it is found with next
+        stamp = BatchJournal.stampOf(result.getNewSource());
+        outcome = BatchJournal.Outcome.SYNCED;
+      }
+      else {
+        log.println("Bob The Builder found " + javaFile + " out of line");
+      }
+    }
+    if (journal != null) {
+      journal.record(javaFile.toString(), stamp, outcome);
+    }
+    report.count(outcome);
+  }
+
+  ResultCache getResultCache() {
+    return resultCache;
+  }
+
+  int finish(int javaFiles, Report report) {
+    log.println("Bob The Builder checked " + javaFiles + " files, " + report.outOfLine
+      + " out of line" + (report.failed == 0 ? "" : ", " + report.failed + " failed")
+      + (report.resumed == 0 ? "" : ", " + report.resumed + " taken from the journal")
+      + report.cacheSummary());
+    return report.outOfLine;
+  }
+
+  ResultCache.Result check(Path javaFile, String source) throws IOException {
+    String fileName = javaFile.getFileName().toString();
+    Map<String, String> sources = SourceFiles.readWithSuperclasses(javaFile, source, charset);
+    String key = null;
+    if (resultCache != null) {
+      key = resultCache.keyOf(sources, validationFramework.name());
+      ResultCache.Result cached = resultCache.get(key);
+      if (cached != null) {
+        return cached;
+      }
+    }
+    String newSource = builderSync.sync(fileName, sources, validationFramework);
+    ResultCache.Result result =
+        newSource == null ? ResultCache.Result.IN_SYNC : new ResultCache.Result(newSource);
+    if (resultCache != null) {
+      try {
+        resultCache.put(key, result);
+      }
+      catch (IOException e) {
+        // The next run computes it again
+        log.println("Bob The Builder could not cache " + javaFile + ": " + e);
+      }
+    }
+    return result;
+  }
+
+  /*
+   * Not cached, a line per type and per method as asked for, null when none. The methods are
+   * estimated as the check leaves them, i.e. from the new source when out of line.
+   */
+  private String describeEstimates(Path javaFile, String source, String checkedSource) {
+    String path = javaFile.getFileName().toString();
+    List<String> result = new ArrayList<String>();
+    if (footprint) {
+      for (Footprint each : builderSync.estimateFootprints(path, source)) {
+        result.add(each.describe(FOOTPRINT_CONTRIBUTORS));
+      }
+    }
+    if (methodSize) {
+      String typeName = StringUtils.removeEnd(path, JAVA_FILE_SUFFIX);
+      for (MethodSize each : builderSync.lintMethodSizes(path, checkedSource)) {
+        result.add(typeName + "." + each.describe());
+      }
+    }
+    return result.isEmpty() ? null : StringUtils.join(result, '\n');
+  }
+
+  static List<Path> listJavaFiles(List<Path> roots) throws IOException {
+    final List<Path> result = new ArrayList<Path>();
+    for (Path each : roots) {
+      Files.walkFileTree(each, new SimpleFileVisitor<Path>() {
+        @Override
+        public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) {
+          if (file.getFileName().toString().endsWith(JAVA_FILE_SUFFIX)) {
+            result.add(file);
+          }
+          return FileVisitResult.CONTINUE;
+        }
+      });
+    }
+    Collections.sort(result);
+    return result;
+  }
+
+  /**
+   * What checking a file found, with the stamp of the source it was checked with.
+   */
+  static class FileResult {
+
+    private final Path javaFile;
+
+    private final String stamp;
+
+    private final BatchJournal.Outcome outcome;
+
+    // The new source when out of line, what went wrong when failed
+    private final String detail;
+
+    // A line per estimate asked for, when the main type has a builder
+    private final String estimates;
+
+    FileResult(Path javaFile, String stamp, BatchJournal.Outcome outcome, String detail,
+        String estimates) {
+      this.javaFile = javaFile;
+      this.stamp = stamp;
+      this.outcome = outcome;
+      this.detail = detail;
+      this.estimates = estimates;
+    }
+
+    static FileResult failed(Path javaFile, String stamp, String failure) {
+      return new FileResult(javaFile, stamp, BatchJournal.Outcome.FAILED, failure, null);
+    }
+
+    Path getJavaFile() {
+      return javaFile;
+    }
+
+    String getStamp() {
+      return stamp;
+    }
+
+    BatchJournal.Outcome getOutcome() {
+      return outcome;
+    }
+
+    String getNewSource() {
+      return outcome == BatchJournal.Outcome.OUT_OF_LINE ? detail : null;
+    }
+
+    String getFailure() {
+      return outcome == BatchJournal.Outcome.FAILED ? detail : null;
+    }
+
+    String getDetail() {
+      return detail;
+    }
+
+    String getEstimates() {
+      return estimates;
+    }
+  }
+
+  /**
+   * The counts of a run, merged from all its shards.
+   */
+  static class Report {
+
+    private int outOfLine;
+
+    private int failed;
+
+    private int resumed;
+
+    private boolean cached;
+
+    private long cacheHits;
+
+    private long cacheMisses;
+
+    void count(BatchJournal.Outcome outcome) {
+      if (outcome == BatchJournal.Outcome.FAILED) {
+        failed++;
+      }
+      else if (outcome != BatchJournal.Outcome.IN_SYNC) {
+        outOfLine++;
+      }
+    }
+
+    void countCacheLookups(long hits, long misses) {
+      cached = true;
+      cacheHits += hits;
+      cacheMisses += misses;
+    }
+
+    private String cacheSummary() {
+      if (!cached) {
+        return "";
+      }
+      long lookups = cacheHits + cacheMisses;
+      return String.format(", cache hit %d of %d (%.0f%%)", cacheHits, lookups,
+        lookups == 0 ? 0.0 : cacheHits * 100.0 / lookups);
+    }
+  }
+}
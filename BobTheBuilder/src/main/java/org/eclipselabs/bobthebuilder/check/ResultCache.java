@@ -0,0 +1,317 @@
+package org.eclipselabs.bobthebuilder.check;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.nio.charset.Charset;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.jar.JarFile;
+import java.util.jar.Manifest;
+
+import org.apache.commons.lang.Validate;
+
+/**
+ * Remembers the outcome of syncing sources on disk, by a hash of the sources, the version of the
+ * plugin and the options, so that a run over files that did not change since the last one skips
+ * parsing them. An entry holds either that the builder is in sync or the new source.
+ * <p>
+ * Runs in the same directory may share it: an entry is written to a temporary file and moved in
+ * place, so that it is read whole or not at all, and an entry another run evicts is a miss. Hits
+ * touch their entry, and once the entries exceed the size bound, the least recently used are
+ * evicted down to {@value #EVICTION_PERCENT}% of it.
+ */
+public class ResultCache {
+
+  static final int EVICTION_PERCENT = 80;
+
+  private static final Charset UTF_8 = Charset.forName("UTF-8");
+
+  private static final byte IN_SYNC = 'S';
+
+  private static final byte NEW_SOURCE = 'E';
+
+  private static final String ENTRY_SUFFIX = ".entry";
+
+  private static final String TEMPORARY_FILE_SUFFIX = ".tmp";
+
+  private final Path directory;
+
+  private final String version;
+
+  private final long maxBytes;
+
+  private final AtomicLong bytes;
+
+  private final AtomicLong hits = new AtomicLong();
+
+  private final AtomicLong misses = new AtomicLong();
+
+  public ResultCache(Path directory, String version, long maxBytes) throws IOException {
+    Validate.notNull(directory, "directory may not be null");
+    Validate.notEmpty(version, "version may not be empty");
+    Validate.isTrue(maxBytes > 0, "maxBytes should be positive");
+    this.directory = directory;
+    this.version = version;
+    this.maxBytes = maxBytes;
+    Files.createDirectories(directory);
+    this.bytes = new AtomicLong(sizeOf(listEntries()));
+  }
+
+  /**
+   * The key of the sources {@link org.eclipselabs.bobthebuilder.daemon.BuilderSync} is given,
+   * along with the options that change its outcome.
+   */
+  public String keyOf(Map<String, String> sources, String options) {
+    Validate.notNull(sources, "sources may not be null");
+    Validate.notNull(options, "options may not be null");
+    Sha256 result = new Sha256().update(version).update(options);
+    for (Map.Entry<String, String> each : sources.entrySet()) {
+      result.update(each.getKey()).update(each.getValue());
+    }
+    return result.toHex();
+  }
+
+  /**
+   * Returns the entry of the key, null on a miss.
+   */
+  public Result get(String key) {
+    Validate.notEmpty(key, "key may not be empty");
+    Path entry = entryOf(key);
+    try {
+      byte[] content = Files.readAllBytes(entry);
+      if (content.length == 0) {
+        throw new IOException("Empty entry " + entry);
+      }
+      Files.setLastModifiedTime(entry, FileTime.fromMillis(System.currentTimeMillis()));
+      hits.incrementAndGet();
+      return content[0] == IN_SYNC
+          ? Result.IN_SYNC
+          : new Result(new String(content, 1, content.length - 1, UTF_8));
+    }
+    catch (NoSuchFileException e) {
+      // Not there, or evicted by another run in between
+    }
+    catch (IOException e) {
+      // As good as a miss, the entry is computed again
+    }
+    misses.incrementAndGet();
+    return null;
+  }
+
+  public void put(String key, Result result) throws IOException {
+    Validate.notEmpty(key, "key may not be empty");
+    Validate.notNull(result, "result may not be null");
+    Path entry = entryOf(key);
+    byte[] newSource = result.isInSync() ? new byte[0] : result.getNewSource().getBytes(UTF_8);
+    byte[] content = new byte[newSource.length + 1];
+    content[0] = result.isInSync() ? IN_SYNC : NEW_SOURCE;
+    System.arraycopy(newSource, 0, content, 1, newSource.length);
+    Files.createDirectories(entry.getParent());
+    Path temporaryFile =
+        Files.createTempFile(entry.getParent(), key, TEMPORARY_FILE_SUFFIX);
+    try {
+      Files.write(temporaryFile, content);
+      try {
+        Files.move(temporaryFile, entry, StandardCopyOption.ATOMIC_MOVE,
+          StandardCopyOption.REPLACE_EXISTING);
+      }
+      catch (AtomicMoveNotSupportedException e) {
+        Files.move(temporaryFile, entry, StandardCopyOption.REPLACE_EXISTING);
+      }
+    }
+    finally {
+      Files.deleteIfExists(temporaryFile);
+    }
+    if (bytes.addAndGet(content.length) > maxBytes) {
+      evict();
+    }
+  }
+
+  public long getHits() {
+    return hits.get();
+  }
+
+  public long getMisses() {
+    return misses.get();
+  }
+
+  /**
+   * The share of lookups that hit, 0 before any.
+   */
+  public double getHitRate() {
+    long lookups = hits.get() + misses.get();
+    return lookups == 0 ? 0 : (double) hits.get() / lookups;
+  }
+
+  // The entries of all runs are listed again, the count of this one misses theirs
+  synchronized void evict() throws IOException {
+    List<Path> entries = listEntries();
+    final Map<Path, Long> lastModified = new HashMap<Path, Long>();
+    long total = 0;
+    for (Path each : entries) {
+      try {
+        BasicFileAttributes attributes = Files.readAttributes(each, BasicFileAttributes.class);
+        lastModified.put(each, attributes.lastModifiedTime().toMillis());
+        total += attributes.size();
+      }
+      catch (NoSuchFileException e) {
+        // Evicted by another run
+      }
+    }
+    entries.retainAll(lastModified.keySet());
+    Collections.sort(entries, new Comparator<Path>() {
+      @Override
+      public int compare(Path o1, Path o2) {
+        return lastModified.get(o1).compareTo(lastModified.get(o2));
+      }
+    });
+    long target = maxBytes * EVICTION_PERCENT / 100;
+    for (Path each : entries) {
+      if (total <= target) {
+        break;
+      }
+      long size = Files.size(each);
+      if (Files.deleteIfExists(each)) {
+        total -= size;
+      }
+    }
+    bytes.set(total);
+  }
+
+  // Spread over subdirectories by the first characters of the key, as few file systems like
+  // directories of many thousand files
+  private Path entryOf(String key) {
+    return directory.resolve(key.substring(0, 2)).resolve(key + ENTRY_SUFFIX);
+  }
+
+  private List<Path> listEntries() throws IOException {
+    List<Path> result = new ArrayList<Path>();
+    DirectoryStream<Path> subdirectories = Files.newDirectoryStream(directory);
+    try {
+      for (Path each : subdirectories) {
+        if (!Files.isDirectory(each)) {
+          continue;
+        }
+        DirectoryStream<Path> entries = Files.newDirectoryStream(each, "*" + ENTRY_SUFFIX);
+        try {
+          for (Path entry : entries) {
+            result.add(entry);
+          }
+        }
+        finally {
+          entries.close();
+        }
+      }
+    }
+    finally {
+      subdirectories.close();
+    }
+    return result;
+  }
+
+  private static long sizeOf(List<Path> entries) throws IOException {
+    long result = 0;
+    for (Path each : entries) {
+      try {
+        result += Files.size(each);
+      }
+      catch (NoSuchFileException e) {
+        // Evicted by another run
+      }
+    }
+    return result;
+  }
+
+  /**
+   * The version of the plugin the class is loaded from: the bundle version of its jar, else, run
+   * from a build output folder, the time the class was built at.
+   */
+  public static String versionOf(Class<?> type) {
+    Validate.notNull(type, "type may not be null");
+    URL location = type.getProtectionDomain().getCodeSource().getLocation();
+    try {
+      File file = new File(location.toURI());
+      if (file.isFile()) {
+        return versionOfJar(file);
+      }
+      URL classFile = type.getResource(type.getSimpleName() + ".class");
+      return "build-" + new File(classFile.toURI()).lastModified();
+    }
+    catch (URISyntaxException e) {
+      throw new IllegalStateException(e);
+    }
+    catch (IOException e) {
+      throw new IllegalStateException(e);
+    }
+  }
+
+  /*
+   * The bundle version of a release. Every snapshot build has the same bundle version, e.g.
+   * 1.0.6.snapshot, or the qualifier left unexpanded, so that of a snapshot is told apart by the
+   * hash of the jar.
+   */
+  static String versionOfJar(File file) throws IOException {
+    JarFile jarFile = new JarFile(file);
+    String version;
+    try {
+      Manifest manifest = jarFile.getManifest();
+      version = manifest == null ? null : manifest.getMainAttributes().getValue("Bundle-Version");
+    }
+    finally {
+      jarFile.close();
+    }
+    if (version != null && !isSnapshot(version)) {
+      return version;
+    }
+    String hash = new Sha256().update(Files.readAllBytes(file.toPath())).toHex();
+    return (version == null ? "jar" : version) + "-" + hash;
+  }
+
+  private static boolean isSnapshot(String version) {
+    String lowerCase = version.toLowerCase(Locale.ENGLISH);
+    return lowerCase.endsWith("snapshot") || lowerCase.endsWith("qualifier");
+  }
+
+  /**
+   * What syncing found: that the builder is in sync, or the new source.
+   */
+  public static class Result {
+
+    public static final Result IN_SYNC = new Result();
+
+    private final String newSource;
+
+    private Result() {
+      this.newSource = null;
+    }
+
+    public Result(String newSource) {
+      Validate.notNull(newSource, "newSource may not be null");
+      this.newSource = newSource;
+    }
+
+    public boolean isInSync() {
+      return newSource == null;
+    }
+
+    public String getNewSource() {
+      return newSource;
+    }
+  }
+}
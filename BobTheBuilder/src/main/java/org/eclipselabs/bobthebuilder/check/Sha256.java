@@ -0,0 +1,49 @@
+package org.eclipselabs.bobthebuilder.check;
+
+import java.nio.charset.Charset;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+
+/**
+ * Hashes sequences of strings into hexadecimal keys and stamps.
+ */
+final class Sha256 {
+
+  private static final Charset UTF_8 = Charset.forName("UTF-8");
+
+  private final MessageDigest digest;
+
+  Sha256() {
+    try {
+      digest = MessageDigest.getInstance("SHA-256");
+    }
+    catch (NoSuchAlgorithmException e) {
+      throw new IllegalStateException("Every Java platform has SHA-256", e);
+    }
+  }
+
+  Sha256 update(String value) {
+    byte[] bytes = value.getBytes(UTF_8);
+    // Length first, so that no two sequences of strings run into the same bytes
+    digest.update(new byte[] {
+      (byte) (bytes.length >>> 24), (byte) (bytes.length >>> 16), (byte) (bytes.length >>> 8),
+      (byte) bytes.length });
+    digest.update(bytes);
+    return this;
+  }
+
+  // As is, for contents that are hashed alone
+  Sha256 update(byte[] bytes) {
+    digest.update(bytes);
+    return this;
+  }
+
+  String toHex() {
+    StringBuilder result = new StringBuilder();
+    for (byte each : digest.digest()) {
+      result.append(Character.forDigit((each >> 4) & 0xf, 16));
+      result.append(Character.forDigit(each & 0xf, 16));
+    }
+    return result.toString();
+  }
+}
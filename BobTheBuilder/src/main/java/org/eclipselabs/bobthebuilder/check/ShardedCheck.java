@@ -0,0 +1,283 @@
+package org.eclipselabs.bobthebuilder.check;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.Charset;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.commons.lang.StringUtils;
+import org.apache.commons.lang.Validate;
+
+/**
+ * Checks the files of a {@link BuilderCheck} in worker JVMs, each with a heap of its own, as a
+ * single JVM parsing tens of thousands of files is held up by its heap long before its cores. The
+ * files are partitioned into shards by package, the largest packages first into the smallest
+ * shard, so that the superclasses a shard reads are mostly of its own packages. Workers only
+ * check; their results are merged here, into one report, and the files are written, journaled and
+ * logged by this JVM alone.
+ * <p>
+ * Workers are started with the java of this JVM and its class path, the {@code bobthebuilder}
+ * system properties and the module options it was started with, and share its
+ * {@link ResultCache}.
+ */
+public class ShardedCheck {
+
+  private static final Charset UTF_8 = Charset.forName("UTF-8");
+
+  private static final String SYSTEM_PROPERTY_PREFIX = "bobthebuilder.";
+
+  private final BuilderCheck check;
+
+  private final int shards;
+
+  // Null for the default of the JVM
+  private final String workerHeap;
+
+  public ShardedCheck(BuilderCheck check, int shards, String workerHeap) {
+    Validate.notNull(check, "check may not be null");
+    Validate.isTrue(shards > 0, "shards should be positive");
+    this.check = check;
+    this.shards = shards;
+    this.workerHeap = workerHeap;
+  }
+
+  /**
+   * As {@link BuilderCheck#run(List, boolean, BatchJournal)}, the files the journal does not have
+   * being checked by the workers. A file whose worker failed before checking it is reported as
+   * failed.
+   */
+  public int run(List<Path> javaFiles, boolean write, BatchJournal journal)
+    throws IOException, InterruptedException {
+    Validate.notNull(javaFiles, "javaFiles may not be null");
+    BuilderCheck.Report report = new BuilderCheck.Report();
+    List<Path> remaining = new ArrayList<Path>();
+    for (Path each : javaFiles) {
+      if (!check.resume(each, journal, report)) {
+        remaining.add(each);
+      }
+    }
+    Map<Path, BuilderCheck.FileResult> results = new HashMap<Path, BuilderCheck.FileResult>();
+    Path directory = Files.createTempDirectory("bobthebuilder-shards");
+    List<Process> workers = new ArrayList<Process>();
+    try {
+      List<List<Path>> partition = partition(remaining, shards);
+      List<Path> resultFiles = new ArrayList<Path>();
+      for (int i = 0; i < partition.size(); i++) {
+        Path filesList = directory.resolve("shard-" + i + ".files");
+        Path resultFile = directory.resolve("shard-" + i + ".results");
+        Files.write(filesList, (StringUtils.join(partition.get(i), '\n') + "\n").getBytes(UTF_8));
+        workers.add(new ProcessBuilder(workerCommand(filesList, resultFile)).inheritIO().start());
+        resultFiles.add(resultFile);
+      }
+      for (int i = 0; i < workers.size(); i++) {
+        int exitValue = workers.get(i).waitFor();
+        readResults(resultFiles.get(i), results, report);
+        for (Path each : partition.get(i)) {
+          if (!results.containsKey(each) && Files.exists(each)) {
+            results.put(each, BuilderCheck.FileResult.failed(each, "",
+              "could not check " + each + ": its worker exited with " + exitValue));
+          }
+        }
+      }
+    }
+    finally {
+      for (Process each : workers) {
+        each.destroy();
+      }
+      delete(directory);
+    }
+    // In the order of the files, as a run in a single JVM
+    for (Path each : remaining) {
+      check.conclude(results.get(each), write, journal, report);
+    }
+    return check.finish(javaFiles.size(), report);
+  }
+
+  /**
+   * Partitions the files by the directory they are in, into at most as many shards of files as
+   * close to one another in number as the packages allow.
+   */
+  static List<List<Path>> partition(List<Path> javaFiles, int shards) {
+    Map<Path, List<Path>> packages = new LinkedHashMap<Path, List<Path>>();
+    for (Path each : javaFiles) {
+      List<Path> files = packages.get(each.getParent());
+      if (files == null) {
+        files = new ArrayList<Path>();
+        packages.put(each.getParent(), files);
+      }
+      files.add(each);
+    }
+    List<List<Path>> largestFirst = new ArrayList<List<Path>>(packages.values());
+    Collections.sort(largestFirst, new Comparator<List<Path>>() {
+      @Override
+      public int compare(List<Path> o1, List<Path> o2) {
+        return o2.size() - o1.size();
+      }
+    });
+    List<List<Path>> result = new ArrayList<List<Path>>();
+    for (int i = 0; i < Math.min(shards, largestFirst.size()); i++) {
+      result.add(new ArrayList<Path>());
+    }
+    for (List<Path> each : largestFirst) {
+      List<Path> smallest = result.get(0);
+      for (List<Path> shard : result) {
+        if (shard.size() < smallest.size()) {
+          smallest = shard;
+        }
+      }
+      smallest.addAll(each);
+    }
+    return result;
+  }
+
+  List<String> workerCommand(Path filesList, Path resultFile) {
+    List<String> result = new ArrayList<String>();
+    result.add(System.getProperty("java.home") + File.separator + "bin" + File.separator + "java");
+    if (!StringUtils.isEmpty(workerHeap)) {
+      result.add("-Xmx" + workerHeap);
+    }
+    for (String each : ManagementFactory.getRuntimeMXBean().getInputArguments()) {
+      if (each.startsWith("--add-opens") || each.startsWith("--add-exports")) {
+        result.add(each);
+      }
+    }
+    for (String each : System.getProperties().stringPropertyNames()) {
+      if (each.startsWith(SYSTEM_PROPERTY_PREFIX)) {
+        result.add("-D" + each + "=" + System.getProperty(each));
+      }
+    }
+    result.add("-cp");
+    result.add(System.getProperty("java.class.path"));
+    result.add(Worker.class.getName());
+    result.add(filesList.toString());
+    result.add(resultFile.toString());
+    return result;
+  }
+
+  // Up to the last whole result, as a worker that failed may have written only some
+  private static void readResults(Path resultFile, Map<Path, BuilderCheck.FileResult> results,
+    BuilderCheck.Report report) throws IOException {
+    DataInputStream in;
+    try {
+      in = new DataInputStream(new BufferedInputStream(Files.newInputStream(resultFile)));
+    }
+    catch (NoSuchFileException e) {
+      return;
+    }
+    try {
+      while (in.readBoolean()) {
+        Path javaFile = Paths.get(in.readUTF());
+        String stamp = in.readUTF();
+        BatchJournal.Outcome outcome = BatchJournal.Outcome.valueOf(in.readUTF());
+        String detail = null;
+        if (in.readBoolean()) {
+          byte[] bytes = new byte[in.readInt()];
+          in.readFully(bytes);
+          detail = new String(bytes, UTF_8);
+        }
+        String estimates = in.readBoolean() ? in.readUTF() : null;
+        results.put(
+          javaFile, new BuilderCheck.FileResult(javaFile, stamp, outcome, detail, estimates));
+      }
+      if (in.readBoolean()) {
+        report.countCacheLookups(in.readLong(), in.readLong());
+      }
+    }
+    catch (EOFException e) {
+      // Cut short
+    }
+    finally {
+      in.close();
+    }
+  }
+
+  private static void writeResult(DataOutputStream out, BuilderCheck.FileResult result)
+    throws IOException {
+    out.writeBoolean(true);
+    out.writeUTF(result.getJavaFile().toString());
+    out.writeUTF(result.getStamp());
+    out.writeUTF(result.getOutcome().name());
+    out.writeBoolean(result.getDetail() != null);
+    if (result.getDetail() != null) {
+      byte[] bytes = result.getDetail().getBytes(UTF_8);
+      out.writeInt(bytes.length);
+      out.write(bytes);
+    }
+    out.writeBoolean(result.getEstimates() != null);
+    if (result.getEstimates() != null) {
+      out.writeUTF(result.getEstimates());
+    }
+  }
+
+  private static void delete(Path directory) throws IOException {
+    Files.walkFileTree(directory, new SimpleFileVisitor<Path>() {
+      @Override
+      public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) throws IOException {
+        Files.delete(file);
+        return FileVisitResult.CONTINUE;
+      }
+
+      @Override
+      public FileVisitResult postVisitDirectory(Path dir, IOException e) throws IOException {
+        Files.delete(dir);
+        return FileVisitResult.CONTINUE;
+      }
+    });
+  }
+
+  /**
+   * Checks the files of a shard, listed one per line in the file of the first argument, and
+   * writes the results to the file of the second.
+   */
+  public static class Worker {
+
+    public static void main(String[] args) throws IOException {
+      Validate.isTrue(args.length == 2, "Usage: " + Worker.class.getName()
+        + " <files list> <results file>");
+      BuilderCheck check = BuilderCheck.fromSystemProperties(System.err);
+      List<String> javaFiles = Files.readAllLines(Paths.get(args[0]), UTF_8);
+      DataOutputStream out = new DataOutputStream(
+        new BufferedOutputStream(Files.newOutputStream(Paths.get(args[1]))));
+      try {
+        for (String each : javaFiles) {
+          if (each.isEmpty()) {
+            continue;
+          }
+          BuilderCheck.FileResult result = check.checkFile(Paths.get(each));
+          if (result != null) {
+            writeResult(out, result);
+          }
+        }
+        out.writeBoolean(false);
+        ResultCache resultCache = check.getResultCache();
+        out.writeBoolean(resultCache != null);
+        if (resultCache != null) {
+          out.writeLong(resultCache.getHits());
+          out.writeLong(resultCache.getMisses());
+        }
+      }
+      finally {
+        out.close();
+      }
+    }
+  }
+}
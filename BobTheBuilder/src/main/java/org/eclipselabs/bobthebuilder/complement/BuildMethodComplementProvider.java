@@ -8,6 +8,10 @@ public class BuildMethodComplementProvider {
 
   public BuildMethodComplement complement(MainType mainType) {
     Validate.notNull(mainType, "mainType may not be null");
+    if (mainType.isAbstractType()) {
+      // The builder of an abstract type is only extended, never built
+      return BuildMethodComplement.NOTHING_TO_DO;
+    }
     BuilderType builderType = mainType.getBuilderType();
     if (builderType == null || builderType.getBuildMethod() == null) {
       return BuildMethodComplement.ENTIRE_METHOD;
@@ -14,5 +14,6 @@ public class ComplementModule extends AbstractModule {
     bind(WithMethodsComplementProvider.class);
     bind(BuildMethodComplementProvider.class);
     bind(ValidateMethodComplementProvider.class);
+    bind(UnboxableFieldsProvider.class);
   }
 }
@@ -1,5 +1,8 @@
 package org.eclipselabs.bobthebuilder.complement;
 
+import java.util.HashSet;
+import java.util.Set;
+
 import org.apache.commons.lang.Validate;
 import org.eclipselabs.bobthebuilder.model.ConstructorWithBuilderComplement;
 import org.eclipselabs.bobthebuilder.model.Field;
@@ -19,16 +22,13 @@ public class ConstructorWithBuilderComplementProvider {
       }
     }
     else {
-      for(Field eachField : mainType.getFields()) {
-        boolean found = false;
-        for (FieldAssignment eachAssignment : mainType.getConstructorWithBuilder().getFieldAssignment()) {
-          if (eachField.getName().equals(eachAssignment.getName())) {
-            found = true;
-            continue;
-          }
-        }
-        if (!found) {
-          builder.addFieldAssignment(new FieldAssignment(eachField));
+      Set<String> assignedFieldNames = new HashSet<String>();
+      for (FieldAssignment each : mainType.getConstructorWithBuilder().getFieldAssignment()) {
+        assignedFieldNames.add(each.getName());
+      }
+      for (Field each : mainType.getFields()) {
+        if (!assignedFieldNames.contains(each.getName())) {
+          builder.addFieldAssignment(new FieldAssignment(each));
         }
       }
     }
@@ -14,12 +14,16 @@ public class MainTypeComplementProvider {
 
   private final BuilderTypeComplementProvider builderTypeComplementProvider;
 
+  private final UnboxableFieldsProvider unboxableFieldsProvider;
+
   @Inject
   public MainTypeComplementProvider(
       ConstructorWithBuilderComplementProvider constructorWithBuilderComplementProvider,
-      BuilderTypeComplementProvider builderTypeComplementProvider) {
+      BuilderTypeComplementProvider builderTypeComplementProvider,
+      UnboxableFieldsProvider unboxableFieldsProvider) {
     this.constructorWithBuilderComplementProvider = constructorWithBuilderComplementProvider;
     this.builderTypeComplementProvider = builderTypeComplementProvider;
+    this.unboxableFieldsProvider = unboxableFieldsProvider;
   }
 
   public MainTypeComplement complement(MainType mainType) {
@@ -31,6 +35,8 @@ public class MainTypeComplementProvider {
     return new MainTypeComplement.Builder()
         .withConstructorWithBuilderComplement(constructorWithBuilderComplement)
         .withBuilderTypeComplement(builderTypeComplement)
+        .withUnboxableFields(unboxableFieldsProvider.provide(
+          mainType, builderTypeComplement.getValidateMethodComplement()))
         .build();
   }
 }
@@ -0,0 +1,108 @@
+package org.eclipselabs.bobthebuilder.complement;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+import org.apache.commons.lang.Validate;
+import org.eclipselabs.bobthebuilder.model.BuilderType;
+import org.eclipselabs.bobthebuilder.model.Field;
+import org.eclipselabs.bobthebuilder.model.FieldAssignment;
+import org.eclipselabs.bobthebuilder.model.MainType;
+import org.eclipselabs.bobthebuilder.model.ValidateMethodComplement;
+
+/**
+ * Finds the boxed fields of the main type, e.g. an {@code Integer}, that the builder keeps from
+ * being null: the validate method has a not null validation of the field, or it is missing one
+ * and gets one from {@link org.eclipselabs.bobthebuilder.ValidationFramework}, which validates any
+ * boxed field as not null. Such a field costs an object and an indirection for nothing and may be
+ * of the primitive type instead. A field the builder has with another type is left alone until
+ * the builder is in line.
+ */
+public class UnboxableFieldsProvider {
+
+  private static final Map<String, String> PRIMITIVES = new HashMap<String, String>();
+
+  static {
+    PRIMITIVES.put("Boolean", "boolean");
+    PRIMITIVES.put("Byte", "byte");
+    PRIMITIVES.put("Character", "char");
+    PRIMITIVES.put("Short", "short");
+    PRIMITIVES.put("Integer", "int");
+    PRIMITIVES.put("Long", "long");
+    PRIMITIVES.put("Float", "float");
+    PRIMITIVES.put("Double", "double");
+  }
+
+  private static final String JAVA_LANG = "java.lang.";
+
+  public Set<Field> provide(MainType mainType, ValidateMethodComplement validateMethodComplement) {
+    Validate.notNull(mainType, "mainType may not be null");
+    Validate.notNull(validateMethodComplement, "validateMethodComplement may not be null");
+    Set<Field> result = new HashSet<Field>();
+    BuilderType builderType = mainType.getBuilderType();
+    Set<Field> missingValidations = new HashSet<Field>();
+    for (FieldAssignment each : validateMethodComplement.getFieldAssignments()) {
+      missingValidations.add(each.getField());
+    }
+    for (Field each : mainType.getFields()) {
+      if (primitiveOf(each.getSignature()) == null || !isInLine(each, builderType)) {
+        continue;
+      }
+      if (missingValidations.contains(each) || isValidatedNotNull(each, builderType)) {
+        result.add(each);
+      }
+    }
+    return Collections.unmodifiableSet(result);
+  }
+
+  /**
+   * The primitive type of a boxed type, null for any other type.
+   */
+  public static String primitiveOf(String signature) {
+    Validate.notNull(signature, "signature may not be null");
+    return PRIMITIVES.get(
+      signature.startsWith(JAVA_LANG) ? signature.substring(JAVA_LANG.length()) : signature);
+  }
+
+  /**
+   * The field of the primitive type of the boxed field, at the same position.
+   */
+  public static Field unbox(Field field) {
+    Validate.notNull(field, "field may not be null");
+    String primitive = primitiveOf(field.getSignature());
+    Validate.notNull(primitive, field.getSignature() + " is not a boxed type");
+    return new Field.Builder()
+        .withName(field.getName())
+        .withSignature(primitive)
+        .withPosition(field.getPosition())
+        .build();
+  }
+
+  // Either the builder does not have the field yet or it has it with the same type
+  private static boolean isInLine(Field field, BuilderType builderType) {
+    if (builderType == null) {
+      return true;
+    }
+    for (Field each : builderType.getBuilderFields()) {
+      if (each.getName().equals(field.getName())) {
+        return each.getSignature().equals(field.getSignature());
+      }
+    }
+    return true;
+  }
+
+  private static boolean isValidatedNotNull(Field field, BuilderType builderType) {
+    if (builderType == null || builderType.getValidateMethod() == null) {
+      return false;
+    }
+    return Pattern.compile(
+      "\\b(?:notNull|checkNotNull)\\s*\\(\\s*(?:this\\s*\\.\\s*)?"
+        + Pattern.quote(field.getName()) + "\\s*[,)]")
+        .matcher(builderType.getValidateMethod().getSource())
+        .find();
+  }
+}
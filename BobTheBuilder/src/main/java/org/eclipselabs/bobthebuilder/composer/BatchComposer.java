@@ -0,0 +1,200 @@
+package org.eclipselabs.bobthebuilder.composer;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import javax.inject.Inject;
+
+import org.apache.commons.lang.Validate;
+import org.eclipse.core.resources.IWorkspaceRunnable;
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.NullProgressMonitor;
+import org.eclipse.core.runtime.OperationCanceledException;
+import org.eclipse.core.runtime.jobs.ISchedulingRule;
+import org.eclipse.core.runtime.jobs.MultiRule;
+import org.eclipse.jdt.core.ICompilationUnit;
+import org.eclipse.jdt.core.JavaModelException;
+
+/**
+ * Composes several compilation units at once. The edits are made on working copies concurrently,
+ * one thread per core, each holding only the rule of its own compilation unit. The working copies
+ * are then committed in a single workspace operation holding the rules of all of them, so the
+ * auto-build runs once, after the whole batch.
+ * <p>
+ * As with {@link Composer#compose}, a compilation unit open in an editor is edited through the
+ * buffer it shares with the editor and is left uncommitted, for the user to save. Such a unit is
+ * edited on the calling thread while the others are edited concurrently: its buffer updates the
+ * document of the editor on the UI thread, which would otherwise be the one waiting for the edit.
+ */
+public class BatchComposer {
+
+  private final Composer composer;
+
+  @Inject
+  public BatchComposer(Composer composer) {
+    this.composer = composer;
+  }
+
+  public void composeAll(List<Composition> compositions, IProgressMonitor monitor)
+    throws JavaModelException {
+    Validate.notNull(compositions, "compositions may not be null");
+    Validate.noNullElements(compositions, "compositions may not contain null elements");
+    Set<ICompilationUnit> compilationUnits = new HashSet<ICompilationUnit>();
+    for (Composition each : compositions) {
+      compilationUnits.add(each.getFlattenedICompilationUnit().getCompilationUnit());
+    }
+    Validate.isTrue(compilationUnits.size() == compositions.size(),
+      "compositions may not contain the same compilation unit twice");
+    if (compositions.isEmpty()) {
+      return;
+    }
+    IProgressMonitor progress = monitor == null ? new NullProgressMonitor() : monitor;
+    List<Composition> toCommit = new ArrayList<Composition>();
+    for (Composition each : compositions) {
+      if (!each.getFlattenedICompilationUnit().getCompilationUnit().isWorkingCopy()) {
+        toCommit.add(each);
+      }
+    }
+    progress.beginTask("Composing builders", compositions.size() + toCommit.size());
+    try {
+      editConcurrently(compositions, toCommit, progress);
+      if (progress.isCanceled()) {
+        throw new OperationCanceledException();
+      }
+      if (!toCommit.isEmpty()) {
+        commitAll(toCommit, progress);
+      }
+    }
+    finally {
+      for (Composition each : compositions) {
+        composer.discard(each.getFlattenedICompilationUnit());
+      }
+      progress.done();
+    }
+  }
+
+  private void editConcurrently(List<Composition> compositions, List<Composition> toCommit,
+    IProgressMonitor progress) throws JavaModelException {
+    ExecutorService executor = null;
+    List<Future<Void>> edits = new ArrayList<Future<Void>>(toCommit.size());
+    JavaModelException failure = null;
+    try {
+      if (!toCommit.isEmpty()) {
+        executor = Executors.newFixedThreadPool(
+          Math.min(toCommit.size(), Runtime.getRuntime().availableProcessors()));
+        for (Composition each : toCommit) {
+          edits.add(executor.submit(new Edit(each, false)));
+        }
+      }
+      for (Composition each : compositions) {
+        if (toCommit.contains(each)) {
+          continue;
+        }
+        try {
+          new Edit(each, true).call();
+        }
+        catch (JavaModelException e) {
+          failure = e;
+          break;
+        }
+        progress.worked(1);
+      }
+    }
+    finally {
+      // Wait for every edit, even after a failure, so that no working copy is discarded mid-edit
+      for (Future<Void> each : edits) {
+        try {
+          waitFor(each);
+        }
+        catch (JavaModelException e) {
+          if (failure == null) {
+            failure = e;
+          }
+        }
+        progress.worked(1);
+      }
+      if (executor != null) {
+        executor.shutdown();
+      }
+    }
+    if (failure != null) {
+      throw failure;
+    }
+  }
+
+  private void commitAll(final List<Composition> compositions, final IProgressMonitor progress)
+    throws JavaModelException {
+    ISchedulingRule[] rules = new ISchedulingRule[compositions.size()];
+    for (int i = 0; i < rules.length; i++) {
+      rules[i] =
+          compositions.get(i).getFlattenedICompilationUnit().getCompilationUnit()
+            .getSchedulingRule();
+    }
+    IWorkspaceRunnable commit = new IWorkspaceRunnable() {
+      public void run(IProgressMonitor monitor) throws CoreException {
+        for (Composition each : compositions) {
+          composer.commit(each.getFlattenedICompilationUnit());
+          progress.worked(1);
+        }
+      }
+    };
+    Composer.run(commit, MultiRule.combine(rules));
+  }
+
+  private static void waitFor(Future<Void> edit) throws JavaModelException {
+    try {
+      edit.get();
+    }
+    catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new OperationCanceledException();
+    }
+    catch (ExecutionException e) {
+      Throwable cause = e.getCause();
+      if (cause instanceof JavaModelException) {
+        throw (JavaModelException) cause;
+      }
+      if (cause instanceof CoreException) {
+        throw new JavaModelException((CoreException) cause);
+      }
+      if (cause instanceof RuntimeException) {
+        throw (RuntimeException) cause;
+      }
+      throw new IllegalStateException(cause);
+    }
+  }
+
+  private class Edit implements Callable<Void> {
+
+    private final Composition composition;
+
+    private final boolean sharedWorkingCopy;
+
+    Edit(Composition composition, boolean sharedWorkingCopy) {
+      this.composition = composition;
+      this.sharedWorkingCopy = sharedWorkingCopy;
+    }
+
+    @Override
+    public Void call() throws JavaModelException {
+      IWorkspaceRunnable edit = new IWorkspaceRunnable() {
+        public void run(IProgressMonitor monitor) throws CoreException {
+          composer.edit(composition.getRequest(), composition.getDialogContent(),
+            composition.getFlattenedICompilationUnit(), composition.getJavaClassFile());
+        }
+      };
+      // Editing a working copy changes no resource, so it needs no rule
+      Composer.run(edit, sharedWorkingCopy ? null
+        : composition.getFlattenedICompilationUnit().getCompilationUnit().getSchedulingRule());
+      return null;
+    }
+  }
+}
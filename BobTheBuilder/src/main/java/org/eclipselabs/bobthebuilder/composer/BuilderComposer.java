@@ -21,6 +21,9 @@ import org.eclipselabs.bobthebuilder.model.ValidateMethodInBuilder;
 public class BuilderComposer {
   
   private static final String WITH = "with";
+
+  // Type variable of a self-typed builder, i.e. Builder<T extends Builder<T>>
+  private static final String SELF_TYPE = "T";
   private final FieldPredicate fieldPredicate;
   
   @Inject
@@ -28,7 +31,31 @@ public class BuilderComposer {
     this.fieldPredicate = fieldPredicate;
   }
 
-  public String composeSkeleton() {
+  public String composeSkeleton(MainType type) {
+    Validate.notNull(type, "type may not be null");
+    if (type.isAbstractType()) {
+      String extendsClause = type.isExtendingSuperBuilder()
+          ? " extends " + type.getSuperType().getName() + ".Builder<" + SELF_TYPE + ">"
+          : "";
+      List<String> sourceLines = new ArrayList<String>();
+      sourceLines.add("public static abstract class Builder<" + SELF_TYPE + " extends Builder<"
+        + SELF_TYPE + ">>" + extendsClause + " {");
+      if (!type.isExtendingSuperBuilder()) {
+        sourceLines.add("  protected abstract " + SELF_TYPE + " self();");
+      }
+      sourceLines.add("}");
+      return StringUtils.join(sourceLines, "\n");
+    }
+    if (type.isExtendingSuperBuilder()) {
+      return StringUtils.join(new String[] {
+            "public static class Builder extends " + type.getSuperType().getName()
+              + ".Builder<Builder> {",
+            "  @Override",
+            "  protected Builder self() {",
+            "    return this;",
+            "  }",
+            "}" }, "\n");
+    }
     return StringUtils.join(new String[] {
           "public static class Builder{",
           "}" }, "\n");
@@ -40,27 +67,54 @@ public class BuilderComposer {
   }
 
   public String composeWithMethod(Field field) {
+    return composeWithMethod(field, false);
+  }
+
+  /**
+   * A with-method of a self-typed builder returns the type variable of the builder so that the
+   * with-methods inherited by a sub builder can be chained with its own.
+   */
+  public String composeWithMethod(Field field, boolean selfTyped) {
     Validate.notNull(field, "field may not be null");
     return StringUtils.join(
         new String[] {
-            composeWithMethodFirstLine(field),
+            composeWithMethodFirstLine(field, selfTyped),
             "  this." + field.getName() + " = " + field.getName() + ";",
-            "  return this;",
+            selfTyped ? "  return self();" : "  return this;",
             "}" }, "\n");
   }
 
   public String composeWithMethodFirstLine(Field field) {
+    return composeWithMethodFirstLine(field, false);
+  }
+
+  private String composeWithMethodFirstLine(Field field, boolean selfTyped) {
     return composeWithMethodSignature(
+      selfTyped ? SELF_TYPE : "Builder",
       WITH + StringUtils.capitalize(field.getName()), field.getSignature(), field.getName());
   }
 
   public String composeValidateMethodFromScratch(
-    Set<Field> missingFields, ValidationFramework validationFramework) {
+    Set<Field> missingFields, ValidationFramework validationFramework, MainType type) {
     Validate.notNull(validationFramework, "validationFramework may not be null");
     Validate.notNull(missingFields, "missingFields may not be null");
     Validate.noNullElements(missingFields, "missingFields may not contain null elements");
+    Validate.notNull(type, "type may not be null");
+    boolean validateInSuperBuilder =
+        type.isExtendingSuperBuilder() && type.getSuperType().isValidateMethodInBuilder();
     ArrayList<String> listOfLines = new ArrayList<String>();
-    listOfLines.add("private void validate() {");
+    if (validateInSuperBuilder) {
+      listOfLines.add("@Override");
+    }
+    if (type.isAbstractType() || validateInSuperBuilder) {
+      listOfLines.add("protected void validate() {");
+    }
+    else {
+      listOfLines.add("private void validate() {");
+    }
+    if (validateInSuperBuilder) {
+      listOfLines.add("  super.validate();");
+    }
     for (Field each : new TreeSet<Field>(missingFields)) {
       listOfLines.add("  " + validationFramework.composeFieldValidation(each));
     }
@@ -115,11 +169,12 @@ public class BuilderComposer {
   }
   
   private String composeWithMethodSignature(
-    String methodName, String fieldSignature, String fieldName) {
+    String returnType, String methodName, String fieldSignature, String fieldName) {
     Validate.notNull(fieldName, "fieldName may not be null");
     Validate.notNull(fieldSignature, "fieldSignature may not be null");
     Validate.notNull(methodName, "methodName may not be null");
-    return "public Builder " + methodName + "(" + fieldSignature + " " + fieldName + ") {";
+    return "public " + returnType + " " + methodName + "(" + fieldSignature + " " + fieldName
+      + ") {";
   }
 
 }
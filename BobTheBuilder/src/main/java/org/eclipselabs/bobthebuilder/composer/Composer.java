@@ -1,20 +1,29 @@
 package org.eclipselabs.bobthebuilder.composer;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Set;
 import java.util.TreeSet;
 
 import javax.inject.Inject;
 
 import org.apache.commons.lang.Validate;
+import org.eclipse.core.resources.IWorkspaceRunnable;
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.jobs.ISchedulingRule;
 import org.eclipse.jdt.core.ICompilationUnit;
 import org.eclipse.jdt.core.IField;
+import org.eclipse.jdt.core.IMember;
 import org.eclipse.jdt.core.IMethod;
 import org.eclipse.jdt.core.IType;
+import org.eclipse.jdt.core.JavaCore;
 import org.eclipse.jdt.core.JavaModelException;
 import org.eclipselabs.bobthebuilder.DialogContent;
 import org.eclipselabs.bobthebuilder.analyzer.WithMethodPredicate;
 import org.eclipselabs.bobthebuilder.mapper.eclipse.FlattenedICompilationUnit;
 import org.eclipselabs.bobthebuilder.model.Field;
+import org.eclipselabs.bobthebuilder.model.FieldChange;
 import org.eclipselabs.bobthebuilder.model.JavaClassFile;
 
 public class Composer {
@@ -25,26 +34,123 @@ public class Composer {
 
   private final WithMethodPredicate withMethodPredicate;
 
+  private final FieldChangeEditor fieldChangeEditor;
+
+  private final MemberFormatter memberFormatter;
+
+  private final FieldUnboxer fieldUnboxer;
+
   @Inject
   public Composer(ConstructorComposer constructorComposer, BuilderComposer builderComposer,
-      WithMethodPredicate withMethodPredicate) {
+      WithMethodPredicate withMethodPredicate, FieldChangeEditor fieldChangeEditor,
+      MemberFormatter memberFormatter, FieldUnboxer fieldUnboxer) {
     this.constructorComposer = constructorComposer;
     this.builderComposer = builderComposer;
     this.withMethodPredicate = withMethodPredicate;
+    this.fieldChangeEditor = fieldChangeEditor;
+    this.memberFormatter = memberFormatter;
+    this.fieldUnboxer = fieldUnboxer;
   }
 
-  public void compose(ComposerRequest request,
+  /**
+   * Edits and commits the compilation unit in a single workspace operation holding only the rule of
+   * that compilation unit, so that unrelated files stay writable and the auto-build runs once the
+   * commit is done.
+   * <p>
+   * A compilation unit that is already a working copy, i.e. open in an editor, is edited through
+   * the buffer it shares with the editor and is not committed: the file is left dirty in the
+   * editor, nothing is written to disk and no build is triggered until the user saves.
+   */
+  public void compose(final ComposerRequest request,
+      final DialogContent dialogRequest,
+      final FlattenedICompilationUnit flattenedICompilationUnit,
+      final JavaClassFile javaClassFile) throws JavaModelException {
+    ICompilationUnit compilationUnit = flattenedICompilationUnit.getCompilationUnit();
+    final boolean sharedWorkingCopy = compilationUnit.isWorkingCopy();
+    IWorkspaceRunnable composition = new IWorkspaceRunnable() {
+      public void run(IProgressMonitor monitor) throws CoreException {
+        try {
+          edit(request, dialogRequest, flattenedICompilationUnit, javaClassFile);
+          if (!sharedWorkingCopy) {
+            commit(flattenedICompilationUnit);
+          }
+        }
+        finally {
+          discard(flattenedICompilationUnit);
+        }
+      }
+    };
+    // Editing a working copy changes no resource, so it needs no rule
+    run(composition, sharedWorkingCopy ? null : compilationUnit.getSchedulingRule());
+  }
+
+  static void run(IWorkspaceRunnable runnable, ISchedulingRule rule) throws JavaModelException {
+    try {
+      JavaCore.run(runnable, rule, null);
+    }
+    catch (JavaModelException e) {
+      throw e;
+    }
+    catch (CoreException e) {
+      throw new JavaModelException(e);
+    }
+  }
+
+  /**
+   * Applies the request to a working copy of the compilation unit without writing it to disk. Every
+   * call has to be followed by {@link #discard(FlattenedICompilationUnit)}, after
+   * {@link #commit(FlattenedICompilationUnit)} if the edits are to be kept. An extra field of the
+   * builder that is a renamed or retyped missing field is changed in place, see
+   * {@link FieldChangeEditor}, and so is a field it unboxes, see {@link FieldUnboxer}. The members
+   * it creates are formatted, and nothing else.
+   */
+  public void edit(ComposerRequest request,
       DialogContent dialogRequest,
-      FlattenedICompilationUnit flattenedICompilationUnit, 
+      FlattenedICompilationUnit flattenedICompilationUnit,
       JavaClassFile javaClassFile) throws JavaModelException {
     ICompilationUnit compilationUnit = flattenedICompilationUnit.getCompilationUnit();
     compilationUnit.becomeWorkingCopy(null);
+    ComposerRequest unboxed = fieldUnboxer.unbox(request);
+    List<FieldChange> fieldChanges =
+        fieldChangeEditor.detect(unboxed, flattenedICompilationUnit.getBuilderType());
+    ComposerRequest remainder = fieldChangeEditor.remainder(unboxed, fieldChanges,
+      flattenedICompilationUnit.getBuilderType(),
+      flattenedICompilationUnit.getConstructorWithBuilder(),
+      flattenedICompilationUnit.getValidateMethod());
+    List<IMember> createdMembers =
+        editMembers(remainder, flattenedICompilationUnit, javaClassFile);
+    // Last, since the members the changes are made in may have been created again above
+    List<SourceReplacement> replacements = new ArrayList<SourceReplacement>();
+    if (!fieldChanges.isEmpty()) {
+      replacements.addAll(fieldChangeEditor.compose(fieldChanges,
+        flattenedICompilationUnit.getBuilderType(),
+        flattenedICompilationUnit.getConstructorWithBuilder(),
+        flattenedICompilationUnit.getValidateMethod(),
+        request.getValidationFramework(),
+        true));
+    }
+    if (!unboxed.getUnboxedFields().isEmpty()) {
+      replacements.addAll(fieldUnboxer.compose(unboxed,
+        flattenedICompilationUnit.getMainType(),
+        flattenedICompilationUnit.getBuilderType(),
+        flattenedICompilationUnit.getValidateMethod()));
+    }
+    fieldChangeEditor.edit(compilationUnit, replacements);
+    memberFormatter.format(compilationUnit, createdMembers);
+  }
+
+  // Returns the members it creates
+  private List<IMember> editMembers(ComposerRequest request,
+      FlattenedICompilationUnit flattenedICompilationUnit,
+      JavaClassFile javaClassFile) throws JavaModelException {
+    ICompilationUnit compilationUnit = flattenedICompilationUnit.getCompilationUnit();
     IType type = flattenedICompilationUnit.getMainType();
+    List<IMember> result = new ArrayList<IMember>();
     if (request.isCreateConstructorWithBuilder()) {
       String constructorWithBuilderBuilder =
-          constructorComposer.composeFromScratch(request, type.getElementName());
-      type.createMethod(
-        constructorWithBuilderBuilder, flattenedICompilationUnit.getBuilderType(), false, null);
+          constructorComposer.composeFromScratch(request, javaClassFile.getMainType());
+      result.add(type.createMethod(
+        constructorWithBuilderBuilder, flattenedICompilationUnit.getBuilderType(), false, null));
     }
     if (flattenedICompilationUnit.getConstructorWithBuilder() != null &&
           (!request.getMissingAssignmentsInConstructor().isEmpty() ||
@@ -55,15 +161,17 @@ public class Composer {
       IMethod originalConstructorWithBuilder =
           flattenedICompilationUnit.getConstructorWithBuilder();
       originalConstructorWithBuilder.delete(false, null);
-      type.createMethod(sourceLines, flattenedICompilationUnit.getBuilderType(), false, null);
+      result.add(
+        type.createMethod(sourceLines, flattenedICompilationUnit.getBuilderType(), false, null));
     }
     IType builder;
     if (flattenedICompilationUnit.getBuilderType() == null) {
-      String builderSkeleton = builderComposer.composeSkeleton();
+      String builderSkeleton = builderComposer.composeSkeleton(javaClassFile.getMainType());
       type.createType(builderSkeleton, null, false, null); //TODO map getters or any other method in the main type to place the builder class before it
       IType[] types = type.getTypes();
       Validate.notEmpty(types, "types may not be empty");
       builder = types[0];
+      result.add(builder);
     }
     else {
       builder = flattenedICompilationUnit.getBuilderType();
@@ -75,7 +183,7 @@ public class Composer {
       if (!withMethods.isEmpty()) {
         firstWithMethod = withMethods.iterator().next();
       }
-      builder.createField(composeFieldInBuilder,firstWithMethod, true, null);
+      result.add(builder.createField(composeFieldInBuilder,firstWithMethod, true, null));
     }
     for (Field each : request.getExtraFieldsInBuilder()) {
       for (IField eachBuilderField : builder.getFields()) {
@@ -89,36 +197,50 @@ public class Composer {
         }
       }
     }
+    boolean selfTypedBuilder = builder.getTypeParameters().length > 0;
     for (Field each : new TreeSet<Field>(request.getMissingWithMethodsInBuilder())) {
-      String composeWithMethod = builderComposer.composeWithMethod(each);
-      builder.createMethod(
-        composeWithMethod, flattenedICompilationUnit.getBuildMethod(), false, null);
+      String composeWithMethod = builderComposer.composeWithMethod(each, selfTypedBuilder);
+      result.add(builder.createMethod(
+        composeWithMethod, flattenedICompilationUnit.getBuildMethod(), false, null));
     }
     if (request.isCreateBuildMethodInBuilder()) {
       String composeBuilderMethod = 
         builderComposer.composeBuilderMethod(
           javaClassFile.getMainType(), request.isCreateValidateMethodInBuilder());
-      builder.createMethod(
-        composeBuilderMethod, flattenedICompilationUnit.getValidateMethod(), false, null);
+      result.add(builder.createMethod(
+        composeBuilderMethod, flattenedICompilationUnit.getValidateMethod(), false, null));
     }
     if (request.isCreateValidateMethodInBuilder()) {
       String composeValidateMethod = builderComposer.composeValidateMethodFromScratch(
         request.getMissingFieldValidationsInBuild(),
-        request.getValidationFramework());
-      builder.createMethod(composeValidateMethod, null, false, null);
+        request.getValidationFramework(),
+        javaClassFile.getMainType());
+      result.add(builder.createMethod(composeValidateMethod, null, false, null));
     }
     else if (!request.getMissingFieldValidationsInBuild().isEmpty()) {
       String newLines = builderComposer.composeValidateMethodFromExisting(
         request, javaClassFile.getMainType().getBuilderType().getValidateMethod());
       IMethod originalValidateMethod = flattenedICompilationUnit.getValidateMethod();
       originalValidateMethod.delete(false, null);
-      builder.createMethod(newLines, null, false, null);
+      result.add(builder.createMethod(newLines, null, false, null));
     }
     if (request.isCreateValidateMethodInBuilder()
           || !request.getMissingFieldValidationsInBuild().isEmpty()) {
-      compilationUnit.createImport(
-          request.getValidationFramework().getFullClassName(), null, null);
+      for (String each : request.getValidationFramework().composeImports(
+        request.getMissingFieldValidationsInBuild())) {
+        compilationUnit.createImport(each, null, null);
+      }
     }
-    compilationUnit.commitWorkingCopy(true, null);
+    return result;
+  }
+
+  public void commit(FlattenedICompilationUnit flattenedICompilationUnit)
+    throws JavaModelException {
+    flattenedICompilationUnit.getCompilationUnit().commitWorkingCopy(true, null);
+  }
+
+  public void discard(FlattenedICompilationUnit flattenedICompilationUnit)
+    throws JavaModelException {
+    flattenedICompilationUnit.getCompilationUnit().discardWorkingCopy();
   }
 }
@@ -10,6 +10,12 @@ public class ComposerModule extends AbstractModule {
   protected void configure() {
     bind(ConstructorComposer.class);
     bind(BuilderComposer.class);
+    bind(BatchComposer.class);
+    bind(FieldChangeDetector.class);
+    bind(FieldChangeComposer.class);
+    bind(FieldChangeEditor.class);
+    bind(FieldUnboxer.class);
+    bind(MemberFormatter.class);
     bind(FieldTextBuilder.FieldAssignmentBuilder.class);
     bind(FieldTextBuilder.FieldDeclarationBuilder.class);
     bind(FieldTextBuilder.WithMethodBuilder.class);
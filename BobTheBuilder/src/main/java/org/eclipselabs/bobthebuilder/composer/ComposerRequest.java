@@ -29,6 +29,8 @@ public class ComposerRequest {
 
   private final ValidationFramework validationFramework;
 
+  private final Set<Field> unboxedFields;
+
   private ComposerRequest(Builder builder) {
     this.missingFieldsInBuilder = builder.missingFieldsInBuilder;
     this.extraFieldsInBuilder = builder.extraFieldsInBuilder;
@@ -39,6 +41,7 @@ public class ComposerRequest {
     this.missingFieldValidationsInBuild = builder.missingFieldValidationsInBuild;
     this.createValidateMethodInBuilder = builder.createValidateMethodInBuilder;
     this.validationFramework = builder.validationFramework;
+    this.unboxedFields = builder.unboxedFields;
   }
 
   public static class Builder {
@@ -61,6 +64,8 @@ public class ComposerRequest {
 
     private ValidationFramework validationFramework;
 
+    private Set<Field> unboxedFields = new HashSet<Field>();
+
     public ComposerRequest build() {
       return new ComposerRequest(this);
     }
@@ -116,6 +121,12 @@ public class ComposerRequest {
       return this;
     }
 
+    public Builder addUnboxedField(Field unboxedField) {
+      Validate.notNull(unboxedField, "unboxedField may not be null");
+      unboxedFields.add(unboxedField);
+      return this;
+    }
+
   }
 
   public Set<Field> getMissingFieldsInBuilder() {
@@ -154,4 +165,11 @@ public class ComposerRequest {
     return validationFramework;
   }
 
+  /**
+   * The boxed fields of the main type to make primitive, as they are before.
+   */
+  public Set<Field> getUnboxedFields() {
+    return Collections.unmodifiableSet(unboxedFields);
+  }
+
 }
@@ -0,0 +1,104 @@
+package org.eclipselabs.bobthebuilder.composer;
+
+import org.apache.commons.lang.Validate;
+import org.apache.commons.lang.builder.EqualsBuilder;
+import org.apache.commons.lang.builder.HashCodeBuilder;
+import org.apache.commons.lang.builder.ToStringBuilder;
+import org.eclipselabs.bobthebuilder.DialogContent;
+import org.eclipselabs.bobthebuilder.mapper.eclipse.FlattenedICompilationUnit;
+import org.eclipselabs.bobthebuilder.model.JavaClassFile;
+
+/**
+ * Everything {@link Composer} needs to apply a request to one compilation unit.
+ */
+public class Composition {
+
+  private final ComposerRequest request;
+
+  private final DialogContent dialogContent;
+
+  private final FlattenedICompilationUnit flattenedICompilationUnit;
+
+  private final JavaClassFile javaClassFile;
+
+  private Composition(Builder builder) {
+    this.request = builder.request;
+    this.dialogContent = builder.dialogContent;
+    this.flattenedICompilationUnit = builder.flattenedICompilationUnit;
+    this.javaClassFile = builder.javaClassFile;
+  }
+
+  public static class Builder {
+
+    private ComposerRequest request;
+
+    private DialogContent dialogContent;
+
+    private FlattenedICompilationUnit flattenedICompilationUnit;
+
+    private JavaClassFile javaClassFile;
+
+    public Builder withRequest(ComposerRequest request) {
+      this.request = request;
+      return this;
+    }
+
+    public Builder withDialogContent(DialogContent dialogContent) {
+      this.dialogContent = dialogContent;
+      return this;
+    }
+
+    public Builder withFlattenedICompilationUnit(
+      FlattenedICompilationUnit flattenedICompilationUnit) {
+      this.flattenedICompilationUnit = flattenedICompilationUnit;
+      return this;
+    }
+
+    public Builder withJavaClassFile(JavaClassFile javaClassFile) {
+      this.javaClassFile = javaClassFile;
+      return this;
+    }
+
+    public Composition build() {
+      validate();
+      return new Composition(this);
+    }
+
+    private void validate() {
+      Validate.notNull(request, "request may not be null");
+      Validate.notNull(flattenedICompilationUnit, "flattenedICompilationUnit may not be null");
+      Validate.notNull(javaClassFile, "javaClassFile may not be null");
+    }
+  }
+
+  public ComposerRequest getRequest() {
+    return request;
+  }
+
+  public DialogContent getDialogContent() {
+    return dialogContent;
+  }
+
+  public FlattenedICompilationUnit getFlattenedICompilationUnit() {
+    return flattenedICompilationUnit;
+  }
+
+  public JavaClassFile getJavaClassFile() {
+    return javaClassFile;
+  }
+
+  @Override
+  public int hashCode() {
+    return HashCodeBuilder.reflectionHashCode(this);
+  }
+
+  @Override
+  public boolean equals(Object obj) {
+    return EqualsBuilder.reflectionEquals(this, obj);
+  }
+
+  @Override
+  public String toString() {
+    return ToStringBuilder.reflectionToString(this);
+  }
+}
@@ -13,28 +13,36 @@ import javax.inject.Inject;
 import org.apache.commons.lang.StringUtils;
 import org.apache.commons.lang.Validate;
 import org.eclipselabs.bobthebuilder.analyzer.FieldPredicate;
-import org.eclipselabs.bobthebuilder.model.ConstructorInMainType;
 import org.eclipselabs.bobthebuilder.model.ConstructorWithBuilder;
 import org.eclipselabs.bobthebuilder.model.Field;
+import org.eclipselabs.bobthebuilder.model.MainType;
 
 public class ConstructorComposer {
   
   
-  private final FieldPredicate fieldPredicate;
+  private final FieldPredicate.FieldAssignment fieldAssignment;
 
   @Inject
-  public ConstructorComposer(@ConstructorInMainType FieldPredicate fieldPredicate) {
-    this.fieldPredicate = fieldPredicate;
+  public ConstructorComposer(FieldPredicate.FieldAssignment fieldAssignment) {
+    this.fieldAssignment = fieldAssignment;
   }
 
-  public String composeFromScratch(ComposerRequest request, String mainTypeName) {
+  public String composeFromScratch(ComposerRequest request, MainType mainType) {
     Validate.notNull(request, "request may not be null");
-    Validate.notNull(mainTypeName, "mainTypeName may not be null");
+    Validate.notNull(mainType, "mainType may not be null");
     Set<Field> fieldsToAddInBuilder = new HashSet<Field>();
     fieldsToAddInBuilder.addAll(request.getMissingAssignmentsInConstructor());
     fieldsToAddInBuilder.removeAll(request.getExtraFieldsInBuilder());
     List<String> sourceLines = new ArrayList<String>();
-    sourceLines.add("private " + mainTypeName + "(Builder builder) {");
+    if (mainType.isAbstractType()) {
+      sourceLines.add("protected " + mainType.getName() + "(Builder<?> builder) {");
+    }
+    else {
+      sourceLines.add("private " + mainType.getName() + "(Builder builder) {");
+    }
+    if (mainType.isExtendingSuperBuilder()) {
+      sourceLines.add("  super(builder);");
+    }
     for (Field each : new TreeSet<Field>(fieldsToAddInBuilder)) {
       sourceLines.add(composeAssignmentsInConstructorWithBuilder(each));
     }
@@ -52,13 +60,14 @@ public class ConstructorComposer {
     String originalSource = source.substring(0, length - 1);
     ArrayList<String> originalLines = new ArrayList<String>();
     originalLines.addAll(Arrays.asList(StringUtils.split(originalSource, '\n')));
+    Set<String> extraFieldNames = new HashSet<String>();
     for (Field each : request.getExtraFieldsInBuilder()) {
-      ListIterator<String> iterator = originalLines.listIterator();
-      while(iterator.hasNext()) {
-        String eachOriginalLine = iterator.next();
-        if (fieldPredicate.match(each.getName(), eachOriginalLine, each.getSignature())) {
-          iterator.remove();
-        }
+      extraFieldNames.add(each.getName());
+    }
+    ListIterator<String> iterator = originalLines.listIterator();
+    while (iterator.hasNext()) {
+      if (assignsAny(iterator.next(), extraFieldNames)) {
+        iterator.remove();
       }
     }
     sourceLines.addAll(originalLines);
@@ -72,6 +81,15 @@ public class ConstructorComposer {
     return newConstructorWithBuilderContent;
   }
 
+  private boolean assignsAny(String line, Set<String> fieldNames) {
+    for (String each : fieldAssignment.assignedFields(line)) {
+      if (fieldNames.contains(each)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
   private String composeAssignmentsInConstructorWithBuilder(Field field) {
     return "  " + composeSingleAssignment(field);
   }
@@ -0,0 +1,225 @@
+package org.eclipselabs.bobthebuilder.composer;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.apache.commons.lang.StringUtils;
+import org.apache.commons.lang.Validate;
+import org.eclipselabs.bobthebuilder.JavaSourceScanner;
+import org.eclipselabs.bobthebuilder.ValidationFramework;
+import org.eclipselabs.bobthebuilder.analyzer.WithMethodPredicate;
+import org.eclipselabs.bobthebuilder.model.Field;
+import org.eclipselabs.bobthebuilder.model.FieldChange;
+
+/**
+ * Composes the smallest replacements that carry a {@link FieldChange} over to the members of the
+ * builder, leaving everything else in them, Javadoc included, as it is. An empty list means that
+ * the member does not mention the field, or not in a form that can be changed in place.
+ */
+public class FieldChangeComposer {
+
+  public List<SourceReplacement> composeFieldDeclaration(FieldChange change, String source) {
+    Validate.notNull(change, "change may not be null");
+    Validate.notNull(source, "source may not be null");
+    String oldName = change.getBuilderField().getName();
+    int start = JavaSourceScanner.codeStart(source);
+    Matcher declaration = Pattern.compile(
+      "(?<![\\w$.])(" + typeRegex(change.getBuilderField().getSignature()) + ")\\s+("
+        + Pattern.quote(oldName) + ")\\s*[=;]").matcher(source);
+    if (!declaration.find(start)) {
+      return Collections.emptyList();
+    }
+    List<SourceReplacement> result = new ArrayList<SourceReplacement>();
+    if (change.isRetype()) {
+      result.add(replacement(declaration, 1, change.getMainTypeField().getSignature()));
+    }
+    if (change.isRename()) {
+      result.add(replacement(declaration, 2, change.getMainTypeField().getName()));
+    }
+    return result;
+  }
+
+  public List<SourceReplacement> composeWithMethod(FieldChange change, String source) {
+    Validate.notNull(change, "change may not be null");
+    Validate.notNull(source, "source may not be null");
+    String oldName = change.getBuilderField().getName();
+    int start = JavaSourceScanner.codeStart(source);
+    Matcher header = Pattern.compile(
+      "\\b(" + Pattern.quote(withMethodName(oldName)) + ")\\s*\\(\\s*(?:final\\s+)?("
+        + typeRegex(change.getBuilderField().getSignature()) + ")\\s+"
+        + Pattern.quote(oldName) + "\\s*\\)").matcher(source);
+    if (!header.find(start)) {
+      return Collections.emptyList();
+    }
+    List<SourceReplacement> result = new ArrayList<SourceReplacement>();
+    if (change.isRetype()) {
+      result.add(replacement(header, 2, change.getMainTypeField().getSignature()));
+    }
+    if (change.isRename()) {
+      String newName = change.getMainTypeField().getName();
+      result.add(replacement(header, 1, withMethodName(newName)));
+      Matcher reference = identifier(oldName).matcher(source);
+      while (reference.find()) {
+        int offset = reference.start();
+        if (!isQualified(source, offset) || isQualifiedByThis(source, offset)) {
+          result.add(replacement(reference, 0, newName));
+        }
+      }
+    }
+    return result;
+  }
+
+  /**
+   * Renames the builder field where the constructor reads it, and also the field of the main type
+   * where the constructor assigns it when {@code mainTypeReferences} is set. A rename refactoring
+   * of the main type field takes care of the latter by itself.
+   */
+  public List<SourceReplacement> composeConstructorWithBuilder(
+    FieldChange change, String source, boolean mainTypeReferences) {
+    Validate.notNull(change, "change may not be null");
+    Validate.notNull(source, "source may not be null");
+    List<SourceReplacement> result = new ArrayList<SourceReplacement>();
+    if (!change.isRename()) {
+      return result;
+    }
+    Matcher reference = identifier(change.getBuilderField().getName()).matcher(source);
+    reference.region(JavaSourceScanner.codeStart(source), source.length());
+    while (reference.find()) {
+      if (isQualified(source, reference.start())
+        && (mainTypeReferences || !isQualifiedByThis(source, reference.start()))) {
+        result.add(replacement(reference, 0, change.getMainTypeField().getName()));
+      }
+    }
+    return result;
+  }
+
+  /**
+   * A validation that reads as the one composed for the field before the change is composed again
+   * for the changed field, any other line mentioning the field has the name changed.
+   */
+  public List<SourceReplacement> composeValidateMethod(
+    FieldChange change, String source, ValidationFramework validationFramework) {
+    Validate.notNull(change, "change may not be null");
+    Validate.notNull(source, "source may not be null");
+    List<SourceReplacement> result = new ArrayList<SourceReplacement>();
+    int bodyStart = JavaSourceScanner.bodyStart(source, 0);
+    if (bodyStart < 0) {
+      return result;
+    }
+    String oldName = change.getBuilderField().getName();
+    String composedValidation = validationFramework == null
+        ? null
+        : validationFramework.composeFieldValidation(change.getBuilderField());
+    Pattern identifier = identifier(oldName);
+    int lineStart = bodyStart + 1;
+    while (lineStart < source.length()) {
+      int lineEnd = source.indexOf('\n', lineStart);
+      if (lineEnd < 0) {
+        lineEnd = source.length();
+      }
+      String line = source.substring(lineStart, lineEnd);
+      Matcher reference = identifier.matcher(line);
+      if (reference.find()) {
+        if (change.isRetype() && line.trim().equals(composedValidation)) {
+          int indentation = line.indexOf(composedValidation);
+          result.add(new SourceReplacement(lineStart + indentation, composedValidation.length(),
+            validationFramework.composeFieldValidation(change.getMainTypeField())));
+        }
+        else if (change.isRename()) {
+          do {
+            result.add(new SourceReplacement(lineStart + reference.start(),
+              oldName.length(), change.getMainTypeField().getName()));
+          }
+          while (reference.find());
+        }
+      }
+      lineStart = lineEnd + 1;
+    }
+    return result;
+  }
+
+  /**
+   * Deletes the line of the validation that reads as the one composed for the field, along with its
+   * line break, and leaves any other line mentioning the field as it is.
+   */
+  public List<SourceReplacement> composeValidationRemoval(
+    Field field, String source, ValidationFramework validationFramework) {
+    Validate.notNull(field, "field may not be null");
+    Validate.notNull(source, "source may not be null");
+    List<SourceReplacement> result = new ArrayList<SourceReplacement>();
+    int bodyStart = JavaSourceScanner.bodyStart(source, 0);
+    if (bodyStart < 0 || validationFramework == null) {
+      return result;
+    }
+    String composedValidation = validationFramework.composeFieldValidation(field);
+    int lineStart = source.indexOf('\n', bodyStart) + 1;
+    while (lineStart > 0 && lineStart < source.length()) {
+      int lineEnd = source.indexOf('\n', lineStart);
+      if (lineEnd < 0) {
+        break;
+      }
+      if (source.substring(lineStart, lineEnd).trim().equals(composedValidation)) {
+        result.add(new SourceReplacement(lineStart, lineEnd + 1 - lineStart, ""));
+      }
+      lineStart = lineEnd + 1;
+    }
+    return result;
+  }
+
+  private static String withMethodName(String fieldName) {
+    return WithMethodPredicate.WITH_METHOD_PREFIX + StringUtils.capitalize(fieldName);
+  }
+
+  private static Pattern identifier(String name) {
+    return Pattern.compile("(?<![\\w$])" + Pattern.quote(name) + "(?![\\w$])");
+  }
+
+  // The readable type of a field as it may be written, with any spacing around its punctuation
+  private static String typeRegex(String signature) {
+    List<String> words = new ArrayList<String>();
+    for (String each : StringUtils.split(signature, " ")) {
+      StringBuilder word = new StringBuilder();
+      for (char eachCharacter : each.toCharArray()) {
+        if ("<>,[]".indexOf(eachCharacter) >= 0) {
+          word.append("\\s*").append(Pattern.quote(String.valueOf(eachCharacter))).append("\\s*");
+        }
+        else {
+          word.append(Pattern.quote(String.valueOf(eachCharacter)));
+        }
+      }
+      words.add(word.toString());
+    }
+    return StringUtils.join(words, "\\s+");
+  }
+
+  private static boolean isQualified(String source, int offset) {
+    int previous = previousNonWhitespace(source, offset);
+    return previous >= 0 && source.charAt(previous) == '.';
+  }
+
+  private static boolean isQualifiedByThis(String source, int offset) {
+    int dot = previousNonWhitespace(source, offset);
+    if (dot < 0 || source.charAt(dot) != '.') {
+      return false;
+    }
+    int qualifierEnd = previousNonWhitespace(source, dot) + 1;
+    return source.substring(0, qualifierEnd).endsWith("this")
+      && (qualifierEnd == 4 || !Character.isJavaIdentifierPart(source.charAt(qualifierEnd - 5)));
+  }
+
+  private static int previousNonWhitespace(String source, int offset) {
+    int result = offset - 1;
+    while (result >= 0 && Character.isWhitespace(source.charAt(result))) {
+      result--;
+    }
+    return result;
+  }
+
+  private static SourceReplacement replacement(Matcher matcher, int group, String text) {
+    return new SourceReplacement(
+      matcher.start(group), matcher.end(group) - matcher.start(group), text);
+  }
+}
@@ -0,0 +1,84 @@
+package org.eclipselabs.bobthebuilder.composer;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import org.apache.commons.lang.Validate;
+import org.eclipselabs.bobthebuilder.model.Field;
+import org.eclipselabs.bobthebuilder.model.FieldChange;
+
+/**
+ * Pairs the extra fields of the builder with the fields missing from it, so that a field that was
+ * renamed or retyped in the main type is updated in the builder instead of being deleted and
+ * created again. A missing field and an extra field with the same name are a change of type. Of
+ * the remaining fields, those of the same type are renames when both sides have as many of them,
+ * paired in the order in which they are declared.
+ */
+public class FieldChangeDetector {
+
+  public List<FieldChange> detect(
+    Collection<Field> extraFieldsInBuilder, Collection<Field> missingFieldsInBuilder) {
+    Validate.notNull(extraFieldsInBuilder, "extraFieldsInBuilder may not be null");
+    Validate.notNull(missingFieldsInBuilder, "missingFieldsInBuilder may not be null");
+    List<FieldChange> result = new ArrayList<FieldChange>();
+    if (extraFieldsInBuilder.isEmpty() || missingFieldsInBuilder.isEmpty()) {
+      return result;
+    }
+    Map<String, Field> extraByName = new HashMap<String, Field>();
+    for (Field each : extraFieldsInBuilder) {
+      extraByName.put(each.getName(), each);
+    }
+    List<Field> unpairedMissing = new ArrayList<Field>();
+    for (Field each : missingFieldsInBuilder) {
+      Field extra = extraByName.remove(each.getName());
+      if (extra == null) {
+        unpairedMissing.add(each);
+      }
+      else {
+        result.add(change(extra, each));
+      }
+    }
+    Map<String, List<Field>> extraBySignature = bySignature(extraByName.values());
+    Map<String, List<Field>> missingBySignature = bySignature(unpairedMissing);
+    for (Map.Entry<String, List<Field>> each : missingBySignature.entrySet()) {
+      List<Field> extra = extraBySignature.get(each.getKey());
+      List<Field> missing = each.getValue();
+      if (extra == null || extra.size() != missing.size()) {
+        continue;
+      }
+      Collections.sort(extra);
+      Collections.sort(missing);
+      Iterator<Field> extraIterator = extra.iterator();
+      for (Field eachMissing : missing) {
+        result.add(change(extraIterator.next(), eachMissing));
+      }
+    }
+    return result;
+  }
+
+  private static Map<String, List<Field>> bySignature(Collection<Field> fields) {
+    Map<String, List<Field>> result = new TreeMap<String, List<Field>>();
+    for (Field each : fields) {
+      List<Field> sameSignature = result.get(each.getSignature());
+      if (sameSignature == null) {
+        sameSignature = new ArrayList<Field>();
+        result.put(each.getSignature(), sameSignature);
+      }
+      sameSignature.add(each);
+    }
+    return result;
+  }
+
+  private static FieldChange change(Field builderField, Field mainTypeField) {
+    return new FieldChange.Builder()
+        .withBuilderField(builderField)
+        .withMainTypeField(mainTypeField)
+        .build();
+  }
+}
@@ -0,0 +1,231 @@
+package org.eclipselabs.bobthebuilder.composer;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import javax.inject.Inject;
+
+import org.apache.commons.lang.Validate;
+import org.eclipse.jdt.core.IBuffer;
+import org.eclipse.jdt.core.ICompilationUnit;
+import org.eclipse.jdt.core.IField;
+import org.eclipse.jdt.core.IMember;
+import org.eclipse.jdt.core.IMethod;
+import org.eclipse.jdt.core.IType;
+import org.eclipse.jdt.core.JavaModelException;
+import org.eclipselabs.bobthebuilder.ValidationFramework;
+import org.eclipselabs.bobthebuilder.analyzer.WithMethodPredicate;
+import org.eclipselabs.bobthebuilder.model.Field;
+import org.eclipselabs.bobthebuilder.model.FieldChange;
+
+/**
+ * Carries renamed and retyped fields over to the builder by replacing names and types where the
+ * builder members mention them, instead of deleting those members and creating them again.
+ */
+public class FieldChangeEditor {
+
+  private final FieldChangeDetector fieldChangeDetector;
+
+  private final FieldChangeComposer fieldChangeComposer;
+
+  private final WithMethodPredicate withMethodPredicate;
+
+  @Inject
+  public FieldChangeEditor(FieldChangeDetector fieldChangeDetector,
+      FieldChangeComposer fieldChangeComposer,
+      WithMethodPredicate withMethodPredicate) {
+    this.fieldChangeDetector = fieldChangeDetector;
+    this.fieldChangeComposer = fieldChangeComposer;
+    this.withMethodPredicate = withMethodPredicate;
+  }
+
+  /**
+   * The changes among the extra and missing fields of the request whose builder field can be
+   * changed in place. The others are left to be deleted and created.
+   */
+  public List<FieldChange> detect(ComposerRequest request, IType builderType)
+    throws JavaModelException {
+    Validate.notNull(request, "request may not be null");
+    List<FieldChange> result = new ArrayList<FieldChange>();
+    if (builderType == null) {
+      return result;
+    }
+    for (FieldChange each : fieldChangeDetector.detect(
+      request.getExtraFieldsInBuilder(), request.getMissingFieldsInBuilder())) {
+      IField builderField = builderType.getField(each.getBuilderField().getName());
+      if (builderField.exists()
+        && !fieldChangeComposer.composeFieldDeclaration(each, builderField.getSource()).isEmpty()) {
+        result.add(each);
+      }
+    }
+    return result;
+  }
+
+  /**
+   * What is left of the request once the changes are made in place: the fields of the changes are
+   * neither deleted nor created, and neither are the with-methods, assignments and validations that
+   * the changes carry over.
+   */
+  public ComposerRequest remainder(ComposerRequest request, List<FieldChange> changes,
+      IType builderType, IMethod constructorWithBuilder, IMethod validateMethod)
+    throws JavaModelException {
+    Validate.notNull(request, "request may not be null");
+    Validate.notNull(changes, "changes may not be null");
+    if (changes.isEmpty()) {
+      return request;
+    }
+    Set<Field> changedBuilderFields = new HashSet<Field>();
+    Set<Field> changedMainTypeFields = new HashSet<Field>();
+    Set<Field> changedWithMethods = new HashSet<Field>();
+    Set<Field> changedAssignments = new HashSet<Field>();
+    Set<Field> changedValidations = new HashSet<Field>();
+    for (FieldChange each : changes) {
+      changedBuilderFields.add(each.getBuilderField());
+      changedMainTypeFields.add(each.getMainTypeField());
+      IMethod withMethod = findWithMethod(builderType, each.getBuilderField());
+      if (withMethod != null
+        && !fieldChangeComposer.composeWithMethod(each, withMethod.getSource()).isEmpty()) {
+        changedWithMethods.add(each.getMainTypeField());
+      }
+      if (isPresent(constructorWithBuilder) && !each.isRetype()
+        && !fieldChangeComposer.composeConstructorWithBuilder(
+          each, constructorWithBuilder.getSource(), true).isEmpty()) {
+        changedAssignments.add(each.getMainTypeField());
+      }
+      if (isPresent(validateMethod)
+        && !fieldChangeComposer.composeValidateMethod(
+          each, validateMethod.getSource(), request.getValidationFramework()).isEmpty()) {
+        changedValidations.add(each.getMainTypeField());
+      }
+    }
+    ComposerRequest.Builder result = new ComposerRequest.Builder();
+    for (Field each : request.getMissingFieldsInBuilder()) {
+      if (!changedMainTypeFields.contains(each)) {
+        result.addMissingFieldInBuilder(each);
+      }
+    }
+    for (Field each : request.getExtraFieldsInBuilder()) {
+      if (!changedBuilderFields.contains(each)) {
+        result.addExtraFieldInBuilder(each);
+      }
+    }
+    for (Field each : request.getMissingWithMethodsInBuilder()) {
+      if (!changedWithMethods.contains(each)) {
+        result.addMissingWithMethodInBuilder(each);
+      }
+    }
+    for (Field each : request.getMissingAssignmentsInConstructor()) {
+      if (!changedAssignments.contains(each)) {
+        result.addMissingAssignmentInConstructor(each);
+      }
+    }
+    for (Field each : request.getMissingFieldValidationsInBuild()) {
+      if (!changedValidations.contains(each)) {
+        result.addMissingValidationInBuild(each);
+      }
+    }
+    for (Field each : request.getUnboxedFields()) {
+      result.addUnboxedField(each);
+    }
+    if (request.isCreateConstructorWithBuilder()) {
+      result.withConstructorWithBuilder();
+    }
+    if (request.isCreateBuildMethodInBuilder()) {
+      result.withBuildMethodInBuilder();
+    }
+    if (request.isCreateValidateMethodInBuilder()) {
+      result.withValidateMethodInBuilder();
+    }
+    if (request.getValidationFramework() != null) {
+      result.withValidationFramework(request.getValidationFramework());
+    }
+    return result.build();
+  }
+
+  /**
+   * The replacements, with offsets in the compilation unit, that carry the changes over to the
+   * builder field, its with-method, the constructor with builder and the validate method. The
+   * constructor keeps its references to the main type fields unless {@code mainTypeReferences} is
+   * set.
+   */
+  public List<SourceReplacement> compose(List<FieldChange> changes, IType builderType,
+      IMethod constructorWithBuilder, IMethod validateMethod,
+      ValidationFramework validationFramework, boolean mainTypeReferences)
+    throws JavaModelException {
+    Validate.notNull(changes, "changes may not be null");
+    List<SourceReplacement> result = new ArrayList<SourceReplacement>();
+    for (FieldChange each : changes) {
+      IField builderField = builderType.getField(each.getBuilderField().getName());
+      if (!builderField.exists()) {
+        continue;
+      }
+      add(result, builderField,
+        fieldChangeComposer.composeFieldDeclaration(each, builderField.getSource()));
+      IMethod withMethod = findWithMethod(builderType, each.getBuilderField());
+      if (withMethod != null) {
+        add(result, withMethod,
+          fieldChangeComposer.composeWithMethod(each, withMethod.getSource()));
+      }
+      if (isPresent(constructorWithBuilder)) {
+        add(result, constructorWithBuilder,
+          fieldChangeComposer.composeConstructorWithBuilder(
+            each, constructorWithBuilder.getSource(), mainTypeReferences));
+      }
+      if (isPresent(validateMethod)) {
+        add(result, validateMethod,
+          fieldChangeComposer.composeValidateMethod(
+            each, validateMethod.getSource(), validationFramework));
+      }
+    }
+    return result;
+  }
+
+  /**
+   * Applies the replacements to the buffer of the working copy and brings its model up to date.
+   */
+  public void edit(ICompilationUnit workingCopy, List<SourceReplacement> replacements)
+    throws JavaModelException {
+    Validate.notNull(workingCopy, "workingCopy may not be null");
+    Validate.notNull(replacements, "replacements may not be null");
+    if (replacements.isEmpty()) {
+      return;
+    }
+    IBuffer buffer = workingCopy.getBuffer();
+    for (SourceReplacement each : SourceReplacement.lastFirst(replacements)) {
+      buffer.replace(each.getOffset(), each.getLength(), each.getText());
+    }
+    workingCopy.reconcile(ICompilationUnit.NO_AST, false, null, null);
+  }
+
+  /**
+   * The with-method of the builder field, null when the builder has none.
+   */
+  public IMethod findWithMethod(IType builderType, Field builderField)
+    throws JavaModelException {
+    if (builderType == null) {
+      return null;
+    }
+    for (IMethod each : builderType.getMethods()) {
+      if (each.getParameterTypes().length == 1 && withMethodPredicate.match(builderField, each)) {
+        return each;
+      }
+    }
+    return null;
+  }
+
+  private static boolean isPresent(IMethod method) {
+    return method != null && method.exists();
+  }
+
+  private static void add(
+    List<SourceReplacement> result, IMember member, List<SourceReplacement> replacements)
+    throws JavaModelException {
+    int memberOffset = member.getSourceRange().getOffset();
+    for (SourceReplacement each : replacements) {
+      result.add(new SourceReplacement(
+        memberOffset + each.getOffset(), each.getLength(), each.getText()));
+    }
+  }
+}
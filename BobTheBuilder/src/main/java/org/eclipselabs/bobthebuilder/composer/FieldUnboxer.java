@@ -0,0 +1,138 @@
+package org.eclipselabs.bobthebuilder.composer;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import javax.inject.Inject;
+
+import org.apache.commons.lang.Validate;
+import org.eclipse.jdt.core.IField;
+import org.eclipse.jdt.core.IMethod;
+import org.eclipse.jdt.core.IType;
+import org.eclipse.jdt.core.JavaModelException;
+import org.eclipselabs.bobthebuilder.complement.UnboxableFieldsProvider;
+import org.eclipselabs.bobthebuilder.model.Field;
+import org.eclipselabs.bobthebuilder.model.FieldChange;
+
+/**
+ * Makes the boxed fields of a request primitive: the field of the main type, and the field and the
+ * with-method parameter of the builder are changed in place, as {@link FieldChangeEditor} changes a
+ * retyped field. The assignment in the constructor with builder reads the same either way, and the
+ * members the request creates for those fields are created with the primitive type. A primitive
+ * cannot be null, so the not null validation of those fields is dropped rather than turned into a
+ * check that the primitive is set, which would reject values the boxed field took.
+ */
+public class FieldUnboxer {
+
+  private final FieldChangeComposer fieldChangeComposer;
+
+  private final FieldChangeEditor fieldChangeEditor;
+
+  @Inject
+  public FieldUnboxer(
+      FieldChangeComposer fieldChangeComposer, FieldChangeEditor fieldChangeEditor) {
+    this.fieldChangeComposer = fieldChangeComposer;
+    this.fieldChangeEditor = fieldChangeEditor;
+  }
+
+  /**
+   * The request with the fields, with-methods and assignments it creates for the fields it unboxes
+   * of the primitive type, and without the validations it creates for them.
+   */
+  public ComposerRequest unbox(ComposerRequest request) {
+    Validate.notNull(request, "request may not be null");
+    if (request.getUnboxedFields().isEmpty()) {
+      return request;
+    }
+    Map<String, Field> unboxed = new HashMap<String, Field>();
+    for (Field each : request.getUnboxedFields()) {
+      unboxed.put(each.getName(), UnboxableFieldsProvider.unbox(each));
+    }
+    ComposerRequest.Builder result = new ComposerRequest.Builder();
+    for (Field each : request.getMissingFieldsInBuilder()) {
+      result.addMissingFieldInBuilder(unboxed(each, unboxed));
+    }
+    for (Field each : request.getExtraFieldsInBuilder()) {
+      result.addExtraFieldInBuilder(each);
+    }
+    for (Field each : request.getMissingWithMethodsInBuilder()) {
+      result.addMissingWithMethodInBuilder(unboxed(each, unboxed));
+    }
+    for (Field each : request.getMissingAssignmentsInConstructor()) {
+      result.addMissingAssignmentInConstructor(unboxed(each, unboxed));
+    }
+    for (Field each : request.getMissingFieldValidationsInBuild()) {
+      if (!unboxed.containsKey(each.getName())) {
+        result.addMissingValidationInBuild(each);
+      }
+    }
+    for (Field each : request.getUnboxedFields()) {
+      result.addUnboxedField(each);
+    }
+    if (request.isCreateConstructorWithBuilder()) {
+      result.withConstructorWithBuilder();
+    }
+    if (request.isCreateBuildMethodInBuilder()) {
+      result.withBuildMethodInBuilder();
+    }
+    if (request.isCreateValidateMethodInBuilder()) {
+      result.withValidateMethodInBuilder();
+    }
+    if (request.getValidationFramework() != null) {
+      result.withValidationFramework(request.getValidationFramework());
+    }
+    return result.build();
+  }
+
+  /**
+   * The replacements, with offsets in the compilation unit, that make the fields of the request
+   * primitive where they are declared boxed still and delete their not null validations. Members
+   * created with the primitive type are left as they are.
+   */
+  public List<SourceReplacement> compose(ComposerRequest request, IType mainType,
+      IType builderType, IMethod validateMethod) throws JavaModelException {
+    Validate.notNull(request, "request may not be null");
+    Validate.notNull(mainType, "mainType may not be null");
+    List<SourceReplacement> result = new ArrayList<SourceReplacement>();
+    List<FieldChange> builderChanges = new ArrayList<FieldChange>();
+    for (Field each : request.getUnboxedFields()) {
+      FieldChange change = new FieldChange.Builder()
+          .withBuilderField(each)
+          .withMainTypeField(UnboxableFieldsProvider.unbox(each))
+          .build();
+      IField mainTypeField = mainType.getField(each.getName());
+      if (mainTypeField.exists()) {
+        add(result, mainTypeField.getSourceRange().getOffset(),
+          fieldChangeComposer.composeFieldDeclaration(change, mainTypeField.getSource()));
+      }
+      if (builderType != null) {
+        builderChanges.add(change);
+      }
+      if (validateMethod != null && validateMethod.exists()) {
+        add(result, validateMethod.getSourceRange().getOffset(),
+          fieldChangeComposer.composeValidationRemoval(
+            each, validateMethod.getSource(), request.getValidationFramework()));
+      }
+    }
+    if (!builderChanges.isEmpty()) {
+      result.addAll(fieldChangeEditor.compose(builderChanges, builderType, null, null,
+        request.getValidationFramework(), false));
+    }
+    return result;
+  }
+
+  private static void add(
+    List<SourceReplacement> result, int memberOffset, List<SourceReplacement> replacements) {
+    for (SourceReplacement each : replacements) {
+      result.add(new SourceReplacement(
+        memberOffset + each.getOffset(), each.getLength(), each.getText()));
+    }
+  }
+
+  private static Field unboxed(Field field, Map<String, Field> unboxed) {
+    Field result = unboxed.get(field.getName());
+    return result == null ? field : result;
+  }
+}
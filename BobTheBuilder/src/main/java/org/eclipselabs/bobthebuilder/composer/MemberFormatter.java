@@ -0,0 +1,98 @@
+package org.eclipselabs.bobthebuilder.composer;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.commons.lang.Validate;
+import org.eclipse.jdt.core.ICompilationUnit;
+import org.eclipse.jdt.core.IJavaProject;
+import org.eclipse.jdt.core.ISourceRange;
+import org.eclipse.jdt.core.ISourceReference;
+import org.eclipse.jdt.core.JavaCore;
+import org.eclipse.jdt.core.JavaModelException;
+import org.eclipse.jdt.core.SourceRange;
+import org.eclipse.jdt.core.ToolFactory;
+import org.eclipse.jdt.core.formatter.CodeFormatter;
+import org.eclipse.jface.text.IRegion;
+import org.eclipse.jface.text.Region;
+import org.eclipse.text.edits.TextEdit;
+
+/**
+ * Formats the members the composer created with the formatter settings of their project, leaving
+ * the rest of the compilation unit as it is, so that the cost follows what was generated rather
+ * than the size of the file.
+ */
+public class MemberFormatter {
+
+  public void format(ICompilationUnit workingCopy, List<? extends ISourceReference> members)
+    throws JavaModelException {
+    Validate.notNull(workingCopy, "workingCopy may not be null");
+    Validate.notNull(members, "members may not be null");
+    List<ISourceRange> ranges = new ArrayList<ISourceRange>();
+    for (ISourceReference each : members) {
+      if (each.exists()) {
+        ranges.add(each.getSourceRange());
+      }
+    }
+    List<ISourceRange> merged = merge(ranges);
+    if (merged.isEmpty()) {
+      return;
+    }
+    IRegion[] regions = new IRegion[merged.size()];
+    for (int i = 0; i < regions.length; i++) {
+      regions[i] = new Region(merged.get(i).getOffset(), merged.get(i).getLength());
+    }
+    CodeFormatter formatter = ToolFactory.createCodeFormatter(options(workingCopy));
+    TextEdit edit = formatter.format(
+      CodeFormatter.K_COMPILATION_UNIT | CodeFormatter.F_INCLUDE_COMMENTS,
+      workingCopy.getSource(),
+      regions,
+      0,
+      workingCopy.findRecommendedLineSeparator());
+    if (edit != null) {
+      workingCopy.applyTextEdit(edit, null);
+    }
+  }
+
+  /**
+   * The ranges in ascending order with those that overlap or touch joined, as the formatter
+   * expects them. A member created inside another created member, e.g. a field of a new builder,
+   * is then formatted once.
+   */
+  static List<ISourceRange> merge(List<ISourceRange> ranges) {
+    List<ISourceRange> sorted = new ArrayList<ISourceRange>(ranges);
+    Collections.sort(sorted, new Comparator<ISourceRange>() {
+      @Override
+      public int compare(ISourceRange o1, ISourceRange o2) {
+        return o1.getOffset() - o2.getOffset();
+      }
+    });
+    List<ISourceRange> result = new ArrayList<ISourceRange>();
+    int offset = -1;
+    int end = -1;
+    for (ISourceRange each : sorted) {
+      if (offset >= 0 && each.getOffset() <= end) {
+        end = Math.max(end, each.getOffset() + each.getLength());
+        continue;
+      }
+      if (offset >= 0) {
+        result.add(new SourceRange(offset, end - offset));
+      }
+      offset = each.getOffset();
+      end = each.getOffset() + each.getLength();
+    }
+    if (offset >= 0) {
+      result.add(new SourceRange(offset, end - offset));
+    }
+    return result;
+  }
+
+  @SuppressWarnings("unchecked")
+  private static Map<String, String> options(ICompilationUnit workingCopy) {
+    IJavaProject javaProject = workingCopy.getJavaProject();
+    return javaProject == null ? JavaCore.getOptions() : javaProject.getOptions(true);
+  }
+}
@@ -0,0 +1,112 @@
+package org.eclipselabs.bobthebuilder.composer;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.apache.commons.lang.StringUtils;
+import org.apache.commons.lang.Validate;
+
+/**
+ * Indents a composed member for a type whose members are indented by a given prefix, nesting by
+ * braces with a given unit. It stands in for {@link MemberFormatter} where there is no formatter,
+ * and like it is only ever given the members the composer creates.
+ */
+public class MemberIndenter {
+
+  public String indent(String member, String memberIndent, String indentUnit) {
+    return indent(member, memberIndent, indentUnit, lineDelimiter(member));
+  }
+
+  /**
+   * Indents the member with its lines ended by the given delimiter, that of the source it goes in,
+   * whichever the lines of the member end with.
+   */
+  public String indent(String member, String memberIndent, String indentUnit,
+    String lineDelimiter) {
+    Validate.notNull(member, "member may not be null");
+    Validate.notNull(memberIndent, "memberIndent may not be null");
+    Validate.notNull(indentUnit, "indentUnit may not be null");
+    Validate.notNull(lineDelimiter, "lineDelimiter may not be null");
+    List<String> lines = new ArrayList<String>();
+    int depth = 0;
+    for (String each : StringUtils.splitPreserveAllTokens(member, '\n')) {
+      String line = StringUtils.stripEnd(each.trim(), "\r");
+      if (line.length() == 0) {
+        // The formatter leaves empty lines unindented, so an indented one is what is left of the
+        // line the closing brace was taken from, in an existing member
+        if (StringUtils.stripEnd(each, "\r").length() == 0) {
+          lines.add("");
+        }
+        continue;
+      }
+      if (line.startsWith("*")) {
+        // The lines of a javadoc comment line up with its first
+        line = " " + line;
+      }
+      int lineDepth = line.startsWith("}") ? depth - 1 : depth;
+      lines.add(memberIndent + StringUtils.repeat(indentUnit, Math.max(lineDepth, 0)) + line);
+      depth += braceBalance(line);
+    }
+    for (int i = lines.size() - 2; i >= 0 && lines.get(i).length() == 0; i--) {
+      lines.remove(i);
+    }
+    return StringUtils.join(lines, lineDelimiter);
+  }
+
+  /**
+   * What the lines of the source end with, as its first line does, a line feed when it has one line.
+   */
+  public static String lineDelimiter(String source) {
+    Validate.notNull(source, "source may not be null");
+    int lineFeed = source.indexOf('\n');
+    return lineFeed > 0 && source.charAt(lineFeed - 1) == '\r' ? "\r\n" : "\n";
+  }
+
+  /**
+   * The indentation of the line the offset is on, up to the offset.
+   */
+  public static String indentationAt(String source, int offset) {
+    int lineStart = lineStart(source, offset);
+    int i = lineStart;
+    while (i < offset && (source.charAt(i) == ' ' || source.charAt(i) == '\t')) {
+      i++;
+    }
+    return source.substring(lineStart, i);
+  }
+
+  /**
+   * What a level of indentation is made of in the source, i.e. a tab or the spaces the first
+   * indented line of code starts with, two spaces when nothing is indented.
+   */
+  public static String indentUnit(String source) {
+    Validate.notNull(source, "source may not be null");
+    for (String each : StringUtils.split(source, '\n')) {
+      String code = each.trim();
+      // The lines of a block comment are indented by one space
+      if (code.length() == 0 || code.startsWith("*")) {
+        continue;
+      }
+      if (each.startsWith("\t")) {
+        return "\t";
+      }
+      if (each.startsWith(" ")) {
+        return each.substring(0, each.indexOf(code));
+      }
+    }
+    return "  ";
+  }
+
+  static int lineStart(String source, int offset) {
+    int result = offset;
+    while (result > 0 && source.charAt(result - 1) != '\n') {
+      result--;
+    }
+    return result;
+  }
+
+  // Braces in literals and comments are rare enough in members the composer creates to ignore
+  private static int braceBalance(String line) {
+    String code = line.startsWith("//") ? "" : line;
+    return StringUtils.countMatches(code, "{") - StringUtils.countMatches(code, "}");
+  }
+}
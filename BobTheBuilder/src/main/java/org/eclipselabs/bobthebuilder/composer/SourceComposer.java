@@ -0,0 +1,443 @@
+package org.eclipselabs.bobthebuilder.composer;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import javax.inject.Inject;
+
+import org.apache.commons.lang.StringUtils;
+import org.apache.commons.lang.Validate;
+import org.eclipselabs.bobthebuilder.mapper.javac.BuilderTypeMapper;
+import org.eclipselabs.bobthebuilder.mapper.javac.ClassifiedMembers;
+import org.eclipselabs.bobthebuilder.mapper.javac.FieldMapper;
+import org.eclipselabs.bobthebuilder.mapper.javac.MemberClassifier;
+import org.eclipselabs.bobthebuilder.mapper.javac.ParsedCompilationUnit;
+import org.eclipselabs.bobthebuilder.mapper.javac.ParsedSources;
+import org.eclipselabs.bobthebuilder.model.Field;
+import org.eclipselabs.bobthebuilder.model.JavaClassFile;
+import org.eclipselabs.bobthebuilder.model.MainType;
+
+import com.sun.source.tree.ClassTree;
+import com.sun.source.tree.ImportTree;
+import com.sun.source.tree.MethodTree;
+import com.sun.source.tree.Tree;
+import com.sun.source.tree.VariableTree;
+
+/**
+ * Applies a request to the source of a compilation unit parsed by javac, where {@link Composer}
+ * applies it to a working copy of the java model. The members are composed by the same
+ * {@link ConstructorComposer} and {@link BuilderComposer} and placed next to the same siblings,
+ * with two differences: the members that are composed again from existing ones are replaced where
+ * they are rather than created again at the end of their type, and the new fields of the builder
+ * follow its existing fields or open its body. Renamed and retyped fields are removed and added, since
+ * {@link FieldChangeEditor} needs the java model.
+ */
+public class SourceComposer {
+
+  private static final Pattern PACKAGE_DECLARATION =
+      Pattern.compile("^\\s*package\\s+[\\w.\\s]+;", Pattern.MULTILINE);
+
+  private static final Pattern IMPORT_DECLARATION =
+      Pattern.compile("^\\s*import\\s+[\\w.*\\s]+;", Pattern.MULTILINE);
+
+  private final ConstructorComposer constructorComposer;
+
+  private final BuilderComposer builderComposer;
+
+  private final MemberIndenter memberIndenter;
+
+  private final MemberClassifier memberClassifier;
+
+  private final FieldMapper fieldMapper;
+
+  private final BuilderTypeMapper builderTypeMapper;
+
+  @Inject
+  public SourceComposer(ConstructorComposer constructorComposer, BuilderComposer builderComposer,
+      MemberIndenter memberIndenter, MemberClassifier memberClassifier, FieldMapper fieldMapper,
+      BuilderTypeMapper builderTypeMapper) {
+    this.constructorComposer = constructorComposer;
+    this.builderComposer = builderComposer;
+    this.memberIndenter = memberIndenter;
+    this.memberClassifier = memberClassifier;
+    this.fieldMapper = fieldMapper;
+    this.builderTypeMapper = builderTypeMapper;
+  }
+
+  /**
+   * Returns the source of the compilation unit with the request applied, javaClassFile being the
+   * compilation unit as it is mapped.
+   */
+  public String compose(ComposerRequest request, ParsedCompilationUnit compilationUnit,
+    JavaClassFile javaClassFile) {
+    Validate.notNull(request, "request may not be null");
+    Validate.notNull(compilationUnit, "compilationUnit may not be null");
+    Validate.notNull(javaClassFile, "javaClassFile may not be null");
+    MainType mainType = javaClassFile.getMainType();
+    ParsedCompilationUnit unit = compilationUnit;
+    ClassTree type = selectMainType(unit);
+    String indentUnit = indentUnit(unit, type);
+    if (builderTypeMapper.findBuilderType(type) == null) {
+      // The members of the builder are placed among one another, so it is created first
+      Edits skeleton = new Edits(unit.getSource());
+      append(skeleton, unit, type, builderComposer.composeSkeleton(mainType), indentUnit);
+      unit = new ParsedSources.Builder()
+          .withSource(unit.getPath(), skeleton.apply())
+          .build()
+          .getCompilationUnit(unit.getPath());
+      type = selectMainType(unit);
+    }
+    ClassTree builder = builderTypeMapper.findBuilderType(type);
+    ClassifiedMembers builderMembers = memberClassifier.classify(builder);
+    Edits edits = new Edits(unit.getSource());
+    if (request.isCreateConstructorWithBuilder()) {
+      insertBefore(edits, unit, builder,
+        constructorComposer.composeFromScratch(request, mainType), indentUnit);
+    }
+    MethodTree constructorWithBuilder =
+        memberClassifier.classify(type).getConstructorWithBuilder();
+    if (constructorWithBuilder != null && (!request.getMissingAssignmentsInConstructor().isEmpty()
+      || !request.getExtraFieldsInBuilder().isEmpty())) {
+      replace(edits, unit, constructorWithBuilder, constructorComposer.composeFromExisting(
+        request, mainType.getConstructorWithBuilder()), indentUnit);
+    }
+    addFields(edits, unit, builder, request, indentUnit);
+    removeExtraFields(edits, unit, builder, builderMembers, request);
+    boolean selfTypedBuilder = !builder.getTypeParameters().isEmpty();
+    for (Field each : new TreeSet<Field>(request.getMissingWithMethodsInBuilder())) {
+      insertBeforeOrAppend(edits, unit, builder, builderMembers.getBuildMethod(),
+        builderComposer.composeWithMethod(each, selfTypedBuilder), indentUnit);
+    }
+    if (request.isCreateBuildMethodInBuilder()) {
+      insertBeforeOrAppend(edits, unit, builder, builderMembers.getValidateMethod(),
+        builderComposer.composeBuilderMethod(mainType, request.isCreateValidateMethodInBuilder()),
+        indentUnit);
+    }
+    if (request.isCreateValidateMethodInBuilder()) {
+      append(edits, unit, builder, builderComposer.composeValidateMethodFromScratch(
+        request.getMissingFieldValidationsInBuild(), request.getValidationFramework(), mainType),
+        indentUnit);
+    }
+    else if (!request.getMissingFieldValidationsInBuild().isEmpty()) {
+      replace(edits, unit, builderMembers.getValidateMethod(),
+        builderComposer.composeValidateMethodFromExisting(
+          request, mainType.getBuilderType().getValidateMethod()),
+        indentUnit);
+    }
+    if (request.isCreateValidateMethodInBuilder()
+      || !request.getMissingFieldValidationsInBuild().isEmpty()) {
+      addImports(edits, unit, request.getValidationFramework().composeImports(
+        request.getMissingFieldValidationsInBuild()));
+    }
+    return edits.apply();
+  }
+
+  // After the last field of the builder that stays, else before its first member
+  private void addFields(Edits edits, ParsedCompilationUnit unit, ClassTree builder,
+    ComposerRequest request, String indentUnit) {
+    VariableTree lastField = null;
+    for (VariableTree each : fieldMapper.findFields(builder)) {
+      if (!request.getExtraFieldsInBuilder().contains(fieldMapper.map(unit, each))) {
+        lastField = each;
+      }
+    }
+    Tree firstMember = null;
+    for (Tree each : builder.getMembers()) {
+      if (firstMember == null && unit.contains(each)) {
+        firstMember = each;
+      }
+    }
+    for (Field each : new TreeSet<Field>(request.getMissingFieldsInBuilder())) {
+      String declaration = builderComposer.composeFieldDeclaration(each);
+      if (lastField != null) {
+        insertAfter(edits, unit, lastField, declaration, indentUnit);
+      }
+      else if (firstMember != null) {
+        insertBefore(edits, unit, firstMember, declaration, indentUnit);
+      }
+      else {
+        append(edits, unit, builder, declaration, indentUnit);
+      }
+    }
+  }
+
+  private void removeExtraFields(Edits edits, ParsedCompilationUnit unit, ClassTree builder,
+    ClassifiedMembers builderMembers, ComposerRequest request) {
+    Set<Field> extraFields = request.getExtraFieldsInBuilder();
+    if (extraFields.isEmpty()) {
+      return;
+    }
+    // The fields of a declaration such as int x, y; go together or not at all
+    Set<Integer> keptDeclarations = new HashSet<Integer>();
+    List<VariableTree> removedFields = new ArrayList<VariableTree>();
+    for (VariableTree each : fieldMapper.findFields(builder)) {
+      if (extraFields.contains(fieldMapper.map(unit, each))) {
+        removedFields.add(each);
+      }
+      else {
+        keptDeclarations.add(unit.getStartPosition(each));
+      }
+    }
+    Set<Integer> removedDeclarations = new HashSet<Integer>();
+    for (VariableTree each : removedFields) {
+      int start = unit.getStartPosition(each);
+      if (!keptDeclarations.contains(start) && removedDeclarations.add(start)) {
+        delete(edits, unit, each);
+      }
+    }
+    for (Field each : extraFields) {
+      for (MethodTree eachWithMethod : builderMembers.getWithMethods(each)) {
+        delete(edits, unit, eachWithMethod);
+      }
+    }
+  }
+
+  private void insertBeforeOrAppend(Edits edits, ParsedCompilationUnit unit, ClassTree type,
+    Tree sibling, String member, String indentUnit) {
+    if (sibling == null) {
+      append(edits, unit, type, member, indentUnit);
+    }
+    else {
+      insertBefore(edits, unit, sibling, member, indentUnit);
+    }
+  }
+
+  private void insertBefore(Edits edits, ParsedCompilationUnit unit, Tree sibling, String member,
+    String indentUnit) {
+    String source = unit.getSource();
+    int start = unit.getStartPosition(sibling);
+    String memberIndent = MemberIndenter.indentationAt(source, start);
+    String lineDelimiter = edits.lineDelimiter;
+    edits.add(start - memberIndent.length(), 0,
+      memberIndenter.indent(member, memberIndent, indentUnit, lineDelimiter) + lineDelimiter
+        + lineDelimiter);
+  }
+
+  private void insertAfter(Edits edits, ParsedCompilationUnit unit, Tree sibling, String member,
+    String indentUnit) {
+    String source = unit.getSource();
+    String memberIndent =
+        MemberIndenter.indentationAt(source, unit.getStartPosition(sibling));
+    String lineDelimiter = edits.lineDelimiter;
+    edits.add(lineEnd(source, unit.getEndPosition(sibling)), 0, lineDelimiter + lineDelimiter
+      + memberIndenter.indent(member, memberIndent, indentUnit, lineDelimiter));
+  }
+
+  private void append(Edits edits, ParsedCompilationUnit unit, ClassTree type, String member,
+    String indentUnit) {
+    String source = unit.getSource();
+    int bodyEnd = unit.getBodyEndPosition(type);
+    String typeIndent = MemberIndenter.indentationAt(source, bodyEnd);
+    String memberIndent = typeIndent + indentUnit;
+    boolean empty = true;
+    for (Tree each : type.getMembers()) {
+      if (unit.contains(each)) {
+        memberIndent = MemberIndenter.indentationAt(source, unit.getStartPosition(each));
+        empty = false;
+      }
+    }
+    int lineStart = MemberIndenter.lineStart(source, bodyEnd);
+    // The closing brace is on a line of its own, or the members go on lines of their own before it
+    boolean ownLine = lineStart + typeIndent.length() == bodyEnd;
+    int offset = ownLine ? lineStart : bodyEnd;
+    boolean first = !edits.insertsAt(offset);
+    String lineDelimiter = edits.lineDelimiter;
+    String text = (empty && first ? "" : lineDelimiter)
+      + memberIndenter.indent(member, memberIndent, indentUnit, lineDelimiter) + lineDelimiter;
+    if (ownLine) {
+      edits.add(offset, 0, text);
+    }
+    else if (first) {
+      edits.add(offset, 0, lineDelimiter + text);
+      edits.addLast(offset, typeIndent);
+    }
+    else {
+      edits.add(offset, 0, text);
+    }
+  }
+
+  private void replace(Edits edits, ParsedCompilationUnit unit, Tree member, String newMember,
+    String indentUnit) {
+    String source = unit.getSource();
+    int start = unit.getStartPosition(member);
+    String memberIndent = MemberIndenter.indentationAt(source, start);
+    edits.add(start, unit.getEndPosition(member) - start, memberIndenter
+        .indent(newMember, memberIndent, indentUnit, edits.lineDelimiter).substring(memberIndent.length()));
+  }
+
+  // The lines of the member, and a blank line before them
+  private static void delete(Edits edits, ParsedCompilationUnit unit, Tree member) {
+    String source = unit.getSource();
+    int start = unit.getStartPosition(member);
+    int from = start - MemberIndenter.indentationAt(source, start).length();
+    if (from != MemberIndenter.lineStart(source, start)) {
+      from = start;
+    }
+    else if (from > 0) {
+      int previousLineStart = MemberIndenter.lineStart(source, from - 1);
+      if (source.substring(previousLineStart, from).trim().length() == 0) {
+        from = previousLineStart;
+      }
+    }
+    int to = lineEnd(source, unit.getEndPosition(member));
+    if (to < source.length()) {
+      to += edits.lineDelimiter.length();
+    }
+    edits.add(from, to - from, "");
+  }
+
+  // Those not imported yet, together after the last import
+  private static void addImports(
+    Edits edits, ParsedCompilationUnit unit, Collection<String> fullClassNames) {
+    Set<String> missing = new LinkedHashSet<String>(fullClassNames);
+    for (ImportTree each : unit.getTree().getImports()) {
+      missing.remove(each.getQualifiedIdentifier().toString());
+    }
+    if (missing.isEmpty()) {
+      return;
+    }
+    List<String> declarations = new ArrayList<String>();
+    for (String each : missing) {
+      declarations.add("import " + each + ";");
+    }
+    String source = unit.getSource();
+    String lineDelimiter = edits.lineDelimiter;
+    String importDeclarations = StringUtils.join(declarations, lineDelimiter);
+    Matcher imports = IMPORT_DECLARATION.matcher(source);
+    int lastImportEnd = -1;
+    while (imports.find()) {
+      lastImportEnd = imports.end();
+    }
+    if (lastImportEnd >= 0) {
+      edits.add(lastImportEnd, 0, lineDelimiter + importDeclarations);
+      return;
+    }
+    Matcher packageDeclaration = PACKAGE_DECLARATION.matcher(source);
+    if (packageDeclaration.find()) {
+      edits.add(packageDeclaration.end(), 0, lineDelimiter + lineDelimiter + importDeclarations);
+    }
+    else {
+      edits.add(0, 0, importDeclarations + lineDelimiter + lineDelimiter);
+    }
+  }
+
+  private static ClassTree selectMainType(ParsedCompilationUnit unit) {
+    for (Tree each : unit.getTree().getTypeDecls()) {
+      if (each instanceof ClassTree) {
+        return (ClassTree) each;
+      }
+    }
+    throw new IllegalStateException("No type in " + unit.getPath());
+  }
+
+  // The indentation of the members of the main type beyond its own, or as the source has it
+  private static String indentUnit(ParsedCompilationUnit unit, ClassTree type) {
+    String source = unit.getSource();
+    String typeIndent = MemberIndenter.indentationAt(source, unit.getBodyEndPosition(type));
+    for (Tree each : type.getMembers()) {
+      if (unit.contains(each)) {
+        String memberIndent =
+            MemberIndenter.indentationAt(source, unit.getStartPosition(each));
+        if (memberIndent.length() > typeIndent.length() && memberIndent.startsWith(typeIndent)) {
+          return memberIndent.substring(typeIndent.length());
+        }
+      }
+    }
+    return MemberIndenter.indentUnit(source);
+  }
+
+  // Before the line delimiter, be it a line feed or a carriage return and a line feed
+  private static int lineEnd(String source, int from) {
+    int result = source.indexOf('\n', from);
+    if (result < 0) {
+      return source.length();
+    }
+    return result > from && source.charAt(result - 1) == '\r' ? result - 1 : result;
+  }
+
+  /*
+   * Text edits collected against the offsets of the parsed source and applied from the last one,
+   * so that none of them moves the offsets of another. Edits at the same offset are applied as
+   * they were added, removals before insertions, unless they are added as the last one. The text
+   * they insert ends its lines as the source does.
+   */
+  private static class Edits {
+
+    private final String source;
+
+    private final String lineDelimiter;
+
+    private final List<Edit> edits = new ArrayList<Edit>();
+
+    Edits(String source) {
+      this.source = source;
+      this.lineDelimiter = MemberIndenter.lineDelimiter(source);
+    }
+
+    void add(int offset, int length, String text) {
+      edits.add(new Edit(offset, length, text, edits.size()));
+    }
+
+    // An insertion that follows whatever else is inserted at the offset
+    void addLast(int offset, String text) {
+      edits.add(new Edit(offset, 0, text, Integer.MAX_VALUE));
+    }
+
+    boolean insertsAt(int offset) {
+      for (Edit each : edits) {
+        if (each.offset == offset && each.length == 0) {
+          return true;
+        }
+      }
+      return false;
+    }
+
+    String apply() {
+      List<Edit> ordered = new ArrayList<Edit>(edits);
+      Collections.sort(ordered, new Comparator<Edit>() {
+        @Override
+        public int compare(Edit o1, Edit o2) {
+          if (o1.offset != o2.offset) {
+            return o2.offset - o1.offset;
+          }
+          if ((o1.length > 0) != (o2.length > 0)) {
+            return o1.length > 0 ? -1 : 1;
+          }
+          return o2.sequence - o1.sequence;
+        }
+      });
+      StringBuilder result = new StringBuilder(source);
+      for (Edit each : ordered) {
+        result.replace(each.offset, each.offset + each.length, each.text);
+      }
+      return result.toString();
+    }
+  }
+
+  private static class Edit {
+
+    private final int offset;
+
+    private final int length;
+
+    private final String text;
+
+    private final int sequence;
+
+    Edit(int offset, int length, String text, int sequence) {
+      this.offset = offset;
+      this.length = length;
+      this.text = text;
+      this.sequence = sequence;
+    }
+  }
+}
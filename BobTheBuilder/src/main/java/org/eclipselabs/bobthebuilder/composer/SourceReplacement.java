@@ -0,0 +1,84 @@
+package org.eclipselabs.bobthebuilder.composer;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+
+import org.apache.commons.lang.Validate;
+import org.apache.commons.lang.builder.EqualsBuilder;
+import org.apache.commons.lang.builder.HashCodeBuilder;
+import org.apache.commons.lang.builder.ToStringBuilder;
+
+/**
+ * Text to put in place of a range of a source, the offset being relative to the start of that
+ * source.
+ */
+public class SourceReplacement {
+
+  private final int offset;
+
+  private final int length;
+
+  private final String text;
+
+  public SourceReplacement(int offset, int length, String text) {
+    Validate.isTrue(offset >= 0, "offset may not be negative");
+    Validate.isTrue(length >= 0, "length may not be negative");
+    Validate.notNull(text, "text may not be null");
+    this.offset = offset;
+    this.length = length;
+    this.text = text;
+  }
+
+  public int getOffset() {
+    return offset;
+  }
+
+  public int getLength() {
+    return length;
+  }
+
+  public String getText() {
+    return text;
+  }
+
+  /**
+   * The replacements in descending order of offset, so that each one can be applied without
+   * moving the ranges of those still to be applied.
+   */
+  public static List<SourceReplacement> lastFirst(List<SourceReplacement> replacements) {
+    List<SourceReplacement> result = new ArrayList<SourceReplacement>(replacements);
+    Collections.sort(result, new Comparator<SourceReplacement>() {
+      @Override
+      public int compare(SourceReplacement o1, SourceReplacement o2) {
+        return o2.offset - o1.offset;
+      }
+    });
+    return result;
+  }
+
+  public static String apply(String source, List<SourceReplacement> replacements) {
+    Validate.notNull(source, "source may not be null");
+    StringBuilder result = new StringBuilder(source);
+    for (SourceReplacement each : lastFirst(replacements)) {
+      result.replace(each.offset, each.offset + each.length, each.text);
+    }
+    return result.toString();
+  }
+
+  @Override
+  public int hashCode() {
+    return HashCodeBuilder.reflectionHashCode(this);
+  }
+
+  @Override
+  public boolean equals(Object obj) {
+    return EqualsBuilder.reflectionEquals(this, obj);
+  }
+
+  @Override
+  public String toString() {
+    return ToStringBuilder.reflectionToString(this);
+  }
+}
@@ -0,0 +1,192 @@
+package org.eclipselabs.bobthebuilder.daemon;
+
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import javax.inject.Inject;
+
+import org.apache.commons.lang.Validate;
+import org.eclipselabs.bobthebuilder.DefaultComposerRequestConstructor;
+import org.eclipselabs.bobthebuilder.Feature;
+import org.eclipselabs.bobthebuilder.ValidationFramework;
+import org.eclipselabs.bobthebuilder.complement.MainTypeComplementProvider;
+import org.eclipselabs.bobthebuilder.composer.ComposerRequest;
+import org.eclipselabs.bobthebuilder.composer.SourceComposer;
+import org.eclipselabs.bobthebuilder.footprint.Footprint;
+import org.eclipselabs.bobthebuilder.footprint.FootprintEstimator;
+import org.eclipselabs.bobthebuilder.jit.MethodSize;
+import org.eclipselabs.bobthebuilder.jit.MethodSizeLint;
+import org.eclipselabs.bobthebuilder.mapper.javac.CompilationUnitMapper;
+import org.eclipselabs.bobthebuilder.mapper.javac.ParsedCompilationUnit;
+import org.eclipselabs.bobthebuilder.mapper.javac.ParsedSources;
+import org.eclipselabs.bobthebuilder.model.BuilderTypeSupplement;
+import org.eclipselabs.bobthebuilder.model.JavaClassFile;
+import org.eclipselabs.bobthebuilder.model.MainType;
+import org.eclipselabs.bobthebuilder.model.MainTypeComplement;
+import org.eclipselabs.bobthebuilder.supplement.MappedBuilderTypeSupplementProvider;
+
+import com.sun.source.tree.ClassTree;
+import com.sun.source.tree.Tree;
+
+/**
+ * Brings the builder of a source file in line with its main type the way "Apply All" does, from
+ * the source alone: it is parsed by javac, mapped, complemented and supplemented, and the request
+ * every entry of the dialog would make is composed into the source.
+ */
+public class BuilderSync {
+
+  private final CompilationUnitMapper compilationUnitMapper;
+
+  private final MainTypeComplementProvider mainTypeComplementProvider;
+
+  private final MappedBuilderTypeSupplementProvider mappedBuilderTypeSupplementProvider;
+
+  private final DefaultComposerRequestConstructor defaultComposerRequestConstructor;
+
+  private final SourceComposer sourceComposer;
+
+  private final FootprintEstimator footprintEstimator;
+
+  private final MethodSizeLint methodSizeLint;
+
+  @Inject
+  public BuilderSync(CompilationUnitMapper compilationUnitMapper,
+      MainTypeComplementProvider mainTypeComplementProvider,
+      MappedBuilderTypeSupplementProvider mappedBuilderTypeSupplementProvider,
+      DefaultComposerRequestConstructor defaultComposerRequestConstructor,
+      SourceComposer sourceComposer,
+      FootprintEstimator footprintEstimator,
+      MethodSizeLint methodSizeLint) {
+    this.compilationUnitMapper = compilationUnitMapper;
+    this.mainTypeComplementProvider = mainTypeComplementProvider;
+    this.mappedBuilderTypeSupplementProvider = mappedBuilderTypeSupplementProvider;
+    this.defaultComposerRequestConstructor = defaultComposerRequestConstructor;
+    this.sourceComposer = sourceComposer;
+    this.footprintEstimator = footprintEstimator;
+    this.methodSizeLint = methodSizeLint;
+  }
+
+  /**
+   * Returns the new source of the file at the path, or null when there is nothing to do: its main
+   * type has no builder yet, it has other than one type, or the builder is in line already. The
+   * sources map the paths of the file and of the superclasses it may have to their content, and
+   * the validation framework is used when the builder has no validate method to take it from.
+   */
+  public String sync(String path, Map<String, String> sources,
+    ValidationFramework validationFramework) {
+    return compose(path, sources, validationFramework, EnumSet.allOf(Feature.class), false);
+  }
+
+  /**
+   * As {@link #sync(String, Map, ValidationFramework)}, but with only the entries of the features
+   * checked, and creating the builder of a main type that has none yet.
+   */
+  public String compose(String path, Map<String, String> sources,
+    ValidationFramework validationFramework, Set<Feature> features) {
+    return compose(path, sources, validationFramework, features, true);
+  }
+
+  private String compose(String path, Map<String, String> sources,
+    ValidationFramework validationFramework, Set<Feature> features, boolean createBuilder) {
+    Validate.notEmpty(path, "path may not be empty");
+    Validate.notNull(sources, "sources may not be null");
+    Validate.isTrue(sources.containsKey(path), "sources do not hold " + path);
+    Validate.notNull(validationFramework, "validationFramework may not be null");
+    Validate.notNull(features, "features may not be null");
+    ParsedSources.Builder parsedSources = new ParsedSources.Builder();
+    for (Map.Entry<String, String> each : sources.entrySet()) {
+      parsedSources.withSource(each.getKey(), each.getValue());
+    }
+    ParsedCompilationUnit compilationUnit = parsedSources.build().getCompilationUnit(path);
+    if (!hasSingleType(compilationUnit)) {
+      return null;
+    }
+    JavaClassFile javaClassFile = compilationUnitMapper.map(compilationUnit);
+    MainType mainType = javaClassFile.getMainType();
+    if (mainType.getBuilderType() == null && !createBuilder) {
+      return null;
+    }
+    MainTypeComplement complement = mainTypeComplementProvider.complement(mainType);
+    BuilderTypeSupplement supplement =
+        mappedBuilderTypeSupplementProvider.provideSupplement(mainType);
+    if (complement.isEmptyComplement() && supplement.isEmptySupplement()) {
+      return null;
+    }
+    ComposerRequest request = defaultComposerRequestConstructor.work(
+      complement, supplement, selectValidationFramework(mainType, validationFramework), features);
+    String result = sourceComposer.compose(request, compilationUnit, javaClassFile);
+    // The features left out may have been all there was to do
+    return result.equals(compilationUnit.getSource()) ? null : result;
+  }
+
+  /**
+   * Estimates the footprints of the main type of the file at the path and of its builder, none
+   * when it has other than one type or no builder yet.
+   */
+  public List<Footprint> estimateFootprints(String path, String source) {
+    MainType mainType = mapWithBuilder(path, source);
+    return mainType == null
+        ? Collections.<Footprint> emptyList()
+        : footprintEstimator.estimate(mainType);
+  }
+
+  /**
+   * Estimates the bytecode size of the constructor with builder, the build method and the validate
+   * method of the file at the path as they are, none when it has other than one type or no builder
+   * yet.
+   */
+  public List<MethodSize> lintMethodSizes(String path, String source) {
+    MainType mainType = mapWithBuilder(path, source);
+    return mainType == null
+        ? Collections.<MethodSize> emptyList()
+        : methodSizeLint.lint(mainType, new ComposerRequest.Builder().build());
+  }
+
+  private MainType mapWithBuilder(String path, String source) {
+    Validate.notEmpty(path, "path may not be empty");
+    Validate.notNull(source, "source may not be null");
+    ParsedCompilationUnit compilationUnit =
+        new ParsedSources.Builder().withSource(path, source).build().getCompilationUnit(path);
+    if (!hasSingleType(compilationUnit)) {
+      return null;
+    }
+    MainType mainType = compilationUnitMapper.map(compilationUnit).getMainType();
+    return mainType.getBuilderType() == null ? null : mainType;
+  }
+
+  /**
+   * Loads the system java compiler, which takes hundreds of milliseconds, so that the first
+   * request does not wait for it.
+   */
+  public void warmUp() {
+    sync(
+      "WarmUp.java",
+      Collections.singletonMap("WarmUp.java",
+        "class WarmUp {\n  int x;\n  WarmUp(Builder builder) {}\n  static class Builder {}\n}\n"),
+      ValidationFramework.GOOGLE_GUAVA);
+  }
+
+  private static boolean hasSingleType(ParsedCompilationUnit compilationUnit) {
+    int types = 0;
+    for (Tree each : compilationUnit.getTree().getTypeDecls()) {
+      if (each instanceof ClassTree) {
+        types++;
+      }
+    }
+    return types == 1;
+  }
+
+  // As SubContractor, the framework the builder validates with wins
+  private static ValidationFramework selectValidationFramework(MainType mainType,
+    ValidationFramework validationFramework) {
+    if (mainType.getBuilderType() != null
+      && mainType.getBuilderType().getValidateMethod() != null
+      && mainType.getBuilderType().getValidateMethod().getValidationFramework() != null) {
+      return mainType.getBuilderType().getValidateMethod().getValidationFramework();
+    }
+    return validationFramework;
+  }
+}
@@ -0,0 +1,186 @@
+package org.eclipselabs.bobthebuilder.daemon;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.charset.Charset;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.commons.lang.Validate;
+import org.eclipselabs.bobthebuilder.ValidationFramework;
+import org.eclipselabs.bobthebuilder.complement.ComplementModule;
+import org.eclipselabs.bobthebuilder.mapper.javac.MapperModule;
+
+import com.google.inject.Guice;
+
+/**
+ * Keeps the builders of the java files of source folders in line with their main types while the
+ * files are edited outside of Eclipse. The files the {@link SourceRootWatcher} reports are synced
+ * by a few workers, each file by one worker at a time and as often as it changed while it waited
+ * only once. A file is replaced with its new source in a single move, and only when it did not
+ * change since it was read; a change in the meantime is reported again and synced then.
+ * <p>
+ * Started with the source folders as arguments, on a Java 7 runtime with a JDK, as the files are
+ * watched with {@link java.nio.file.WatchService} and parsed by the system java compiler. The
+ * system properties {@value #THREADS_PROPERTY}, {@value #QUIET_PERIOD_PROPERTY} (milliseconds),
+ * {@value #VALIDATION_FRAMEWORK_PROPERTY} and {@value #ENCODING_PROPERTY} override the defaults.
+ */
+public class BuilderSyncDaemon implements SourceRootWatcher.Listener {
+
+  public static final String THREADS_PROPERTY = "bobthebuilder.daemon.threads";
+
+  public static final String QUIET_PERIOD_PROPERTY = "bobthebuilder.daemon.quietPeriod";
+
+  public static final String VALIDATION_FRAMEWORK_PROPERTY =
+      "bobthebuilder.daemon.validationFramework";
+
+  public static final String ENCODING_PROPERTY = "bobthebuilder.daemon.encoding";
+
+  static final int DEFAULT_THREADS = 2;
+
+  static final long DEFAULT_QUIET_PERIOD = 20;
+
+  static final String DEFAULT_ENCODING = "UTF-8";
+
+  private final BuilderSync builderSync;
+
+  private final ValidationFramework validationFramework;
+
+  private final Charset charset;
+
+  private final ExecutorService executorService;
+
+  private final PrintStream log;
+
+  private final ConcurrentMap<Path, Boolean> queued = new ConcurrentHashMap<Path, Boolean>();
+
+  private final ConcurrentMap<Path, Object> locks = new ConcurrentHashMap<Path, Object>();
+
+  // The sources the daemon wrote, so that the events of its own writes are told apart
+  private final ConcurrentMap<Path, String> written = new ConcurrentHashMap<Path, String>();
+
+  public BuilderSyncDaemon(BuilderSync builderSync, ValidationFramework validationFramework,
+      Charset charset, ExecutorService executorService, PrintStream log) {
+    Validate.notNull(builderSync, "builderSync may not be null");
+    Validate.notNull(validationFramework, "validationFramework may not be null");
+    Validate.notNull(charset, "charset may not be null");
+    Validate.notNull(executorService, "executorService may not be null");
+    Validate.notNull(log, "log may not be null");
+    this.builderSync = builderSync;
+    this.validationFramework = validationFramework;
+    this.charset = charset;
+    this.executorService = executorService;
+    this.log = log;
+  }
+
+  public static void main(String[] args) throws IOException, InterruptedException {
+    if (args.length == 0) {
+      System.err.println("Usage: " + BuilderSyncDaemon.class.getName() + " <source folder>...");
+      System.exit(2);
+    }
+    List<Path> roots = new ArrayList<Path>();
+    for (String each : args) {
+      roots.add(Paths.get(each).toAbsolutePath());
+    }
+    BuilderSync builderSync = Guice.createInjector(
+      new MapperModule(), new ComplementModule(), new DaemonModule())
+        .getInstance(BuilderSync.class);
+    final BuilderSyncDaemon daemon = new BuilderSyncDaemon(
+      builderSync,
+      ValidationFramework.valueOf(System.getProperty(
+        VALIDATION_FRAMEWORK_PROPERTY, ValidationFramework.DEFAULT.name())),
+      Charset.forName(System.getProperty(ENCODING_PROPERTY, DEFAULT_ENCODING)),
+      Executors.newFixedThreadPool(Integer.getInteger(THREADS_PROPERTY, DEFAULT_THREADS)),
+      System.out);
+    final SourceRootWatcher watcher = new SourceRootWatcher(
+      roots, Long.getLong(QUIET_PERIOD_PROPERTY, DEFAULT_QUIET_PERIOD));
+    Runtime.getRuntime().addShutdownHook(new Thread() {
+      @Override
+      public void run() {
+        try {
+          watcher.close();
+        }
+        catch (IOException e) {
+          // Exiting anyway
+        }
+        daemon.shutdown();
+      }
+    });
+    builderSync.warmUp();
+    daemon.log.println("Bob The Builder watches " + roots);
+    watcher.run(daemon);
+  }
+
+  @Override
+  public void changed(Set<Path> javaFiles) {
+    Validate.notNull(javaFiles, "javaFiles may not be null");
+    for (final Path each : javaFiles) {
+      // A file that is already waiting for a worker gets the latest change anyway
+      if (queued.putIfAbsent(each, Boolean.TRUE) == null) {
+        executorService.execute(new Runnable() {
+          @Override
+          public void run() {
+            queued.remove(each);
+            sync(each);
+          }
+        });
+      }
+    }
+  }
+
+  /**
+   * Syncs the builder of the file and returns whether the file was written.
+   */
+  public boolean sync(Path javaFile) {
+    Validate.notNull(javaFile, "javaFile may not be null");
+    synchronized (lockFor(javaFile)) {
+      long start = System.nanoTime();
+      try {
+        String source = read(javaFile);
+        if (source == null || source.equals(written.remove(javaFile))) {
+          return false;
+        }
+        String fileName = javaFile.getFileName().toString();
+        String newSource = builderSync.sync(
+          fileName, SourceFiles.readWithSuperclasses(javaFile, source, charset),
+          validationFramework);
+        if (newSource == null || !SourceFiles.replace(javaFile, source, newSource, charset)) {
+          return false;
+        }
+        written.put(javaFile, newSource);
+        log.println("Bob The Builder synced " + javaFile + " in "
+          + TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) + "ms");
+        return true;
+      }
+      catch (IOException e) {
+        log.println("Bob The Builder could not sync " + javaFile + ": " + e);
+      }
+      catch (RuntimeException e) {
+        log.println("Bob The Builder could not sync " + javaFile + ": " + e);
+      }
+      return false;
+    }
+  }
+
+  public void shutdown() {
+    executorService.shutdown();
+  }
+
+  private Object lockFor(Path javaFile) {
+    Object lock = new Object();
+    Object existing = locks.putIfAbsent(javaFile, lock);
+    return existing == null ? lock : existing;
+  }
+
+  private String read(Path file) throws IOException {
+    return SourceFiles.read(file, charset);
+  }
+}
@@ -0,0 +1,30 @@
+package org.eclipselabs.bobthebuilder.daemon;
+
+import org.eclipselabs.bobthebuilder.DefaultComposerRequestConstructor;
+import org.eclipselabs.bobthebuilder.analyzer.FieldPredicate;
+import org.eclipselabs.bobthebuilder.composer.MemberIndenter;
+import org.eclipselabs.bobthebuilder.composer.SourceComposer;
+import org.eclipselabs.bobthebuilder.model.ValidateMethodInBuilder;
+import org.eclipselabs.bobthebuilder.supplement.MappedBuilderTypeSupplementProvider;
+
+import com.google.inject.AbstractModule;
+
+/**
+ * What {@link BuilderSync} needs on top of the javac mapper and the complement modules, none of it
+ * touching the Java model, so that the daemon runs in a plain JVM.
+ */
+public class DaemonModule extends AbstractModule {
+
+  @Override
+  protected void configure() {
+    bind(BuilderSync.class);
+    bind(SourceComposer.class);
+    bind(MemberIndenter.class);
+    bind(MappedBuilderTypeSupplementProvider.class);
+    bind(DefaultComposerRequestConstructor.class);
+    bind(FieldPredicate.class)
+        .annotatedWith(ValidateMethodInBuilder.class)
+        .to(FieldPredicate.FieldValidation.class);
+  }
+
+}
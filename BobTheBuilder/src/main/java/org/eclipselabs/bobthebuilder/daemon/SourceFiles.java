@@ -0,0 +1,107 @@
+package org.eclipselabs.bobthebuilder.daemon;
+
+import java.io.IOException;
+import java.nio.charset.Charset;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.PosixFileAttributeView;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.apache.commons.lang.Validate;
+
+/**
+ * Reads java files for {@link BuilderSync}, along with the superclasses of the same directory.
+ */
+public final class SourceFiles {
+
+  private static final Pattern SUPERCLASS =
+      Pattern.compile("\\bclass\\s+\\w+\\s*(?:<.*?>)?\\s*extends\\s+(\\w+)", Pattern.DOTALL);
+
+  private static final String JAVA_FILE_SUFFIX = ".java";
+
+  private static final String TEMPORARY_FILE_SUFFIX = ".tmp";
+
+  private SourceFiles() {}
+
+  /**
+   * Returns the content of the file, or null when it is gone.
+   */
+  public static String read(Path file, Charset charset) throws IOException {
+    Validate.notNull(file, "file may not be null");
+    Validate.notNull(charset, "charset may not be null");
+    try {
+      return new String(Files.readAllBytes(file), charset);
+    }
+    catch (NoSuchFileException e) {
+      return null;
+    }
+  }
+
+  /**
+   * Replaces the file with its new source in a single move, only when it still has the source it
+   * was read with, and returns whether it did.
+   */
+  public static boolean replace(Path javaFile, String source, String newSource, Charset charset)
+    throws IOException {
+    Validate.notNull(javaFile, "javaFile may not be null");
+    Validate.notNull(source, "source may not be null");
+    Validate.notNull(newSource, "newSource may not be null");
+    Validate.notNull(charset, "charset may not be null");
+    Path temporaryFile = Files.createTempFile(
+      javaFile.getParent(), "." + javaFile.getFileName(), TEMPORARY_FILE_SUFFIX);
+    try {
+      Files.write(temporaryFile, newSource.getBytes(charset));
+      if (Files.getFileStore(javaFile).supportsFileAttributeView(PosixFileAttributeView.class)) {
+        Files.setPosixFilePermissions(temporaryFile, Files.getPosixFilePermissions(javaFile));
+      }
+      if (!source.equals(read(javaFile, charset))) {
+        return false;
+      }
+      try {
+        Files.move(temporaryFile, javaFile, StandardCopyOption.ATOMIC_MOVE,
+          StandardCopyOption.REPLACE_EXISTING);
+      }
+      catch (AtomicMoveNotSupportedException e) {
+        Files.move(temporaryFile, javaFile, StandardCopyOption.REPLACE_EXISTING);
+      }
+      return true;
+    }
+    finally {
+      Files.deleteIfExists(temporaryFile);
+    }
+  }
+
+  /**
+   * Maps the file name of the java file to its source, and those of the superclasses of the same
+   * directory to theirs, by their simple names as SuperTypeMapper finds them.
+   */
+  public static Map<String, String> readWithSuperclasses(Path javaFile, String source,
+    Charset charset) throws IOException {
+    Validate.notNull(javaFile, "javaFile may not be null");
+    Validate.notNull(source, "source may not be null");
+    Map<String, String> result = new LinkedHashMap<String, String>();
+    result.put(javaFile.getFileName().toString(), source);
+    String current = source;
+    while (current != null) {
+      Matcher superclass = SUPERCLASS.matcher(current);
+      if (!superclass.find()) {
+        break;
+      }
+      String fileName = superclass.group(1) + JAVA_FILE_SUFFIX;
+      if (result.containsKey(fileName)) {
+        break;
+      }
+      current = read(javaFile.resolveSibling(fileName), charset);
+      if (current != null) {
+        result.put(fileName, current);
+      }
+    }
+    return result;
+  }
+}
@@ -0,0 +1,149 @@
+package org.eclipselabs.bobthebuilder.daemon;
+
+import static java.nio.file.StandardWatchEventKinds.ENTRY_CREATE;
+import static java.nio.file.StandardWatchEventKinds.ENTRY_MODIFY;
+import static java.nio.file.StandardWatchEventKinds.OVERFLOW;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.commons.lang.Validate;
+
+/**
+ * Watches source folders, the directories below them included, and hands the java files that
+ * were created or changed to a {@link Listener} in batches. A batch closes once no event came in
+ * for the quiet period, so that the several events an editor or a checkout causes for a file
+ * arrive as one change, or once ten quiet periods passed since it opened.
+ */
+public class SourceRootWatcher implements Closeable {
+
+  private static final String JAVA_FILE_SUFFIX = ".java";
+
+  private static final int MAX_QUIET_PERIODS = 10;
+
+  public interface Listener {
+
+    /**
+     * Called on the thread of {@link SourceRootWatcher#run(Listener)}, with absolute paths.
+     */
+    void changed(Set<Path> javaFiles);
+  }
+
+  private final List<Path> roots;
+
+  private final long quietPeriodMillis;
+
+  private final WatchService watchService;
+
+  private final Map<WatchKey, Path> directories = new HashMap<WatchKey, Path>();
+
+  public SourceRootWatcher(List<Path> roots, long quietPeriodMillis) throws IOException {
+    Validate.notEmpty(roots, "roots may not be empty");
+    Validate.isTrue(quietPeriodMillis >= 0, "quietPeriodMillis may not be negative");
+    this.roots = Collections.unmodifiableList(new ArrayList<Path>(roots));
+    this.quietPeriodMillis = quietPeriodMillis;
+    this.watchService = FileSystems.getDefault().newWatchService();
+    for (Path each : this.roots) {
+      Validate.isTrue(Files.isDirectory(each), each + " is not a directory");
+      register(each, null);
+    }
+  }
+
+  /**
+   * Blocks until the watcher is closed or the thread is interrupted.
+   */
+  public void run(Listener listener) throws InterruptedException, IOException {
+    Validate.notNull(listener, "listener may not be null");
+    try {
+      while (true) {
+        Set<Path> javaFiles = new LinkedHashSet<Path>();
+        WatchKey key = watchService.take();
+        long deadline = System.nanoTime()
+          + TimeUnit.MILLISECONDS.toNanos(quietPeriodMillis * MAX_QUIET_PERIODS);
+        while (key != null) {
+          collect(key, javaFiles);
+          key = System.nanoTime() - deadline < 0
+              ? watchService.poll(quietPeriodMillis, TimeUnit.MILLISECONDS) : null;
+        }
+        if (!javaFiles.isEmpty()) {
+          listener.changed(javaFiles);
+        }
+      }
+    }
+    catch (ClosedWatchServiceException e) {
+      // Closed on purpose
+    }
+  }
+
+  @Override
+  public void close() throws IOException {
+    watchService.close();
+  }
+
+  private void collect(WatchKey key, Set<Path> javaFiles) throws IOException {
+    Path directory = directories.get(key);
+    for (WatchEvent<?> each : key.pollEvents()) {
+      if (each.kind() == OVERFLOW) {
+        // Events were lost, so anything may have changed
+        for (Path eachRoot : roots) {
+          register(eachRoot, javaFiles);
+        }
+        continue;
+      }
+      Path path = directory.resolve((Path) each.context());
+      if (each.kind() == ENTRY_CREATE && Files.isDirectory(path)) {
+        // Files may have been put into it before it was registered
+        register(path, javaFiles);
+      }
+      else if (isJavaFile(path)) {
+        javaFiles.add(path);
+      }
+    }
+    if (!key.reset()) {
+      directories.remove(key);
+    }
+  }
+
+  // Registers the directory and those below it, and adds their java files when asked to
+  private void register(Path directory, final Set<Path> javaFiles) throws IOException {
+    Files.walkFileTree(directory, new SimpleFileVisitor<Path>() {
+
+      @Override
+      public FileVisitResult preVisitDirectory(Path dir, BasicFileAttributes attrs)
+        throws IOException {
+        directories.put(dir.register(watchService, ENTRY_CREATE, ENTRY_MODIFY), dir);
+        return FileVisitResult.CONTINUE;
+      }
+
+      @Override
+      public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) {
+        if (javaFiles != null && isJavaFile(file)) {
+          javaFiles.add(file);
+        }
+        return FileVisitResult.CONTINUE;
+      }
+    });
+  }
+
+  private static boolean isJavaFile(Path path) {
+    return path.getFileName().toString().endsWith(JAVA_FILE_SUFFIX);
+  }
+}
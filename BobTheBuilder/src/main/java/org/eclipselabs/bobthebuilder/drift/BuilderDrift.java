@@ -0,0 +1,76 @@
+package org.eclipselabs.bobthebuilder.drift;
+
+import java.util.Collections;
+import java.util.Set;
+
+import org.apache.commons.lang.Validate;
+import org.apache.commons.lang.builder.EqualsBuilder;
+import org.apache.commons.lang.builder.HashCodeBuilder;
+import org.apache.commons.lang.builder.ToStringBuilder;
+import org.eclipse.jdt.core.IType;
+import org.eclipselabs.bobthebuilder.model.Field;
+
+/**
+ * The fields of the main type that have no builder field, and the builder fields that have no
+ * field of the main type, as one reconcile found them.
+ */
+public class BuilderDrift {
+
+  public static final BuilderDrift NONE =
+      new BuilderDrift(null, null, Collections.<Field> emptySet(), Collections.<Field> emptySet());
+
+  private final IType mainType;
+
+  private final IType builderType;
+
+  private final Set<Field> missingFields;
+
+  private final Set<Field> extraFields;
+
+  public BuilderDrift(
+    IType mainType, IType builderType, Set<Field> missingFields, Set<Field> extraFields) {
+    Validate.notNull(missingFields, "missingFields may not be null");
+    Validate.notNull(extraFields, "extraFields may not be null");
+    Validate.noNullElements(missingFields, "missingFields may not contain null elements");
+    Validate.noNullElements(extraFields, "extraFields may not contain null elements");
+    this.mainType = mainType;
+    this.builderType = builderType;
+    this.missingFields = missingFields;
+    this.extraFields = extraFields;
+  }
+
+  public IType getMainType() {
+    return mainType;
+  }
+
+  public IType getBuilderType() {
+    return builderType;
+  }
+
+  public Set<Field> getMissingFields() {
+    return Collections.unmodifiableSet(missingFields);
+  }
+
+  public Set<Field> getExtraFields() {
+    return Collections.unmodifiableSet(extraFields);
+  }
+
+  public boolean isEmpty() {
+    return missingFields.isEmpty() && extraFields.isEmpty();
+  }
+
+  @Override
+  public int hashCode() {
+    return HashCodeBuilder.reflectionHashCode(this);
+  }
+
+  @Override
+  public boolean equals(Object obj) {
+    return EqualsBuilder.reflectionEquals(this, obj);
+  }
+
+  @Override
+  public String toString() {
+    return ToStringBuilder.reflectionToString(this);
+  }
+}
@@ -0,0 +1,114 @@
+package org.eclipselabs.bobthebuilder.drift;
+
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+
+import javax.inject.Inject;
+
+import org.apache.commons.lang.Validate;
+import org.eclipse.jdt.core.ICompilationUnit;
+import org.eclipse.jdt.core.IJavaElement;
+import org.eclipse.jdt.core.IJavaElementDelta;
+import org.eclipse.jdt.core.IType;
+import org.eclipse.jdt.core.JavaModelException;
+import org.eclipselabs.bobthebuilder.complement.BuilderFieldsComplementProvider;
+import org.eclipselabs.bobthebuilder.mapper.eclipse.BuilderTypeMapper;
+import org.eclipselabs.bobthebuilder.mapper.eclipse.FieldMapper;
+import org.eclipselabs.bobthebuilder.model.BuilderType;
+import org.eclipselabs.bobthebuilder.model.Field;
+import org.eclipselabs.bobthebuilder.model.MainType;
+import org.eclipselabs.bobthebuilder.model.WithMethod;
+import org.eclipselabs.bobthebuilder.supplement.BuilderFieldsSupplementProvider;
+
+/**
+ * Finds the {@link BuilderDrift} of a compilation unit by mapping the fields of its main type and
+ * of its builder and nothing else, and taking the field complement and the field supplement of
+ * the two.
+ */
+public class BuilderDriftDetector {
+
+  private final FieldMapper fieldMapper;
+
+  private final BuilderTypeMapper builderTypeMapper;
+
+  private final BuilderFieldsComplementProvider builderFieldsComplementProvider;
+
+  private final BuilderFieldsSupplementProvider builderFieldsSupplementProvider;
+
+  @Inject
+  public BuilderDriftDetector(FieldMapper fieldMapper, BuilderTypeMapper builderTypeMapper,
+      BuilderFieldsComplementProvider builderFieldsComplementProvider,
+      BuilderFieldsSupplementProvider builderFieldsSupplementProvider) {
+    this.fieldMapper = fieldMapper;
+    this.builderTypeMapper = builderTypeMapper;
+    this.builderFieldsComplementProvider = builderFieldsComplementProvider;
+    this.builderFieldsSupplementProvider = builderFieldsSupplementProvider;
+  }
+
+  /**
+   * The drift of the compilation unit, {@link BuilderDrift#NONE} when it does not have a single
+   * type with a builder, or null when {@link System#nanoTime()} passes the deadline before it is
+   * found.
+   */
+  public BuilderDrift detect(ICompilationUnit compilationUnit, long deadline)
+    throws JavaModelException {
+    Validate.notNull(compilationUnit, "compilationUnit may not be null");
+    IType[] types = compilationUnit.getTypes();
+    if (types.length != 1) {
+      return BuilderDrift.NONE;
+    }
+    IType builderType = builderTypeMapper.findBuilderType(types[0]);
+    if (builderType == null) {
+      return BuilderDrift.NONE;
+    }
+    Set<Field> mainTypeFields = fieldMapper.map(types[0]);
+    if (System.nanoTime() - deadline > 0) {
+      return null;
+    }
+    Set<Field> builderFields = fieldMapper.map(builderType);
+    if (System.nanoTime() - deadline > 0) {
+      return null;
+    }
+    MainType mainType = new MainType.Builder()
+        .withName(types[0].getElementName())
+        .withFields(mainTypeFields)
+        .withBuilderType(new BuilderType.Builder()
+            .withBuilderFields(builderFields)
+            .withWithMethods(Collections.<WithMethod> emptySet())
+            .build())
+        .build();
+    return new BuilderDrift(types[0], builderType,
+      builderFieldsComplementProvider.complement(mainType),
+      new HashSet<Field>(builderFieldsSupplementProvider.supplement(mainType)));
+  }
+
+  /**
+   * Whether the changes a reconcile made may change the drift: a field was added, removed or
+   * changed, a type was added or removed, or the changes of the compilation unit are not known in
+   * detail. A null delta means that nothing changed.
+   */
+  public boolean affects(IJavaElementDelta delta) {
+    if (delta == null) {
+      return false;
+    }
+    int elementType = delta.getElement().getElementType();
+    if (elementType == IJavaElement.FIELD) {
+      return true;
+    }
+    if (elementType == IJavaElement.TYPE && delta.getKind() != IJavaElementDelta.CHANGED) {
+      return true;
+    }
+    if (elementType == IJavaElement.COMPILATION_UNIT
+      && (delta.getFlags() & IJavaElementDelta.F_CONTENT) != 0
+      && (delta.getFlags() & IJavaElementDelta.F_FINE_GRAINED) == 0) {
+      return true;
+    }
+    for (IJavaElementDelta each : delta.getAffectedChildren()) {
+      if (affects(each)) {
+        return true;
+      }
+    }
+    return false;
+  }
+}
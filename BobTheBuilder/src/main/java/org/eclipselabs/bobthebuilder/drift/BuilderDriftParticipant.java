@@ -0,0 +1,149 @@
+package org.eclipselabs.bobthebuilder.drift;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.jdt.core.ICompilationUnit;
+import org.eclipse.jdt.core.IField;
+import org.eclipse.jdt.core.IJavaElementDelta;
+import org.eclipse.jdt.core.IJavaProject;
+import org.eclipse.jdt.core.ISourceRange;
+import org.eclipse.jdt.core.IType;
+import org.eclipse.jdt.core.JavaModelException;
+import org.eclipse.jdt.core.compiler.CategorizedProblem;
+import org.eclipse.jdt.core.compiler.CompilationParticipant;
+import org.eclipse.jdt.core.compiler.ReconcileContext;
+import org.eclipselabs.bobthebuilder.Activator;
+import org.eclipselabs.bobthebuilder.complement.ComplementModule;
+import org.eclipselabs.bobthebuilder.mapper.eclipse.MapperModule;
+import org.eclipselabs.bobthebuilder.model.Field;
+import org.eclipselabs.bobthebuilder.supplement.SupplementModule;
+
+import com.google.inject.Guice;
+
+/**
+ * Warns, as the editor reconciles a compilation unit, about the fields that have no counterpart
+ * in the builder and the builder fields that have no counterpart in the main type.
+ * <p>
+ * A reconcile whose delta touches no field reports what the previous reconcile found without
+ * looking at the fields again. A reconcile that runs out of its {@link #BUDGET_MILLIS} reports
+ * the previous findings as well, and leaves the fields to the next reconcile.
+ */
+public class BuilderDriftParticipant extends CompilationParticipant {
+
+  public static final String MARKER_TYPE = Activator.PLUGIN_ID + ".builderDrift";
+
+  static final long BUDGET_MILLIS = 10;
+
+  private final BuilderDriftDetector builderDriftDetector;
+
+  // Keyed by the working copies the editors hold, which are let go once the editors are closed
+  private final Map<ICompilationUnit, Reconciled> reconciled =
+      Collections.synchronizedMap(new WeakHashMap<ICompilationUnit, Reconciled>());
+
+  public BuilderDriftParticipant() {
+    this(Guice.createInjector(
+      new MapperModule(),
+      new ComplementModule(),
+      new SupplementModule(),
+      new DriftModule()).getInstance(BuilderDriftDetector.class));
+  }
+
+  BuilderDriftParticipant(BuilderDriftDetector builderDriftDetector) {
+    this.builderDriftDetector = builderDriftDetector;
+  }
+
+  @Override
+  public boolean isActive(IJavaProject project) {
+    return true;
+  }
+
+  @Override
+  public void reconcile(ReconcileContext context) {
+    long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(BUDGET_MILLIS);
+    ICompilationUnit workingCopy = context.getWorkingCopy();
+    try {
+      BuilderDrift drift = drift(workingCopy, context.getDelta(), deadline);
+      if (!drift.isEmpty()) {
+        context.putProblems(MARKER_TYPE, problems(workingCopy, drift, deadline));
+      }
+    }
+    catch (JavaModelException e) {
+      // The working copy is gone or broken, the next reconcile starts over
+      reconciled.remove(workingCopy);
+    }
+  }
+
+  BuilderDrift drift(ICompilationUnit workingCopy, IJavaElementDelta delta, long deadline)
+    throws JavaModelException {
+    Reconciled previous = reconciled.get(workingCopy);
+    if (previous != null && previous.complete && !builderDriftDetector.affects(delta)) {
+      return previous.drift;
+    }
+    BuilderDrift result = builderDriftDetector.detect(workingCopy, deadline);
+    if (result == null) {
+      result = previous == null ? BuilderDrift.NONE : previous.drift;
+      reconciled.put(workingCopy, new Reconciled(result, false));
+      return result;
+    }
+    reconciled.put(workingCopy, new Reconciled(result, true));
+    return result;
+  }
+
+  // Looks up where the names are now, the fields may have moved since they were found
+  private static CategorizedProblem[] problems(
+    ICompilationUnit workingCopy, BuilderDrift drift, long deadline) throws JavaModelException {
+    String fileName = workingCopy.getPath().toString();
+    List<CategorizedProblem> result = new ArrayList<CategorizedProblem>();
+    for (Field each : drift.getMissingFields()) {
+      if (System.nanoTime() - deadline > 0) {
+        return toArray(result);
+      }
+      add(result, drift.getMainType(), each, fileName,
+        each.getName() + " has no counterpart in " + drift.getBuilderType().getElementName());
+    }
+    for (Field each : drift.getExtraFields()) {
+      if (System.nanoTime() - deadline > 0) {
+        return toArray(result);
+      }
+      add(result, drift.getBuilderType(), each, fileName,
+        each.getName() + " has no counterpart in " + drift.getMainType().getElementName());
+    }
+    return toArray(result);
+  }
+
+  private static CategorizedProblem[] toArray(List<CategorizedProblem> problems) {
+    return problems.toArray(new CategorizedProblem[problems.size()]);
+  }
+
+  private static void add(List<CategorizedProblem> result, IType type, Field field,
+    String fileName, String message) throws JavaModelException {
+    IField member = type.getField(field.getName());
+    if (!member.exists()) {
+      return;
+    }
+    ISourceRange nameRange = member.getNameRange();
+    if (nameRange == null || nameRange.getOffset() < 0) {
+      return;
+    }
+    result.add(new BuilderDriftProblem(message, fileName, field.getName(),
+      nameRange.getOffset(), nameRange.getOffset() + nameRange.getLength() - 1));
+  }
+
+  private static class Reconciled {
+
+    private final BuilderDrift drift;
+
+    // Whether the drift is that of the working copy as of the reconcile that stored it
+    private final boolean complete;
+
+    Reconciled(BuilderDrift drift, boolean complete) {
+      this.drift = drift;
+      this.complete = complete;
+    }
+  }
+}
@@ -0,0 +1,111 @@
+package org.eclipselabs.bobthebuilder.drift;
+
+import org.apache.commons.lang.Validate;
+import org.apache.commons.lang.builder.ToStringBuilder;
+import org.eclipse.jdt.core.compiler.CategorizedProblem;
+import org.eclipse.jdt.core.compiler.IProblem;
+
+/**
+ * A warning on the name of a field that has no counterpart in the builder, or of a builder field
+ * that has no counterpart in the main type.
+ */
+public class BuilderDriftProblem extends CategorizedProblem {
+
+  private final String message;
+
+  private final String fileName;
+
+  private final String[] arguments;
+
+  private int sourceStart;
+
+  private int sourceEnd;
+
+  private int sourceLineNumber;
+
+  public BuilderDriftProblem(String message, String fileName, String fieldName, int sourceStart,
+      int sourceEnd) {
+    Validate.notNull(message, "message may not be null");
+    Validate.notNull(fieldName, "fieldName may not be null");
+    this.message = message;
+    this.fileName = fileName;
+    this.arguments = new String[] { fieldName };
+    this.sourceStart = sourceStart;
+    this.sourceEnd = sourceEnd;
+  }
+
+  @Override
+  public int getCategoryID() {
+    return CAT_POTENTIAL_PROGRAMMING_PROBLEM;
+  }
+
+  @Override
+  public String getMarkerType() {
+    return BuilderDriftParticipant.MARKER_TYPE;
+  }
+
+  @Override
+  public String[] getArguments() {
+    return arguments.clone();
+  }
+
+  @Override
+  public int getID() {
+    return IProblem.ExternalProblemNotFixable;
+  }
+
+  @Override
+  public String getMessage() {
+    return message;
+  }
+
+  @Override
+  public char[] getOriginatingFileName() {
+    return fileName == null ? null : fileName.toCharArray();
+  }
+
+  @Override
+  public int getSourceStart() {
+    return sourceStart;
+  }
+
+  @Override
+  public int getSourceEnd() {
+    return sourceEnd;
+  }
+
+  @Override
+  public int getSourceLineNumber() {
+    return sourceLineNumber;
+  }
+
+  @Override
+  public boolean isError() {
+    return false;
+  }
+
+  @Override
+  public boolean isWarning() {
+    return true;
+  }
+
+  @Override
+  public void setSourceEnd(int sourceEnd) {
+    this.sourceEnd = sourceEnd;
+  }
+
+  @Override
+  public void setSourceLineNumber(int lineNumber) {
+    this.sourceLineNumber = lineNumber;
+  }
+
+  @Override
+  public void setSourceStart(int sourceStart) {
+    this.sourceStart = sourceStart;
+  }
+
+  @Override
+  public String toString() {
+    return ToStringBuilder.reflectionToString(this);
+  }
+}
@@ -0,0 +1,12 @@
+package org.eclipselabs.bobthebuilder.drift;
+
+import com.google.inject.AbstractModule;
+
+public class DriftModule extends AbstractModule {
+
+  @Override
+  protected void configure() {
+    bind(BuilderDriftDetector.class);
+  }
+
+}
@@ -0,0 +1,110 @@
+package org.eclipselabs.bobthebuilder.footprint;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.apache.commons.lang.Validate;
+import org.eclipselabs.bobthebuilder.model.Field;
+
+/**
+ * The estimated shallow size of an instance of a type, see {@link FootprintEstimator}, with the
+ * bytes each field takes, largest first.
+ */
+public class Footprint {
+
+  private final String typeName;
+
+  private final int headerBytes;
+
+  private final int paddingBytes;
+
+  private final List<Contributor> contributors;
+
+  Footprint(String typeName, int headerBytes, int paddingBytes, List<Contributor> contributors) {
+    Validate.notEmpty(typeName, "typeName may not be empty");
+    Validate.notNull(contributors, "contributors may not be null");
+    this.typeName = typeName;
+    this.headerBytes = headerBytes;
+    this.paddingBytes = paddingBytes;
+    this.contributors = contributors;
+  }
+
+  public String getTypeName() {
+    return typeName;
+  }
+
+  public int getHeaderBytes() {
+    return headerBytes;
+  }
+
+  public int getFieldBytes() {
+    int result = 0;
+    for (Contributor each : contributors) {
+      result += each.getBytes();
+    }
+    return result;
+  }
+
+  public int getPaddingBytes() {
+    return paddingBytes;
+  }
+
+  public int getShallowBytes() {
+    return headerBytes + getFieldBytes() + paddingBytes;
+  }
+
+  public List<Contributor> getContributors() {
+    return Collections.unmodifiableList(contributors);
+  }
+
+  /**
+   * One line, e.g. for the dialog: the size, how it adds up and the largest contributors.
+   */
+  public String describe(int largest) {
+    Validate.isTrue(largest >= 0, "largest may not be negative");
+    StringBuilder result = new StringBuilder();
+    result.append(typeName).append(": ~").append(getShallowBytes()).append(" bytes per instance (")
+        .append(headerBytes).append(" header, ").append(getFieldBytes()).append(" fields, ")
+        .append(paddingBytes).append(" padding)");
+    List<String> names = new ArrayList<String>();
+    for (Contributor each : contributors.subList(0, Math.min(largest, contributors.size()))) {
+      names.add(each.getField().getName() + " " + each.getBytes());
+    }
+    if (!names.isEmpty()) {
+      result.append(", largest: ");
+      for (int i = 0; i < names.size(); i++) {
+        result.append(i == 0 ? "" : ", ").append(names.get(i));
+      }
+    }
+    return result.toString();
+  }
+
+  @Override
+  public String toString() {
+    return describe(contributors.size());
+  }
+
+  /**
+   * A field and the bytes it takes in an instance, not counting what it references.
+   */
+  public static class Contributor {
+
+    private final Field field;
+
+    private final int bytes;
+
+    Contributor(Field field, int bytes) {
+      this.field = field;
+      this.bytes = bytes;
+    }
+
+    public Field getField() {
+      return field;
+    }
+
+    public int getBytes() {
+      return bytes;
+    }
+  }
+}
@@ -0,0 +1,117 @@
+package org.eclipselabs.bobthebuilder.footprint;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.commons.lang.Validate;
+import org.eclipselabs.bobthebuilder.model.Field;
+import org.eclipselabs.bobthebuilder.model.MainType;
+
+/**
+ * Estimates the shallow size of an instance from the signatures of its fields, as HotSpot lays it
+ * out on a 64 bit JVM with compressed oops and class pointers: a 12 byte header and references of
+ * 4 bytes; fields of 8 bytes first, at offset 16, the gap after the header filled with smaller
+ * primitives as far as they fit; then primitives of 4, 2 and 1 bytes and the references last; the
+ * whole padded to 8 bytes. The fields of superclasses are not mapped, so they are not counted.
+ */
+public class FootprintEstimator {
+
+  static final int HEADER_BYTES = 12;
+
+  static final int REFERENCE_BYTES = 4;
+
+  static final int OBJECT_ALIGNMENT = 8;
+
+  private static final Map<String, Integer> PRIMITIVE_BYTES = new HashMap<String, Integer>();
+
+  static {
+    PRIMITIVE_BYTES.put("long", 8);
+    PRIMITIVE_BYTES.put("double", 8);
+    PRIMITIVE_BYTES.put("int", 4);
+    PRIMITIVE_BYTES.put("float", 4);
+    PRIMITIVE_BYTES.put("short", 2);
+    PRIMITIVE_BYTES.put("char", 2);
+    PRIMITIVE_BYTES.put("byte", 1);
+    PRIMITIVE_BYTES.put("boolean", 1);
+  }
+
+  /**
+   * The main type and its builder as composed, which has a field for every field of the main
+   * type and no outer instance, being static.
+   */
+  public List<Footprint> estimate(MainType mainType) {
+    Validate.notNull(mainType, "mainType may not be null");
+    List<Footprint> result = new ArrayList<Footprint>();
+    result.add(estimate(mainType.getName(), mainType.getFields()));
+    result.add(estimate(mainType.getName() + ".Builder", mainType.getFields()));
+    return result;
+  }
+
+  public Footprint estimate(String typeName, Collection<Field> fields) {
+    Validate.notEmpty(typeName, "typeName may not be empty");
+    Validate.notNull(fields, "fields may not be null");
+    List<Footprint.Contributor> contributors = new ArrayList<Footprint.Contributor>();
+    for (Field each : fields) {
+      contributors.add(new Footprint.Contributor(each, bytesOf(each.getSignature())));
+    }
+    Collections.sort(contributors, new Comparator<Footprint.Contributor>() {
+      @Override
+      public int compare(Footprint.Contributor o1, Footprint.Contributor o2) {
+        if (o1.getBytes() != o2.getBytes()) {
+          return o2.getBytes() - o1.getBytes();
+        }
+        return o1.getField().compareTo(o2.getField());
+      }
+    });
+    return new Footprint(typeName, HEADER_BYTES, paddingOf(contributors), contributors);
+  }
+
+  static int bytesOf(String signature) {
+    Integer result = PRIMITIVE_BYTES.get(signature);
+    return result == null ? REFERENCE_BYTES : result;
+  }
+
+  private static int paddingOf(List<Footprint.Contributor> contributors) {
+    // Largest first, as the contributors are
+    List<Integer> primitives = new ArrayList<Integer>();
+    int references = 0;
+    for (Footprint.Contributor each : contributors) {
+      if (PRIMITIVE_BYTES.containsKey(each.getField().getSignature())) {
+        primitives.add(each.getBytes());
+      }
+      else {
+        references++;
+      }
+    }
+    int offset = HEADER_BYTES;
+    int padding = 0;
+    if (!primitives.isEmpty() && primitives.get(0) == 8) {
+      // Smaller primitives fill the gap before the first field of 8 bytes, largest first
+      for (int width : new int[] { 4, 2, 1 }) {
+        while (offset + width <= 16 && primitives.remove(Integer.valueOf(width))) {
+          offset += width;
+        }
+      }
+      padding += 16 - offset;
+      offset = 16;
+    }
+    for (int each : primitives) {
+      offset += each;
+    }
+    if (references > 0) {
+      int misalignment = offset % REFERENCE_BYTES;
+      if (misalignment != 0) {
+        padding += REFERENCE_BYTES - misalignment;
+        offset += REFERENCE_BYTES - misalignment;
+      }
+      offset += references * REFERENCE_BYTES;
+    }
+    int misalignment = offset % OBJECT_ALIGNMENT;
+    return misalignment == 0 ? padding : padding + OBJECT_ALIGNMENT - misalignment;
+  }
+}
@@ -0,0 +1,223 @@
+package org.eclipselabs.bobthebuilder.jit;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+import org.apache.commons.lang.Validate;
+import org.eclipselabs.bobthebuilder.JavaSourceScanner;
+
+/**
+ * Estimates the bytes of bytecode javac compiles the body of a method to, from its statements
+ * alone: a call takes 3 bytes, a field read or write 3 and the {@code this} it needs 1, a string
+ * constant 2, a comparison or negation that makes a boolean 8, and so on. The fields of the class
+ * are told apart from the locals by name. It comes within a few bytes of javac for the members
+ * the builder has, and stays in the right range for others.
+ */
+public class BytecodeSizeEstimator {
+
+  private static final Set<String> NO_CODE = new HashSet<String>(Arrays.asList(
+    "final", "boolean", "byte", "char", "short", "int", "long", "float", "double", "void",
+    "case", "default", "do", "try", "finally", "catch", "assert", "synchronized"));
+
+  private static final Set<String> ONE_BYTE = new HashSet<String>(Arrays.asList(
+    "this", "super", "null", "true", "false", "return", "throw", "break", "continue"));
+
+  private static final Set<String> BRANCHES =
+      new HashSet<String>(Arrays.asList("if", "else", "while", "for", "switch"));
+
+  private static final Pattern RETURNS_LAST = Pattern.compile("\\breturn\\b[^;]*;\\s*$");
+
+  private static final Pattern CALLS_CONSTRUCTOR = Pattern.compile("^\\s*(?:super|this)\\s*\\(");
+
+  /**
+   * The estimate for the method, from the source of its declaration, with the names of the fields
+   * it may read unqualified.
+   */
+  public int estimateMethod(String source, Set<String> fieldNames) {
+    String body = bodyOf(source);
+    int result = estimateStatements(body, fieldNames);
+    // The return of a void method
+    return RETURNS_LAST.matcher(body).find() ? result : result + 1;
+  }
+
+  /**
+   * As {@link #estimateMethod(String, Set)}, with the call of the constructor of the superclass
+   * that javac adds when the constructor does not call one itself.
+   */
+  public int estimateConstructor(String source, Set<String> fieldNames) {
+    String body = bodyOf(source);
+    int result = estimateStatements(body, fieldNames) + 1;
+    return CALLS_CONSTRUCTOR.matcher(body).find() ? result : result + 4;
+  }
+
+  int estimateStatements(String body, Set<String> fieldNames) {
+    Validate.notNull(body, "body may not be null");
+    Validate.notNull(fieldNames, "fieldNames may not be null");
+    int result = 0;
+    int length = body.length();
+    int i = 0;
+    char previous = ';';
+    boolean previousMember = false;
+    while (i < length) {
+      char c = body.charAt(i);
+      if (Character.isWhitespace(c)) {
+        i++;
+        continue;
+      }
+      boolean member = false;
+      if (body.startsWith("//", i)) {
+        i = skipTo(body, "\n", i);
+        continue;
+      }
+      else if (body.startsWith("/*", i)) {
+        i = skipTo(body, "*/", i);
+        continue;
+      }
+      else if (c == '"' || c == '\'') {
+        // ldc or bipush
+        result += 2;
+        i = skipLiteral(body, i);
+      }
+      else if (Character.isDigit(c)) {
+        int start = i;
+        while (i < length && (Character.isLetterOrDigit(body.charAt(i)) || body.charAt(i) == '.')) {
+          i++;
+        }
+        String number = body.substring(start, i).replaceAll("[lLfFdD]$", "");
+        // iconst, lconst and fconst for the smallest, bipush or ldc for the others
+        result += number.matches("[0-5](\\.0*)?") ? 1 : 2;
+      }
+      else if (Character.isJavaIdentifierStart(c)) {
+        int start = i;
+        while (i < length && Character.isJavaIdentifierPart(body.charAt(i))) {
+          i++;
+        }
+        String identifier = body.substring(start, i);
+        char next = nextNonWhitespace(body, i);
+        boolean qualified = previous == '.';
+        if (next == '(' && (identifier.equals("super") || identifier.equals("this"))) {
+          // aload_0 and invokespecial
+          result += 4;
+        }
+        else if (next == '(' && !isKeyword(identifier)) {
+          // The invoke, and the this of an unqualified call of an instance method
+          result += qualified || previous == 'n' ? 3 : 4;
+        }
+        else if (identifier.equals("new")) {
+          // new and dup, the constructor is called as above
+          result += 4;
+          next = 'n';
+        }
+        else if (BRANCHES.contains(identifier)) {
+          result += 3;
+        }
+        else if (ONE_BYTE.contains(identifier)) {
+          result += 1;
+        }
+        else if (NO_CODE.contains(identifier)) {
+          // Declares, or is a block the statements of which count
+        }
+        else if (qualified) {
+          // getfield, putfield or getstatic
+          result += 3;
+          member = true;
+        }
+        else if (Character.isUpperCase(identifier.charAt(0))) {
+          // The name of a class, or a type
+        }
+        else {
+          // The field with its this, or a local
+          result += fieldNames.contains(identifier) ? 4 : 1;
+        }
+        previous = next == 'n' ? 'n' : 'a';
+        previousMember = member;
+        continue;
+      }
+      else {
+        String operator = operatorAt(body, i);
+        result += costOf(operator, body, i + operator.length(), previousMember);
+        i += operator.length();
+        previous = operator.charAt(0);
+        previousMember = false;
+        continue;
+      }
+      previous = 'a';
+      previousMember = member;
+    }
+    return result;
+  }
+
+  private static boolean isKeyword(String identifier) {
+    return NO_CODE.contains(identifier) || ONE_BYTE.contains(identifier)
+      || BRANCHES.contains(identifier);
+  }
+
+  private static int costOf(String operator, String body, int end, boolean afterMember) {
+    if (operator.equals("==") || operator.equals("!=") || operator.equals("<=")
+      || operator.equals(">=") || operator.equals("!")) {
+      return 8;
+    }
+    if (operator.equals("<") || operator.equals(">")) {
+      // Unless it encloses type arguments
+      return end < body.length() && Character.isWhitespace(body.charAt(end)) ? 8 : 0;
+    }
+    if (operator.equals("&&") || operator.equals("||") || operator.equals("?")
+      || operator.equals(":") || operator.equals("++") || operator.equals("--")) {
+      return 3;
+    }
+    if (operator.equals("=")) {
+      // A field is written with the putfield counted for its name, a local with a store
+      return afterMember ? 0 : 1;
+    }
+    if (operator.length() == 2 && operator.charAt(1) == '=') {
+      // A compound assignment, loaded, computed and stored
+      return 3;
+    }
+    if ("+-*/%&|^[".indexOf(operator.charAt(0)) >= 0) {
+      return 1;
+    }
+    return 0;
+  }
+
+  private static String operatorAt(String body, int i) {
+    if (i + 1 < body.length()) {
+      String two = body.substring(i, i + 2);
+      if (Arrays.asList("==", "!=", "<=", ">=", "&&", "||", "++", "--", "+=", "-=", "*=", "/=",
+        "%=", "&=", "|=", "^=").contains(two)) {
+        return two;
+      }
+    }
+    return body.substring(i, i + 1);
+  }
+
+  private static String bodyOf(String source) {
+    Validate.notNull(source, "source may not be null");
+    int start = JavaSourceScanner.bodyStart(source, 0);
+    int end = source.lastIndexOf('}');
+    Validate.isTrue(start >= 0 && end > start, "source has no body");
+    return source.substring(start + 1, end);
+  }
+
+  private static int skipTo(String body, String end, int i) {
+    int index = body.indexOf(end, i + 2);
+    return index < 0 ? body.length() : index + end.length();
+  }
+
+  private static int skipLiteral(String body, int i) {
+    char quote = body.charAt(i);
+    int result = i + 1;
+    while (result < body.length() && body.charAt(result) != quote) {
+      result += body.charAt(result) == '\\' ? 2 : 1;
+    }
+    return result + 1;
+  }
+
+  private static char nextNonWhitespace(String body, int i) {
+    while (i < body.length() && Character.isWhitespace(body.charAt(i))) {
+      i++;
+    }
+    return i < body.length() ? body.charAt(i) : ';';
+  }
+}
@@ -0,0 +1,83 @@
+package org.eclipselabs.bobthebuilder.jit;
+
+import org.apache.commons.lang.Validate;
+
+/**
+ * The estimated bytecode size of a method, see {@link BytecodeSizeEstimator}, against the limits
+ * of HotSpot: a method of more than {@value #MAX_INLINE_SIZE} bytes is inlined only where it is
+ * called often, one of more than {@value #FREQ_INLINE_SIZE} bytes is not inlined at all, and one
+ * of more than {@value #HUGE_METHOD_LIMIT} bytes is not compiled but interpreted.
+ */
+public class MethodSize {
+
+  // -XX:MaxInlineSize
+  public static final int MAX_INLINE_SIZE = 35;
+
+  // -XX:FreqInlineSize, on x86
+  public static final int FREQ_INLINE_SIZE = 325;
+
+  // -XX:+DontCompileHugeMethods
+  public static final int HUGE_METHOD_LIMIT = 8000;
+
+  private final String methodName;
+
+  private final int bytes;
+
+  private final boolean composed;
+
+  MethodSize(String methodName, int bytes, boolean composed) {
+    Validate.notEmpty(methodName, "methodName may not be empty");
+    Validate.isTrue(bytes >= 0, "bytes may not be negative");
+    this.methodName = methodName;
+    this.bytes = bytes;
+    this.composed = composed;
+  }
+
+  public String getMethodName() {
+    return methodName;
+  }
+
+  public int getBytes() {
+    return bytes;
+  }
+
+  /**
+   * Whether the method is as composed by the request rather than as it is.
+   */
+  public boolean isComposed() {
+    return composed;
+  }
+
+  /**
+   * Whether the method is too large to be inlined, or compiled.
+   */
+  public boolean isWarning() {
+    return bytes > FREQ_INLINE_SIZE;
+  }
+
+  /**
+   * One line, e.g. for the dialog: the size and what HotSpot makes of it.
+   */
+  public String describe() {
+    StringBuilder result = new StringBuilder();
+    result.append(methodName).append(": ~").append(bytes).append(" bytes of bytecode");
+    if (bytes > HUGE_METHOD_LIMIT) {
+      result.append(", too large to compile (HugeMethodLimit ").append(HUGE_METHOD_LIMIT)
+          .append("), it runs interpreted");
+    }
+    else if (bytes > FREQ_INLINE_SIZE) {
+      result.append(", too large to inline (FreqInlineSize ").append(FREQ_INLINE_SIZE)
+          .append(")");
+    }
+    else if (bytes > MAX_INLINE_SIZE) {
+      result.append(", inlined where hot only (MaxInlineSize ").append(MAX_INLINE_SIZE)
+          .append(")");
+    }
+    return result.toString();
+  }
+
+  @Override
+  public String toString() {
+    return describe();
+  }
+}
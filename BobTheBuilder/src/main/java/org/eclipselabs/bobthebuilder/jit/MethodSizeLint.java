@@ -0,0 +1,93 @@
+package org.eclipselabs.bobthebuilder.jit;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import javax.inject.Inject;
+
+import org.apache.commons.lang.Validate;
+import org.eclipselabs.bobthebuilder.composer.BuilderComposer;
+import org.eclipselabs.bobthebuilder.composer.ComposerRequest;
+import org.eclipselabs.bobthebuilder.composer.ConstructorComposer;
+import org.eclipselabs.bobthebuilder.model.BuilderType;
+import org.eclipselabs.bobthebuilder.model.Field;
+import org.eclipselabs.bobthebuilder.model.MainType;
+
+/**
+ * Estimates the bytecode size of the constructor with builder, the build method and the validate
+ * method as the request leaves them: composed from scratch, composed from the existing method as
+ * {@link org.eclipselabs.bobthebuilder.composer.Composer} does, or as they are. A method that
+ * neither exists nor is composed is left out.
+ */
+public class MethodSizeLint {
+
+  private final ConstructorComposer constructorComposer;
+
+  private final BuilderComposer builderComposer;
+
+  private final BytecodeSizeEstimator bytecodeSizeEstimator;
+
+  @Inject
+  public MethodSizeLint(ConstructorComposer constructorComposer, BuilderComposer builderComposer,
+      BytecodeSizeEstimator bytecodeSizeEstimator) {
+    this.constructorComposer = constructorComposer;
+    this.builderComposer = builderComposer;
+    this.bytecodeSizeEstimator = bytecodeSizeEstimator;
+  }
+
+  public List<MethodSize> lint(MainType mainType, ComposerRequest request) {
+    Validate.notNull(mainType, "mainType may not be null");
+    Validate.notNull(request, "request may not be null");
+    Set<String> fieldNames = new HashSet<String>();
+    for (Field each : mainType.getFields()) {
+      fieldNames.add(each.getName());
+    }
+    BuilderType builderType = mainType.getBuilderType();
+    List<MethodSize> result = new ArrayList<MethodSize>();
+    String constructorName = mainType.getName() + "(Builder)";
+    if (request.isCreateConstructorWithBuilder()) {
+      result.add(constructor(constructorName,
+        constructorComposer.composeFromScratch(request, mainType), true, fieldNames));
+    }
+    else if (mainType.getConstructorWithBuilder() != null) {
+      boolean composed = !request.getMissingAssignmentsInConstructor().isEmpty()
+        || !request.getExtraFieldsInBuilder().isEmpty();
+      result.add(constructor(constructorName, composed
+          ? constructorComposer.composeFromExisting(request, mainType.getConstructorWithBuilder())
+          : mainType.getConstructorWithBuilder().getSource(), composed, fieldNames));
+    }
+    if (request.isCreateBuildMethodInBuilder()) {
+      result.add(method("build()", builderComposer.composeBuilderMethod(
+        mainType, request.isCreateValidateMethodInBuilder()), true, fieldNames));
+    }
+    else if (builderType != null && builderType.getBuildMethod() != null) {
+      result.add(method(
+        "build()", builderType.getBuildMethod().getSource(), false, fieldNames));
+    }
+    if (request.isCreateValidateMethodInBuilder()) {
+      result.add(method("validate()", builderComposer.composeValidateMethodFromScratch(
+        request.getMissingFieldValidationsInBuild(), request.getValidationFramework(), mainType),
+        true, fieldNames));
+    }
+    else if (builderType != null && builderType.getValidateMethod() != null) {
+      boolean composed = !request.getMissingFieldValidationsInBuild().isEmpty();
+      result.add(method("validate()", composed
+          ? builderComposer.composeValidateMethodFromExisting(
+            request, builderType.getValidateMethod())
+          : builderType.getValidateMethod().getSource(), composed, fieldNames));
+    }
+    return result;
+  }
+
+  private MethodSize constructor(
+      String name, String source, boolean composed, Set<String> fieldNames) {
+    return new MethodSize(
+      name, bytecodeSizeEstimator.estimateConstructor(source, fieldNames), composed);
+  }
+
+  private MethodSize method(String name, String source, boolean composed, Set<String> fieldNames) {
+    return new MethodSize(name, bytecodeSizeEstimator.estimateMethod(source, fieldNames), composed);
+  }
+}
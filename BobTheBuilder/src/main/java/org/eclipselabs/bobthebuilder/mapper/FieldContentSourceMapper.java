@@ -0,0 +1,50 @@
+package org.eclipselabs.bobthebuilder.mapper;
+
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+
+import org.apache.commons.lang.Validate;
+import org.eclipselabs.bobthebuilder.analyzer.FieldPredicate;
+import org.eclipselabs.bobthebuilder.model.Field;
+import org.eclipselabs.bobthebuilder.model.FieldAssignment;
+
+/**
+ * Finds the fields the source of a method deals with, whichever backend read it.
+ */
+public class FieldContentSourceMapper {
+
+  public Set<FieldAssignment> map(String source, Set<Field> fields,
+    FieldPredicate fieldPredicate) {
+    Validate.notNull(source, "source may not be null");
+    Validate.notNull(fields, "fields may not be null");
+    Validate.noNullElements(fields, "fields may not contain null elements");
+    Validate.notNull(fieldPredicate, "fieldPredicate may not be null");
+    Set<FieldAssignment> result = new HashSet<FieldAssignment>();
+    for (Field each : fields) {
+      String fieldName = each.getName();
+      boolean found =
+          fieldPredicate.match(fieldName, source, each.getSignature());
+      if (found) {
+        result.add(new FieldAssignment(each));
+      }
+    }
+    return Collections.unmodifiableSet(result);
+  }
+
+  public Set<FieldAssignment> mapAssignments(String source, Set<Field> fields,
+    FieldPredicate.FieldAssignment fieldAssignment) {
+    Validate.notNull(source, "source may not be null");
+    Validate.notNull(fields, "fields may not be null");
+    Validate.noNullElements(fields, "fields may not contain null elements");
+    Validate.notNull(fieldAssignment, "fieldAssignment may not be null");
+    Set<String> assignedFields = fieldAssignment.assignedFields(source);
+    Set<FieldAssignment> result = new HashSet<FieldAssignment>();
+    for (Field each : fields) {
+      if (assignedFields.contains(each.getName())) {
+        result.add(new FieldAssignment(each));
+      }
+    }
+    return Collections.unmodifiableSet(result);
+  }
+}
@@ -0,0 +1,33 @@
+package org.eclipselabs.bobthebuilder.mapper;
+
+import org.apache.commons.lang.Validate;
+import org.eclipselabs.bobthebuilder.ValidationFramework;
+import org.eclipselabs.bobthebuilder.model.Imports;
+
+/**
+ * Tells the validation framework from the source of a validate method, whichever backend read it.
+ */
+public class ValidationFrameworkSourceMapper {
+
+  public ValidationFramework map(String methodSource, Imports imports) {
+    Validate.notNull(methodSource, "methodSource may not be null");
+    Validate.notNull(imports, "imports may not be null");
+    if (methodSource.contains(ValidationFramework.GOOGLE_GUAVA.getCheckArgument()) ||
+        methodSource.contains(ValidationFramework.GOOGLE_GUAVA.getCheckNotNull())) {
+      return ValidationFramework.GOOGLE_GUAVA;
+    }
+    if (methodSource.contains(ValidationFramework.COMMONS_LANG2.getCheckArgument()) ||
+        methodSource.contains(ValidationFramework.COMMONS_LANG2.getCheckNotNull())) {
+      if (imports.isCommonsLang2()) {
+        return ValidationFramework.COMMONS_LANG2;
+      }
+      else if (imports.isCommonsLang3()) {
+        return ValidationFramework.COMMONS_LANG3;
+      }
+      else {
+        return ValidationFramework.COMMONS_LANG2;
+      }
+    }
+    return null;
+  }
+}
@@ -6,21 +6,20 @@ import org.apache.commons.lang.Validate;
 import org.eclipse.jdt.core.IMethod;
 import org.eclipse.jdt.core.IType;
 import org.eclipse.jdt.core.JavaModelException;
-import org.eclipselabs.bobthebuilder.analyzer.MethodPredicate;
 import org.eclipselabs.bobthebuilder.model.BuildMethod;
 
 public class BuildMethodMapper {
 
   private final ValidateMethodInvocationMapper validateMethodInvocationMapper;
 
-  private final MethodPredicate.BuildInBuilder predicate;
+  private final MemberClassifier memberClassifier;
 
   @Inject
   public BuildMethodMapper(
       ValidateMethodInvocationMapper validateMethodInvocationMapper,
-      MethodPredicate.BuildInBuilder methodPredicateBuildInBuilder) {
+      MemberClassifier memberClassifier) {
     this.validateMethodInvocationMapper = validateMethodInvocationMapper;
-    this.predicate = methodPredicateBuildInBuilder;
+    this.memberClassifier = memberClassifier;
   }
 
   public BuildMethod map(IType builderType) throws JavaModelException {
@@ -38,14 +37,7 @@ public class BuildMethodMapper {
 
   public IMethod findBuildMethod(IType builderType) throws JavaModelException {
     Validate.notNull(builderType, "builderType may not be null");
-    IMethod buildMethod = null;
-    for (IMethod each : builderType.getMethods()) {
-      if (predicate.match(each)) {
-        buildMethod = each;
-        continue;
-      }
-    }
-    return buildMethod;
+    return memberClassifier.classify(builderType).getBuildMethod();
   }
 
 }
@@ -0,0 +1,147 @@
+package org.eclipselabs.bobthebuilder.mapper.eclipse;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.commons.lang.StringUtils;
+import org.apache.commons.lang.Validate;
+import org.apache.commons.lang.builder.EqualsBuilder;
+import org.apache.commons.lang.builder.HashCodeBuilder;
+import org.apache.commons.lang.builder.ToStringBuilder;
+import org.eclipse.jdt.core.IField;
+import org.eclipse.jdt.core.IMethod;
+import org.eclipse.jdt.core.JavaModelException;
+
+/**
+ * The methods of a type, bucketed by the role they play for the builder. Produced by
+ * {@link MemberClassifier} in a single walk over {@code IType#getMethods()}.
+ */
+public class ClassifiedMembers {
+
+  // May be null
+  private final IMethod buildMethod;
+
+  // May be null
+  private final IMethod validateMethod;
+
+  // May be null
+  private final IMethod constructorWithBuilder;
+
+  // Keyed by the capitalized field name, i.e. what follows "with" in the method name
+  private final Map<String, List<IMethod>> withMethods;
+
+  private final List<IMethod> otherMethods;
+
+  private ClassifiedMembers(Builder builder) {
+    this.buildMethod = builder.buildMethod;
+    this.validateMethod = builder.validateMethod;
+    this.constructorWithBuilder = builder.constructorWithBuilder;
+    this.withMethods = builder.withMethods;
+    this.otherMethods = builder.otherMethods;
+  }
+
+  public static class Builder {
+
+    private IMethod buildMethod;
+
+    private IMethod validateMethod;
+
+    private IMethod constructorWithBuilder;
+
+    private Map<String, List<IMethod>> withMethods = new HashMap<String, List<IMethod>>();
+
+    private List<IMethod> otherMethods = new ArrayList<IMethod>();
+
+    public Builder withBuildMethod(IMethod buildMethod) {
+      this.buildMethod = buildMethod;
+      return this;
+    }
+
+    public Builder withValidateMethod(IMethod validateMethod) {
+      this.validateMethod = validateMethod;
+      return this;
+    }
+
+    public Builder withConstructorWithBuilder(IMethod constructorWithBuilder) {
+      this.constructorWithBuilder = constructorWithBuilder;
+      return this;
+    }
+
+    public Builder addWithMethod(String capitalizedFieldName, IMethod withMethod) {
+      Validate.notNull(capitalizedFieldName, "capitalizedFieldName may not be null");
+      Validate.notNull(withMethod, "withMethod may not be null");
+      List<IMethod> methods = withMethods.get(capitalizedFieldName);
+      if (methods == null) {
+        methods = new ArrayList<IMethod>(1);
+        withMethods.put(capitalizedFieldName, methods);
+      }
+      methods.add(withMethod);
+      return this;
+    }
+
+    public Builder addOtherMethod(IMethod otherMethod) {
+      Validate.notNull(otherMethod, "otherMethod may not be null");
+      otherMethods.add(otherMethod);
+      return this;
+    }
+
+    public ClassifiedMembers build() {
+      return new ClassifiedMembers(this);
+    }
+  }
+
+  public IMethod getBuildMethod() {
+    return buildMethod;
+  }
+
+  public IMethod getValidateMethod() {
+    return validateMethod;
+  }
+
+  public IMethod getConstructorWithBuilder() {
+    return constructorWithBuilder;
+  }
+
+  /**
+   * Returns the with-methods whose name and single parameter type correspond to the field.
+   */
+  public List<IMethod> getWithMethods(IField field) throws JavaModelException {
+    Validate.notNull(field, "field may not be null");
+    List<IMethod> candidates = withMethods.get(StringUtils.capitalize(field.getElementName()));
+    if (candidates == null) {
+      return Collections.emptyList();
+    }
+    String typeSignature = field.getTypeSignature();
+    List<IMethod> result = new ArrayList<IMethod>(candidates.size());
+    for (IMethod each : candidates) {
+      String[] parameterTypes = each.getParameterTypes();
+      if (parameterTypes != null && parameterTypes.length > 0
+        && parameterTypes[0].equals(typeSignature)) {
+        result.add(each);
+      }
+    }
+    return result;
+  }
+
+  public List<IMethod> getOtherMethods() {
+    return Collections.unmodifiableList(otherMethods);
+  }
+
+  @Override
+  public int hashCode() {
+    return HashCodeBuilder.reflectionHashCode(this);
+  }
+
+  @Override
+  public boolean equals(Object obj) {
+    return EqualsBuilder.reflectionEquals(this, obj);
+  }
+
+  @Override
+  public String toString() {
+    return ToStringBuilder.reflectionToString(this);
+  }
+}
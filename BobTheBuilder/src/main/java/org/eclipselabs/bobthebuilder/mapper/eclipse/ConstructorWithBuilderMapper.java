@@ -8,20 +8,19 @@ import org.apache.commons.lang.Validate;
 import org.eclipse.jdt.core.IMethod;
 import org.eclipse.jdt.core.IType;
 import org.eclipse.jdt.core.JavaModelException;
-import org.eclipselabs.bobthebuilder.analyzer.MethodPredicate;
 import org.eclipselabs.bobthebuilder.model.ConstructorWithBuilder;
 import org.eclipselabs.bobthebuilder.model.Field;
 import org.eclipselabs.bobthebuilder.model.FieldAssignment;
 
 public class ConstructorWithBuilderMapper {
-  private final MethodPredicate.ConstructorWithBuilder methodPredicate;
+  private final MemberClassifier memberClassifier;
 
   private final FieldAssignmentInConstructorMapper fieldAssignmentInConstructorMapper;
 
   @Inject
-  ConstructorWithBuilderMapper(MethodPredicate.ConstructorWithBuilder predicate,
+  ConstructorWithBuilderMapper(MemberClassifier memberClassifier,
       FieldAssignmentInConstructorMapper fieldAssignmentInConstructorMapper) {
-    this.methodPredicate = predicate;
+    this.memberClassifier = memberClassifier;
     this.fieldAssignmentInConstructorMapper = fieldAssignmentInConstructorMapper;
   }
 
@@ -44,13 +43,6 @@ public class ConstructorWithBuilderMapper {
 
   public IMethod findConstructorWithBuilder(IType type) throws JavaModelException {
     Validate.notNull(type, "type may not be null");
-    IMethod constructorWithBuilder = null;
-    for (IMethod each : type.getMethods()) {
-      if (methodPredicate.match(each)) {
-        constructorWithBuilder = each;
-        break;
-      }
-    }
-    return constructorWithBuilder;
+    return memberClassifier.classify(type).getConstructorWithBuilder();
   }
 }
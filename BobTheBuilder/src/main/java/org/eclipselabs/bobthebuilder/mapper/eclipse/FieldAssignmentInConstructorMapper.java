@@ -8,21 +8,20 @@ import org.apache.commons.lang.Validate;
 import org.eclipse.jdt.core.IMethod;
 import org.eclipse.jdt.core.JavaModelException;
 import org.eclipselabs.bobthebuilder.analyzer.FieldPredicate;
-import org.eclipselabs.bobthebuilder.model.ConstructorInMainType;
 import org.eclipselabs.bobthebuilder.model.Field;
 import org.eclipselabs.bobthebuilder.model.FieldAssignment;
 
 public class FieldAssignmentInConstructorMapper {
 
-  private final FieldPredicate predicate;
+  private final FieldPredicate.FieldAssignment fieldAssignment;
 
   private final FieldBasedContentInMethodMapper fieldBaseContentInMethodMapper;
 
   @Inject
   public FieldAssignmentInConstructorMapper(
-      @ConstructorInMainType FieldPredicate fieldAssignmentInConstructorMapper,
+      FieldPredicate.FieldAssignment fieldAssignment,
       FieldBasedContentInMethodMapper fieldBaseContentInMethodMapper) {
-    this.predicate = fieldAssignmentInConstructorMapper;
+    this.fieldAssignment = fieldAssignment;
     this.fieldBaseContentInMethodMapper = fieldBaseContentInMethodMapper;
   }
 
@@ -30,7 +29,8 @@ public class FieldAssignmentInConstructorMapper {
     Validate.notNull(constructorWithBuilder, "constructorWithBuilder may not be null");
     Validate.notNull(fields, "fields may not be null");
     Validate.noNullElements(fields, "fields may not contain null elements");
-    return fieldBaseContentInMethodMapper.map(constructorWithBuilder, fields, predicate);
+    return fieldBaseContentInMethodMapper.mapAssignments(
+      constructorWithBuilder, fields, fieldAssignment);
   }
 
 }
@@ -1,32 +1,30 @@
 package org.eclipselabs.bobthebuilder.mapper.eclipse;
 
-import java.util.Collections;
-import java.util.HashSet;
 import java.util.Set;
 
 import org.apache.commons.lang.Validate;
 import org.eclipse.jdt.core.IMethod;
 import org.eclipse.jdt.core.JavaModelException;
 import org.eclipselabs.bobthebuilder.analyzer.FieldPredicate;
+import org.eclipselabs.bobthebuilder.mapper.FieldContentSourceMapper;
 import org.eclipselabs.bobthebuilder.model.Field;
 import org.eclipselabs.bobthebuilder.model.FieldAssignment;
 
 public class FieldBasedContentInMethodMapper {
 
+  private final FieldContentSourceMapper sourceMapper = new FieldContentSourceMapper();
+
   public Set<FieldAssignment> map(IMethod method, Set<Field> fields, FieldPredicate fieldPredicate) throws JavaModelException {
     Validate.notNull(method, "method may not be null");
     Validate.notNull(fields, "fields may not be null");
     Validate.noNullElements(fields, "fields may not contain null elements");
     Validate.notNull(fieldPredicate, "fieldPredicate may not be null");
-    Set<FieldAssignment> result = new HashSet<FieldAssignment>();
-    for (Field each : fields) {
-      String fieldName = each.getName();
-      boolean found =
-          fieldPredicate.match(fieldName, method.getSource(), each.getSignature());
-      if (found) {
-        result.add(new FieldAssignment(each));
-      }
-    }
-    return Collections.unmodifiableSet(result);
+    return sourceMapper.map(method.getSource(), fields, fieldPredicate);
+  }
+
+  public Set<FieldAssignment> mapAssignments(IMethod method, Set<Field> fields,
+    FieldPredicate.FieldAssignment fieldAssignment) throws JavaModelException {
+    Validate.notNull(method, "method may not be null");
+    return sourceMapper.mapAssignments(method.getSource(), fields, fieldAssignment);
   }
 }
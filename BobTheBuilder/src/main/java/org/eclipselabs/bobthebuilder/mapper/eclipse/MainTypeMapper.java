@@ -5,6 +5,7 @@ import java.util.Set;
 import javax.inject.Inject;
 
 import org.apache.commons.lang.Validate;
+import org.eclipse.jdt.core.Flags;
 import org.eclipse.jdt.core.IType;
 import org.eclipse.jdt.core.JavaModelException;
 import org.eclipselabs.bobthebuilder.model.ConstructorWithBuilder;
@@ -21,12 +22,16 @@ public class MainTypeMapper {
 
   private final ConstructorWithBuilderMapper constructorWithBuilderMapper;
 
+  private final SuperTypeMapper superTypeMapper;
+
   @Inject
   public MainTypeMapper(BuilderTypeMapper builderTypeMapper, FieldMapper fieldMapper,
-      ConstructorWithBuilderMapper constructorWithBuilderMapper) {
+      ConstructorWithBuilderMapper constructorWithBuilderMapper,
+      SuperTypeMapper superTypeMapper) {
     this.builderTypeMapper = builderTypeMapper;
     this.fieldMapper = fieldMapper;
     this.constructorWithBuilderMapper = constructorWithBuilderMapper;
+    this.superTypeMapper = superTypeMapper;
   }
 
   public MainType map(IType type, Imports imports) throws JavaModelException {
@@ -41,6 +46,8 @@ public class MainTypeMapper {
     }
     MainType.Builder builder = new MainType.Builder();
     builder.withName(type.getElementName());
+    builder.withAbstractType(Flags.isAbstract(type.getFlags()));
+    builder.withSuperType(superTypeMapper.map(type));
     // TODO add check for getters and pojomatics
     Set<Field> fields = fieldMapper.map(type);
     builder.withFields(fields);
@@ -7,6 +7,7 @@ import org.eclipselabs.bobthebuilder.model.ConstructorInMainType;
 import org.eclipselabs.bobthebuilder.model.ValidateMethodInBuilder;
 
 import com.google.inject.AbstractModule;
+import com.google.inject.Singleton;
 
 public class MapperModule extends AbstractModule {
 
@@ -38,6 +39,12 @@ public class MapperModule extends AbstractModule {
         .to(FieldPredicate.FieldValidation.class);
     bind(FieldAssignmentInConstructorMapper.class);
     bind(CompilationUnitFlattener.class);
+    // Shared, so that the mappers read the classifications of the scope they are in
+    bind(MemberClassifier.class).in(Singleton.class);
+    bind(SuperclassResolver.class);
+    bind(SuperTypeMapper.class);
+    bind(ValidationFrameworkResolver.class).in(Singleton.class);
+    bind(ReachableTypeCollector.class);
   }
 
 }
@@ -0,0 +1,113 @@
+package org.eclipselabs.bobthebuilder.mapper.eclipse;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import javax.inject.Inject;
+
+import org.apache.commons.lang.Validate;
+import org.eclipse.jdt.core.IMethod;
+import org.eclipse.jdt.core.IType;
+import org.eclipse.jdt.core.JavaModelException;
+import org.eclipselabs.bobthebuilder.analyzer.MethodPredicate;
+import org.eclipselabs.bobthebuilder.analyzer.WithMethodPredicate;
+
+/**
+ * Walks the methods of a type once and buckets them into {@link ClassifiedMembers}. Within a
+ * {@link #inScope(Scope) scope}, e.g. the analysis of a compilation unit, the result is kept so
+ * that every mapper working on the same type reads the same classification instead of iterating
+ * {@code IType#getMethods()} again. It is dropped with the scope, as the composer changes the
+ * members after, and outside of a scope a type is classified on every call. Scopes are per thread,
+ * so that compilation units analyzed concurrently do not share them.
+ */
+public class MemberClassifier {
+
+  private final MethodPredicate.BuildInBuilder buildInBuilder;
+
+  private final MethodPredicate.ValidateInBuilder validateInBuilder;
+
+  private final MethodPredicate.ConstructorWithBuilder constructorWithBuilder;
+
+  private final ThreadLocal<Map<IType, ClassifiedMembers>> classifiedTypes =
+      new ThreadLocal<Map<IType, ClassifiedMembers>>();
+
+  @Inject
+  public MemberClassifier(
+      MethodPredicate.BuildInBuilder buildInBuilder,
+      MethodPredicate.ValidateInBuilder validateInBuilder,
+      MethodPredicate.ConstructorWithBuilder constructorWithBuilder) {
+    this.buildInBuilder = buildInBuilder;
+    this.validateInBuilder = validateInBuilder;
+    this.constructorWithBuilder = constructorWithBuilder;
+  }
+
+  public ClassifiedMembers classify(IType type) throws JavaModelException {
+    Validate.notNull(type, "type may not be null");
+    Map<IType, ClassifiedMembers> scope = classifiedTypes.get();
+    if (scope == null) {
+      return doClassify(type);
+    }
+    ClassifiedMembers classifiedMembers = scope.get(type);
+    if (classifiedMembers == null) {
+      classifiedMembers = doClassify(type);
+      scope.put(type, classifiedMembers);
+    }
+    return classifiedMembers;
+  }
+
+  /**
+   * Runs the work with the classifications it makes kept until it returns. A scope opened within
+   * another is part of it.
+   */
+  public <T> T inScope(Scope<T> work) throws JavaModelException {
+    Validate.notNull(work, "work may not be null");
+    if (classifiedTypes.get() != null) {
+      return work.run();
+    }
+    classifiedTypes.set(new HashMap<IType, ClassifiedMembers>());
+    try {
+      return work.run();
+    }
+    finally {
+      classifiedTypes.remove();
+    }
+  }
+
+  private ClassifiedMembers doClassify(IType type) throws JavaModelException {
+    ClassifiedMembers.Builder builder = new ClassifiedMembers.Builder();
+    boolean constructorWithBuilderFound = false;
+    int prefixLength = WithMethodPredicate.WITH_METHOD_PREFIX.length();
+    for (IMethod each : type.getMethods()) {
+      String name = each.getElementName();
+      if (buildInBuilder.match(each)) {
+        builder.withBuildMethod(each);
+      }
+      else if (validateInBuilder.match(each)) {
+        builder.withValidateMethod(each);
+      }
+      else if (constructorWithBuilder.match(each)) {
+        if (!constructorWithBuilderFound) {
+          builder.withConstructorWithBuilder(each);
+          constructorWithBuilderFound = true;
+        }
+      }
+      else if (name != null
+        && name.length() > prefixLength
+        && name.startsWith(WithMethodPredicate.WITH_METHOD_PREFIX)) {
+        builder.addWithMethod(name.substring(prefixLength), each);
+      }
+      else {
+        builder.addOtherMethod(each);
+      }
+    }
+    return builder.build();
+  }
+
+  /**
+   * What is done with the classifications kept, see {@link MemberClassifier#inScope(Scope)}.
+   */
+  public interface Scope<T> {
+
+    T run() throws JavaModelException;
+  }
+}
@@ -0,0 +1,140 @@
+package org.eclipselabs.bobthebuilder.mapper.eclipse;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Queue;
+import java.util.Set;
+
+import javax.inject.Inject;
+
+import org.apache.commons.lang.Validate;
+import org.eclipse.jdt.core.ICompilationUnit;
+import org.eclipse.jdt.core.IField;
+import org.eclipse.jdt.core.IJavaProject;
+import org.eclipse.jdt.core.IType;
+import org.eclipse.jdt.core.JavaModelException;
+import org.eclipse.jdt.core.Signature;
+
+/**
+ * Follows the types of the fields of a main type, their type arguments and array element types
+ * included, to the value types a builder can be synced for, and from those on to theirs. Only the
+ * classes declared alone in a compilation unit of the source folders of the same project are
+ * followed, each of them once, breadth first and in the order the fields are declared.
+ * <p>
+ * The walk stops after {@value #DEFAULT_MAX_TYPES} compilation units, or as many as the system
+ * property {@value #MAX_TYPES_PROPERTY} sets, so that a field typed with the root of a large model
+ * does not drag the whole project in.
+ */
+public class ReachableTypeCollector {
+
+  public static final String MAX_TYPES_PROPERTY = "bobthebuilder.reachable.maxTypes";
+
+  public static final int DEFAULT_MAX_TYPES = 50;
+
+  private final MainTypeSelector mainTypeSelector;
+
+  private final FieldMapper fieldMapper;
+
+  private final int maxTypes;
+
+  @Inject
+  public ReachableTypeCollector(MainTypeSelector mainTypeSelector, FieldMapper fieldMapper) {
+    this(mainTypeSelector, fieldMapper, Integer.getInteger(MAX_TYPES_PROPERTY, DEFAULT_MAX_TYPES));
+  }
+
+  public ReachableTypeCollector(
+      MainTypeSelector mainTypeSelector, FieldMapper fieldMapper, int maxTypes) {
+    Validate.isTrue(maxTypes > 0, "maxTypes must be positive");
+    this.mainTypeSelector = mainTypeSelector;
+    this.fieldMapper = fieldMapper;
+    this.maxTypes = maxTypes;
+  }
+
+  public ReachableTypes collect(ICompilationUnit compilationUnit) throws JavaModelException {
+    Validate.notNull(compilationUnit, "compilationUnit may not be null");
+    ReachableTypes.Builder result = new ReachableTypes.Builder();
+    Set<ICompilationUnit> seen = new LinkedHashSet<ICompilationUnit>();
+    Queue<IType> pending = new LinkedList<IType>();
+    seen.add(compilationUnit);
+    pending.add(mainTypeSelector.map(compilationUnit));
+    while (!pending.isEmpty()) {
+      IType type = pending.remove();
+      for (IType each : findReferencedTypes(type)) {
+        ICompilationUnit referenced = each.getCompilationUnit();
+        if (seen.contains(referenced) || !isSyncable(each, compilationUnit.getJavaProject())) {
+          continue;
+        }
+        if (seen.size() == maxTypes) {
+          result.truncated();
+          pending.clear();
+          break;
+        }
+        seen.add(referenced);
+        pending.add(each);
+      }
+    }
+    for (ICompilationUnit each : seen) {
+      result.addCompilationUnit(each);
+    }
+    return result.build();
+  }
+
+  private List<IType> findReferencedTypes(IType type) throws JavaModelException {
+    List<IField> fields = new ArrayList<IField>(fieldMapper.findFields(type));
+    Collections.sort(fields, new RawFieldPositionComparator());
+    Set<String> typeNames = new LinkedHashSet<String>();
+    for (IField each : fields) {
+      addTypeNames(each.getTypeSignature(), typeNames);
+    }
+    List<IType> result = new ArrayList<IType>();
+    IJavaProject javaProject = type.getJavaProject();
+    for (String each : typeNames) {
+      String[][] resolved = type.resolveType(each);
+      // Nothing for primitives and type variables, more than one for an ambiguous on-demand import
+      if (resolved == null || resolved.length != 1) {
+        continue;
+      }
+      IType referenced = javaProject.findType(resolved[0][0], resolved[0][1]);
+      if (referenced != null) {
+        result.add(referenced);
+      }
+    }
+    return result;
+  }
+
+  private static void addTypeNames(String signature, Set<String> typeNames) {
+    switch (Signature.getTypeSignatureKind(signature)) {
+      case Signature.ARRAY_TYPE_SIGNATURE:
+        addTypeNames(Signature.getElementType(signature), typeNames);
+        break;
+      case Signature.CLASS_TYPE_SIGNATURE:
+        typeNames.add(Signature.toString(Signature.getTypeErasure(signature)));
+        for (String each : Signature.getTypeArguments(signature)) {
+          addTypeNames(each, typeNames);
+        }
+        break;
+      case Signature.WILDCARD_TYPE_SIGNATURE:
+        // The bound of ? extends and ? super follows the leading + or -, ? itself has none
+        if (signature.length() > 1) {
+          addTypeNames(signature.substring(1), typeNames);
+        }
+        break;
+      default:
+        break;
+    }
+  }
+
+  private static boolean isSyncable(IType type, IJavaProject javaProject)
+    throws JavaModelException {
+    if (type.isBinary() || type.getDeclaringType() != null || !type.isClass()) {
+      return false;
+    }
+    ICompilationUnit compilationUnit = type.getCompilationUnit();
+    return compilationUnit != null
+      && javaProject.equals(type.getJavaProject())
+      && compilationUnit.getTypes().length == 1;
+  }
+}
@@ -0,0 +1,79 @@
+package org.eclipselabs.bobthebuilder.mapper.eclipse;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.apache.commons.lang.Validate;
+import org.apache.commons.lang.builder.EqualsBuilder;
+import org.apache.commons.lang.builder.HashCodeBuilder;
+import org.apache.commons.lang.builder.ToStringBuilder;
+import org.eclipse.jdt.core.ICompilationUnit;
+
+/**
+ * The compilation units {@link ReachableTypeCollector} found, the one it started from first.
+ */
+public class ReachableTypes {
+
+  private final List<ICompilationUnit> compilationUnits;
+
+  private final boolean truncated;
+
+  private ReachableTypes(Builder builder) {
+    this.compilationUnits = Collections.unmodifiableList(builder.compilationUnits);
+    this.truncated = builder.truncated;
+  }
+
+  public static class Builder {
+
+    private List<ICompilationUnit> compilationUnits = new ArrayList<ICompilationUnit>();
+
+    private boolean truncated;
+
+    public Builder addCompilationUnit(ICompilationUnit compilationUnit) {
+      this.compilationUnits.add(compilationUnit);
+      return this;
+    }
+
+    public Builder truncated() {
+      this.truncated = true;
+      return this;
+    }
+
+    public ReachableTypes build() {
+      validate();
+      return new ReachableTypes(this);
+    }
+
+    private void validate() {
+      Validate.notEmpty(compilationUnits, "compilationUnits may not be empty");
+      Validate.noNullElements(compilationUnits, "compilationUnits may not contain null elements");
+    }
+  }
+
+  public List<ICompilationUnit> getCompilationUnits() {
+    return compilationUnits;
+  }
+
+  /**
+   * Whether more types were reachable than the collector was allowed to collect.
+   */
+  public boolean isTruncated() {
+    return truncated;
+  }
+
+  @Override
+  public int hashCode() {
+    return HashCodeBuilder.reflectionHashCode(this);
+  }
+
+  @Override
+  public boolean equals(Object obj) {
+    return EqualsBuilder.reflectionEquals(this, obj);
+  }
+
+  @Override
+  public String toString() {
+    return ToStringBuilder.reflectionToString(this);
+  }
+}
@@ -0,0 +1,54 @@
+package org.eclipselabs.bobthebuilder.mapper.eclipse;
+
+import javax.inject.Inject;
+
+import org.apache.commons.lang.StringUtils;
+import org.apache.commons.lang.Validate;
+import org.eclipse.jdt.core.Flags;
+import org.eclipse.jdt.core.IMethod;
+import org.eclipse.jdt.core.IType;
+import org.eclipse.jdt.core.JavaModelException;
+import org.eclipselabs.bobthebuilder.model.SuperType;
+
+public class SuperTypeMapper {
+
+  private final SuperclassResolver superclassResolver;
+
+  private final BuilderTypeMapper builderTypeMapper;
+
+  private final MemberClassifier memberClassifier;
+
+  @Inject
+  public SuperTypeMapper(SuperclassResolver superclassResolver,
+      BuilderTypeMapper builderTypeMapper, MemberClassifier memberClassifier) {
+    this.superclassResolver = superclassResolver;
+    this.builderTypeMapper = builderTypeMapper;
+    this.memberClassifier = memberClassifier;
+  }
+
+  /**
+   * Returns null when the main type does not extend a source type declaring a builder.
+   */
+  public SuperType map(IType type) throws JavaModelException {
+    Validate.notNull(type, "type may not be null");
+    String superclassName = type.getSuperclassName();
+    if (superclassName == null) {
+      return null;
+    }
+    IType superclass = superclassResolver.resolve(type);
+    if (superclass == null || superclass.isBinary()) {
+      return null;
+    }
+    IType superBuilderType = builderTypeMapper.findBuilderType(superclass);
+    if (superBuilderType == null) {
+      return null;
+    }
+    IMethod validateMethod = memberClassifier.classify(superBuilderType).getValidateMethod();
+    return new SuperType.Builder()
+        .withName(StringUtils.substringBefore(superclassName, "<").trim())
+        .withSelfTypedBuilder(superBuilderType.getTypeParameters().length == 1)
+        .withValidateMethodInBuilder(
+          validateMethod != null && !Flags.isPrivate(validateMethod.getFlags()))
+        .build();
+  }
+}
@@ -0,0 +1,33 @@
+package org.eclipselabs.bobthebuilder.mapper.eclipse;
+
+import org.apache.commons.lang.StringUtils;
+import org.apache.commons.lang.Validate;
+import org.eclipse.jdt.core.IType;
+import org.eclipse.jdt.core.JavaModelException;
+
+/**
+ * Finds the direct superclass of a type from the name it extends, which is all the mappers need of
+ * the hierarchy, rather than computing a supertype hierarchy, one of the most expensive calls in the
+ * java model.
+ */
+public class SuperclassResolver {
+
+  /**
+   * Returns null when the type extends nothing but Object, or a superclass that cannot be resolved
+   * unambiguously.
+   */
+  public IType resolve(IType type) throws JavaModelException {
+    Validate.notNull(type, "type may not be null");
+    String superclassName = type.getSuperclassName();
+    if (superclassName == null) {
+      return null;
+    }
+    String[][] resolved =
+        type.resolveType(StringUtils.substringBefore(superclassName, "<").trim());
+    // Nothing for an unknown type, more than one for an ambiguous on-demand import
+    if (resolved == null || resolved.length != 1) {
+      return null;
+    }
+    return type.getJavaProject().findType(resolved[0][0], resolved[0][1]);
+  }
+}
@@ -9,7 +9,6 @@ import org.eclipse.jdt.core.IMethod;
 import org.eclipse.jdt.core.IType;
 import org.eclipse.jdt.core.JavaModelException;
 import org.eclipselabs.bobthebuilder.ValidationFramework;
-import org.eclipselabs.bobthebuilder.analyzer.MethodPredicate;
 import org.eclipselabs.bobthebuilder.model.Field;
 import org.eclipselabs.bobthebuilder.model.FieldAssignment;
 import org.eclipselabs.bobthebuilder.model.Imports;
@@ -19,16 +18,16 @@ public class ValidateMethodMapper {
 
   private final ValidateFieldsMethodMapper validatedFieldsMapper;
 
-  private final MethodPredicate.ValidateInBuilder predicate;
+  private final MemberClassifier memberClassifier;
 
   private final ValidationFrameworkMapper validationFrameworkMapper;
 
   @Inject
   public ValidateMethodMapper(ValidateFieldsMethodMapper validatedFieldsMapper,
-      MethodPredicate.ValidateInBuilder validateInBuilder,
+      MemberClassifier memberClassifier,
       ValidationFrameworkMapper validationFrameworkMapper) {
     this.validatedFieldsMapper = validatedFieldsMapper;
-    this.predicate = validateInBuilder;
+    this.memberClassifier = memberClassifier;
     this.validationFrameworkMapper = validationFrameworkMapper;
   }
 
@@ -53,14 +52,7 @@ public class ValidateMethodMapper {
 
   public IMethod findValidateMethod(IType builderType) throws JavaModelException {
     Validate.notNull(builderType, "builderType may not be null");
-    IMethod validateMethod = null;
-    for (IMethod each : builderType.getMethods()) {
-      if (predicate.match(each)) {
-        validateMethod = each;
-        continue;
-      }
-    }
-    return validateMethod;
+    return memberClassifier.classify(builderType).getValidateMethod();
   }
 
 }
@@ -0,0 +1,86 @@
+package org.eclipselabs.bobthebuilder.mapper.eclipse;
+
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+
+import org.apache.commons.lang.Validate;
+import org.eclipse.jdt.core.ElementChangedEvent;
+import org.eclipse.jdt.core.IElementChangedListener;
+import org.eclipse.jdt.core.IJavaElement;
+import org.eclipse.jdt.core.IJavaElementDelta;
+import org.eclipse.jdt.core.IJavaProject;
+import org.eclipse.jdt.core.JavaModelException;
+import org.eclipselabs.bobthebuilder.ValidationFramework;
+
+/**
+ * Resolves the validation frameworks available on the resolved classpath of a project. The result
+ * is kept per project until its classpath changes, which this class learns about by being
+ * registered as an {@link IElementChangedListener}.
+ */
+public class ValidationFrameworkResolver implements IElementChangedListener {
+
+  private static final int CLASSPATH_FLAGS =
+      IJavaElementDelta.F_CLASSPATH_CHANGED
+        | IJavaElementDelta.F_RESOLVED_CLASSPATH_CHANGED
+        | IJavaElementDelta.F_CLOSED;
+
+  private final Map<IJavaProject, Set<ValidationFramework>> availableFrameworks =
+      new HashMap<IJavaProject, Set<ValidationFramework>>();
+
+  public synchronized Set<ValidationFramework> resolve(IJavaProject javaProject)
+    throws JavaModelException {
+    Validate.notNull(javaProject, "javaProject may not be null");
+    Set<ValidationFramework> result = availableFrameworks.get(javaProject);
+    if (result == null) {
+      Set<ValidationFramework> found = EnumSet.noneOf(ValidationFramework.class);
+      for (ValidationFramework each : ValidationFramework.values()) {
+        if (javaProject.findType(each.getFullClassName()) != null) {
+          found.add(each);
+        }
+      }
+      result = Collections.unmodifiableSet(found);
+      availableFrameworks.put(javaProject, result);
+    }
+    return result;
+  }
+
+  /**
+   * Returns the first available framework in declaration order of {@link ValidationFramework}.
+   */
+  public ValidationFramework resolveDefault(IJavaProject javaProject) throws JavaModelException {
+    Set<ValidationFramework> available = resolve(javaProject);
+    if (available.isEmpty()) {
+      return ValidationFramework.DEFAULT;
+    }
+    return available.iterator().next();
+  }
+
+  public synchronized void clear() {
+    availableFrameworks.clear();
+  }
+
+  @Override
+  public void elementChanged(ElementChangedEvent event) {
+    IJavaElementDelta delta = event.getDelta();
+    if (delta == null) {
+      return;
+    }
+    for (IJavaElementDelta each : delta.getAffectedChildren()) {
+      IJavaElement element = each.getElement();
+      if (element.getElementType() != IJavaElement.JAVA_PROJECT) {
+        continue;
+      }
+      if (each.getKind() == IJavaElementDelta.REMOVED
+        || (each.getFlags() & CLASSPATH_FLAGS) != 0) {
+        evict((IJavaProject) element);
+      }
+    }
+  }
+
+  synchronized void evict(IJavaProject javaProject) {
+    availableFrameworks.remove(javaProject);
+  }
+}
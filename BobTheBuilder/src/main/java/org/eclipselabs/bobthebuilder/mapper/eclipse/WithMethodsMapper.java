@@ -12,37 +12,36 @@ import org.eclipse.jdt.core.IMethod;
 import org.eclipse.jdt.core.IType;
 import org.eclipse.jdt.core.JavaModelException;
 import org.eclipse.jdt.core.Signature;
-import org.eclipselabs.bobthebuilder.analyzer.WithMethodPredicate;
 import org.eclipselabs.bobthebuilder.model.Field;
 import org.eclipselabs.bobthebuilder.model.WithMethod;
 
 public class WithMethodsMapper {
 
-  private final WithMethodPredicate withMethodPredicate;
+  private final MemberClassifier memberClassifier;
 
   private final FieldMapper fieldMapper;
 
   @Inject
   public WithMethodsMapper(
-      WithMethodPredicate withMethodPredicate,
+      MemberClassifier memberClassifier,
       FieldMapper fieldMapper) {
-    this.withMethodPredicate = withMethodPredicate;
+    this.memberClassifier = memberClassifier;
     this.fieldMapper = fieldMapper;
   }
 
   public Set<WithMethod> map(IType builderType) throws JavaModelException {
-    return new MappedWithMethodsCollector(fieldMapper, withMethodPredicate).collect(builderType);
+    return new MappedWithMethodsCollector(fieldMapper, memberClassifier).collect(builderType);
   }
 
   public Set<IMethod> findWithMethods(IType builderType) throws JavaModelException {
-    return new RawWithMethodsCollector(fieldMapper, withMethodPredicate)
+    return new RawWithMethodsCollector(fieldMapper, memberClassifier)
         .collect(builderType);
   }
 
   static class RawWithMethodsCollector extends WithMethodsCollector<IMethod> {
 
-    public RawWithMethodsCollector(FieldMapper fieldMapper, WithMethodPredicate withMethodPredicate) {
-      super(fieldMapper, withMethodPredicate);
+    public RawWithMethodsCollector(FieldMapper fieldMapper, MemberClassifier memberClassifier) {
+      super(fieldMapper, memberClassifier);
     }
 
     @Override
@@ -55,8 +54,8 @@ public class WithMethodsMapper {
   static class MappedWithMethodsCollector extends WithMethodsCollector<WithMethod> {
 
     public MappedWithMethodsCollector(FieldMapper fieldMapper,
-        WithMethodPredicate withMethodPredicate) {
-      super(fieldMapper, withMethodPredicate);
+        MemberClassifier memberClassifier) {
+      super(fieldMapper, memberClassifier);
     }
 
     @Override
@@ -78,21 +77,20 @@ public class WithMethodsMapper {
 
     private final FieldMapper fieldMapper;
 
-    private final WithMethodPredicate withMethodPredicate;
+    private final MemberClassifier memberClassifier;
 
-    public WithMethodsCollector(FieldMapper fieldMapper, WithMethodPredicate withMethodPredicate) {
+    public WithMethodsCollector(FieldMapper fieldMapper, MemberClassifier memberClassifier) {
       this.fieldMapper = fieldMapper;
-      this.withMethodPredicate = withMethodPredicate;
+      this.memberClassifier = memberClassifier;
     }
 
     Set<T> collect(IType builderType) throws JavaModelException {
       Validate.notNull(builderType, "builderType may not be null");
       Set<T> withMethods = new HashSet<T>();
+      ClassifiedMembers classifiedMembers = memberClassifier.classify(builderType);
       for (IField eachField : fieldMapper.findFields(builderType)) {
-        for (IMethod eachMethod : builderType.getMethods()) {
-          if (withMethodPredicate.match(eachField, eachMethod)) {
-            withMethods.add(transform(eachField, eachMethod));
-          }
+        for (IMethod eachMethod : classifiedMembers.getWithMethods(eachField)) {
+          withMethods.add(transform(eachField, eachMethod));
         }
       }
       return Collections.unmodifiableSet(withMethods);
@@ -14,7 +14,6 @@ import org.eclipse.jdt.core.IField;
 import org.eclipse.jdt.core.IMethod;
 import org.eclipse.jdt.core.IType;
 import org.eclipse.jdt.core.JavaModelException;
-import org.eclipselabs.bobthebuilder.analyzer.WithMethodPredicate;
 import org.eclipselabs.bobthebuilder.model.Field;
 import org.eclipselabs.bobthebuilder.model.WithMethod;
 import org.eclipselabs.bobthebuilder.supplement.BuilderFieldsSupplementProvider;
@@ -23,17 +22,17 @@ public class WithMethodsSupplementProvider {
 
   private final BuilderTypeMapper builderTypeMapper;
 
-  private final WithMethodPredicate withMethodPredicate;
+  private final MemberClassifier memberClassifier;
 
   private final BuilderFieldsSupplementProvider builderFieldsSupplementProvider;
 
   @Inject
   public WithMethodsSupplementProvider(
       BuilderTypeMapper builderTypeMapper,
-      WithMethodPredicate withMethodPredicate,
+      MemberClassifier memberClassifier,
       BuilderFieldsSupplementProvider builderFieldsSupplementProvider) {
     this.builderTypeMapper = builderTypeMapper;
-    this.withMethodPredicate = withMethodPredicate;
+    this.memberClassifier = memberClassifier;
     this.builderFieldsSupplementProvider = builderFieldsSupplementProvider;
   }
 
@@ -46,11 +45,10 @@ public class WithMethodsSupplementProvider {
       return extraWithMethods;
     }
     IType builderType = builderTypeMapper.findBuilderType(mainType);
-    for (IMethod eachMethod : builderType.getMethods()) {
-      for (IField eachExtraField : extraBuilderFields) {
-        if (withMethodPredicate.match(eachExtraField, eachMethod)) {
-          extraWithMethods.put(eachExtraField, eachMethod);
-        }
+    ClassifiedMembers classifiedMembers = memberClassifier.classify(builderType);
+    for (IField eachExtraField : extraBuilderFields) {
+      for (IMethod eachMethod : classifiedMembers.getWithMethods(eachExtraField)) {
+        extraWithMethods.put(eachExtraField, eachMethod);
       }
     }
     return extraWithMethods;
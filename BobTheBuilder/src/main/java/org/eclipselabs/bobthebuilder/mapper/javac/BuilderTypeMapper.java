@@ -0,0 +1,95 @@
+package org.eclipselabs.bobthebuilder.mapper.javac;
+
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+
+import javax.inject.Inject;
+
+import org.apache.commons.lang.Validate;
+import org.eclipselabs.bobthebuilder.model.BuildMethod;
+import org.eclipselabs.bobthebuilder.model.BuilderType;
+import org.eclipselabs.bobthebuilder.model.Field;
+import org.eclipselabs.bobthebuilder.model.Imports;
+import org.eclipselabs.bobthebuilder.model.WithMethod;
+
+import com.sun.source.tree.ClassTree;
+import com.sun.source.tree.MethodTree;
+import com.sun.source.tree.Tree;
+import com.sun.source.tree.VariableTree;
+
+public class BuilderTypeMapper {
+
+  static final String BUILDER_CLASS_NAME = "Builder";
+
+  private final FieldMapper fieldMapper;
+
+  private final MemberClassifier memberClassifier;
+
+  private final ValidateMethodMapper validateMethodMapper;
+
+  @Inject
+  public BuilderTypeMapper(FieldMapper fieldMapper, MemberClassifier memberClassifier,
+      ValidateMethodMapper validateMethodMapper) {
+    this.fieldMapper = fieldMapper;
+    this.memberClassifier = memberClassifier;
+    this.validateMethodMapper = validateMethodMapper;
+  }
+
+  public BuilderType map(ParsedCompilationUnit compilationUnit, ClassTree type, Imports imports,
+    Set<Field> fields) {
+    Validate.notNull(compilationUnit, "compilationUnit may not be null");
+    Validate.notNull(type, "type may not be null");
+    Validate.notNull(imports, "imports may not be null");
+    ClassTree builderType = findBuilderType(type);
+    if (builderType == null) {
+      return null;
+    }
+    ClassifiedMembers classifiedMembers = memberClassifier.classify(builderType);
+    return new BuilderType.Builder()
+        .withBuilderFields(fieldMapper.map(compilationUnit, builderType))
+        .withBuildMethod(mapBuildMethod(compilationUnit, classifiedMembers.getBuildMethod()))
+        .withWithMethods(mapWithMethods(compilationUnit, builderType, classifiedMembers))
+        .withValidateMethod(validateMethodMapper.map(
+          compilationUnit, classifiedMembers.getValidateMethod(), imports, fields))
+        .build();
+  }
+
+  public ClassTree findBuilderType(ClassTree type) {
+    Validate.notNull(type, "type may not be null");
+    ClassTree builderType = null;
+    for (Tree each : type.getMembers()) {
+      if (each instanceof ClassTree
+        && ((ClassTree) each).getSimpleName().contentEquals(BUILDER_CLASS_NAME)) {
+        builderType = (ClassTree) each;
+      }
+    }
+    return builderType;
+  }
+
+  private static BuildMethod mapBuildMethod(ParsedCompilationUnit compilationUnit,
+    MethodTree buildMethod) {
+    if (buildMethod == null) {
+      return null;
+    }
+    String source = compilationUnit.getSource(buildMethod);
+    return new BuildMethod.Builder()
+        .withValidateMethodInvocation(source.contains("validate();"))
+        .withSource(source)
+        .build();
+  }
+
+  private Set<WithMethod> mapWithMethods(ParsedCompilationUnit compilationUnit,
+    ClassTree builderType, ClassifiedMembers classifiedMembers) {
+    Set<WithMethod> result = new HashSet<WithMethod>();
+    for (VariableTree eachField : fieldMapper.findFields(builderType)) {
+      for (MethodTree eachMethod : classifiedMembers.getWithMethods(eachField)) {
+        result.add(new WithMethod.Builder()
+            .withName(eachMethod.getName().toString())
+            .withField(fieldMapper.map(compilationUnit, eachField))
+            .build());
+      }
+    }
+    return Collections.unmodifiableSet(result);
+  }
+}
@@ -0,0 +1,125 @@
+package org.eclipselabs.bobthebuilder.mapper.javac;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.commons.lang.StringUtils;
+import org.apache.commons.lang.Validate;
+import org.eclipselabs.bobthebuilder.model.Field;
+
+import com.sun.source.tree.MethodTree;
+import com.sun.source.tree.VariableTree;
+
+/**
+ * The methods of a type, bucketed by the role they play for the builder. Produced by
+ * {@link MemberClassifier} in a single walk over the members of the type.
+ */
+public class ClassifiedMembers {
+
+  // May be null
+  private final MethodTree buildMethod;
+
+  // May be null
+  private final MethodTree validateMethod;
+
+  // May be null
+  private final MethodTree constructorWithBuilder;
+
+  // Keyed by the capitalized field name, i.e. what follows "with" in the method name
+  private final Map<String, List<MethodTree>> withMethods;
+
+  private ClassifiedMembers(Builder builder) {
+    this.buildMethod = builder.buildMethod;
+    this.validateMethod = builder.validateMethod;
+    this.constructorWithBuilder = builder.constructorWithBuilder;
+    this.withMethods = builder.withMethods;
+  }
+
+  public static class Builder {
+
+    private MethodTree buildMethod;
+
+    private MethodTree validateMethod;
+
+    private MethodTree constructorWithBuilder;
+
+    private Map<String, List<MethodTree>> withMethods = new HashMap<String, List<MethodTree>>();
+
+    public Builder withBuildMethod(MethodTree buildMethod) {
+      this.buildMethod = buildMethod;
+      return this;
+    }
+
+    public Builder withValidateMethod(MethodTree validateMethod) {
+      this.validateMethod = validateMethod;
+      return this;
+    }
+
+    public Builder withConstructorWithBuilder(MethodTree constructorWithBuilder) {
+      this.constructorWithBuilder = constructorWithBuilder;
+      return this;
+    }
+
+    public Builder addWithMethod(String capitalizedFieldName, MethodTree withMethod) {
+      Validate.notNull(capitalizedFieldName, "capitalizedFieldName may not be null");
+      Validate.notNull(withMethod, "withMethod may not be null");
+      List<MethodTree> methods = withMethods.get(capitalizedFieldName);
+      if (methods == null) {
+        methods = new ArrayList<MethodTree>(1);
+        withMethods.put(capitalizedFieldName, methods);
+      }
+      methods.add(withMethod);
+      return this;
+    }
+
+    public ClassifiedMembers build() {
+      return new ClassifiedMembers(this);
+    }
+  }
+
+  public MethodTree getBuildMethod() {
+    return buildMethod;
+  }
+
+  public MethodTree getValidateMethod() {
+    return validateMethod;
+  }
+
+  public MethodTree getConstructorWithBuilder() {
+    return constructorWithBuilder;
+  }
+
+  /**
+   * Returns the with-methods whose name and first parameter type correspond to the field.
+   */
+  public List<MethodTree> getWithMethods(VariableTree field) {
+    Validate.notNull(field, "field may not be null");
+    return getWithMethods(field.getName().toString(), TypeNames.toString(field.getType()));
+  }
+
+  /**
+   * As {@link #getWithMethods(VariableTree)}, for a field as it is mapped.
+   */
+  public List<MethodTree> getWithMethods(Field field) {
+    Validate.notNull(field, "field may not be null");
+    return getWithMethods(field.getName(), field.getSignature());
+  }
+
+  private List<MethodTree> getWithMethods(String fieldName, String type) {
+    List<MethodTree> candidates = withMethods.get(StringUtils.capitalize(fieldName));
+    if (candidates == null) {
+      return Collections.emptyList();
+    }
+    List<MethodTree> result = new ArrayList<MethodTree>(candidates.size());
+    for (MethodTree each : candidates) {
+      if (!each.getParameters().isEmpty()
+        && TypeNames.toString(each.getParameters().get(0).getType()).equals(type)) {
+        result.add(each);
+      }
+    }
+    return result;
+  }
+}
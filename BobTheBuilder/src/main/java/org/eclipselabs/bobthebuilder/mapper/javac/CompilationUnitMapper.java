@@ -0,0 +1,67 @@
+package org.eclipselabs.bobthebuilder.mapper.javac;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import javax.inject.Inject;
+
+import org.apache.commons.lang.Validate;
+import org.eclipselabs.bobthebuilder.model.ImportStatement;
+import org.eclipselabs.bobthebuilder.model.Imports;
+import org.eclipselabs.bobthebuilder.model.JavaClassFile;
+
+import com.sun.source.tree.ClassTree;
+import com.sun.source.tree.ImportTree;
+import com.sun.source.tree.Tree;
+
+/**
+ * Maps a compilation unit parsed by javac to the same {@link JavaClassFile} as
+ * {@link org.eclipselabs.bobthebuilder.mapper.eclipse.CompilationUnitMapper} maps the compilation
+ * unit of the Java model to, so that complements, supplements and compositions can be worked out
+ * in a plain JVM.
+ */
+public class CompilationUnitMapper {
+
+  private final MainTypeMapper mainTypeMapper;
+
+  @Inject
+  public CompilationUnitMapper(MainTypeMapper mainTypeMapper) {
+    this.mainTypeMapper = mainTypeMapper;
+  }
+
+  public JavaClassFile map(ParsedCompilationUnit compilationUnit) {
+    Validate.notNull(compilationUnit, "compilationUnit may not be null");
+    ClassTree type = selectMainType(compilationUnit);
+    Imports imports = mapImports(compilationUnit);
+    return new JavaClassFile.Builder()
+        .withImports(imports)
+        .withMainType(mainTypeMapper.map(compilationUnit, type, imports))
+        .withName(type.getSimpleName().toString())
+        .build();
+  }
+
+  private static ClassTree selectMainType(ParsedCompilationUnit compilationUnit) {
+    List<ClassTree> topLevelTypes = new ArrayList<ClassTree>();
+    for (Tree each : compilationUnit.getTree().getTypeDecls()) {
+      if (each instanceof ClassTree) {
+        topLevelTypes.add((ClassTree) each);
+      }
+    }
+    if (topLevelTypes.size() != 1) {
+      throw new IllegalStateException(
+        "Compilation units with other than one type are not supported. Compilation unit: "
+          + compilationUnit.getPath());
+    }
+    return topLevelTypes.get(0);
+  }
+
+  private static Imports mapImports(ParsedCompilationUnit compilationUnit) {
+    Set<ImportStatement> imports = new HashSet<ImportStatement>();
+    for (ImportTree each : compilationUnit.getTree().getImports()) {
+      imports.add(new ImportStatement(TypeNames.toString(each.getQualifiedIdentifier())));
+    }
+    return new Imports(imports);
+  }
+}
@@ -0,0 +1,51 @@
+package org.eclipselabs.bobthebuilder.mapper.javac;
+
+import java.util.Set;
+
+import javax.inject.Inject;
+
+import org.apache.commons.lang.Validate;
+import org.eclipselabs.bobthebuilder.analyzer.FieldPredicate;
+import org.eclipselabs.bobthebuilder.mapper.FieldContentSourceMapper;
+import org.eclipselabs.bobthebuilder.model.ConstructorWithBuilder;
+import org.eclipselabs.bobthebuilder.model.Field;
+
+import com.sun.source.tree.ClassTree;
+import com.sun.source.tree.MethodTree;
+
+public class ConstructorWithBuilderMapper {
+
+  private final MemberClassifier memberClassifier;
+
+  private final FieldPredicate.FieldAssignment fieldAssignment;
+
+  private final FieldContentSourceMapper fieldContentSourceMapper;
+
+  @Inject
+  public ConstructorWithBuilderMapper(MemberClassifier memberClassifier,
+      FieldPredicate.FieldAssignment fieldAssignment,
+      FieldContentSourceMapper fieldContentSourceMapper) {
+    this.memberClassifier = memberClassifier;
+    this.fieldAssignment = fieldAssignment;
+    this.fieldContentSourceMapper = fieldContentSourceMapper;
+  }
+
+  public ConstructorWithBuilder map(ParsedCompilationUnit compilationUnit, ClassTree type,
+    Set<Field> fields) {
+    Validate.notNull(compilationUnit, "compilationUnit may not be null");
+    Validate.notNull(type, "type may not be null");
+    Validate.notNull(fields, "fields may not be null");
+    MethodTree constructorWithBuilder = memberClassifier.classify(type).getConstructorWithBuilder();
+    if (constructorWithBuilder == null) {
+      return null;
+    }
+    String source = compilationUnit.getSource(constructorWithBuilder);
+    // The tree names every constructor <init> where the Java model names it after the type
+    return new ConstructorWithBuilder.Builder()
+        .withName(type.getSimpleName().toString())
+        .withSource(source)
+        .withFieldAssignment(
+          fieldContentSourceMapper.mapAssignments(source, fields, fieldAssignment))
+        .build();
+  }
+}
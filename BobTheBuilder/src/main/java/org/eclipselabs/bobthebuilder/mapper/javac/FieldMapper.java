@@ -0,0 +1,58 @@
+package org.eclipselabs.bobthebuilder.mapper.javac;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import javax.lang.model.element.Modifier;
+
+import org.apache.commons.lang.Validate;
+import org.eclipselabs.bobthebuilder.model.Field;
+
+import com.sun.source.tree.ClassTree;
+import com.sun.source.tree.Tree;
+import com.sun.source.tree.VariableTree;
+
+public class FieldMapper {
+
+  public Set<Field> map(ParsedCompilationUnit compilationUnit, ClassTree type) {
+    Validate.notNull(compilationUnit, "compilationUnit may not be null");
+    Set<Field> result = new HashSet<Field>();
+    for (VariableTree each : findFields(type)) {
+      result.add(map(compilationUnit, each));
+    }
+    return Collections.unmodifiableSet(result);
+  }
+
+  public Field map(ParsedCompilationUnit compilationUnit, VariableTree field) {
+    Validate.notNull(compilationUnit, "compilationUnit may not be null");
+    Validate.notNull(field, "field may not be null");
+    return new Field.Builder()
+        .withName(field.getName().toString())
+        .withSignature(TypeNames.toString(field.getType()))
+        .withPosition(compilationUnit.getStartPosition(field))
+        .build();
+  }
+
+  /**
+   * The fields of the type, leaving out the constants.
+   */
+  public List<VariableTree> findFields(ClassTree type) {
+    Validate.notNull(type, "type may not be null");
+    List<VariableTree> result = new ArrayList<VariableTree>();
+    for (Tree each : type.getMembers()) {
+      if (each.getKind() != Tree.Kind.VARIABLE) {
+        continue;
+      }
+      VariableTree field = (VariableTree) each;
+      Set<Modifier> flags = field.getModifiers().getFlags();
+      if (flags.contains(Modifier.FINAL) && flags.contains(Modifier.STATIC)) {
+        continue;
+      }
+      result.add(field);
+    }
+    return result;
+  }
+}
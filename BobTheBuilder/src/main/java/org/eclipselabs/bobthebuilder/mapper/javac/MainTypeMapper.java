@@ -0,0 +1,54 @@
+package org.eclipselabs.bobthebuilder.mapper.javac;
+
+import java.util.Set;
+
+import javax.inject.Inject;
+import javax.lang.model.element.Modifier;
+
+import org.apache.commons.lang.Validate;
+import org.eclipselabs.bobthebuilder.model.Field;
+import org.eclipselabs.bobthebuilder.model.Imports;
+import org.eclipselabs.bobthebuilder.model.MainType;
+
+import com.sun.source.tree.ClassTree;
+import com.sun.source.tree.Tree;
+
+public class MainTypeMapper {
+
+  private final BuilderTypeMapper builderTypeMapper;
+
+  private final FieldMapper fieldMapper;
+
+  private final ConstructorWithBuilderMapper constructorWithBuilderMapper;
+
+  private final SuperTypeMapper superTypeMapper;
+
+  @Inject
+  public MainTypeMapper(BuilderTypeMapper builderTypeMapper, FieldMapper fieldMapper,
+      ConstructorWithBuilderMapper constructorWithBuilderMapper,
+      SuperTypeMapper superTypeMapper) {
+    this.builderTypeMapper = builderTypeMapper;
+    this.fieldMapper = fieldMapper;
+    this.constructorWithBuilderMapper = constructorWithBuilderMapper;
+    this.superTypeMapper = superTypeMapper;
+  }
+
+  public MainType map(ParsedCompilationUnit compilationUnit, ClassTree type, Imports imports) {
+    Validate.notNull(compilationUnit, "compilationUnit may not be null");
+    Validate.notNull(type, "type may not be null");
+    Validate.notNull(imports, "imports may not be null");
+    if (type.getKind() != Tree.Kind.CLASS) {
+      throw new IllegalStateException("The main type has to be a class." + type.getSimpleName());
+    }
+    Set<Field> fields = fieldMapper.map(compilationUnit, type);
+    return new MainType.Builder()
+        .withName(type.getSimpleName().toString())
+        .withAbstractType(type.getModifiers().getFlags().contains(Modifier.ABSTRACT))
+        .withSuperType(superTypeMapper.map(compilationUnit, type))
+        .withFields(fields)
+        .withBuilderType(builderTypeMapper.map(compilationUnit, type, imports, fields))
+        .withConstructorWithBuilder(
+          constructorWithBuilderMapper.map(compilationUnit, type, fields))
+        .build();
+  }
+}
@@ -0,0 +1,19 @@
+package org.eclipselabs.bobthebuilder.mapper.javac;
+
+import com.google.inject.AbstractModule;
+
+public class MapperModule extends AbstractModule {
+
+  @Override
+  protected void configure() {
+    bind(CompilationUnitMapper.class);
+    bind(MainTypeMapper.class);
+    bind(BuilderTypeMapper.class);
+    bind(FieldMapper.class);
+    bind(ConstructorWithBuilderMapper.class);
+    bind(ValidateMethodMapper.class);
+    bind(SuperTypeMapper.class);
+    bind(MemberClassifier.class);
+  }
+
+}
@@ -0,0 +1,74 @@
+package org.eclipselabs.bobthebuilder.mapper.javac;
+
+import java.util.List;
+
+import org.apache.commons.lang.Validate;
+import org.eclipselabs.bobthebuilder.analyzer.WithMethodPredicate;
+
+import com.sun.source.tree.ClassTree;
+import com.sun.source.tree.MethodTree;
+import com.sun.source.tree.Tree;
+import com.sun.source.tree.VariableTree;
+
+/**
+ * Walks the methods of a type once and buckets them into {@link ClassifiedMembers}, by the same
+ * rules as {@link org.eclipselabs.bobthebuilder.analyzer.MethodPredicate} applies to the methods
+ * of the Java model. The trees do not change, so there is nothing to keep between runs.
+ */
+public class MemberClassifier {
+
+  static final String BUILD_METHOD_NAME = "build";
+
+  static final String VALIDATE_METHOD_NAME = "validate";
+
+  static final String CONSTRUCTOR_NAME = "<init>";
+
+  static final String BUILDER_PARAMETER_TYPE = "Builder";
+
+  // The constructor of an abstract type takes its self-typed builder as Builder<?>
+  static final String SELF_TYPED_BUILDER_PARAMETER_TYPE = "Builder<?>";
+
+  public ClassifiedMembers classify(ClassTree type) {
+    Validate.notNull(type, "type may not be null");
+    ClassifiedMembers.Builder builder = new ClassifiedMembers.Builder();
+    boolean constructorWithBuilderFound = false;
+    int prefixLength = WithMethodPredicate.WITH_METHOD_PREFIX.length();
+    for (Tree eachMember : type.getMembers()) {
+      if (eachMember.getKind() != Tree.Kind.METHOD) {
+        continue;
+      }
+      MethodTree each = (MethodTree) eachMember;
+      String name = each.getName().toString();
+      if (name.equals(BUILD_METHOD_NAME)) {
+        builder.withBuildMethod(each);
+      }
+      else if (name.equals(VALIDATE_METHOD_NAME) && each.getParameters().isEmpty()) {
+        builder.withValidateMethod(each);
+      }
+      else if (isConstructorWithBuilder(each)) {
+        if (!constructorWithBuilderFound) {
+          builder.withConstructorWithBuilder(each);
+          constructorWithBuilderFound = true;
+        }
+      }
+      else if (name.length() > prefixLength
+        && name.startsWith(WithMethodPredicate.WITH_METHOD_PREFIX)) {
+        builder.addWithMethod(name.substring(prefixLength), each);
+      }
+    }
+    return builder.build();
+  }
+
+  private static boolean isConstructorWithBuilder(MethodTree method) {
+    if (!method.getName().contentEquals(CONSTRUCTOR_NAME)) {
+      return false;
+    }
+    List<? extends VariableTree> parameters = method.getParameters();
+    if (parameters.size() != 1) {
+      return false;
+    }
+    String parameterType = TypeNames.toString(parameters.get(0).getType());
+    return parameterType.equals(BUILDER_PARAMETER_TYPE)
+      || parameterType.equals(SELF_TYPED_BUILDER_PARAMETER_TYPE);
+  }
+}
@@ -0,0 +1,201 @@
+package org.eclipselabs.bobthebuilder.mapper.javac;
+
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.commons.lang.Validate;
+import org.eclipselabs.bobthebuilder.JavaSourceScanner;
+
+import com.sun.source.tree.ClassTree;
+import com.sun.source.tree.CompilationUnitTree;
+import com.sun.source.tree.Tree;
+import com.sun.source.util.SourcePositions;
+
+/**
+ * A compilation unit of {@link ParsedSources}, which knows where its members start and end the
+ * way the Java model does: a member starts at the last javadoc comment before it and ends after
+ * a comment that closes on the line it ends on. The fields of a declaration such as
+ * {@code int x, y;} share its range.
+ */
+public class ParsedCompilationUnit {
+
+  private final String path;
+
+  private final String source;
+
+  private final CompilationUnitTree tree;
+
+  private final Map<String, ClassTree> typesBySimpleName;
+
+  private final Map<Tree, Integer> starts = new IdentityHashMap<Tree, Integer>();
+
+  private final Map<Tree, Integer> ends = new IdentityHashMap<Tree, Integer>();
+
+  private final Map<Tree, Integer> bodyEnds = new IdentityHashMap<Tree, Integer>();
+
+  ParsedCompilationUnit(String path, String source, CompilationUnitTree tree,
+      SourcePositions sourcePositions, Map<String, ClassTree> typesBySimpleName) {
+    this.path = path;
+    this.source = source;
+    this.tree = tree;
+    this.typesBySimpleName = typesBySimpleName;
+    for (Tree each : tree.getTypeDecls()) {
+      if (each instanceof ClassTree) {
+        putMemberRanges((ClassTree) each, sourcePositions);
+      }
+    }
+  }
+
+  public String getPath() {
+    return path;
+  }
+
+  public String getSource() {
+    return source;
+  }
+
+  public CompilationUnitTree getTree() {
+    return tree;
+  }
+
+  /**
+   * Returns null when none of the parsed sources declares a type of the name.
+   */
+  public ClassTree findType(String simpleName) {
+    Validate.notNull(simpleName, "simpleName may not be null");
+    return typesBySimpleName.get(simpleName);
+  }
+
+  /**
+   * Whether the tree is a member of a type of this compilation unit, one that is in the source.
+   */
+  public boolean contains(Tree member) {
+    return starts.containsKey(member);
+  }
+
+  /**
+   * The offset of a member of a type of this compilation unit, as {@code ISourceRange#getOffset()}
+   * of the member would have it.
+   */
+  public int getStartPosition(Tree member) {
+    Validate.isTrue(starts.containsKey(member), "member is not a member of a type of " + path);
+    return starts.get(member);
+  }
+
+  /**
+   * The source of a member of a type of this compilation unit, as {@code IMember#getSource()}
+   * would have it.
+   */
+  public String getSource(Tree member) {
+    return source.substring(getStartPosition(member), getEndPosition(member));
+  }
+
+  /**
+   * The offset right after a member of a type of this compilation unit, and after the comment
+   * closing on its last line if there is one.
+   */
+  public int getEndPosition(Tree member) {
+    Validate.isTrue(ends.containsKey(member), "member is not a member of a type of " + path);
+    return ends.get(member);
+  }
+
+  /**
+   * The offset of the brace that closes the body of a type of this compilation unit.
+   */
+  public int getBodyEndPosition(ClassTree type) {
+    Validate.isTrue(bodyEnds.containsKey(type), "type is not a type of " + path);
+    return bodyEnds.get(type);
+  }
+
+  private void putMemberRanges(ClassTree type, SourcePositions sourcePositions) {
+    bodyEnds.put(type, (int) sourcePositions.getEndPosition(tree, type) - 1);
+    int gapStart = bodyStart(type, sourcePositions);
+    int declarationStart = -1;
+    List<Tree> declaration = new ArrayList<Tree>();
+    for (Tree each : type.getMembers()) {
+      int start = (int) sourcePositions.getStartPosition(tree, each);
+      int end = (int) sourcePositions.getEndPosition(tree, each);
+      if (start < 0 || end < 0) {
+        continue;
+      }
+      if (start < gapStart) {
+        // Another field of the declaration before, which only the last one ends with
+        declaration.add(each);
+      }
+      else {
+        declaration.clear();
+        declaration.add(each);
+        declarationStart = javadocStart(gapStart, start);
+      }
+      int declarationEnd = trailingCommentEnd(end);
+      for (Tree eachInDeclaration : declaration) {
+        starts.put(eachInDeclaration, declarationStart);
+        ends.put(eachInDeclaration, declarationEnd);
+      }
+      gapStart = Math.max(gapStart, declarationEnd);
+      if (each instanceof ClassTree) {
+        putMemberRanges((ClassTree) each, sourcePositions);
+      }
+    }
+  }
+
+  // Right after the brace that opens the body, as the annotations of the type may hold braces too
+  private int bodyStart(ClassTree type, SourcePositions sourcePositions) {
+    int result = JavaSourceScanner.bodyStart(
+      source, (int) sourcePositions.getStartPosition(tree, type));
+    return result < 0 ? source.length() : result + 1;
+  }
+
+  private int javadocStart(int from, int to) {
+    int result = to;
+    int i = from;
+    while (i < to) {
+      if (source.startsWith("//", i)) {
+        i = lineEnd(i);
+      }
+      else if (source.startsWith("/*", i)) {
+        int end = commentEnd(i);
+        if (isJavadoc(i, end) && end <= to) {
+          result = i;
+        }
+        i = end;
+      }
+      else {
+        i++;
+      }
+    }
+    return result;
+  }
+
+  private int trailingCommentEnd(int end) {
+    int i = end;
+    while (i < source.length() && (source.charAt(i) == ' ' || source.charAt(i) == '\t')) {
+      i++;
+    }
+    if (source.startsWith("//", i)) {
+      return lineEnd(i);
+    }
+    if (source.startsWith("/*", i)) {
+      int commentEnd = commentEnd(i);
+      if (!isJavadoc(i, commentEnd) && lineEnd(i) >= commentEnd) {
+        return commentEnd;
+      }
+    }
+    return end;
+  }
+
+  // /**/ is an empty block comment rather than a javadoc comment
+  private boolean isJavadoc(int start, int end) {
+    return source.startsWith("/**", start) && end - start > 4;
+  }
+
+  private int lineEnd(int from) {
+    return JavaSourceScanner.lineEnd(source, from);
+  }
+
+  private int commentEnd(int start) {
+    return JavaSourceScanner.commentEnd(source, start);
+  }
+}
@@ -0,0 +1,150 @@
+package org.eclipselabs.bobthebuilder.mapper.javac;
+
+import java.io.IOException;
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import javax.tools.DiagnosticCollector;
+import javax.tools.JavaCompiler;
+import javax.tools.JavaFileObject;
+import javax.tools.SimpleJavaFileObject;
+import javax.tools.ToolProvider;
+
+import org.apache.commons.lang.Validate;
+
+import com.sun.source.tree.ClassTree;
+import com.sun.source.tree.CompilationUnitTree;
+import com.sun.source.tree.Tree;
+import com.sun.source.util.JavacTask;
+import com.sun.source.util.SourcePositions;
+import com.sun.source.util.Trees;
+
+/**
+ * Sources parsed together by the system java compiler, which takes a JDK rather than a running
+ * Java model. The sources are parsed but not attributed, so a superclass is looked up by its
+ * simple name among the types of the sources, where the Eclipse mapper asks a type hierarchy.
+ */
+public class ParsedSources {
+
+  private static final List<String> PARSE_OPTIONS = Arrays.asList("-proc:none", "-classpath", "");
+
+  private final List<ParsedCompilationUnit> compilationUnits =
+      new ArrayList<ParsedCompilationUnit>();
+
+  private final Map<String, ClassTree> typesBySimpleName = new HashMap<String, ClassTree>();
+
+  private ParsedSources(Builder builder) {
+    JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+    if (compiler == null) {
+      throw new IllegalStateException("No system java compiler, the sources need a JDK to parse.");
+    }
+    Map<URI, SourceFile> files = new LinkedHashMap<URI, SourceFile>();
+    for (Map.Entry<String, String> each : builder.sources.entrySet()) {
+      SourceFile file = new SourceFile(each.getKey(), each.getValue());
+      files.put(file.toUri(), file);
+    }
+    // The diagnostics are dropped, the trees of sources with errors are mapped as far as they go.
+    // Nothing is resolved, so the class path is left empty rather than that of the JVM, whose
+    // archives the compiler would otherwise open for every task.
+    JavacTask task = (JavacTask) compiler.getTask(null, null,
+      new DiagnosticCollector<JavaFileObject>(), PARSE_OPTIONS, null, files.values());
+    Iterable<? extends CompilationUnitTree> trees;
+    try {
+      trees = task.parse();
+    }
+    catch (IOException e) {
+      throw new IllegalStateException("Could not read the sources in memory", e);
+    }
+    SourcePositions sourcePositions = Trees.instance(task).getSourcePositions();
+    Map<String, ClassTree> types = Collections.unmodifiableMap(typesBySimpleName);
+    for (CompilationUnitTree each : trees) {
+      // The compiler hands back its own wrappers of the files
+      SourceFile file = files.get(each.getSourceFile().toUri());
+      compilationUnits.add(
+        new ParsedCompilationUnit(file.path, file.source, each, sourcePositions, types));
+      for (Tree eachType : each.getTypeDecls()) {
+        if (eachType instanceof ClassTree) {
+          index((ClassTree) eachType);
+        }
+      }
+    }
+  }
+
+  public static class Builder {
+
+    private final Map<String, String> sources = new LinkedHashMap<String, String>();
+
+    /**
+     * The path is that of the file in its source folder, e.g. {@code org/example/Person.java}.
+     */
+    public Builder withSource(String path, String source) {
+      Validate.notEmpty(path, "path may not be empty");
+      Validate.notNull(source, "source may not be null");
+      sources.put(path, source);
+      return this;
+    }
+
+    public ParsedSources build() {
+      validate();
+      return new ParsedSources(this);
+    }
+
+    private void validate() {
+      Validate.notEmpty(sources, "sources may not be empty");
+    }
+  }
+
+  public List<ParsedCompilationUnit> getCompilationUnits() {
+    return Collections.unmodifiableList(compilationUnits);
+  }
+
+  /**
+   * Returns null when none of the sources has the path.
+   */
+  public ParsedCompilationUnit getCompilationUnit(String path) {
+    Validate.notNull(path, "path may not be null");
+    for (ParsedCompilationUnit each : compilationUnits) {
+      if (each.getPath().equals(path)) {
+        return each;
+      }
+    }
+    return null;
+  }
+
+  // The first type of a name wins, as a type hierarchy would only ever find one of them
+  private void index(ClassTree type) {
+    String name = type.getSimpleName().toString();
+    if (!typesBySimpleName.containsKey(name)) {
+      typesBySimpleName.put(name, type);
+    }
+    for (Tree each : type.getMembers()) {
+      if (each instanceof ClassTree) {
+        index((ClassTree) each);
+      }
+    }
+  }
+
+  private static class SourceFile extends SimpleJavaFileObject {
+
+    private final String path;
+
+    private final String source;
+
+    SourceFile(String path, String source) {
+      super(URI.create("string:///" + path), Kind.SOURCE);
+      this.path = path;
+      this.source = source;
+    }
+
+    @Override
+    public CharSequence getCharContent(boolean ignoreEncodingErrors) {
+      return source;
+    }
+  }
+}
@@ -0,0 +1,56 @@
+package org.eclipselabs.bobthebuilder.mapper.javac;
+
+import javax.inject.Inject;
+import javax.lang.model.element.Modifier;
+
+import org.apache.commons.lang.StringUtils;
+import org.apache.commons.lang.Validate;
+import org.eclipselabs.bobthebuilder.model.SuperType;
+
+import com.sun.source.tree.ClassTree;
+import com.sun.source.tree.MethodTree;
+import com.sun.source.tree.Tree;
+
+public class SuperTypeMapper {
+
+  private final BuilderTypeMapper builderTypeMapper;
+
+  private final MemberClassifier memberClassifier;
+
+  @Inject
+  public SuperTypeMapper(BuilderTypeMapper builderTypeMapper, MemberClassifier memberClassifier) {
+    this.builderTypeMapper = builderTypeMapper;
+    this.memberClassifier = memberClassifier;
+  }
+
+  /**
+   * Returns null when the main type does not extend a type of the parsed sources declaring a
+   * builder.
+   */
+  public SuperType map(ParsedCompilationUnit compilationUnit, ClassTree type) {
+    Validate.notNull(compilationUnit, "compilationUnit may not be null");
+    Validate.notNull(type, "type may not be null");
+    Tree extendsClause = type.getExtendsClause();
+    if (extendsClause == null) {
+      return null;
+    }
+    String superclassName =
+        StringUtils.substringBefore(TypeNames.toString(extendsClause), "<").trim();
+    ClassTree superclass =
+        compilationUnit.findType(StringUtils.substringAfterLast("." + superclassName, "."));
+    if (superclass == null) {
+      return null;
+    }
+    ClassTree superBuilderType = builderTypeMapper.findBuilderType(superclass);
+    if (superBuilderType == null) {
+      return null;
+    }
+    MethodTree validateMethod = memberClassifier.classify(superBuilderType).getValidateMethod();
+    return new SuperType.Builder()
+        .withName(superclassName)
+        .withSelfTypedBuilder(superBuilderType.getTypeParameters().size() == 1)
+        .withValidateMethodInBuilder(validateMethod != null
+          && !validateMethod.getModifiers().getFlags().contains(Modifier.PRIVATE))
+        .build();
+  }
+}
@@ -0,0 +1,77 @@
+package org.eclipselabs.bobthebuilder.mapper.javac;
+
+import java.util.List;
+import java.util.Locale;
+
+import org.apache.commons.lang.Validate;
+
+import com.sun.source.tree.ArrayTypeTree;
+import com.sun.source.tree.IdentifierTree;
+import com.sun.source.tree.MemberSelectTree;
+import com.sun.source.tree.ParameterizedTypeTree;
+import com.sun.source.tree.PrimitiveTypeTree;
+import com.sun.source.tree.Tree;
+import com.sun.source.tree.WildcardTree;
+
+/**
+ * Writes a type as it is written in the source, the way {@code Signature.toString} writes the
+ * signature the Java model gives it, e.g. {@code Map<String,List<? extends Number>>[]} for
+ * {@code Map<String, List<? extends Number>> x[]}.
+ */
+public final class TypeNames {
+
+  private TypeNames() {}
+
+  public static String toString(Tree type) {
+    Validate.notNull(type, "type may not be null");
+    StringBuilder result = new StringBuilder();
+    append(result, type);
+    return result.toString();
+  }
+
+  private static void append(StringBuilder result, Tree type) {
+    switch (type.getKind()) {
+      case PRIMITIVE_TYPE:
+        result.append(((PrimitiveTypeTree) type).getPrimitiveTypeKind().name()
+            .toLowerCase(Locale.ENGLISH));
+        break;
+      case IDENTIFIER:
+        result.append(((IdentifierTree) type).getName());
+        break;
+      case MEMBER_SELECT:
+        append(result, ((MemberSelectTree) type).getExpression());
+        result.append('.').append(((MemberSelectTree) type).getIdentifier());
+        break;
+      case ARRAY_TYPE:
+        append(result, ((ArrayTypeTree) type).getType());
+        result.append("[]");
+        break;
+      case PARAMETERIZED_TYPE:
+        append(result, ((ParameterizedTypeTree) type).getType());
+        result.append('<');
+        List<? extends Tree> typeArguments = ((ParameterizedTypeTree) type).getTypeArguments();
+        for (int i = 0; i < typeArguments.size(); i++) {
+          if (i > 0) {
+            result.append(',');
+          }
+          append(result, typeArguments.get(i));
+        }
+        result.append('>');
+        break;
+      case UNBOUNDED_WILDCARD:
+        result.append('?');
+        break;
+      case EXTENDS_WILDCARD:
+        result.append("? extends ");
+        append(result, ((WildcardTree) type).getBound());
+        break;
+      case SUPER_WILDCARD:
+        result.append("? super ");
+        append(result, ((WildcardTree) type).getBound());
+        break;
+      default:
+        // What is left are the trees of sources that do not parse
+        result.append(type);
+    }
+  }
+}
@@ -0,0 +1,52 @@
+package org.eclipselabs.bobthebuilder.mapper.javac;
+
+import java.util.Set;
+
+import javax.inject.Inject;
+
+import org.apache.commons.lang.Validate;
+import org.eclipselabs.bobthebuilder.analyzer.FieldPredicate;
+import org.eclipselabs.bobthebuilder.mapper.FieldContentSourceMapper;
+import org.eclipselabs.bobthebuilder.mapper.ValidationFrameworkSourceMapper;
+import org.eclipselabs.bobthebuilder.model.Field;
+import org.eclipselabs.bobthebuilder.model.Imports;
+import org.eclipselabs.bobthebuilder.model.ValidateMethod;
+
+import com.sun.source.tree.MethodTree;
+
+public class ValidateMethodMapper {
+
+  private final FieldPredicate.FieldValidation fieldValidation;
+
+  private final FieldContentSourceMapper fieldContentSourceMapper;
+
+  private final ValidationFrameworkSourceMapper validationFrameworkSourceMapper;
+
+  @Inject
+  public ValidateMethodMapper(FieldPredicate.FieldValidation fieldValidation,
+      FieldContentSourceMapper fieldContentSourceMapper,
+      ValidationFrameworkSourceMapper validationFrameworkSourceMapper) {
+    this.fieldValidation = fieldValidation;
+    this.fieldContentSourceMapper = fieldContentSourceMapper;
+    this.validationFrameworkSourceMapper = validationFrameworkSourceMapper;
+  }
+
+  /**
+   * Returns null when the builder has no validate method, i.e. when validateMethod is null.
+   */
+  public ValidateMethod map(ParsedCompilationUnit compilationUnit, MethodTree validateMethod,
+    Imports imports, Set<Field> fields) {
+    Validate.notNull(compilationUnit, "compilationUnit may not be null");
+    Validate.notNull(imports, "imports may not be null");
+    if (validateMethod == null) {
+      return null;
+    }
+    String source = compilationUnit.getSource(validateMethod);
+    return new ValidateMethod.Builder()
+        .withSource(source)
+        .withValidatedFields(
+          fieldContentSourceMapper.map(source, fields, fieldValidation))
+        .withValidationFramework(validationFrameworkSourceMapper.map(source, imports))
+        .build();
+  }
+}
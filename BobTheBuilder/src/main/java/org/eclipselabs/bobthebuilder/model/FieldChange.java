@@ -0,0 +1,81 @@
+package org.eclipselabs.bobthebuilder.model;
+
+import org.apache.commons.lang.Validate;
+import org.apache.commons.lang.builder.EqualsBuilder;
+import org.apache.commons.lang.builder.HashCodeBuilder;
+import org.apache.commons.lang.builder.ToStringBuilder;
+
+/**
+ * A field of the builder that no longer has a counterpart in the main type, paired with the field
+ * of the main type it became after a rename, a change of type, or both.
+ */
+public class FieldChange {
+
+  private final Field builderField;
+
+  private final Field mainTypeField;
+
+  private FieldChange(Builder builder) {
+    this.builderField = builder.builderField;
+    this.mainTypeField = builder.mainTypeField;
+  }
+
+  public static class Builder {
+
+    private Field builderField;
+
+    private Field mainTypeField;
+
+    public Builder withBuilderField(Field builderField) {
+      this.builderField = builderField;
+      return this;
+    }
+
+    public Builder withMainTypeField(Field mainTypeField) {
+      this.mainTypeField = mainTypeField;
+      return this;
+    }
+
+    public FieldChange build() {
+      validate();
+      return new FieldChange(this);
+    }
+
+    private void validate() {
+      Validate.notNull(builderField, "builderField may not be null");
+      Validate.notNull(mainTypeField, "mainTypeField may not be null");
+      Validate.isTrue(!builderField.equals(mainTypeField), "the fields may not be the same");
+    }
+  }
+
+  public Field getBuilderField() {
+    return builderField;
+  }
+
+  public Field getMainTypeField() {
+    return mainTypeField;
+  }
+
+  public boolean isRename() {
+    return !builderField.getName().equals(mainTypeField.getName());
+  }
+
+  public boolean isRetype() {
+    return !builderField.getSignature().equals(mainTypeField.getSignature());
+  }
+
+  @Override
+  public int hashCode() {
+    return HashCodeBuilder.reflectionHashCode(this);
+  }
+
+  @Override
+  public boolean equals(Object obj) {
+    return EqualsBuilder.reflectionEquals(this, obj);
+  }
+
+  @Override
+  public String toString() {
+    return ToStringBuilder.reflectionToString(this);
+  }
+}
@@ -21,11 +21,18 @@ public class MainType {
   // This could be null
   private ConstructorWithBuilder constructorWithBuilder;
 
+  private final boolean abstractType;
+
+  // This could be null
+  private final SuperType superType;
+
   private MainType(Builder builder) {
     this.constructorWithBuilder = builder.constructorWithBuilder;
     this.builderType = builder.builderType;
     this.name = builder.name;
     this.fields = builder.fields;
+    this.abstractType = builder.abstractType;
+    this.superType = builder.superType;
   }
 
   public static class Builder {
@@ -38,6 +45,10 @@ public class MainType {
 
     private Set<Field> fields = new HashSet<Field>();
 
+    private boolean abstractType;
+
+    private SuperType superType;
+
     public Builder withConstructorWithBuilder(ConstructorWithBuilder constructorWithBuilder) {
       this.constructorWithBuilder = constructorWithBuilder;
       return this;
@@ -58,6 +69,16 @@ public class MainType {
       return this;
     }
 
+    public Builder withAbstractType(boolean abstractType) {
+      this.abstractType = abstractType;
+      return this;
+    }
+
+    public Builder withSuperType(SuperType superType) {
+      this.superType = superType;
+      return this;
+    }
+
     public MainType build() {
       validate();
       return new MainType(this);
@@ -85,6 +106,22 @@ public class MainType {
     return constructorWithBuilder;
   }
 
+  public boolean isAbstractType() {
+    return abstractType;
+  }
+
+  public SuperType getSuperType() {
+    return superType;
+  }
+
+  /**
+   * Whether the builder of this type extends the self-typed builder of its superclass, which then
+   * takes care of the inherited fields.
+   */
+  public boolean isExtendingSuperBuilder() {
+    return superType != null && superType.isSelfTypedBuilder();
+  }
+
   @Override
   public int hashCode() {
     return HashCodeBuilder.reflectionHashCode(this);
@@ -1,5 +1,8 @@
 package org.eclipselabs.bobthebuilder.model;
 
+import java.util.Collections;
+import java.util.Set;
+
 import org.apache.commons.lang.Validate;
 import org.apache.commons.lang.builder.EqualsBuilder;
 import org.apache.commons.lang.builder.HashCodeBuilder;
@@ -11,11 +14,15 @@ public class MainTypeComplement {
 
   private final BuilderTypeComplement builderTypeComplement;
 
+  // Offered to be made primitive, not something the builder lacks
+  private final Set<Field> unboxableFields;
+
   // TODO getters and pojomatics
 
   private MainTypeComplement(Builder builder) {
     this.constructorWithBuilderComplement = builder.constructorWithBuilderComplement;
     this.builderTypeComplement = builder.builderTypeComplement;
+    this.unboxableFields = builder.unboxableFields;
   }
 
   public static class Builder {
@@ -24,6 +31,8 @@ public class MainTypeComplement {
 
     private BuilderTypeComplement builderTypeComplement;
 
+    private Set<Field> unboxableFields = Collections.emptySet();
+
     public Builder withConstructorWithBuilderComplement(
       ConstructorWithBuilderComplement constructorWithBuilderComplement) {
       this.constructorWithBuilderComplement = constructorWithBuilderComplement;
@@ -35,6 +44,11 @@ public class MainTypeComplement {
       return this;
     }
 
+    public Builder withUnboxableFields(Set<Field> unboxableFields) {
+      this.unboxableFields = unboxableFields;
+      return this;
+    }
+
     public MainTypeComplement build() {
       validate();
       return new MainTypeComplement(this);
@@ -44,6 +58,7 @@ public class MainTypeComplement {
       Validate.notNull(builderTypeComplement, "builderTypeComplement may not be null");
       Validate.notNull(
         constructorWithBuilderComplement, "constructorWithBuilderComplement may not be null");
+      Validate.notNull(unboxableFields, "unboxableFields may not be null");
     }
 
   }
@@ -56,6 +71,15 @@ public class MainTypeComplement {
     return builderTypeComplement;
   }
 
+  /**
+   * The boxed fields the builder keeps from being null, see
+   * {@link org.eclipselabs.bobthebuilder.complement.UnboxableFieldsProvider}. They do not make the
+   * complement any less empty.
+   */
+  public Set<Field> getUnboxableFields() {
+    return unboxableFields;
+  }
+
   public boolean isEmptyComplement() {
     return constructorWithBuilderComplement.isEmptyComplement() &&
       builderTypeComplement.isEmptyComplement();
@@ -0,0 +1,88 @@
+package org.eclipselabs.bobthebuilder.model;
+
+import org.apache.commons.lang.StringUtils;
+import org.apache.commons.lang.Validate;
+import org.apache.commons.lang.builder.EqualsBuilder;
+import org.apache.commons.lang.builder.HashCodeBuilder;
+import org.apache.commons.lang.builder.ToStringBuilder;
+
+/**
+ * The superclass of the main type, when it declares a builder the main type's builder can extend.
+ */
+public class SuperType {
+
+  // The name as written in the extends clause of the main type, without type arguments
+  private final String name;
+
+  // Whether the builder of the superclass is declared as Builder<T extends Builder<T>>
+  private final boolean selfTypedBuilder;
+
+  // Whether the builder of the superclass has a validate method a sub builder can call
+  private final boolean validateMethodInBuilder;
+
+  private SuperType(Builder builder) {
+    this.name = builder.name;
+    this.selfTypedBuilder = builder.selfTypedBuilder;
+    this.validateMethodInBuilder = builder.validateMethodInBuilder;
+  }
+
+  public static class Builder {
+
+    private String name;
+
+    private boolean selfTypedBuilder;
+
+    private boolean validateMethodInBuilder;
+
+    public Builder withName(String name) {
+      this.name = name;
+      return this;
+    }
+
+    public Builder withSelfTypedBuilder(boolean selfTypedBuilder) {
+      this.selfTypedBuilder = selfTypedBuilder;
+      return this;
+    }
+
+    public Builder withValidateMethodInBuilder(boolean validateMethodInBuilder) {
+      this.validateMethodInBuilder = validateMethodInBuilder;
+      return this;
+    }
+
+    public SuperType build() {
+      validate();
+      return new SuperType(this);
+    }
+
+    private void validate() {
+      Validate.isTrue(!StringUtils.isBlank(name), "name may not be blank");
+    }
+  }
+
+  public String getName() {
+    return name;
+  }
+
+  public boolean isSelfTypedBuilder() {
+    return selfTypedBuilder;
+  }
+
+  public boolean isValidateMethodInBuilder() {
+    return validateMethodInBuilder;
+  }
+
+  @Override
+  public int hashCode() {
+    return HashCodeBuilder.reflectionHashCode(this);
+  }
+
+  @Override
+  public boolean equals(Object obj) {
+    return EqualsBuilder.reflectionEquals(this, obj);
+  }
+
+  @Override
+  public String toString() {
+    return ToStringBuilder.reflectionToString(this);
+  }
+}
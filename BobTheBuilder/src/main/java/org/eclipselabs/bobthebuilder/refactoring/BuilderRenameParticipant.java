@@ -0,0 +1,239 @@
+package org.eclipselabs.bobthebuilder.refactoring;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.commons.lang.StringUtils;
+
+import org.eclipse.core.resources.IFile;
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.OperationCanceledException;
+import org.eclipse.core.runtime.Status;
+import org.eclipse.jdt.core.Flags;
+import org.eclipse.jdt.core.ICompilationUnit;
+import org.eclipse.jdt.core.IField;
+import org.eclipse.jdt.core.IJavaElement;
+import org.eclipse.jdt.core.IMethod;
+import org.eclipse.jdt.core.IType;
+import org.eclipse.jdt.core.JavaCore;
+import org.eclipse.jdt.core.JavaModelException;
+import org.eclipse.jdt.core.Signature;
+import org.eclipse.jdt.core.search.IJavaSearchConstants;
+import org.eclipse.jdt.core.search.SearchEngine;
+import org.eclipse.jdt.core.search.SearchMatch;
+import org.eclipse.jdt.core.search.SearchParticipant;
+import org.eclipse.jdt.core.search.SearchPattern;
+import org.eclipse.jdt.core.search.SearchRequestor;
+import org.eclipse.ltk.core.refactoring.Change;
+import org.eclipse.ltk.core.refactoring.CompositeChange;
+import org.eclipse.ltk.core.refactoring.RefactoringStatus;
+import org.eclipse.ltk.core.refactoring.TextChange;
+import org.eclipse.ltk.core.refactoring.TextFileChange;
+import org.eclipse.ltk.core.refactoring.participants.CheckConditionsContext;
+import org.eclipse.ltk.core.refactoring.participants.RenameParticipant;
+import org.eclipse.text.edits.MalformedTreeException;
+import org.eclipse.text.edits.MultiTextEdit;
+import org.eclipse.text.edits.ReplaceEdit;
+import org.eclipse.text.edits.TextEdit;
+import org.eclipse.text.edits.TextEditGroup;
+import org.eclipselabs.bobthebuilder.Activator;
+import org.eclipselabs.bobthebuilder.analyzer.WithMethodPredicate;
+import org.eclipselabs.bobthebuilder.composer.ComposerModule;
+import org.eclipselabs.bobthebuilder.composer.FieldChangeEditor;
+import org.eclipselabs.bobthebuilder.composer.SourceReplacement;
+import org.eclipselabs.bobthebuilder.mapper.eclipse.BuilderTypeMapper;
+import org.eclipselabs.bobthebuilder.mapper.eclipse.ConstructorWithBuilderMapper;
+import org.eclipselabs.bobthebuilder.mapper.eclipse.MapperModule;
+import org.eclipselabs.bobthebuilder.mapper.eclipse.ValidateMethodMapper;
+import org.eclipselabs.bobthebuilder.model.Field;
+import org.eclipselabs.bobthebuilder.model.FieldChange;
+
+import com.google.inject.Guice;
+import com.google.inject.Injector;
+
+/**
+ * Renames the builder field of a renamed field of the main type, its with-method along with its
+ * calls throughout the workspace, and the places where the constructor with builder and the
+ * validate method read it, within the change of the rename refactoring itself.
+ */
+public class BuilderRenameParticipant extends RenameParticipant {
+
+  private final BuilderTypeMapper builderTypeMapper;
+
+  private final ConstructorWithBuilderMapper constructorWithBuilderMapper;
+
+  private final ValidateMethodMapper validateMethodMapper;
+
+  private final FieldChangeEditor fieldChangeEditor;
+
+  private IField field;
+
+  private IType builderType;
+
+  public BuilderRenameParticipant() {
+    Injector injector = Guice.createInjector(new MapperModule(), new ComposerModule());
+    builderTypeMapper = injector.getInstance(BuilderTypeMapper.class);
+    constructorWithBuilderMapper = injector.getInstance(ConstructorWithBuilderMapper.class);
+    validateMethodMapper = injector.getInstance(ValidateMethodMapper.class);
+    fieldChangeEditor = injector.getInstance(FieldChangeEditor.class);
+  }
+
+  @Override
+  protected boolean initialize(Object element) {
+    if (!(element instanceof IField)) {
+      return false;
+    }
+    field = (IField) element;
+    try {
+      if (Flags.isStatic(field.getFlags()) || field.getDeclaringType().isBinary()) {
+        return false;
+      }
+      builderType = builderTypeMapper.findBuilderType(field.getDeclaringType());
+      return builderType != null && builderType.getField(field.getElementName()).exists();
+    }
+    catch (JavaModelException e) {
+      return false;
+    }
+  }
+
+  @Override
+  public String getName() {
+    return "Rename in the builder of " + field.getDeclaringType().getElementName();
+  }
+
+  @Override
+  public RefactoringStatus checkConditions(IProgressMonitor pm, CheckConditionsContext context)
+    throws OperationCanceledException {
+    return new RefactoringStatus();
+  }
+
+  @Override
+  public Change createChange(IProgressMonitor pm)
+    throws CoreException, OperationCanceledException {
+    IField builderField = builderType.getField(field.getElementName());
+    String signature = Signature.toString(builderField.getTypeSignature());
+    FieldChange change = new FieldChange.Builder()
+        .withBuilderField(new Field.Builder()
+            .withName(builderField.getElementName())
+            .withSignature(signature)
+            .withPosition(builderField.getSourceRange().getOffset())
+            .build())
+        .withMainTypeField(new Field.Builder()
+            .withName(getArguments().getNewName())
+            .withSignature(signature)
+            .withPosition(field.getSourceRange().getOffset())
+            .build())
+        .build();
+    Map<ICompilationUnit, List<SourceReplacement>> replacements =
+        new LinkedHashMap<ICompilationUnit, List<SourceReplacement>>();
+    replacements.put(field.getCompilationUnit(), fieldChangeEditor.compose(
+      Collections.singletonList(change),
+      builderType,
+      constructorWithBuilderMapper.findConstructorWithBuilder(field.getDeclaringType()),
+      validateMethodMapper.findValidateMethod(builderType),
+      null,
+      false));
+    IMethod withMethod = fieldChangeEditor.findWithMethod(builderType, change.getBuilderField());
+    if (withMethod != null) {
+      addCallers(replacements, withMethod, change, pm);
+    }
+    List<Change> result = new ArrayList<Change>();
+    for (Map.Entry<ICompilationUnit, List<SourceReplacement>> each : replacements.entrySet()) {
+      if (each.getValue().isEmpty()) {
+        continue;
+      }
+      TextChange textChange = getTextChange(each.getKey());
+      if (textChange == null) {
+        TextFileChange fileChange =
+            new TextFileChange(getName(), (IFile) each.getKey().getResource());
+        fileChange.setEdit(new MultiTextEdit());
+        add(fileChange, fileChange.getEdit(), each.getValue());
+        result.add(fileChange);
+      }
+      else {
+        add(textChange, textChange.getEdit(), each.getValue());
+      }
+    }
+    if (result.isEmpty()) {
+      return null;
+    }
+    return result.size() == 1
+        ? result.get(0)
+        : new CompositeChange(getName(), result.toArray(new Change[result.size()]));
+  }
+
+  // The calls of the with-method, wherever in the workspace they are, renamed along with it
+  private void addCallers(final Map<ICompilationUnit, List<SourceReplacement>> replacements,
+      IMethod withMethod, FieldChange change, IProgressMonitor pm) throws CoreException {
+    final String oldName = withMethod.getElementName();
+    final String newName = WithMethodPredicate.WITH_METHOD_PREFIX
+      + StringUtils.capitalize(change.getMainTypeField().getName());
+    new SearchEngine().search(
+      SearchPattern.createPattern(withMethod, IJavaSearchConstants.REFERENCES),
+      new SearchParticipant[] { SearchEngine.getDefaultSearchParticipant() },
+      SearchEngine.createWorkspaceScope(),
+      new SearchRequestor() {
+        @Override
+        public void acceptSearchMatch(SearchMatch match) throws CoreException {
+          if (match.getAccuracy() != SearchMatch.A_ACCURATE) {
+            return;
+          }
+          IJavaElement element = JavaCore.create(match.getResource());
+          if (!(element instanceof ICompilationUnit)) {
+            return;
+          }
+          ICompilationUnit compilationUnit = (ICompilationUnit) element;
+          int offset = nameOffset(compilationUnit.getSource(), oldName, match);
+          if (offset < 0) {
+            return;
+          }
+          List<SourceReplacement> replacementsOfUnit = replacements.get(compilationUnit);
+          if (replacementsOfUnit == null) {
+            replacementsOfUnit = new ArrayList<SourceReplacement>();
+            replacements.put(compilationUnit, replacementsOfUnit);
+          }
+          replacementsOfUnit.add(new SourceReplacement(offset, oldName.length(), newName));
+        }
+      },
+      pm);
+  }
+
+  // The match spans the name and may span the arguments too
+  private static int nameOffset(String source, String name, SearchMatch match) {
+    int end = match.getOffset() + match.getLength();
+    int result = source == null ? -1 : source.indexOf(name, match.getOffset());
+    while (result >= 0 && result + name.length() <= end) {
+      if ((result == 0 || !Character.isJavaIdentifierPart(source.charAt(result - 1)))
+        && (result + name.length() == source.length()
+          || !Character.isJavaIdentifierPart(source.charAt(result + name.length())))) {
+        return result;
+      }
+      result = source.indexOf(name, result + 1);
+    }
+    return -1;
+  }
+
+  // An edit that overlaps one of the refactoring itself fails the change rather than being lost
+  private void add(TextChange textChange, TextEdit root, List<SourceReplacement> replacements)
+    throws CoreException {
+    TextEditGroup group = new TextEditGroup(getName());
+    for (SourceReplacement each : replacements) {
+      ReplaceEdit edit = new ReplaceEdit(each.getOffset(), each.getLength(), each.getText());
+      try {
+        root.addChild(edit);
+      }
+      catch (MalformedTreeException e) {
+        throw new CoreException(new Status(IStatus.ERROR, Activator.PLUGIN_ID,
+          "Could not rename " + field.getElementName() + " in the builder of "
+            + field.getDeclaringType().getElementName() + ": " + e.getMessage(), e));
+      }
+      group.addTextEdit(edit);
+    }
+    textChange.addTextEditGroup(group);
+  }
+}
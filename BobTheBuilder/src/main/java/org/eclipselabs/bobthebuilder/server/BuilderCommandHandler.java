@@ -0,0 +1,101 @@
+package org.eclipselabs.bobthebuilder.server;
+
+import java.io.IOException;
+import java.net.URI;
+import java.nio.charset.Charset;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import javax.inject.Inject;
+
+import org.apache.commons.lang.Validate;
+import org.eclipselabs.bobthebuilder.Feature;
+import org.eclipselabs.bobthebuilder.ValidationFramework;
+import org.eclipselabs.bobthebuilder.daemon.BuilderSync;
+import org.eclipselabs.bobthebuilder.daemon.SourceFiles;
+
+/**
+ * Composes the builder of a java file into text edits, which are returned rather than applied, for
+ * the editor to apply to its buffer. Its {@link #executeCommand(String, List)} takes the arguments
+ * the way a delegate command handler of the JDT language server does: the file URI, then an
+ * optional object of options:
+ * <ul>
+ * <li>{@code text}: the source of the editor buffer, else the file is read</li>
+ * <li>{@code features}: the names of the {@link Feature}s to compose, all by default</li>
+ * <li>{@code validationFramework}: the {@link ValidationFramework} of a new validate method</li>
+ * </ul>
+ */
+public class BuilderCommandHandler {
+
+  public static final String COMPOSE_COMMAND = "bobthebuilder.compose";
+
+  private static final Charset UTF_8 = Charset.forName("UTF-8");
+
+  private final BuilderSync builderSync;
+
+  @Inject
+  public BuilderCommandHandler(BuilderSync builderSync) {
+    this.builderSync = builderSync;
+  }
+
+  /**
+   * Returns the text edits of the command, none when there is nothing to do.
+   */
+  public List<Map<String, Object>> executeCommand(String commandId, List<Object> arguments)
+    throws IOException {
+    Validate.isTrue(COMPOSE_COMMAND.equals(commandId), "Unknown command " + commandId);
+    Validate.notNull(arguments, "arguments may not be null");
+    Validate.isTrue(arguments.size() == 1 || arguments.size() == 2,
+      "arguments should be the file URI and optional options");
+    Validate.isTrue(arguments.get(0) instanceof String, "the file URI should be a string");
+    Map<?, ?> options = Collections.emptyMap();
+    if (arguments.size() == 2 && arguments.get(1) != null) {
+      Validate.isTrue(arguments.get(1) instanceof Map, "the options should be an object");
+      options = (Map<?, ?>) arguments.get(1);
+    }
+    Path javaFile = toPath((String) arguments.get(0));
+    String source = options.containsKey("text")
+        ? (String) options.get("text")
+        : SourceFiles.read(javaFile, UTF_8);
+    Validate.notNull(source, javaFile + " does not exist");
+    String fileName = javaFile.getFileName().toString();
+    String newSource = builderSync.compose(
+      fileName, SourceFiles.readWithSuperclasses(javaFile, source, UTF_8),
+      toValidationFramework(options.get("validationFramework")),
+      toFeatures(options.get("features")));
+    if (newSource == null) {
+      return Collections.emptyList();
+    }
+    return TextEdits.between(source, newSource);
+  }
+
+  private static Path toPath(String uri) {
+    URI parsed = URI.create(uri);
+    Validate.isTrue("file".equals(parsed.getScheme()), "Not a file URI: " + uri);
+    return Paths.get(parsed);
+  }
+
+  private static ValidationFramework toValidationFramework(Object name) {
+    if (name == null) {
+      return ValidationFramework.DEFAULT;
+    }
+    return ValidationFramework.valueOf((String) name);
+  }
+
+  private static Set<Feature> toFeatures(Object names) {
+    if (names == null) {
+      return EnumSet.allOf(Feature.class);
+    }
+    Validate.isTrue(names instanceof List, "features should be an array");
+    Set<Feature> result = EnumSet.noneOf(Feature.class);
+    for (Object each : (List<?>) names) {
+      result.add(Feature.valueOf((String) each));
+    }
+    return result;
+  }
+}
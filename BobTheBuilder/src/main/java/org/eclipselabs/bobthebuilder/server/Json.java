@@ -0,0 +1,279 @@
+package org.eclipselabs.bobthebuilder.server;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.commons.lang.Validate;
+
+/**
+ * The little JSON the server speaks: objects are read into maps, arrays into lists, numbers into
+ * longs or doubles, and written back from the same.
+ */
+final class Json {
+
+  private final String text;
+
+  private int position;
+
+  private Json(String text) {
+    this.text = text;
+  }
+
+  static Object parse(String text) {
+    Validate.notNull(text, "text may not be null");
+    Json json = new Json(text);
+    Object result = json.readValue();
+    json.skipWhitespace();
+    if (json.position != text.length()) {
+      throw json.error("Unexpected trailing characters");
+    }
+    return result;
+  }
+
+  static String write(Object value) {
+    StringBuilder result = new StringBuilder();
+    write(value, result);
+    return result.toString();
+  }
+
+  private Object readValue() {
+    skipWhitespace();
+    if (position == text.length()) {
+      throw error("Unexpected end");
+    }
+    char c = text.charAt(position);
+    switch (c) {
+      case '{':
+        return readObject();
+      case '[':
+        return readArray();
+      case '"':
+        return readString();
+      case 't':
+        return readLiteral("true", Boolean.TRUE);
+      case 'f':
+        return readLiteral("false", Boolean.FALSE);
+      case 'n':
+        return readLiteral("null", null);
+      default:
+        return readNumber();
+    }
+  }
+
+  private Map<String, Object> readObject() {
+    Map<String, Object> result = new LinkedHashMap<String, Object>();
+    position++;
+    skipWhitespace();
+    if (consume('}')) {
+      return result;
+    }
+    do {
+      skipWhitespace();
+      if (position == text.length() || text.charAt(position) != '"') {
+        throw error("Expected a name");
+      }
+      String name = readString();
+      skipWhitespace();
+      expect(':');
+      result.put(name, readValue());
+      skipWhitespace();
+    }
+    while (consume(','));
+    expect('}');
+    return result;
+  }
+
+  private List<Object> readArray() {
+    List<Object> result = new ArrayList<Object>();
+    position++;
+    skipWhitespace();
+    if (consume(']')) {
+      return result;
+    }
+    do {
+      result.add(readValue());
+      skipWhitespace();
+    }
+    while (consume(','));
+    expect(']');
+    return result;
+  }
+
+  private String readString() {
+    StringBuilder result = new StringBuilder();
+    position++;
+    while (true) {
+      if (position == text.length()) {
+        throw error("Unterminated string");
+      }
+      char c = text.charAt(position++);
+      if (c == '"') {
+        return result.toString();
+      }
+      if (c != '\\') {
+        result.append(c);
+        continue;
+      }
+      if (position == text.length()) {
+        throw error("Unterminated string");
+      }
+      char escaped = text.charAt(position++);
+      switch (escaped) {
+        case 'b':
+          result.append('\b');
+          break;
+        case 'f':
+          result.append('\f');
+          break;
+        case 'n':
+          result.append('\n');
+          break;
+        case 'r':
+          result.append('\r');
+          break;
+        case 't':
+          result.append('\t');
+          break;
+        case 'u':
+          if (position + 4 > text.length()) {
+            throw error("Truncated unicode escape");
+          }
+          try {
+            result.append((char) Integer.parseInt(text.substring(position, position + 4), 16));
+          }
+          catch (NumberFormatException e) {
+            throw error("Invalid unicode escape");
+          }
+          position += 4;
+          break;
+        default:
+          result.append(escaped);
+      }
+    }
+  }
+
+  private Object readLiteral(String literal, Object value) {
+    if (!text.startsWith(literal, position)) {
+      throw error("Unexpected character");
+    }
+    position += literal.length();
+    return value;
+  }
+
+  private Number readNumber() {
+    int start = position;
+    while (position < text.length() && "+-0123456789.eE".indexOf(text.charAt(position)) >= 0) {
+      position++;
+    }
+    String number = text.substring(start, position);
+    try {
+      if (number.indexOf('.') < 0 && number.indexOf('e') < 0 && number.indexOf('E') < 0) {
+        return Long.valueOf(number);
+      }
+      return Double.valueOf(number);
+    }
+    catch (NumberFormatException e) {
+      position = start;
+      throw error("Unexpected character");
+    }
+  }
+
+  private void skipWhitespace() {
+    while (position < text.length() && Character.isWhitespace(text.charAt(position))) {
+      position++;
+    }
+  }
+
+  private boolean consume(char c) {
+    if (position < text.length() && text.charAt(position) == c) {
+      position++;
+      return true;
+    }
+    return false;
+  }
+
+  private void expect(char c) {
+    if (!consume(c)) {
+      throw error("Expected '" + c + "'");
+    }
+  }
+
+  private IllegalArgumentException error(String message) {
+    return new IllegalArgumentException(message + " at " + position);
+  }
+
+  private static void write(Object value, StringBuilder result) {
+    if (value == null) {
+      result.append("null");
+    }
+    else if (value instanceof String) {
+      writeString((String) value, result);
+    }
+    else if (value instanceof Number || value instanceof Boolean) {
+      result.append(value);
+    }
+    else if (value instanceof Map) {
+      result.append('{');
+      boolean first = true;
+      for (Map.Entry<?, ?> each : ((Map<?, ?>) value).entrySet()) {
+        if (!first) {
+          result.append(',');
+        }
+        first = false;
+        writeString(String.valueOf(each.getKey()), result);
+        result.append(':');
+        write(each.getValue(), result);
+      }
+      result.append('}');
+    }
+    else if (value instanceof List) {
+      result.append('[');
+      boolean first = true;
+      for (Object each : (List<?>) value) {
+        if (!first) {
+          result.append(',');
+        }
+        first = false;
+        write(each, result);
+      }
+      result.append(']');
+    }
+    else {
+      throw new IllegalArgumentException("Cannot write " + value.getClass().getName());
+    }
+  }
+
+  private static void writeString(String value, StringBuilder result) {
+    result.append('"');
+    for (int i = 0; i < value.length(); i++) {
+      char c = value.charAt(i);
+      switch (c) {
+        case '"':
+          result.append("\\\"");
+          break;
+        case '\\':
+          result.append("\\\\");
+          break;
+        case '\n':
+          result.append("\\n");
+          break;
+        case '\r':
+          result.append("\\r");
+          break;
+        case '\t':
+          result.append("\\t");
+          break;
+        default:
+          if (c < 0x20) {
+            result.append(String.format("\\u%04x", (int) c));
+          }
+          else {
+            result.append(c);
+          }
+      }
+    }
+    result.append('"');
+  }
+}
@@ -0,0 +1,259 @@
+package org.eclipselabs.bobthebuilder.server;
+
+import java.io.ByteArrayOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.nio.charset.Charset;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+import org.apache.commons.lang.Validate;
+import org.eclipselabs.bobthebuilder.complement.ComplementModule;
+import org.eclipselabs.bobthebuilder.daemon.BuilderSync;
+import org.eclipselabs.bobthebuilder.daemon.DaemonModule;
+import org.eclipselabs.bobthebuilder.mapper.javac.MapperModule;
+
+import com.google.inject.Guice;
+import com.google.inject.Injector;
+
+/**
+ * Serves {@link BuilderCommandHandler} to editors other than Eclipse, over JSON-RPC 2.0 on stdin
+ * and stdout, framed by {@code Content-Length} headers as the language server protocol is. Its
+ * {@code workspace/executeCommand} takes the command and its arguments, {@code shutdown} and
+ * {@code exit} end it. The injector and the system java compiler are loaded once, at start, so
+ * that a request costs milliseconds rather than a JVM start.
+ * <p>
+ * Runs in a plain JVM, on a Java 7 runtime with a JDK, as {@link BuilderSync} does.
+ */
+public class JsonRpcServer {
+
+  static final int PARSE_ERROR = -32700;
+
+  static final int INVALID_REQUEST = -32600;
+
+  static final int METHOD_NOT_FOUND = -32601;
+
+  static final int INVALID_PARAMS = -32602;
+
+  static final int INTERNAL_ERROR = -32603;
+
+  private static final Charset UTF_8 = Charset.forName("UTF-8");
+
+  private static final String CONTENT_LENGTH = "Content-Length:";
+
+  private static final String CONTENT_LENGTH_IN_LOWER_CASE =
+      CONTENT_LENGTH.toLowerCase(Locale.ENGLISH);
+
+  // Answered to exit, which has no response
+  private static final Map<String, Object> EXIT = new LinkedHashMap<String, Object>();
+
+  private final BuilderCommandHandler commandHandler;
+
+  private final PrintStream log;
+
+  private boolean shutdown;
+
+  public JsonRpcServer(BuilderCommandHandler commandHandler, PrintStream log) {
+    Validate.notNull(commandHandler, "commandHandler may not be null");
+    Validate.notNull(log, "log may not be null");
+    this.commandHandler = commandHandler;
+    this.log = log;
+  }
+
+  public static void main(String[] args) throws IOException {
+    Injector injector =
+        Guice.createInjector(new MapperModule(), new ComplementModule(), new DaemonModule());
+    injector.getInstance(BuilderSync.class).warmUp();
+    // Anything else printed to stdout would corrupt the stream
+    PrintStream out = System.out;
+    System.setOut(System.err);
+    JsonRpcServer server =
+        new JsonRpcServer(injector.getInstance(BuilderCommandHandler.class), System.err);
+    server.log.println("Bob The Builder serves on stdio");
+    System.exit(server.serve(System.in, out) ? 0 : 1);
+  }
+
+  /**
+   * Answers the requests of the input until exit or its end, and returns whether the exit came
+   * after a shutdown.
+   */
+  public boolean serve(InputStream in, OutputStream out) throws IOException {
+    Validate.notNull(in, "in may not be null");
+    Validate.notNull(out, "out may not be null");
+    while (true) {
+      String message;
+      try {
+        message = readMessage(in);
+      }
+      catch (EOFException e) {
+        return shutdown;
+      }
+      catch (InvalidContentLengthException e) {
+        writeMessage(out, Json.write(error(null, PARSE_ERROR, e.getMessage())));
+        continue;
+      }
+      Map<String, Object> response = handle(message);
+      if (response == EXIT) {
+        return shutdown;
+      }
+      if (response != null) {
+        writeMessage(out, Json.write(response));
+      }
+    }
+  }
+
+  // The response, null for a notification
+  Map<String, Object> handle(String message) {
+    Object request;
+    try {
+      request = Json.parse(message);
+    }
+    catch (IllegalArgumentException e) {
+      return error(null, PARSE_ERROR, e.getMessage());
+    }
+    if (!(request instanceof Map)) {
+      return error(null, INVALID_REQUEST, "Not a request object");
+    }
+    Map<?, ?> fields = (Map<?, ?>) request;
+    Object id = fields.get("id");
+    Object method = fields.get("method");
+    if (!(method instanceof String)) {
+      return error(id, INVALID_REQUEST, "No method");
+    }
+    if ("exit".equals(method)) {
+      return EXIT;
+    }
+    Object result;
+    if ("shutdown".equals(method)) {
+      shutdown = true;
+      result = null;
+    }
+    else if ("workspace/executeCommand".equals(method)) {
+      long start = System.nanoTime();
+      try {
+        result = executeCommand(fields.get("params"));
+      }
+      catch (IllegalArgumentException e) {
+        return id == null ? null : error(id, INVALID_PARAMS, e.getMessage());
+      }
+      catch (ClassCastException e) {
+        return id == null ? null : error(id, INVALID_PARAMS, e.getMessage());
+      }
+      catch (IOException e) {
+        return id == null ? null : error(id, INTERNAL_ERROR, e.toString());
+      }
+      catch (RuntimeException e) {
+        log.println("Bob The Builder could not execute " + message + ": " + e);
+        return id == null ? null : error(id, INTERNAL_ERROR, e.toString());
+      }
+      log.println("Bob The Builder composed in "
+        + (System.nanoTime() - start) / 1000000 + "ms");
+    }
+    else {
+      return id == null ? null : error(id, METHOD_NOT_FOUND, "Unknown method " + method);
+    }
+    if (id == null) {
+      return null;
+    }
+    Map<String, Object> response = new LinkedHashMap<String, Object>();
+    response.put("jsonrpc", "2.0");
+    response.put("id", id);
+    response.put("result", result);
+    return response;
+  }
+
+  @SuppressWarnings("unchecked")
+  private Object executeCommand(Object params) throws IOException {
+    Validate.isTrue(params instanceof Map, "params should be an object");
+    Map<?, ?> fields = (Map<?, ?>) params;
+    Validate.isTrue(fields.get("command") instanceof String, "command should be a string");
+    Validate.isTrue(fields.get("arguments") instanceof List, "arguments should be an array");
+    return commandHandler.executeCommand(
+      (String) fields.get("command"), (List<Object>) fields.get("arguments"));
+  }
+
+  private static Map<String, Object> error(Object id, int code, String message) {
+    Map<String, Object> error = new LinkedHashMap<String, Object>();
+    error.put("code", code);
+    error.put("message", message);
+    Map<String, Object> result = new LinkedHashMap<String, Object>();
+    result.put("jsonrpc", "2.0");
+    result.put("id", id);
+    result.put("error", error);
+    return result;
+  }
+
+  private static String readMessage(InputStream in) throws IOException {
+    String contentLengthValue = null;
+    String header;
+    while (!(header = readHeaderLine(in)).isEmpty()) {
+      // The content of a message skipped for its length runs into the header of the next one
+      int start = header.toLowerCase(Locale.ENGLISH).indexOf(CONTENT_LENGTH_IN_LOWER_CASE);
+      if (start >= 0) {
+        contentLengthValue = header.substring(start + CONTENT_LENGTH.length()).trim();
+      }
+    }
+    if (contentLengthValue == null) {
+      throw new IOException("Message without " + CONTENT_LENGTH);
+    }
+    int contentLength;
+    try {
+      contentLength = Integer.parseInt(contentLengthValue);
+    }
+    catch (NumberFormatException e) {
+      throw new InvalidContentLengthException(contentLengthValue);
+    }
+    if (contentLength < 0) {
+      throw new InvalidContentLengthException(contentLengthValue);
+    }
+    byte[] content = new byte[contentLength];
+    int read = 0;
+    while (read < contentLength) {
+      int count = in.read(content, read, contentLength - read);
+      if (count < 0) {
+        throw new EOFException();
+      }
+      read += count;
+    }
+    return new String(content, UTF_8);
+  }
+
+  private static String readHeaderLine(InputStream in) throws IOException {
+    ByteArrayOutputStream result = new ByteArrayOutputStream();
+    int c;
+    while ((c = in.read()) != '\n') {
+      if (c < 0) {
+        throw new EOFException();
+      }
+      if (c != '\r') {
+        result.write(c);
+      }
+    }
+    return new String(result.toByteArray(), UTF_8);
+  }
+
+  private static void writeMessage(OutputStream out, String message) throws IOException {
+    byte[] content = message.getBytes(UTF_8);
+    out.write((CONTENT_LENGTH + " " + content.length + "\r\n\r\n").getBytes(UTF_8));
+    out.write(content);
+    out.flush();
+  }
+
+  /*
+   * A message whose length cannot be read, so that its content cannot be told from what follows.
+   * It is answered with a parse error and skipped, up to the next header.
+   */
+  private static class InvalidContentLengthException extends IOException {
+
+    private static final long serialVersionUID = 1L;
+
+    InvalidContentLengthException(String contentLength) {
+      super("Invalid " + CONTENT_LENGTH + " " + contentLength);
+    }
+  }
+}
@@ -0,0 +1,124 @@
+package org.eclipselabs.bobthebuilder.server;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.commons.lang.Validate;
+
+/**
+ * Tells the change from a source to its new source as the text edits of the language server
+ * protocol: the lines that differ are replaced, those in common are left alone, so that an editor
+ * keeps its markers, folds and caret on them. Lines are compared by their longest common
+ * subsequence, or the whole differing region is replaced when it is too large to compare.
+ */
+final class TextEdits {
+
+  // Cells of the comparison table, far beyond the few hundred lines of a type with a builder
+  static final long MAX_COMPARISON = 4000000;
+
+  private TextEdits() {}
+
+  static List<Map<String, Object>> between(String source, String newSource) {
+    Validate.notNull(source, "source may not be null");
+    Validate.notNull(newSource, "newSource may not be null");
+    List<Map<String, Object>> result = new ArrayList<Map<String, Object>>();
+    List<String> lines = splitLines(source);
+    List<String> newLines = splitLines(newSource);
+    int prefix = 0;
+    while (prefix < lines.size() && prefix < newLines.size()
+      && lines.get(prefix).equals(newLines.get(prefix))) {
+      prefix++;
+    }
+    int suffix = 0;
+    while (suffix < lines.size() - prefix && suffix < newLines.size() - prefix
+      && lines.get(lines.size() - 1 - suffix).equals(newLines.get(newLines.size() - 1 - suffix))) {
+      suffix++;
+    }
+    int end = lines.size() - suffix;
+    int newEnd = newLines.size() - suffix;
+    if ((long) (end - prefix) * (newEnd - prefix) > MAX_COMPARISON) {
+      result.add(edit(source, lines, prefix, end, join(newLines, prefix, newEnd)));
+      return result;
+    }
+    // Lengths of the longest common subsequences of the remainders, from the end
+    int[][] common = new int[end - prefix + 1][newEnd - prefix + 1];
+    for (int i = end - 1; i >= prefix; i--) {
+      for (int j = newEnd - 1; j >= prefix; j--) {
+        common[i - prefix][j - prefix] = lines.get(i).equals(newLines.get(j))
+            ? common[i - prefix + 1][j - prefix + 1] + 1
+            : Math.max(common[i - prefix + 1][j - prefix], common[i - prefix][j - prefix + 1]);
+      }
+    }
+    int i = prefix;
+    int j = prefix;
+    while (i < end || j < newEnd) {
+      if (i < end && j < newEnd && lines.get(i).equals(newLines.get(j))) {
+        i++;
+        j++;
+        continue;
+      }
+      int from = i;
+      int newFrom = j;
+      while ((i < end || j < newEnd) && !(i < end && j < newEnd
+        && lines.get(i).equals(newLines.get(j)))) {
+        if (j == newEnd
+          || (i < end && common[i - prefix + 1][j - prefix] >= common[i - prefix][j - prefix + 1])) {
+          i++;
+        }
+        else {
+          j++;
+        }
+      }
+      result.add(edit(source, lines, from, i, join(newLines, newFrom, j)));
+    }
+    return result;
+  }
+
+  // Lines with their terminators, so that joining them gives the source back
+  private static List<String> splitLines(String source) {
+    List<String> result = new ArrayList<String>();
+    int start = 0;
+    while (start < source.length()) {
+      int end = source.indexOf('\n', start);
+      end = end < 0 ? source.length() : end + 1;
+      result.add(source.substring(start, end));
+      start = end;
+    }
+    return result;
+  }
+
+  private static String join(List<String> lines, int from, int to) {
+    StringBuilder result = new StringBuilder();
+    for (int i = from; i < to; i++) {
+      result.append(lines.get(i));
+    }
+    return result.toString();
+  }
+
+  private static Map<String, Object> edit(String source, List<String> lines, int from, int to,
+    String newText) {
+    Map<String, Object> range = new LinkedHashMap<String, Object>();
+    range.put("start", position(source, lines, from));
+    range.put("end", position(source, lines, to));
+    Map<String, Object> result = new LinkedHashMap<String, Object>();
+    result.put("range", range);
+    result.put("newText", newText);
+    return result;
+  }
+
+  // The start of the line, or the end of the last line when it has no terminator
+  private static Map<String, Object> position(String source, List<String> lines, int line) {
+    Map<String, Object> result = new LinkedHashMap<String, Object>();
+    if (line == lines.size() && !lines.isEmpty() && !source.endsWith("\n")) {
+      result.put("line", lines.size() - 1);
+      result.put("character", lines.get(lines.size() - 1).length());
+    }
+    else {
+      result.put("line", line);
+      result.put("character", 0);
+    }
+    return result;
+  }
+}
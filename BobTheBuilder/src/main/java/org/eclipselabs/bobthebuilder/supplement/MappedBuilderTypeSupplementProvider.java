@@ -0,0 +1,36 @@
+package org.eclipselabs.bobthebuilder.supplement;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import org.apache.commons.lang.Validate;
+import org.eclipselabs.bobthebuilder.model.BuilderType;
+import org.eclipselabs.bobthebuilder.model.BuilderTypeSupplement;
+import org.eclipselabs.bobthebuilder.model.Field;
+import org.eclipselabs.bobthebuilder.model.MainType;
+import org.eclipselabs.bobthebuilder.model.WithMethod;
+
+/**
+ * Works out the same supplement as {@link BuilderTypeSupplementProvider} from the mapped main type
+ * alone, for where there is no java model to read the with-methods from.
+ */
+public class MappedBuilderTypeSupplementProvider {
+
+  public BuilderTypeSupplement provideSupplement(MainType mainType) {
+    Validate.notNull(mainType, "mainType may not be null");
+    Set<Field> extraFields = new HashSet<Field>();
+    Set<WithMethod> extraWithMethods = new HashSet<WithMethod>();
+    BuilderType builderType = mainType.getBuilderType();
+    if (builderType != null) {
+      // As MappedFieldSupplementor, the fields of the builder the main type does not have
+      extraFields.addAll(builderType.getBuilderFields());
+      extraFields.removeAll(mainType.getFields());
+      for (WithMethod each : builderType.getWithMethods()) {
+        if (extraFields.contains(each.getField())) {
+          extraWithMethods.add(each);
+        }
+      }
+    }
+    return new BuilderTypeSupplement(extraFields, extraWithMethods);
+  }
+}
@@ -11,6 +11,7 @@ public class SupplementModule extends AbstractModule {
     bind(BuilderFieldsSupplementProvider.class);
     bind(BuilderTypeSupplementProvider.class);
     bind(WithMethodsSupplementProvider.class);
+    bind(MappedBuilderTypeSupplementProvider.class);
   }
 
 }